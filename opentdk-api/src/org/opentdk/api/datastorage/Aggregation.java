@@ -0,0 +1,205 @@
+package org.opentdk.api.datastorage;
+
+/**
+ * Aggregate function for the groups of a {@link DataContainer}, that will be calculated by
+ * {@link GroupBy#agg(Aggregation...)}. Each aggregation adds one column to the result, which is
+ * named by the function and the aggregated column, e.g. <code>mean(latency)</code>, unless another
+ * name is defined by {@link #as(String)}.
+ *
+ * <pre>
+ * import static org.opentdk.api.datastorage.Aggregation.*;
+ *
+ * DataContainer stats = dc.groupBy("host", "day").agg(mean("latency"), p99("latency"), count());
+ * </pre>
+ *
+ * Empty values will be ignored by all functions except {@link #count()}. The functions return
+ * <code>NaN</code> for groups without values, the same way as {@link org.opentdk.api.util.MathUtil}.
+ *
+ * @author LK Test Solutions
+ * @see DataContainer#groupBy(String...)
+ */
+public final class Aggregation {
+
+	/**
+	 * The supported aggregate functions.
+	 */
+	public enum EFunction {
+		/** Number of rows of the group, or number of non empty values, if a column is defined. */
+		COUNT,
+		/** Sum of the values. */
+		SUM,
+		/** Arithmetic mean of the values. */
+		MEAN,
+		/** Smallest value. */
+		MIN,
+		/** Largest value. */
+		MAX,
+		/** Bias corrected sample standard deviation, like {@link org.opentdk.api.util.MathUtil#getStandardDeviation(java.util.List)}. */
+		STANDARD_DEVIATION,
+		/** Percentile of the values, like {@link org.opentdk.api.util.MathUtil#getPercentile(java.util.List, double)}. */
+		PERCENTILE;
+	}
+
+	private final EFunction function;
+
+	/**
+	 * Name of the aggregated column or null for {@link #count()}.
+	 */
+	private final String headerName;
+
+	/**
+	 * The percentile in the range of 0 (exclusive) to 100 (inclusive).
+	 */
+	private final double percentile;
+
+	/**
+	 * The header name of the result column.
+	 */
+	private final String name;
+
+	private Aggregation(EFunction function, String headerName, double percentile, String name) {
+		this.function = function;
+		this.headerName = headerName;
+		this.percentile = percentile;
+		this.name = name;
+	}
+
+	private Aggregation(EFunction function, String headerName, String label) {
+		this(function, headerName, 0, headerName == null ? label : label + "(" + headerName + ")");
+	}
+
+	/**
+	 * @return aggregation with the number of rows of each group
+	 */
+	public static Aggregation count() {
+		return new Aggregation(EFunction.COUNT, null, "count");
+	}
+
+	/**
+	 * @param headerName Name of the column
+	 * @return aggregation with the number of non empty values of a column
+	 */
+	public static Aggregation count(String headerName) {
+		return new Aggregation(EFunction.COUNT, headerName, "count");
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the sum of the values of a column
+	 */
+	public static Aggregation sum(String headerName) {
+		return new Aggregation(EFunction.SUM, headerName, "sum");
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the arithmetic mean of the values of a column
+	 */
+	public static Aggregation mean(String headerName) {
+		return new Aggregation(EFunction.MEAN, headerName, "mean");
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the smallest value of a column
+	 */
+	public static Aggregation min(String headerName) {
+		return new Aggregation(EFunction.MIN, headerName, "min");
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the largest value of a column
+	 */
+	public static Aggregation max(String headerName) {
+		return new Aggregation(EFunction.MAX, headerName, "max");
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the bias corrected standard deviation of the values of a column
+	 */
+	public static Aggregation stdDev(String headerName) {
+		return new Aggregation(EFunction.STANDARD_DEVIATION, headerName, "stdDev");
+	}
+
+	/**
+	 * Creates a percentile aggregation. Percentiles need to keep all values of a group, while the other
+	 * functions only keep a few numbers per group.
+	 *
+	 * @param headerName Name of the numeric column
+	 * @param p          The percentile in the range of 0 (exclusive) to 100 (inclusive)
+	 * @return aggregation with the percentile of the values of a column
+	 */
+	public static Aggregation percentile(String headerName, double p) {
+		if ((p <= 0) || (p > 100)) {
+			throw new IllegalArgumentException("Percentile " + p + " is out of the range (0, 100]");
+		}
+		String label = (p == Math.rint(p)) ? String.valueOf((long) p) : String.valueOf(p);
+		return new Aggregation(EFunction.PERCENTILE, headerName, p, "p" + label + "(" + headerName + ")");
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the median of the values of a column
+	 */
+	public static Aggregation p50(String headerName) {
+		return percentile(headerName, 50);
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the 90th percentile of the values of a column
+	 */
+	public static Aggregation p90(String headerName) {
+		return percentile(headerName, 90);
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the 95th percentile of the values of a column
+	 */
+	public static Aggregation p95(String headerName) {
+		return percentile(headerName, 95);
+	}
+
+	/**
+	 * @param headerName Name of the numeric column
+	 * @return aggregation with the 99th percentile of the values of a column
+	 */
+	public static Aggregation p99(String headerName) {
+		return percentile(headerName, 99);
+	}
+
+	/**
+	 * Returns a copy of the aggregation with another name for the result column.
+	 *
+	 * @param resultName The header name of the result column
+	 * @return the renamed aggregation
+	 */
+	public Aggregation as(String resultName) {
+		return new Aggregation(function, headerName, percentile, resultName);
+	}
+
+	public EFunction getFunction() {
+		return function;
+	}
+
+	/**
+	 * @return the name of the aggregated column or null, if the rows are counted
+	 */
+	public String getHeaderName() {
+		return headerName;
+	}
+
+	public double getPercentile() {
+		return percentile;
+	}
+
+	/**
+	 * @return the header name of the result column
+	 */
+	public String getName() {
+		return name;
+	}
+}
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Map.Entry;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 import org.opentdk.api.filter.Filter;
@@ -31,7 +32,7 @@ public abstract class BaseContainer {
 	 * package with its header format.
 	 */
 	public enum EContainerFormat {
-		CSV(EHeader.COLUMN), DEFAULT(EHeader.COLUMN), PROPERTIES(EHeader.ROW), RESULTSET(EHeader.COLUMN), XML(EHeader.TREE), JSON(EHeader.TREE), YAML(EHeader.TREE);
+		CSV(EHeader.COLUMN), DEFAULT(EHeader.COLUMN), PROPERTIES(EHeader.ROW), RESULTSET(EHeader.COLUMN), XML(EHeader.TREE), JSON(EHeader.TREE), YAML(EHeader.TREE), BINARY(EHeader.COLUMN), XMLSTREAM(EHeader.COLUMN);
 
 		/**
 		 * See {@link EHeader}
@@ -84,6 +85,65 @@ public abstract class BaseContainer {
 		UNKNOWN;
 	}
 
+	/**
+	 * Enumeration that defines the data types of columns, that get inferred when the values of a
+	 * tabular {@link DataContainer} are stored in columnar format (see
+	 * {@link DataContainer#setColumnarStorage(boolean)}).
+	 */
+	public enum EColumnType {
+		/** Column with 32 bit integer values, stored as <code>int</code> array. */
+		INTEGER,
+		/** Column with 64 bit integer values, stored as <code>long</code> array. */
+		LONG,
+		/** Column with floating point values, stored as <code>double</code> array. */
+		DOUBLE,
+		/** Column with dates of one {@link org.opentdk.api.util.EFormat}, stored as epoch milliseconds. */
+		DATE,
+		/** Column with arbitrary strings, stored as dictionary with one entry per distinct value. */
+		STRING;
+	}
+
+	/**
+	 * Enumeration that defines the types of secondary indexes, that can be created for the columns of
+	 * a tabular {@link DataContainer} (see {@link DataContainer#createIndex(String, EIndexType)}).
+	 */
+	public enum EIndexType {
+		/** Hash index, that serves filter rules with the operator EQUALS in constant time. */
+		HASH,
+		/**
+		 * Sorted index, that serves filter rules with the operator EQUALS in logarithmic time and, if all
+		 * values of the column are integers, rules with GREATER_THAN and LESS_THAN.
+		 */
+		SORTED;
+	}
+
+	/**
+	 * Enumeration that defines when the changes of a {@link DataContainer} get written back to its file
+	 * (see {@link DataContainer#setWriteBack(EWriteBack)}).
+	 */
+	public enum EWriteBack {
+		/** The file will be written after each change. */
+		IMMEDIATE,
+		/** The file will only be written by {@link DataContainer#flush()}. */
+		BATCHED,
+		/**
+		 * The changes will be collected and written by a background thread after a delay, or by the
+		 * changing thread, if the number of collected changes reaches a limit.
+		 */
+		COALESCING;
+	}
+
+	/**
+	 * Enumeration that defines the types of joins between two tabular {@link DataContainer} (see
+	 * {@link DataContainer#join(DataContainer, String, String, EJoinType)}).
+	 */
+	public enum EJoinType {
+		/** Only rows with a matching key in both containers. */
+		INNER,
+		/** All rows of the left container, with empty values for rows without matching key. */
+		LEFT;
+	}
+
 	/**
 	 * The character(s) that define the delimiter of columns within tabular files. This delimiter is
 	 * used by the {@link DataContainer#readData()} methods to split the rows of the source file into a
@@ -160,6 +220,14 @@ public abstract class BaseContainer {
 	 */
 	protected final HashMap<String, String> metaData = new HashMap<String, String>();
 
+	/**
+	 * Defines if fields of column separated files may be enclosed in double quotes according to RFC
+	 * 4180. If true, quoted fields can contain the column delimiter, line breaks and escaped quotes
+	 * (<code>""</code>) and the enclosing quotes get removed while reading. If false (default), all
+	 * characters between the delimiters will be stored unchanged.
+	 */
+	protected boolean quotedValues = false;
+
 	/**
 	 * Keeps the SQL result set of {@link org.opentdk.api.datastorage.RSDataContainer}.
 	 */
@@ -182,9 +250,11 @@ public abstract class BaseContainer {
 	 * of the source.<br>
 	 * If the associated source is not in tabular format, then the data will not be stored within the
 	 * ArrayList. In this case the adapted DataContainer class needs to implement the logic how to store
-	 * the data at runtime e.g. {@link org.w3c.dom.Document} for HTML and XML files.
+	 * the data at runtime e.g. {@link org.w3c.dom.Document} for HTML and XML files.<br>
+	 * For tabular sources the ArrayList can be replaced by a column oriented {@link ColumnStore} (see
+	 * {@link DataContainer#setColumnarStorage(boolean)}).
 	 */
-	protected ArrayList<String[]> values = new ArrayList<String[]>();
+	protected List<String[]> values = new ArrayList<String[]>();
 
 	/**
 	 * Compares the assigned <code>HashMap</code> with header names and indexes with the headers of the
@@ -481,6 +551,13 @@ public abstract class BaseContainer {
 		return rootNode;
 	}
 
+	/**
+	 * @return {@link #quotedValues}
+	 */
+	public boolean isQuotedValues() {
+		return quotedValues;
+	}
+
 	/**
 	 * Inserts additional headers and values into the DataContanier that will added to the DataSets,
 	 * transmitted from the sources. e.g. If you create an instance of {@link CSVDataContainer} with a
@@ -621,6 +698,17 @@ public abstract class BaseContainer {
 		resultSet = rs;
 	}
 
+	/**
+	 * Sets the {@link #quotedValues} property, that defines if fields of column separated files will be
+	 * parsed according to RFC 4180.
+	 *
+	 * @param quoted true = remove enclosing double quotes and allow delimiters, line breaks and escaped
+	 *               quotes within quoted fields; false = store all characters unchanged
+	 */
+	public void setQuotedValues(boolean quoted) {
+		quotedValues = quoted;
+	}
+
 	public void setRootNode(String rn) {
 		rootNode = rn;
 	}
@@ -659,33 +747,64 @@ public abstract class BaseContainer {
 	 *                               filter
 	 */
 	protected boolean checkValuesFilter(String[] values, Filter fltr) throws NoSuchHeaderException {
-		boolean returnCode = false;
+		return compileFilter(fltr).test(values);
+	}
+
+	/**
+	 * Compiles the rules of a filter into a predicate for data sets (rows). The header indexes and the
+	 * operators of all rules are resolved once, so methods that check a large number of rows should
+	 * compile the filter before the loop, instead of calling {@link #checkValuesFilter(String[], Filter)}
+	 * for each row. The predicate returns the same results as
+	 * {@link #checkValuesFilter(String[], Filter)}, as long as the headers of the container don't
+	 * change.
+	 *
+	 * @param fltr Object of type Filter, which includes one or more filter rules
+	 * @return Predicate that matches to all data sets, where all filter rules apply to
+	 * @throws NoSuchHeaderException If the container does not have a header that is defined in the
+	 *                               filter
+	 */
+	protected Predicate<String[]> compileFilter(Filter fltr) throws NoSuchHeaderException {
 		for (FilterRule rule : fltr.getFilterRules()) {
 			if ((!this.headerNames.containsKey(rule.getHeaderName())) && (!implicitHeaders.contains(rule.getHeaderName()))) {
 				throw new NoSuchHeaderException("Header " + rule.getHeaderName() + " doesn't comply to DataContainer!");
 			}
 		}
-		// return true, if no filter rule is defined
-		if (fltr.getFilterRules().isEmpty()) {
-			returnCode = true;
-		} else {
-			for (FilterRule fr : fltr.getFilterRules()) {
-				// Wild cards * and % will accept any value
-				if (fr.getValue() != null) {
-					if ((fr.getValue().equals("*")) || (fr.getValue().equals("%"))) {
-						returnCode = true;
-						break;
-					}
-				}
-				// check values against the filter rules
-				returnCode = fr.checkValue(values[headerNames.get(fr.getHeaderName())]);
-				if (!returnCode) {
-					// skip check and return false, in case that one of the rules fails
+		List<Predicate<String[]>> rulePreds = new ArrayList<>();
+		for (FilterRule fr : fltr.getFilterRules()) {
+			// Wild cards * and % will accept any value, so the following rules don't need to be checked
+			if (fr.getValue() != null) {
+				if ((fr.getValue().equals("*")) || (fr.getValue().equals("%"))) {
 					break;
 				}
 			}
+			Predicate<String> valuePred = fr.toPredicate();
+			Integer headerIndex = headerNames.get(fr.getHeaderName());
+			if (headerIndex == null) {
+				// implicit header without column
+				rulePreds.add(row -> valuePred.test(row[headerNames.get(fr.getHeaderName())]));
+			} else {
+				int index = headerIndex;
+				rulePreds.add(row -> valuePred.test(row[index]));
+			}
+		}
+		switch (rulePreds.size()) {
+		case 0:
+			return row -> true;
+		case 1:
+			return rulePreds.get(0);
+		default:
+			// skip check and return false, in case that one of the rules fails
+			List<Predicate<String[]>> preds = List.copyOf(rulePreds);
+			int count = preds.size();
+			return row -> {
+				for (int i = 0; i < count; i++) {
+					if (!preds.get(i).test(row)) {
+						return false;
+					}
+				}
+				return true;
+			};
 		}
-		return returnCode;
 	}
 
 	/**
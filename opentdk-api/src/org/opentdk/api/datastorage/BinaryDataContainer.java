@@ -0,0 +1,628 @@
+package org.opentdk.api.datastorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.opentdk.api.datastorage.BaseContainer.EContainerFormat;
+import org.opentdk.api.datastorage.BaseContainer.EHeader;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.io.FileUtil;
+import org.opentdk.api.logger.MLogger;
+
+/**
+ * Specific data container for binary snapshots of tabular containers. A snapshot can be restored
+ * much faster than a CSV file, because the values don't need to be tokenized and the numbers are
+ * stored in their binary representation. Snapshots will be used for all files with the extension
+ * {@value #FILE_EXTENSION}:
+ *
+ * <pre>
+ * dc.writeData("orders.tdkbin");
+ * DataContainer restored = new DataContainer("orders.tdkbin");
+ * </pre>
+ *
+ * The file starts with a version header, followed by the column delimiter, the header names and the
+ * {@link BaseContainer#getMetaData() meta data} of the container. The rows are stored in blocks of up
+ * to {@value #BLOCK_ROWS} rows, where each column gets the type that fits to all of its values within
+ * the block:
+ * <ul>
+ * <li>long and decimal numbers in their canonical format as primitive values</li>
+ * <li>repeating strings as index into a dictionary of the distinct values</li>
+ * <li>all other strings as UTF-8 bytes</li>
+ * </ul>
+ * Null and empty values, as well as rows with less fields than headers, will be restored exactly.
+ * The blocks will be compressed with Deflate, if {@link DataContainer#setBinaryCompression(boolean)}
+ * is enabled for the writing container. The files are written and read by a <code>FileChannel</code>
+ * with large direct buffers, and the blocks will be memory mapped for reading.
+ *
+ * @author LK Test Solutions
+ */
+public class BinaryDataContainer implements CustomContainer {
+
+	/**
+	 * File extension of binary snapshots.
+	 */
+	public static final String FILE_EXTENSION = ".tdkbin";
+
+	/**
+	 * The first four bytes of each snapshot, "TDKB".
+	 */
+	private static final int MAGIC = 0x54444B42;
+
+	/**
+	 * Version of the file format, that will be written. Snapshots with a higher version can't be read.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * Maximum number of rows per block.
+	 */
+	private static final int BLOCK_ROWS = 65536;
+
+	/**
+	 * Size of the direct buffer, that collects the bytes for the file channel.
+	 */
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	/** The row has less fields than the column. */
+	private static final byte FIELD_ABSENT = 0;
+	private static final byte FIELD_NULL = 1;
+	private static final byte FIELD_EMPTY = 2;
+	private static final byte FIELD_VALUE = 3;
+
+	/** The column of the block has no values. */
+	private static final byte TYPE_NONE = 0;
+	private static final byte TYPE_LONG = 1;
+	private static final byte TYPE_DOUBLE = 2;
+	private static final byte TYPE_DICTIONARY = 3;
+	private static final byte TYPE_STRING = 4;
+
+	/**
+	 * An instance of the DataContainer that should be filled with the data from the connected source
+	 * file. -> Task of the specific data containers.
+	 */
+	private final DataContainer dc;
+
+	/**
+	 * Construct a new specific <code>DataContainer</code> for binary snapshots.
+	 *
+	 * @param dCont the <code>DataContainer</code> instance to use it in the read and write methods of
+	 *              this specific data container
+	 */
+	BinaryDataContainer(DataContainer dCont) {
+		dc = dCont;
+		dc.containerFormat = EContainerFormat.BINARY;
+	}
+
+	/**
+	 * Restores the rows of the snapshot, that is assigned to the container. If the container doesn't
+	 * have headers yet, the headers, column delimiter and meta data of the snapshot will be taken.
+	 * Otherwise the rows will be appended like by
+	 * {@link DataContainer#appendDataContainer(DataContainer)}.
+	 *
+	 * @param filter Only the rows, that match to the filter, will be added to the container
+	 */
+	@Override
+	public void readData(Filter filter) {
+		try {
+			read(dc, dc.getFileName(), filter);
+		} catch (IOException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Writes all rows of the container as binary snapshot into a file. The file will always be written
+	 * in binary format, regardless of its extension.
+	 *
+	 * @param fileName The name of the file to write to
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public void writeData(String fileName) throws IOException {
+		write(dc, fileName);
+	}
+
+	@Override
+	public String asString() {
+		return dc.getValuesAsString();
+	}
+
+	/**
+	 * Writes the rows of a tabular container as binary snapshot. Used by
+	 * {@link DataContainer#writeData(String)} for all files with the extension
+	 * {@value #FILE_EXTENSION}, so that the snapshot can be written by containers of every tabular
+	 * format.
+	 *
+	 * @param dc       The container to write
+	 * @param fileName The name of the file to write to
+	 * @throws IOException if the file cannot be written
+	 */
+	static void write(DataContainer dc, String fileName) throws IOException {
+		if (dc.getContainerFormat().getHeaderType() == EHeader.TREE) {
+			MLogger.getInstance().log(Level.WARNING, "Binary snapshots are not supported for tree formats!", "BinaryDataContainer", BinaryDataContainer.class.getName(), "write");
+			return;
+		}
+		File f = new File(fileName);
+		if (f.getParent() != null) {
+			FileUtil.checkDir(f.getParent(), true);
+		}
+		boolean compressed = dc.isBinaryCompression();
+		Encoder header = new Encoder(1024);
+		header.putString(dc.getColumnDelimiter());
+		String[] headers = dc.getHeaderNamesIndexed();
+		header.putInt(headers.length);
+		for (String headerName : headers) {
+			header.putString(headerName);
+		}
+		header.putInt(dc.getMetaData().size());
+		for (Map.Entry<String, String> entry : dc.getMetaData().entrySet()) {
+			header.putString(entry.getKey());
+			header.putString(entry.getValue());
+		}
+
+		Deflater deflater = compressed ? new Deflater(Deflater.BEST_SPEED) : null;
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			out.putInt(MAGIC).putInt(VERSION).put((byte) (compressed ? 1 : 0));
+			ByteBuffer headerBytes = header.flip();
+			out.putInt(headerBytes.remaining());
+			put(channel, out, headerBytes);
+
+			List<String[]> rows = dc.values;
+			Encoder block = new Encoder(BUFFER_SIZE);
+			ByteBuffer deflated = null;
+			for (int start = 0; start < rows.size(); start += BLOCK_ROWS) {
+				int rowCount = Math.min(BLOCK_ROWS, rows.size() - start);
+				block.clear();
+				encodeBlock(rows, start, rowCount, headers.length, block);
+				ByteBuffer payload = block.flip();
+				int rawLength = payload.remaining();
+				if (deflater != null) {
+					deflater.reset();
+					deflater.setInput(payload);
+					deflater.finish();
+					if ((deflated == null) || (deflated.capacity() < rawLength + 64)) {
+						deflated = ByteBuffer.allocateDirect(rawLength + (rawLength >>> 4) + 64);
+					}
+					deflated.clear();
+					while (!deflater.finished()) {
+						if (!deflated.hasRemaining()) {
+							deflated.flip();
+							deflated = ByteBuffer.allocateDirect(deflated.capacity() * 2).put(deflated);
+						}
+						deflater.deflate(deflated);
+					}
+					payload = deflated.flip();
+				}
+				if (out.remaining() < 12) {
+					drain(channel, out);
+				}
+				out.putInt(rowCount).putInt(rawLength).putInt(payload.remaining());
+				put(channel, out, payload);
+			}
+			if (out.remaining() < 4) {
+				drain(channel, out);
+			}
+			// a block without rows marks the end of the snapshot
+			out.putInt(0);
+			drain(channel, out);
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+
+	/**
+	 * Reads the rows of a binary snapshot into a container. See {@link #readData(Filter)}.
+	 *
+	 * @param dc       The container to add the rows to
+	 * @param fileName The name of the snapshot file
+	 * @param filter   Only the rows, that match to the filter, will be added to the container
+	 * @throws IOException if the file cannot be read or is not a supported snapshot
+	 */
+	static void read(DataContainer dc, String fileName, Filter filter) throws IOException {
+		String delimiter;
+		String[] headers;
+		Map<String, String> metaData = new LinkedHashMap<>();
+		List<String[]> rows = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			ByteBuffer fileHeader = readFully(channel, 0, 13, fileName);
+			if (fileHeader.getInt() != MAGIC) {
+				throw new IOException(fileName + " is not a binary snapshot of a DataContainer!");
+			}
+			int version = fileHeader.getInt();
+			if (version > VERSION) {
+				throw new IOException("Version " + version + " of the binary snapshot " + fileName + " is not supported!");
+			}
+			boolean compressed = fileHeader.get() == 1;
+			int headerLength = fileHeader.getInt();
+			long position = 13;
+			ByteBuffer in = channel.map(MapMode.READ_ONLY, position, headerLength);
+			position += headerLength;
+			delimiter = getString(in);
+			headers = new String[in.getInt()];
+			for (int i = 0; i < headers.length; i++) {
+				headers[i] = getString(in);
+			}
+			int metaCount = in.getInt();
+			for (int i = 0; i < metaCount; i++) {
+				metaData.put(getString(in), getString(in));
+			}
+
+			Inflater inflater = compressed ? new Inflater() : null;
+			try {
+				ByteBuffer inflated = null;
+				while (true) {
+					ByteBuffer blockHeader = readFully(channel, position, 4, fileName);
+					int rowCount = blockHeader.getInt();
+					if (rowCount == 0) {
+						break;
+					}
+					blockHeader = readFully(channel, position + 4, 8, fileName);
+					int rawLength = blockHeader.getInt();
+					int storedLength = blockHeader.getInt();
+					position += 12;
+					if (position + storedLength > channel.size()) {
+						throw new IOException("Binary snapshot " + fileName + " is incomplete!");
+					}
+					ByteBuffer payload = channel.map(MapMode.READ_ONLY, position, storedLength);
+					position += storedLength;
+					if (inflater != null) {
+						if ((inflated == null) || (inflated.capacity() < rawLength)) {
+							inflated = ByteBuffer.allocateDirect(Math.max(rawLength, BUFFER_SIZE));
+						}
+						inflated.clear().limit(rawLength);
+						inflater.reset();
+						inflater.setInput(payload);
+						try {
+							while (inflated.hasRemaining() && !inflater.finished()) {
+								if ((inflater.inflate(inflated) == 0) && inflater.needsInput()) {
+									break;
+								}
+							}
+						} catch (DataFormatException e) {
+							throw new IOException("Binary snapshot " + fileName + " is corrupted!", e);
+						}
+						if (inflated.hasRemaining()) {
+							throw new IOException("Binary snapshot " + fileName + " is corrupted!");
+						}
+						payload = inflated.flip();
+					}
+					rows.addAll(Arrays.asList(decodeBlock(payload, rowCount)));
+				}
+			} finally {
+				if (inflater != null) {
+					inflater.end();
+				}
+			}
+		}
+
+		if (dc.values instanceof MappedCSVStore) {
+			MLogger.getInstance().log(Level.INFO, "Values of the memory mapped file will be loaded into the heap, to append the data of " + fileName + ".", "BinaryDataContainer", "read");
+			dc.values = new ArrayList<String[]>(dc.values);
+		}
+		if (dc.getHeaders().isEmpty()) {
+			// the headers of the snapshot already include the columns of the meta data
+			dc.setColumnDelimiter(delimiter);
+			for (int i = 0; i < headers.length; i++) {
+				dc.headerNames.put(headers[i], i);
+			}
+			for (Map.Entry<String, String> entry : metaData.entrySet()) {
+				dc.getMetaData().putIfAbsent(entry.getKey(), entry.getValue());
+			}
+		}
+		DataContainer restored = new DataContainer();
+		restored.setHeaders(headers);
+		restored.values = rows;
+		if ((filter != null) && !filter.getFilterRules().isEmpty()) {
+			restored.values = restored.getRowsList(filter);
+		}
+		dc.appendDataContainer(restored);
+	}
+
+	/**
+	 * Encodes the rows of a block column by column.
+	 */
+	private static void encodeBlock(List<String[]> rows, int start, int rowCount, int columnCount, Encoder out) {
+		String[][] block = new String[rowCount][];
+		int width = columnCount;
+		boolean ragged = false;
+		for (int i = 0; i < rowCount; i++) {
+			block[i] = rows.get(start + i);
+			if (block[i].length != columnCount) {
+				ragged = true;
+				width = Math.max(width, block[i].length);
+			}
+		}
+		out.putInt(width);
+		out.put((byte) (ragged ? 1 : 0));
+		if (ragged) {
+			for (String[] row : block) {
+				out.putInt(row.length);
+			}
+		}
+		for (int column = 0; column < width; column++) {
+			encodeColumn(block, column, out);
+		}
+	}
+
+	/**
+	 * Encodes the states of the fields and the values of one column of a block.
+	 */
+	private static void encodeColumn(String[][] block, int column, Encoder out) {
+		byte[] states = new byte[block.length];
+		String[] values = new String[block.length];
+		int valueCount = 0;
+		boolean longs = true;
+		boolean doubles = true;
+		for (int i = 0; i < block.length; i++) {
+			String[] row = block[i];
+			if (column >= row.length) {
+				states[i] = FIELD_ABSENT;
+			} else if (row[column] == null) {
+				states[i] = FIELD_NULL;
+			} else if (row[column].isEmpty()) {
+				states[i] = FIELD_EMPTY;
+			} else {
+				states[i] = FIELD_VALUE;
+				String value = row[column];
+				values[valueCount++] = value;
+				longs = longs && (ColumnStore.parseCanonicalLong(value) != null);
+				doubles = doubles && !longs && ColumnStore.isCanonicalDouble(value);
+			}
+		}
+		if (valueCount == block.length) {
+			out.put((byte) 1);
+		} else {
+			out.put((byte) 0);
+			out.put(states);
+		}
+
+		if (valueCount == 0) {
+			out.put(TYPE_NONE);
+		} else if (longs) {
+			out.put(TYPE_LONG);
+			for (int i = 0; i < valueCount; i++) {
+				out.putLong(Long.parseLong(values[i]));
+			}
+		} else if (doubles) {
+			out.put(TYPE_DOUBLE);
+			for (int i = 0; i < valueCount; i++) {
+				out.putDouble(Double.parseDouble(values[i]));
+			}
+		} else {
+			HashMap<String, Integer> dictionary = new HashMap<>();
+			for (int i = 0; i < valueCount; i++) {
+				dictionary.putIfAbsent(values[i], dictionary.size());
+			}
+			if (dictionary.size() > valueCount / 2) {
+				out.put(TYPE_STRING);
+				for (int i = 0; i < valueCount; i++) {
+					out.putString(values[i]);
+				}
+				return;
+			}
+			out.put(TYPE_DICTIONARY);
+			String[] entries = new String[dictionary.size()];
+			for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+				entries[entry.getValue()] = entry.getKey();
+			}
+			out.putInt(entries.length);
+			for (String entry : entries) {
+				out.putString(entry);
+			}
+			for (int i = 0; i < valueCount; i++) {
+				int index = dictionary.get(values[i]);
+				if (entries.length <= 0x100) {
+					out.put((byte) index);
+				} else if (entries.length <= 0x10000) {
+					out.putShort((short) index);
+				} else {
+					out.putInt(index);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Decodes the rows of a block, that has been encoded by
+	 * {@link #encodeBlock(List, int, int, int, Encoder)}.
+	 */
+	private static String[][] decodeBlock(ByteBuffer in, int rowCount) {
+		int width = in.getInt();
+		boolean ragged = in.get() == 1;
+		String[][] block = new String[rowCount][];
+		for (int i = 0; i < rowCount; i++) {
+			block[i] = new String[ragged ? in.getInt() : width];
+		}
+		byte[] states = new byte[rowCount];
+		for (int column = 0; column < width; column++) {
+			if (in.get() == 1) {
+				Arrays.fill(states, FIELD_VALUE);
+			} else {
+				in.get(states);
+			}
+			byte type = in.get();
+			String[] dictionary = null;
+			if (type == TYPE_DICTIONARY) {
+				dictionary = new String[in.getInt()];
+				for (int i = 0; i < dictionary.length; i++) {
+					dictionary[i] = getString(in);
+				}
+			}
+			for (int i = 0; i < rowCount; i++) {
+				switch (states[i]) {
+				case FIELD_NULL:
+					block[i][column] = null;
+					break;
+				case FIELD_EMPTY:
+					block[i][column] = "";
+					break;
+				case FIELD_VALUE:
+					block[i][column] = getValue(in, type, dictionary);
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		return block;
+	}
+
+	private static String getValue(ByteBuffer in, byte type, String[] dictionary) {
+		switch (type) {
+		case TYPE_LONG:
+			return Long.toString(in.getLong());
+		case TYPE_DOUBLE:
+			return Double.toString(in.getDouble());
+		case TYPE_DICTIONARY:
+			if (dictionary.length <= 0x100) {
+				return dictionary[in.get() & 0xFF];
+			} else if (dictionary.length <= 0x10000) {
+				return dictionary[in.getShort() & 0xFFFF];
+			}
+			return dictionary[in.getInt()];
+		default:
+			return getString(in);
+		}
+	}
+
+	private static String getString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a number of bytes from a position of the file.
+	 */
+	private static ByteBuffer readFully(FileChannel channel, long position, int length, String fileName) throws IOException {
+		ByteBuffer ret = ByteBuffer.allocate(length);
+		while (ret.hasRemaining()) {
+			if (channel.read(ret, position + ret.position()) < 0) {
+				throw new IOException("Binary snapshot " + fileName + " is incomplete!");
+			}
+		}
+		return ret.flip();
+	}
+
+	/**
+	 * Adds bytes to the output buffer. Sources, that are larger than the buffer, will be written
+	 * directly to the channel.
+	 */
+	private static void put(FileChannel channel, ByteBuffer out, ByteBuffer src) throws IOException {
+		if (src.remaining() > out.remaining()) {
+			drain(channel, out);
+			if (src.remaining() > out.remaining()) {
+				while (src.hasRemaining()) {
+					channel.write(src);
+				}
+				return;
+			}
+		}
+		out.put(src);
+	}
+
+	/**
+	 * Writes the content of the output buffer to the channel and clears the buffer.
+	 */
+	private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+		out.flip();
+		while (out.hasRemaining()) {
+			channel.write(out);
+		}
+		out.clear();
+	}
+
+	/**
+	 * Growing heap buffer for the encoded bytes of a block.
+	 */
+	private static final class Encoder {
+		private ByteBuffer buffer;
+
+		Encoder(int capacity) {
+			buffer = ByteBuffer.allocate(capacity);
+		}
+
+		private void ensure(int length) {
+			if (buffer.remaining() < length) {
+				ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+				buffer.flip();
+				buffer = grown.put(buffer);
+			}
+		}
+
+		void put(byte value) {
+			ensure(1);
+			buffer.put(value);
+		}
+
+		void put(byte[] values) {
+			ensure(values.length);
+			buffer.put(values);
+		}
+
+		void putShort(short value) {
+			ensure(2);
+			buffer.putShort(value);
+		}
+
+		void putInt(int value) {
+			ensure(4);
+			buffer.putInt(value);
+		}
+
+		void putLong(long value) {
+			ensure(8);
+			buffer.putLong(value);
+		}
+
+		void putDouble(double value) {
+			ensure(8);
+			buffer.putDouble(value);
+		}
+
+		void putString(String value) {
+			if (value == null) {
+				putInt(-1);
+				return;
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			putInt(bytes.length);
+			put(bytes);
+		}
+
+		void clear() {
+			buffer.clear();
+		}
+
+		/**
+		 * @return the buffer prepared for reading the encoded bytes
+		 */
+		ByteBuffer flip() {
+			return buffer.flip();
+		}
+	}
+}
@@ -0,0 +1,313 @@
+package org.opentdk.api.datastorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helper of the {@link CSVDataContainer} that splits a column separated file into byte ranges, which
+ * can be parsed independently of each other. Every range starts at the beginning of a row, so that no
+ * row gets split. If quoted values are enabled (see {@link BaseContainer#setQuotedValues(boolean)}),
+ * line breaks within quoted fields will be recognized the same way as the
+ * {@link org.opentdk.api.io.CSVTokenizer} does.<br>
+ * <br>
+ * The ranges are searched on byte level, so the charset of the file needs to encode the line breaks,
+ * quotes and the delimiter as single ASCII bytes that are not part of any other character (see
+ * {@link #isSupported(Charset, String)}).
+ *
+ * @author LK Test Solutions
+ */
+final class CSVChunker {
+
+	private static final byte LF = '\n';
+	private static final byte CR = '\r';
+	private static final byte QUOTE = '"';
+
+	/**
+	 * The file to split. Only positional reads are used, so the channel can be shared by several
+	 * threads.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The column delimiter as ASCII bytes.
+	 */
+	private final byte[] delimiter;
+
+	/**
+	 * true = recognize fields enclosed in double quotes according to RFC 4180.
+	 */
+	private final boolean quotedValues;
+
+	/**
+	 * @param fileChannel  The channel of the file to split
+	 * @param delimiter    The column delimiter
+	 * @param quotedValues true = recognize line breaks within quoted fields
+	 */
+	CSVChunker(FileChannel fileChannel, String delimiter, boolean quotedValues) {
+		channel = fileChannel;
+		this.delimiter = delimiter.getBytes(StandardCharsets.US_ASCII);
+		this.quotedValues = quotedValues;
+	}
+
+	/**
+	 * Checks if a file with the committed charset and delimiter can be split on byte level.
+	 *
+	 * @param charset   Charset of the file
+	 * @param delimiter The column delimiter
+	 * @return true = UTF-8 or a single byte charset, that is compatible to ASCII, and a delimiter with
+	 *         ASCII characters only
+	 */
+	static boolean isSupported(Charset charset, String delimiter) {
+		if (delimiter == null || delimiter.isEmpty() || !StandardCharsets.US_ASCII.newEncoder().canEncode(delimiter)) {
+			return false;
+		}
+		if (!charset.equals(StandardCharsets.UTF_8) && charset.newEncoder().maxBytesPerChar() > 1) {
+			return false;
+		}
+		String sample = "\r\n\"" + delimiter;
+		return charset.canEncode() && Arrays.equals(sample.getBytes(charset), sample.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Returns the position behind a number of rows.
+	 *
+	 * @param from Position of the first row
+	 * @param rows Number of rows to skip
+	 * @return the position where the row after the skipped rows starts or the size of the file
+	 * @throws IOException If the file cannot be read
+	 */
+	long skipRows(long from, int rows) throws IOException {
+		if (rows <= 0) {
+			return from;
+		}
+		Scanner scanner = new Scanner(from);
+		int skipped = 0;
+		long rowStart;
+		while ((rowStart = scanner.nextRowStart()) >= 0) {
+			if (++skipped == rows) {
+				return rowStart;
+			}
+		}
+		return channel.size();
+	}
+
+	/**
+	 * Splits the range from <code>from</code> to <code>to</code> into roughly equal parts, that start
+	 * at the beginning of a row.
+	 *
+	 * @param from   Start position of the first row
+	 * @param to     End of the range, usually the size of the file
+	 * @param chunks Number of requested parts
+	 * @return List with the bounds of all parts, starting with <code>from</code> and ending with
+	 *         <code>to</code>
+	 * @throws IOException If the file cannot be read
+	 */
+	List<Long> split(long from, long to, int chunks) throws IOException {
+		List<Long> bounds = new ArrayList<>();
+		bounds.add(from);
+		long chunkSize = Math.max(1, (to - from) / chunks);
+		if (quotedValues) {
+			// line breaks can be part of quoted fields, so the rows need to be tracked from the start
+			Scanner scanner = new Scanner(from);
+			long next = from + chunkSize;
+			long rowStart;
+			while (next < to && (rowStart = scanner.nextRowStart()) >= 0 && rowStart < to) {
+				if (rowStart >= next) {
+					bounds.add(rowStart);
+					next = rowStart + chunkSize;
+				}
+			}
+		} else {
+			long last = from;
+			for (int i = 1; i < chunks; i++) {
+				long bound = nextLineStart(Math.max(last, from + i * chunkSize), to);
+				if (bound >= to) {
+					break;
+				}
+				if (bound > last) {
+					bounds.add(bound);
+					last = bound;
+				}
+			}
+		}
+		bounds.add(to);
+		return bounds;
+	}
+
+	/**
+	 * Creates an input stream that reads the bytes of a range of the file.
+	 *
+	 * @param from Start position of the range
+	 * @param to   End position of the range (exclusive)
+	 * @return the stream for the range
+	 */
+	InputStream open(long from, long to) {
+		return new RangeInputStream(from, to);
+	}
+
+	/**
+	 * Creates a scanner that finds the starts of the rows, beginning at the committed position.
+	 *
+	 * @param from Start position of the first row
+	 * @return the scanner
+	 */
+	Scanner scanner(long from) {
+		return new Scanner(from);
+	}
+
+	/**
+	 * Searches the next line feed at or after a position.
+	 *
+	 * @return the position behind the line feed or <code>to</code>, if there is no line feed
+	 */
+	private long nextLineStart(long pos, long to) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(65536);
+		while (pos < to) {
+			buf.clear();
+			int read = channel.read(buf, pos);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buf.get(i) == LF) {
+					return pos + i + 1;
+				}
+			}
+			pos += read;
+		}
+		return to;
+	}
+
+	/**
+	 * Sequential scanner that finds the starts of rows with the same rules as the
+	 * {@link org.opentdk.api.io.CSVTokenizer}. Additionally the fields of each row are counted.
+	 */
+	class Scanner {
+		private final ByteBuffer buf = ByteBuffer.allocate(65536);
+		private long bufStart;
+		private int bufLimit = 0;
+		private long pos;
+		private boolean inQuotes = false;
+		private boolean fieldStart = true;
+		private int fieldCount = 1;
+
+		Scanner(long from) {
+			pos = from;
+			bufStart = from;
+		}
+
+		private int get(long position) throws IOException {
+			if (position < bufStart || position >= bufStart + bufLimit) {
+				buf.clear();
+				bufStart = position;
+				bufLimit = Math.max(0, channel.read(buf, position));
+				if (bufLimit == 0) {
+					return -1;
+				}
+			}
+			return buf.get((int) (position - bufStart)) & 0xff;
+		}
+
+		/**
+		 * @return the current position, which is the end of the file after
+		 *         {@link #nextRowStart()} returned -1
+		 */
+		long getPosition() {
+			return pos;
+		}
+
+		/**
+		 * @return the number of fields of the row, that has been passed by the last call of
+		 *         {@link #nextRowStart()}
+		 */
+		int getFieldCount() {
+			return fieldCount;
+		}
+
+		/**
+		 * @return the start position of the next row or -1, if the end of the file has been reached
+		 */
+		long nextRowStart() throws IOException {
+			fieldCount = 1;
+			int b;
+			while ((b = get(pos)) >= 0) {
+				pos++;
+				if (inQuotes) {
+					if (b == QUOTE) {
+						if (get(pos) == QUOTE) {
+							pos++;
+						} else {
+							inQuotes = false;
+						}
+					}
+				} else if (b == LF) {
+					fieldStart = true;
+					return pos;
+				} else if (b == CR) {
+					fieldStart = true;
+					if (get(pos) == LF) {
+						pos++;
+					}
+					return pos;
+				} else if (quotedValues && fieldStart && b == QUOTE) {
+					inQuotes = true;
+					fieldStart = false;
+				} else if (b == delimiter[0] && matchesDelimiter()) {
+					pos += delimiter.length - 1;
+					fieldStart = true;
+					fieldCount++;
+				} else {
+					fieldStart = false;
+				}
+			}
+			return -1;
+		}
+
+		private boolean matchesDelimiter() throws IOException {
+			for (int i = 1; i < delimiter.length; i++) {
+				if (get(pos + i - 1) != delimiter[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Input stream over a range of the file, that uses positional reads of the shared channel.
+	 */
+	private class RangeInputStream extends InputStream {
+		private long pos;
+		private final long end;
+
+		RangeInputStream(long from, long to) {
+			pos = from;
+			end = to;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (pos >= end) {
+				return -1;
+			}
+			int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - pos)), pos);
+			if (n > 0) {
+				pos += n;
+			}
+			return n;
+		}
+	}
+}
@@ -1,16 +1,36 @@
 package org.opentdk.api.datastorage;
 
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.opentdk.api.datastorage.BaseContainer.EContainerFormat;
 import org.opentdk.api.filter.Filter;
+import org.opentdk.api.io.CSVTokenizer;
 import org.opentdk.api.io.FileUtil;
 import org.opentdk.api.io.XFileWriter;
 import org.opentdk.api.logger.MLogger;
@@ -31,6 +51,12 @@ public class CSVDataContainer implements CustomContainer {
 	 */
 	private final DataContainer dc;
 
+	/**
+	 * Minimum number of bytes per part of a file that gets loaded in parallel. Smaller files will be
+	 * loaded sequentially.
+	 */
+	private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+
 	/**
 	 * Construct a new specific <code>DataContainer</code> for CSV files.
 	 *
@@ -58,10 +84,11 @@ public class CSVDataContainer implements CustomContainer {
 	@Override
 	public void deleteField(String headerName, String attributeName, String attributeValue, Filter fltr) {
 		int headerIndex = dc.getHeaderIndex(headerName);
-		dc.values.get(0)[headerIndex] = null;
-		if (!dc.getFileName().isEmpty()) {
-			writeData(dc.getFileName());
-		}
+		String[] firstRow = dc.values.get(0);
+		firstRow[headerIndex] = null;
+		dc.values.set(0, firstRow);
+		dc.indexSet(0, firstRow);
+		dc.requestWriteBack();
 	}
 
 	/**
@@ -76,10 +103,19 @@ public class CSVDataContainer implements CustomContainer {
 		List<List<String>> tmpRowsList = new ArrayList<>();
 		int rowIndex = -1;
 
-		List<String> rows = FileUtil.getRowsAsList(fileName);
-		for (String row : rows) {
+		List<String[]> rows = new ArrayList<>();
+		try (CSVTokenizer tokenizer = new CSVTokenizer(new FileReader(fileName), columnDelimiter, dc.isQuotedValues())) {
+			String[] fields;
+			while ((fields = tokenizer.nextRow()) != null) {
+				rows.add(fields);
+			}
+		} catch (IOException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		}
+		for (String[] row : rows) {
 			rowIndex++;
-			String[] valArray = dc.cleanValues(row.split(columnDelimiter));
+			String[] valArray = dc.cleanValues(removeTrailingEmptyFields(row));
 			int firstValueIndex = 0;
 			for (int i = 0; i < valArray.length; i++) {
 				// if withHeaders = true, add values in the first column to the headers HashMap,
@@ -122,56 +158,154 @@ public class CSVDataContainer implements CustomContainer {
 	/**
 	 * This method reads data from a CSV file and puts it row by row in the DataContainer's value
 	 * property. Every row corresponds to one data set, so the header orientation has to be column wise.
+	 * The file is read row by row with a {@link CSVTokenizer}, so only the rows that are stored in the
+	 * DataContainer will be kept in memory.
 	 *
 	 * @param fileName        The filename of the file to read from
 	 * @param columnDelimiter The column delimiter used to separate columns in the CSV file
 	 */
 	private void putDatasetRows(String fileName, String columnDelimiter) {
-		int rowIndex = -1;
-		int headerState = 0;
-		HashMap<Integer, Integer> sortMap = null;
-
-		List<String> rows = FileUtil.getRowsAsList(fileName);
-		for (String row : rows) {
-			rowIndex++;
+		if (dc.isMappedStorage() && putDatasetRowsMapped(fileName, columnDelimiter)) {
+			return;
+		}
+		if (dc.values instanceof MappedCSVStore) {
+			MLogger.getInstance().log(Level.INFO, "Values of the memory mapped file will be loaded into the heap, to append the data of " + fileName + ".", getClass().getSimpleName(), "putDataSetRows");
+			dc.values = new ArrayList<String[]>(dc.values);
+		}
+		if (dc.isParallelLoad() && putDatasetRowsParallel(fileName, columnDelimiter)) {
+			return;
+		}
+		try (CSVTokenizer tokenizer = new CSVTokenizer(new FileReader(fileName), columnDelimiter, dc.isQuotedValues())) {
+			RowParser parser = new RowParser(tokenizer);
+			String[] valArray;
+			while ((valArray = parser.next()) != null) {
+				dc.addRow(valArray);
+			}
+		} catch (IOException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		}
+	}
 
-			// 20220817 HWA: disabled cleanValues, because stepInterpreter for Finanz Informatik cannot handle
-			// null fields
-			// and removed quotes.
-			// TODO The concept of cleanValues needs to be reviewed! It may be more useful to store the values
-			// unchanged in the
-			// DataContainer and let the consumer handle modifications.
-			String[] valArray = row.split(columnDelimiter, -1);
-
-//			String[] valArray = dc.cleanValues(row.split(columnDelimiter, -1));
-			if (rowIndex < dc.getHeaderRowIndex()) {
-				MLogger.getInstance().log(Level.INFO, "Skipping row with index " + rowIndex + "! Just rows after the headerRowIndex will be loaded into DataContainer.", this.getClass().getSimpleName(), "putDataSetRows");
-			} else if (rowIndex == dc.getHeaderRowIndex()) {
-				if (dc.getHeaders().isEmpty()) {
-					dc.setHeaders(valArray);
+	/**
+	 * Read-only variant of {@link #putDatasetRows(String, String)}, that maps the file into memory and
+	 * assigns a {@link MappedCSVStore} to the values of the DataContainer. The rows up to the header
+	 * row are read the same way as by the sequential method, the data rows will be decoded on access.
+	 *
+	 * @param fileName        The filename of the file to read from
+	 * @param columnDelimiter The column delimiter used to separate columns in the CSV file
+	 * @return false, if the DataContainer already has values, uses columnar storage or a filter, or if
+	 *         the file cannot be indexed on byte level because of its charset or delimiter. In this
+	 *         case nothing has been read and the file needs to be loaded into the heap.
+	 */
+	private boolean putDatasetRowsMapped(String fileName, String columnDelimiter) {
+		Charset charset = Charset.defaultCharset();
+		if (!dc.values.isEmpty() || dc.isColumnarStorage() || dc.isFiltered() || !CSVChunker.isSupported(charset, columnDelimiter)) {
+			MLogger.getInstance().log(Level.WARNING, "The file " + fileName + " cannot be memory mapped and will be loaded into the heap!", getClass().getSimpleName(), "putDataSetRows");
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			CSVChunker chunker = new CSVChunker(channel, columnDelimiter, dc.isQuotedValues());
+			long dataStart = chunker.skipRows(0, dc.getHeaderRowIndex() + 1);
+			RowParser parser;
+			try (CSVTokenizer tokenizer = new CSVTokenizer(new InputStreamReader(chunker.open(0, dataStart), charset), columnDelimiter, dc.isQuotedValues())) {
+				parser = new RowParser(tokenizer);
+				while (parser.next() != null) {
+					// the range contains no data rows
 				}
-				headerState = dc.checkHeader(valArray);
-				if (headerState < 0) {
-					for (String h : valArray) {
-						if (!dc.getHeaders().containsKey(h)) {
-							dc.addColumn(h);
-						}
-					}
+			}
+			int fieldCount = dc.getHeaders().size() - dc.addMetaValues(new String[0]).length;
+			boolean quoted = dc.isQuotedValues();
+			dc.values = new MappedCSVStore(channel, chunker, dataStart, fieldCount, charset, row -> dc.addMetaValues(parser.accept(CSVTokenizer.splitRow(row, columnDelimiter, quoted))), parser::logRejected);
+		} catch (IOException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		}
+		return true;
+	}
+
+	/**
+	 * Parallel variant of {@link #putDatasetRows(String, String)}. The rows up to the header row are
+	 * read sequentially. The remaining part of the file gets split into byte ranges that start at the
+	 * beginning of a row (see {@link CSVChunker}), which are parsed concurrently on the ForkJoinPool of
+	 * the DataContainer. Afterwards the rows will be added to the DataContainer in their original
+	 * order.
+	 *
+	 * @param fileName        The filename of the file to read from
+	 * @param columnDelimiter The column delimiter used to separate columns in the CSV file
+	 * @return false, if the file is too small or cannot be split on byte level because of its charset
+	 *         or delimiter. In this case nothing has been read and the sequential method needs to be
+	 *         used.
+	 */
+	private boolean putDatasetRowsParallel(String fileName, String columnDelimiter) {
+		Charset charset = Charset.defaultCharset();
+		if (!CSVChunker.isSupported(charset, columnDelimiter)) {
+			return false;
+		}
+		ForkJoinPool pool = dc.getForkJoinPool();
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			long size = channel.size();
+			int chunkCount = (int) Math.min(pool.getParallelism() * 4L, size / MIN_CHUNK_SIZE);
+			if (chunkCount < 2) {
+				return false;
+			}
+			CSVChunker chunker = new CSVChunker(channel, columnDelimiter, dc.isQuotedValues());
+			long dataStart = chunker.skipRows(0, dc.getHeaderRowIndex() + 1);
+			RowParser parser;
+			try (CSVTokenizer tokenizer = new CSVTokenizer(new InputStreamReader(chunker.open(0, dataStart), charset), columnDelimiter, dc.isQuotedValues())) {
+				parser = new RowParser(tokenizer);
+				String[] valArray;
+				while ((valArray = parser.next()) != null) {
+					dc.addRow(valArray);
 				}
-				if (headerState != 0)
-					sortMap = sortHeadersIndexes(valArray);
-			} else {
-				if (dc.addMetaValues(valArray).length == dc.getHeaders().size()) {
-					if (headerState == 0) {
-						dc.addRow(valArray);
+			}
+			List<Long> bounds = chunker.split(dataStart, size, chunkCount);
+			List<ForkJoinTask<List<String[]>>> tasks = new ArrayList<>();
+			for (int i = 0; i < bounds.size() - 1; i++) {
+				InputStream chunk = chunker.open(bounds.get(i), bounds.get(i + 1));
+				tasks.add(pool.submit(() -> parseChunk(chunk, charset, columnDelimiter, parser)));
+			}
+			for (ForkJoinTask<List<String[]>> task : tasks) {
+				for (String[] row : task.join()) {
+					if (row == null) {
+						parser.logRejected();
 					} else {
-						dc.addRow(sortValues(sortMap, valArray));
+						dc.addRow(row);
 					}
-				} else {
-					MLogger.getInstance().log(Level.WARNING, "The number of values doesn't match to the number of headers! Values will not be added to DataContainer.", this.getClass().getSimpleName(), "putDataSetRows");
 				}
 			}
+		} catch (IOException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		} catch (UncheckedIOException e) {
+			// thrown by parseChunk, which must not log within the worker threads
+			MLogger.getInstance().log(Level.SEVERE, e.getCause());
+			throw new RuntimeException(e.getCause());
 		}
+		return true;
+	}
+
+	/**
+	 * Parses all rows of a part of a CSV file, that has been created by {@link CSVChunker}.
+	 *
+	 * @param chunk           Input stream with the bytes of the part
+	 * @param charset         Charset of the file
+	 * @param columnDelimiter The column delimiter used to separate columns in the CSV file
+	 * @param parser          The parser that has already read the header row
+	 * @return List with all data rows of the part in their original order. Rows that don't match to
+	 *         the headers are returned as null, so that the caller can log them.
+	 */
+	private List<String[]> parseChunk(InputStream chunk, Charset charset, String columnDelimiter, RowParser parser) {
+		List<String[]> rows = new ArrayList<>();
+		try (CSVTokenizer tokenizer = new CSVTokenizer(new InputStreamReader(chunk, charset), columnDelimiter, dc.isQuotedValues())) {
+			String[] valArray;
+			while ((valArray = tokenizer.nextRow()) != null) {
+				rows.add(parser.accept(valArray));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return rows;
 	}
 
 	/**
@@ -210,6 +344,24 @@ public class CSVDataContainer implements CustomContainer {
 		putFile(dc.fileName, dc.columnDelimiter);
 	}
 
+	/**
+	 * Removes empty fields at the end of a row, the same way as <code>String.split</code> does without
+	 * limit.
+	 *
+	 * @param row The fields of the row
+	 * @return the fields without trailing empty fields
+	 */
+	private String[] removeTrailingEmptyFields(String[] row) {
+		if (row.length == 1) {
+			return row;
+		}
+		int len = row.length;
+		while (len > 0 && row[len - 1].isEmpty()) {
+			len--;
+		}
+		return len == row.length ? row : Arrays.copyOf(row, len);
+	}
+
 	/**
 	 * This method creates a HashMap, mapping the indexes of the passed header-array to the correct ones
 	 * from the underlying DataContainer. New headers will be mapped to the index -1.
@@ -249,40 +401,274 @@ public class CSVDataContainer implements CustomContainer {
 		return ret;
 	}
 
+	/**
+	 * Creates a sequential stream over the data rows of the CSV file, that is assigned to the
+	 * DataContainer. The rows will be read lazily from the file and are not stored in the
+	 * DataContainer, so that files larger than the available heap can be processed row by row. The
+	 * headers of the file will be assigned to the DataContainer in the same way as by
+	 * {@link #readData(Filter)}. The stream needs to be closed to release the file.
+	 *
+	 * @param fltr Object of type {@link org.opentdk.api.filter.Filter} which defines rules for
+	 *             matching rows
+	 * @return Stream with the matching rows as string arrays
+	 */
+	Stream<String[]> stream(Filter fltr) {
+		CSVTokenizer tokenizer;
+		try {
+			tokenizer = new CSVTokenizer(new FileReader(dc.fileName), dc.columnDelimiter, dc.isQuotedValues());
+		} catch (FileNotFoundException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		}
+		RowIterator it = new RowIterator(tokenizer, new RowParser(tokenizer), fltr);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(it::close);
+	}
+
+	/**
+	 * Assigns the rows of a CSV file one by one to the headers of the DataContainer. Rows before the
+	 * header row index will be skipped, the header row will be compared with the headers of the
+	 * DataContainer and all following rows will be returned in the order of the DataContainer's
+	 * headers. The parser can continue with another tokenizer, that reads the following rows of the
+	 * same file (see {@link CSVTailer}).
+	 */
+	class RowParser {
+		private CSVTokenizer tokenizer;
+		private int rowIndex = -1;
+		private int headerState = 0;
+		private HashMap<Integer, Integer> sortMap = null;
+
+		/**
+		 * Receives the messages about skipped and rejected rows instead of the log. Null, if the
+		 * messages will be logged.
+		 */
+		private BiConsumer<Level, String> messageHandler;
+
+		RowParser(CSVTokenizer csvTokenizer) {
+			tokenizer = csvTokenizer;
+		}
+
+		/**
+		 * Passes the messages about skipped and rejected rows to a handler instead of the log, e.g.
+		 * for rows, that are parsed in the background by a {@link CSVTailer}.
+		 *
+		 * @param handler The handler for the level and the text of the messages or null, to log the
+		 *                messages
+		 */
+		void setMessageHandler(BiConsumer<Level, String> handler) {
+			messageHandler = handler;
+		}
+
+		/**
+		 * Continues parsing with the rows of another tokenizer, while the row index and the state of the
+		 * header row are kept.
+		 *
+		 * @param csvTokenizer Tokenizer, that starts at the row after the last row of the previous
+		 *                     tokenizer
+		 */
+		void setTokenizer(CSVTokenizer csvTokenizer) {
+			tokenizer = csvTokenizer;
+		}
+
+		/**
+		 * Reads rows from the tokenizer until the next data row that matches to the headers.
+		 *
+		 * @return the values of the next data row or null, if the end of the file has been reached
+		 * @throws IOException If the file cannot be read
+		 */
+		String[] next() throws IOException {
+			while (true) {
+				rowIndex++;
+				if (rowIndex < dc.getHeaderRowIndex()) {
+					if (!tokenizer.skipRow()) {
+						rowIndex--;
+						return null;
+					}
+					report(Level.INFO, "Skipping row with index " + rowIndex + "! Just rows after the headerRowIndex will be loaded into DataContainer.");
+					continue;
+				}
+
+				// 20220817 HWA: disabled cleanValues, because stepInterpreter for Finanz Informatik cannot handle
+				// null fields
+				// and removed quotes.
+				// TODO The concept of cleanValues needs to be reviewed! It may be more useful to store the values
+				// unchanged in the
+				// DataContainer and let the consumer handle modifications.
+				String[] valArray = tokenizer.nextRow();
+				if (valArray == null) {
+					// the row has not been read, so that the index is correct after setTokenizer
+					rowIndex--;
+					return null;
+				}
+				if (rowIndex == dc.getHeaderRowIndex()) {
+					if (dc.getHeaders().isEmpty()) {
+						dc.setHeaders(valArray);
+					}
+					headerState = dc.checkHeader(valArray);
+					if (headerState < 0) {
+						for (String h : valArray) {
+							if (!dc.getHeaders().containsKey(h)) {
+								dc.addColumn(h);
+							}
+						}
+					}
+					if (headerState != 0)
+						sortMap = sortHeadersIndexes(valArray);
+				} else {
+					String[] accepted = accept(valArray);
+					if (accepted != null) {
+						return accepted;
+					}
+					logRejected();
+				}
+			}
+		}
+
+		/**
+		 * Checks if the values of a data row match to the headers and brings them into the order of the
+		 * DataContainer's headers. The method doesn't change the state of the parser and doesn't log, so
+		 * it can be called concurrently, after the header row has been read.
+		 *
+		 * @param valArray The values of a data row
+		 * @return the sorted values or null, if the number of values doesn't match to the headers
+		 */
+		String[] accept(String[] valArray) {
+			if (dc.addMetaValues(valArray).length == dc.getHeaders().size()) {
+				if (headerState == 0) {
+					return valArray;
+				} else {
+					return sortValues(sortMap, valArray);
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Logs that a data row has not been accepted by {@link #accept(String[])}, or passes the message to
+		 * the handler of {@link #setMessageHandler(BiConsumer)}.
+		 */
+		void logRejected() {
+			report(Level.WARNING, "The number of values doesn't match to the number of headers! Values will not be added to DataContainer.");
+		}
+
+		private void report(Level level, String message) {
+			if (messageHandler == null) {
+				MLogger.getInstance().log(level, message, CSVDataContainer.this.getClass().getSimpleName(), "putDataSetRows");
+			} else {
+				messageHandler.accept(level, message);
+			}
+		}
+	}
+
+	/**
+	 * Iterator that reads the data rows of a CSV file on demand and skips all rows that don't match
+	 * to the filter.
+	 */
+	private class RowIterator implements Iterator<String[]> {
+		private final CSVTokenizer reader;
+		private final RowParser parser;
+		private final Filter filter;
+		private Predicate<String[]> rowFilter;
+		private String[] next;
+		private boolean eof = false;
+
+		RowIterator(CSVTokenizer tokenizer, RowParser rp, Filter fltr) {
+			reader = tokenizer;
+			parser = rp;
+			filter = fltr == null ? new Filter() : fltr;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && !eof) {
+				try {
+					String[] valArray = parser.next();
+					if (valArray == null) {
+						close();
+					} else {
+						if (rowFilter == null) {
+							// the headers are known after the first data row has been parsed
+							rowFilter = dc.compileFilter(filter);
+						}
+						if (rowFilter.test(valArray)) {
+							next = dc.addMetaValues(valArray);
+						}
+					}
+				} catch (IOException e) {
+					MLogger.getInstance().log(Level.SEVERE, e, "hasNext");
+					throw new RuntimeException(e);
+				} catch (NoSuchHeaderException e) {
+					MLogger.getInstance().log(Level.SEVERE, e);
+					throw new RuntimeException(e);
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public String[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			String[] ret = next;
+			next = null;
+			return ret;
+		}
+
+		void close() {
+			eof = true;
+			try {
+				reader.close();
+			} catch (IOException e) {
+				MLogger.getInstance().log(Level.SEVERE, e, "close");
+			}
+		}
+	}
+
 	/**
 	 * This method writes data to a existing or newly created CSV-file when called.
+	 * The rows of column header oriented containers will be streamed from the
+	 * container into the buffer of the {@link XFileWriter}, without copying them.
+	 * The fields will be separated by the column delimiter of the container.
+	 * Fields, that contain the delimiter, a double quote or a line break, will
+	 * always be quoted according to RFC 4180, so the file keeps its columns. To
+	 * read them back unchanged, quoted values need to be enabled (see
+	 * {@link BaseContainer#setQuotedValues(boolean)}).
 	 *
 	 * @param fileName The filename of the file to write to or to create.
 	 * 
 	 */
 	@Override
 	public void writeData(String fileName) {
-		List<String[]> writeable = new ArrayList<>();
-		if (dc.getContainerFormat().getHeaderType().equals(BaseContainer.EHeader.COLUMN)) {
-			// for Column Header oriented output
-			writeable.add(dc.getHeaderNamesIndexed());
-			for (String[] dataArr : dc.getRowsList()) {
-				writeable.add(dataArr);
-			}
-		} else if (dc.getContainerFormat().getHeaderType().equals(BaseContainer.EHeader.ROW)) {
-			// for Row Header oriented output
-			HashMap<Integer, String> hm = dc.getHeadersIndexed();
-			List<String[]> colList;
-			colList = dc.getColumnsList();
-			for (int i = 0; i < colList.size(); i++) {
-				List<String> row = new ArrayList<>();
-				row.add(hm.get(i));
-				row.addAll(Arrays.asList(colList.get(i)));
-				writeable.add(row.toArray(new String[row.size()]));
-			}
-		}
-		// Write content of List writeable to output-file
 		try {
 			File f = new File(fileName);
 			FileUtil.checkDir(f.getParent(), true);
+			dc.loadMappedValues(fileName);
 			XFileWriter writer = new XFileWriter(f);
-			writer.writeLines(writeable);
-			writer.close();
+			try {
+				if (!dc.getColumnDelimiter().isEmpty()) {
+					writer.setColumnDelimiter(dc.getColumnDelimiter());
+				}
+				writer.setQuotedValues(true);
+				if (dc.getContainerFormat().getHeaderType().equals(BaseContainer.EHeader.COLUMN)) {
+					// for Column Header oriented output
+					writer.writeLines(Collections.singletonList(dc.getHeaderNamesIndexed()));
+					writer.writeRows(dc.values.stream().filter(row -> row.length > 0).iterator());
+				} else if (dc.getContainerFormat().getHeaderType().equals(BaseContainer.EHeader.ROW)) {
+					// for Row Header oriented output
+					HashMap<Integer, String> hm = dc.getHeadersIndexed();
+					List<String[]> colList = dc.getColumnsList();
+					List<String[]> writeable = new ArrayList<>(colList.size());
+					for (int i = 0; i < colList.size(); i++) {
+						List<String> row = new ArrayList<>();
+						row.add(hm.get(i));
+						row.addAll(Arrays.asList(colList.get(i)));
+						writeable.add(row.toArray(new String[row.size()]));
+					}
+					writer.writeLines(writeable);
+				}
+			} finally {
+				writer.close();
+			}
 		} catch (IOException e) {
 			MLogger.getInstance().log(Level.SEVERE, e, "writeData");
 			throw new RuntimeException(e);
@@ -0,0 +1,400 @@
+package org.opentdk.api.datastorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+
+import org.opentdk.api.io.CSVTokenizer;
+import org.opentdk.api.logger.MLogger;
+
+/**
+ * Follows a CSV file, that gets appended by other processes, like a log file. Each call of
+ * {@link #poll()} parses only the rows, that have been appended since the last call, and adds them
+ * to the {@link DataContainer}. The tailer remembers the byte position behind the last complete row
+ * and the state of the header row, so the costs of a poll depend on the size of the new rows instead
+ * of the size of the file:
+ *
+ * <pre>
+ * DataContainer dc = new DataContainer();
+ * dc.setColumnDelimiter(";");
+ * CSVTailer tail = dc.follow("server.log");
+ * tail.setChangeListener((c, firstRow, rowCount) -&gt; alert(c, firstRow, rowCount));
+ * tail.start(1000);
+ * ...
+ * tail.close();
+ * </pre>
+ *
+ * The first poll reads all rows, that exist at that time, including the header row. A row will not
+ * be added before its line break has been written, so rows that are still being written will be read
+ * by the next poll. If the file gets truncated or replaced, e.g. by a log rotation, it will be
+ * followed from the beginning and the header row will be checked again. The rows will be added by
+ * {@link DataContainer#addRow(String[])}, so the filter and the meta data of the container apply to
+ * them.<br>
+ * <br>
+ * Polls add the rows while holding the monitor of the container. If the file is polled in the
+ * background by {@link #start(long)}, other threads need to synchronize on the container as well, or
+ * call {@link #poll()} by {@link ConcurrentDataContainer#update(java.util.function.Consumer)}
+ * instead. Background polls don't log: their messages, like rejected rows, and their failures are
+ * passed to the {@link ChangeListener}, and the failure of the last poll can be retrieved by
+ * {@link #getLastError()}.
+ *
+ * @author LK Test Solutions
+ * @see DataContainer#follow(String)
+ */
+public final class CSVTailer implements Closeable {
+
+	/**
+	 * Receives the notifications about rows, that have been added by a poll.
+	 */
+	@FunctionalInterface
+	public interface ChangeListener {
+		/**
+		 * Called after a poll has added rows to the container. Polls started by {@link #start(long)}
+		 * call the listener within the background thread.
+		 *
+		 * @param dc       The container with the new rows
+		 * @param firstRow The index of the first new row
+		 * @param rowCount The number of new rows
+		 */
+		void rowsAdded(DataContainer dc, int firstRow, int rowCount);
+
+		/**
+		 * Called by polls started by {@link #start(long)} instead of logging a message, e.g. about
+		 * rows, that don't match to the headers, or about a truncated file. Polls called directly by
+		 * {@link #poll()} log their messages.
+		 *
+		 * @param dc      The container of the poll
+		 * @param level   The level of the message
+		 * @param message The text of the message
+		 */
+		default void messageReported(DataContainer dc, Level level, String message) {
+		}
+
+		/**
+		 * Called, if a poll started by {@link #start(long)} has failed. The poll will be repeated after
+		 * the interval.
+		 *
+		 * @param dc    The container of the poll
+		 * @param error The reason of the failure
+		 */
+		default void pollFailed(DataContainer dc, Exception error) {
+		}
+	}
+
+	private static final byte CR = '\r';
+
+	/**
+	 * The background thread for polls started by {@link #start(long)}.
+	 */
+	private static ScheduledExecutorService pollScheduler;
+
+	private final DataContainer dc;
+
+	private final CSVDataContainer csv;
+
+	private final Path path;
+
+	/**
+	 * Position behind the last complete row, that has been parsed.
+	 */
+	private volatile long position = 0;
+
+	/**
+	 * Key of the file, that has been followed by the last poll, to recognize replaced files. Null, if
+	 * the file system doesn't provide keys.
+	 */
+	private Object fileKey;
+
+	/**
+	 * The parser, that keeps the row index and the state of the header row between the polls.
+	 */
+	private CSVDataContainer.RowParser parser;
+
+	private volatile ChangeListener changeListener;
+
+	/**
+	 * The failure of the last poll or null, if the last poll has succeeded.
+	 */
+	private volatile Exception lastError;
+
+	private ScheduledFuture<?> polling;
+
+	/**
+	 * Identifies the background polling of the last {@link #start(long)}, so a poll, that has been
+	 * waiting for {@link #pollLock}, doesn't run after {@link #stop()}.
+	 */
+	private Object activeRun;
+
+	/**
+	 * Held by background polls, so {@link #stop()} can wait for the poll in flight.
+	 */
+	private final ReentrantLock pollLock = new ReentrantLock();
+
+	/**
+	 * Creates a tailer for a file. See {@link DataContainer#follow(String)}.
+	 */
+	CSVTailer(DataContainer dCont, CSVDataContainer csvContainer, String fileName) {
+		dc = dCont;
+		csv = csvContainer;
+		path = Paths.get(fileName);
+	}
+
+	/**
+	 * Adds the rows, that have been appended to the file since the last poll, to the container. A file,
+	 * that doesn't exist yet, will be polled again by the next call.
+	 *
+	 * @return the number of rows, that have been added to the container
+	 */
+	public int poll() {
+		try {
+			return poll(false);
+		} catch (IOException | NoSuchHeaderException e) {
+			MLogger.getInstance().log(Level.SEVERE, e, "poll");
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Polls the file within the background thread, as long as the polling has not been stopped.
+	 *
+	 * @param run The polling of the {@link #start(long)} call, that has scheduled the poll
+	 */
+	private void pollInBackground(Object run) {
+		pollLock.lock();
+		try {
+			synchronized (this) {
+				if (activeRun != run) {
+					return;
+				}
+			}
+			try {
+				poll(true);
+			} catch (IOException | NoSuchHeaderException | RuntimeException e) {
+				ChangeListener listener = changeListener;
+				if (listener != null) {
+					listener.pollFailed(dc, e);
+				}
+			}
+		} finally {
+			pollLock.unlock();
+		}
+	}
+
+	/**
+	 * Adds the appended rows to the container and notifies the listener.
+	 *
+	 * @param background true = pass the messages to the listener instead of logging them
+	 * @return the number of rows, that have been added to the container
+	 * @throws IOException           If the file cannot be read
+	 * @throws NoSuchHeaderException If the filter of the container has a header, that doesn't exist
+	 */
+	private int poll(boolean background) throws IOException, NoSuchHeaderException {
+		try {
+			int firstRow;
+			int rowCount;
+			synchronized (dc) {
+				firstRow = dc.getRowCount();
+				try {
+					readAppendedRows(background);
+				} catch (NoSuchFileException e) {
+					lastError = null;
+					return 0;
+				}
+				rowCount = dc.getRowCount() - firstRow;
+			}
+			lastError = null;
+			ChangeListener listener = changeListener;
+			if ((rowCount > 0) && (listener != null)) {
+				listener.rowsAdded(dc, firstRow, rowCount);
+			}
+			return rowCount;
+		} catch (IOException | NoSuchHeaderException | RuntimeException e) {
+			// includes the failures of the listener
+			lastError = e;
+			throw e;
+		}
+	}
+
+	/**
+	 * Polls the file in the background. The next poll starts after the interval has passed since the
+	 * end of the previous poll. Polls, that fail, will be reported to
+	 * {@link ChangeListener#pollFailed(DataContainer, Exception)} and repeated after the interval.
+	 *
+	 * @param intervalMillis Milliseconds between the polls
+	 */
+	public void start(long intervalMillis) {
+		stop();
+		Object run = new Object();
+		synchronized (this) {
+			activeRun = run;
+			polling = getPollScheduler().scheduleWithFixedDelay(() -> pollInBackground(run), 0, Math.max(intervalMillis, 1), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops polling the file in the background. A running poll will be completed before the method
+	 * returns, so the listener doesn't get notified by background polls afterwards. Called by the
+	 * listener within a background poll, the method returns without waiting.
+	 */
+	public void stop() {
+		synchronized (this) {
+			if (polling == null) {
+				return;
+			}
+			polling.cancel(false);
+			polling = null;
+			activeRun = null;
+		}
+		// waits for the poll in flight
+		pollLock.lock();
+		pollLock.unlock();
+	}
+
+	/**
+	 * Checks if the file is polled in the background.
+	 *
+	 * @return true = {@link #start(long)} has been called and the polling has not been stopped
+	 */
+	public synchronized boolean isRunning() {
+		return polling != null;
+	}
+
+	/**
+	 * Stops polling the file in the background like {@link #stop()}. The rows, that have been added,
+	 * stay in the container.
+	 */
+	@Override
+	public void close() {
+		stop();
+	}
+
+	/**
+	 * Sets the listener, that will be notified about the rows, that have been added by a poll.
+	 *
+	 * @param listener The listener or null, to remove the listener
+	 */
+	public void setChangeListener(ChangeListener listener) {
+		changeListener = listener;
+	}
+
+	/**
+	 * @return the failure of the last poll or null, if the last poll has succeeded or no poll has been
+	 *         done yet
+	 */
+	public Exception getLastError() {
+		return lastError;
+	}
+
+	/**
+	 * @return the position behind the last row, that has been added to the container
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Parses the complete rows between the last position and the current end of the file.
+	 *
+	 * @param background true = pass the messages to the listener instead of logging them
+	 */
+	private void readAppendedRows(boolean background) throws IOException, NoSuchHeaderException {
+		BiConsumer<Level, String> messages = background ? this::reportMessage : this::logMessage;
+		Charset charset = Charset.defaultCharset();
+		String delimiter = dc.getColumnDelimiter();
+		if (!CSVChunker.isSupported(charset, delimiter)) {
+			messages.accept(Level.WARNING, "Files with charset " + charset + " and delimiter '" + delimiter + "' can't be followed!");
+			return;
+		}
+		Object key = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if ((size < position) || ((fileKey != null) && !fileKey.equals(key))) {
+				messages.accept(Level.INFO, "File " + path + " has been truncated or replaced and will be followed from the beginning.");
+				position = 0;
+				parser = null;
+			}
+			fileKey = key;
+			if (size == position) {
+				return;
+			}
+			CSVChunker chunker = new CSVChunker(channel, delimiter, dc.isQuotedValues());
+			CSVChunker.Scanner scanner = chunker.scanner(position);
+			long end = position;
+			long previous = position;
+			long rowStart;
+			while (((rowStart = scanner.nextRowStart()) >= 0) && (rowStart <= size)) {
+				previous = end;
+				end = rowStart;
+			}
+			// a carriage return at the end may be followed by a line feed, that has not been written yet
+			if ((end == size) && (end > position) && (readByte(channel, size - 1) == CR)) {
+				end = previous;
+			}
+			if (end == position) {
+				return;
+			}
+			try (CSVTokenizer tokenizer = new CSVTokenizer(new InputStreamReader(chunker.open(position, end), charset), delimiter, dc.isQuotedValues())) {
+				if (parser == null) {
+					parser = csv.new RowParser(tokenizer);
+				} else {
+					parser.setTokenizer(tokenizer);
+				}
+				parser.setMessageHandler(background ? messages : null);
+				String[] valArray;
+				while ((valArray = parser.next()) != null) {
+					dc.addFilteredRow(valArray);
+				}
+			}
+			position = end;
+		}
+	}
+
+	private void logMessage(Level level, String message) {
+		MLogger.getInstance().log(level, message, getClass().getSimpleName(), "poll");
+	}
+
+	private void reportMessage(Level level, String message) {
+		ChangeListener listener = changeListener;
+		if (listener != null) {
+			listener.messageReported(dc, level, message);
+		}
+	}
+
+	private static byte readByte(FileChannel channel, long pos) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(1);
+		channel.read(buf, pos);
+		return buf.get(0);
+	}
+
+	/**
+	 * @return the background thread for polls
+	 */
+	private static synchronized ScheduledExecutorService getPollScheduler() {
+		if (pollScheduler == null) {
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+				Thread thread = new Thread(r, "CSVTailer poll");
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.setRemoveOnCancelPolicy(true);
+			pollScheduler = executor;
+		}
+		return pollScheduler;
+	}
+}
@@ -0,0 +1,316 @@
+package org.opentdk.api.datastorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.opentdk.api.datastorage.BaseContainer.EIndexType;
+import org.opentdk.api.filter.FilterRule;
+import org.opentdk.api.filter.FilterRule.ERuleFormat;
+import org.opentdk.api.mapping.EOperator;
+
+/**
+ * Secondary index for one column of a tabular {@link DataContainer}. The index maps the trimmed
+ * values of the column to the numbers of the rows, where they occur, so that filter rules don't
+ * need to scan all rows. The index returns candidate rows only; the complete filter still gets
+ * checked for each candidate, so the results are the same as without index.<br>
+ * <br>
+ * The index keeps the original value of each row, which allows to update the index when a row gets
+ * replaced by an array that has been changed in place. Inserting or deleting rows in front of the
+ * end shifts the row numbers of all entries, which costs as much as shifting the rows of the
+ * container itself.
+ *
+ * @author LK Test Solutions
+ * @see DataContainer#createIndex(String, EIndexType)
+ */
+final class ColumnIndex {
+
+	/**
+	 * Orders integer values numerically in front of all other values, which are ordered by their
+	 * strings. Integers with the same value but different strings (e.g. "5" and "05") are ordered by
+	 * their strings, so that the order is consistent with <code>equals</code>.
+	 */
+	private static final Comparator<String> NUMBERS_FIRST = (a, b) -> {
+		Integer numA = parseInt(a);
+		Integer numB = parseInt(b);
+		if (numA != null && numB != null) {
+			int ret = Integer.compare(numA, numB);
+			return ret != 0 ? ret : a.compareTo(b);
+		} else if (numA != null) {
+			return -1;
+		} else if (numB != null) {
+			return 1;
+		}
+		return a.compareTo(b);
+	};
+
+	private final EIndexType type;
+
+	/**
+	 * Index of the column within the rows of the container.
+	 */
+	private final int column;
+
+	/**
+	 * The row numbers of each trimmed value.
+	 */
+	private final Map<String, RowList> entries;
+
+	/**
+	 * The original value of each row, null for rows without value.
+	 */
+	private final List<String> rowValues = new ArrayList<>();
+
+	/**
+	 * Number of rows with a value that is not an integer. GREATER_THAN and LESS_THAN can only be
+	 * served, if there is no such row, because these operators fail for other values.
+	 */
+	private int nonIntegerRows = 0;
+
+	/**
+	 * Creates the index for a column and adds all rows.
+	 *
+	 * @param indexType The type of the index
+	 * @param column    Index of the column within the rows
+	 * @param rows      The rows of the container
+	 */
+	ColumnIndex(EIndexType indexType, int column, List<String[]> rows) {
+		type = indexType;
+		this.column = column;
+		entries = indexType == EIndexType.SORTED ? new TreeMap<>(NUMBERS_FIRST) : new HashMap<>();
+		for (String[] row : rows) {
+			add(row);
+		}
+	}
+
+	EIndexType getType() {
+		return type;
+	}
+
+	int getColumn() {
+		return column;
+	}
+
+	/**
+	 * @return the number of indexed rows
+	 */
+	int size() {
+		return rowValues.size();
+	}
+
+	/**
+	 * Adds a row at the end of the index.
+	 *
+	 * @param row The values of the row
+	 */
+	void add(String[] row) {
+		String value = valueOf(row);
+		int rowIndex = rowValues.size();
+		rowValues.add(value);
+		addEntry(value, rowIndex);
+	}
+
+	/**
+	 * Inserts a row and shifts all following rows.
+	 *
+	 * @param rowIndex Number of the new row
+	 * @param row      The values of the row
+	 */
+	void insert(int rowIndex, String[] row) {
+		if (rowIndex == rowValues.size()) {
+			add(row);
+			return;
+		}
+		for (RowList rows : entries.values()) {
+			rows.shift(rowIndex, 1);
+		}
+		String value = valueOf(row);
+		rowValues.add(rowIndex, value);
+		addEntry(value, rowIndex);
+	}
+
+	/**
+	 * Replaces the value of a row.
+	 *
+	 * @param rowIndex Number of the row
+	 * @param row      The new values of the row
+	 */
+	void set(int rowIndex, String[] row) {
+		String value = valueOf(row);
+		String oldValue = rowValues.get(rowIndex);
+		if (value == null ? oldValue == null : value.equals(oldValue)) {
+			return;
+		}
+		removeEntry(oldValue, rowIndex);
+		rowValues.set(rowIndex, value);
+		addEntry(value, rowIndex);
+	}
+
+	/**
+	 * Removes a row and shifts all following rows.
+	 *
+	 * @param rowIndex Number of the row
+	 */
+	void remove(int rowIndex) {
+		removeEntry(rowValues.remove(rowIndex), rowIndex);
+		if (rowIndex < rowValues.size()) {
+			for (RowList rows : entries.values()) {
+				rows.shift(rowIndex + 1, -1);
+			}
+		}
+	}
+
+	/**
+	 * Returns the rows, that may match to a filter rule.
+	 *
+	 * @param rule The filter rule for the indexed column
+	 * @return the ascending row numbers or null, if the rule cannot be served by the index
+	 */
+	int[] select(FilterRule rule) {
+		if (rule.getRuleFormat() == ERuleFormat.REGEX || rule.getRuleFormat() == ERuleFormat.QUOTED_REGEX) {
+			return null;
+		}
+		if (rule.getFilterOperator().equals(EOperator.EQUALS)) {
+			List<RowList> matches = new ArrayList<>();
+			for (Object filterValue : rule.getValues()) {
+				RowList rows = entries.get(String.valueOf(filterValue));
+				if (rows != null) {
+					matches.add(rows);
+				}
+			}
+			return merge(matches);
+		} else if (type == EIndexType.SORTED && nonIntegerRows == 0 && (rule.getFilterOperator().equals(EOperator.GREATER_THAN) || rule.getFilterOperator().equals(EOperator.LESS_THAN))) {
+			boolean greater = rule.getFilterOperator().equals(EOperator.GREATER_THAN);
+			Integer limit = null;
+			for (Object filterValue : rule.getValues()) {
+				Integer num = parseInt(String.valueOf(filterValue));
+				if (num == null) {
+					return null;
+				}
+				// a row matches, if it matches to any of the values
+				if (limit == null || (greater ? num < limit : num > limit)) {
+					limit = num;
+				}
+			}
+			if (limit == null) {
+				return null;
+			}
+			TreeMap<String, RowList> sorted = (TreeMap<String, RowList>) entries;
+			Map<String, RowList> range = greater ? sorted.tailMap(String.valueOf(limit), true) : sorted.headMap(String.valueOf(limit), false);
+			List<RowList> matches = new ArrayList<>();
+			for (Map.Entry<String, RowList> entry : range.entrySet()) {
+				// values with the same number but a different string, like "05" and "5", are ordered next to the limit
+				int num = Integer.parseInt(entry.getKey());
+				if (greater ? num > limit : num < limit) {
+					matches.add(entry.getValue());
+				}
+			}
+			return merge(matches);
+		}
+		return null;
+	}
+
+	private String valueOf(String[] row) {
+		return column < row.length ? row[column] : null;
+	}
+
+	private void addEntry(String value, int rowIndex) {
+		if (value != null) {
+			entries.computeIfAbsent(value.trim(), k -> new RowList()).add(rowIndex);
+			if (parseInt(value) == null) {
+				nonIntegerRows++;
+			}
+		}
+	}
+
+	private void removeEntry(String value, int rowIndex) {
+		if (value != null) {
+			String key = value.trim();
+			RowList rows = entries.get(key);
+			rows.remove(rowIndex);
+			if (rows.size == 0) {
+				entries.remove(key);
+			}
+			if (parseInt(value) == null) {
+				nonIntegerRows--;
+			}
+		}
+	}
+
+	/**
+	 * Merges the row numbers of several values into one ascending array.
+	 */
+	private static int[] merge(List<RowList> lists) {
+		if (lists.size() == 1) {
+			return Arrays.copyOf(lists.get(0).rows, lists.get(0).size);
+		}
+		int count = 0;
+		for (RowList rows : lists) {
+			count += rows.size;
+		}
+		int[] ret = new int[count];
+		int pos = 0;
+		for (RowList rows : lists) {
+			System.arraycopy(rows.rows, 0, ret, pos, rows.size);
+			pos += rows.size;
+		}
+		Arrays.sort(ret);
+		return ret;
+	}
+
+	/**
+	 * Parses a value the same way as the operators GREATER_THAN and LESS_THAN do.
+	 *
+	 * @return the number or null, if the value is not an integer
+	 */
+	private static Integer parseInt(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Ascending list of row numbers.
+	 */
+	private static final class RowList {
+		private int[] rows = new int[1];
+		private int size = 0;
+
+		void add(int row) {
+			if (size == rows.length) {
+				rows = Arrays.copyOf(rows, size * 2);
+			}
+			int pos = size;
+			if (size > 0 && rows[size - 1] > row) {
+				pos = -Arrays.binarySearch(rows, 0, size, row) - 1;
+				System.arraycopy(rows, pos, rows, pos + 1, size - pos);
+			}
+			rows[pos] = row;
+			size++;
+		}
+
+		void remove(int row) {
+			int pos = Arrays.binarySearch(rows, 0, size, row);
+			if (pos >= 0) {
+				System.arraycopy(rows, pos + 1, rows, pos, size - pos - 1);
+				size--;
+			}
+		}
+
+		/**
+		 * Adds a delta to all row numbers starting at a row.
+		 */
+		void shift(int from, int delta) {
+			int pos = Arrays.binarySearch(rows, 0, size, from);
+			for (int i = pos < 0 ? -pos - 1 : pos; i < size; i++) {
+				rows[i] += delta;
+			}
+		}
+	}
+}
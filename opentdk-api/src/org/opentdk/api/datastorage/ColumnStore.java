@@ -0,0 +1,827 @@
+package org.opentdk.api.datastorage;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.opentdk.api.datastorage.BaseContainer.EColumnType;
+import org.opentdk.api.util.EFormat;
+
+/**
+ * Column oriented storage for the {@link BaseContainer#values} of tabular containers. Instead of
+ * keeping one <code>String[]</code> per row, every column is kept in a typed array. The type of a
+ * column gets inferred while the rows are added and will be widened automatically, if a value does
+ * not fit into the current type (see {@link EColumnType}).<br>
+ * <br>
+ * The class implements <code>List&lt;String[]&gt;</code>, so all methods of the
+ * {@link DataContainer} keep working on it. Rows returned by {@link #get(int)} are materialized
+ * copies; changes to them need to be written back with {@link #set(int, String[])}.<br>
+ * <br>
+ * Integer columns only take values with a canonical string representation (e.g. "42" but not "042"),
+ * so that every value is returned exactly as it was stored. Double columns take all plain decimal
+ * numbers (e.g. "12", "3.5" or "1.50" but not "007"), and keep the text of values, that differs from
+ * the canonical representation of the double value, in a side table.
+ *
+ * @author LK Test Solutions
+ * @see DataContainer#setColumnarStorage(boolean)
+ */
+final class ColumnStore extends AbstractList<String[]> implements RandomAccess {
+
+	/**
+	 * Date formats that will be detected for columns of type {@link EColumnType#DATE}.
+	 */
+	private static final EFormat[] DATE_FORMATS = { EFormat.DATE_2, EFormat.DATE_3, EFormat.DATE_4, EFormat.DATE_5, EFormat.DATE_6, EFormat.DATE_7 };
+
+	/**
+	 * Milliseconds of one day, used to store dates as epoch milliseconds.
+	 */
+	private static final long MILLIS_PER_DAY = 86400000L;
+
+	/**
+	 * The typed columns of the store.
+	 */
+	private final List<Column> columns = new ArrayList<>();
+
+	/**
+	 * Number of fields of each row, because rows of a <code>DataContainer</code> may differ in
+	 * length.
+	 */
+	private int[] rowWidths = new int[16];
+
+	/**
+	 * Number of rows within the store.
+	 */
+	private int rowCount = 0;
+
+	/**
+	 * true = the store belongs to a snapshot and must not be changed. See {@link #setReadOnly()}.
+	 */
+	private boolean readOnly = false;
+
+	/**
+	 * Creates an empty store.
+	 */
+	ColumnStore() {
+	}
+
+	/**
+	 * Creates a store with the content of the committed rows.
+	 *
+	 * @param rows List with the rows that will be copied into the store
+	 */
+	ColumnStore(Collection<String[]> rows) {
+		for (String[] row : rows) {
+			add(row);
+		}
+	}
+
+	@Override
+	public String[] get(int index) {
+		checkIndex(index, rowCount);
+		String[] row = new String[rowWidths[index]];
+		for (int i = 0; i < row.length; i++) {
+			row[i] = columns.get(i).get(index);
+		}
+		return row;
+	}
+
+	@Override
+	public int size() {
+		return rowCount;
+	}
+
+	@Override
+	public String[] set(int index, String[] row) {
+		checkWritable();
+		String[] oldRow = get(index);
+		ensureColumns(row.length);
+		for (int i = 0; i < columns.size(); i++) {
+			setField(i, index, i < row.length ? row[i] : null);
+		}
+		rowWidths[index] = row.length;
+		return oldRow;
+	}
+
+	@Override
+	public void add(int index, String[] row) {
+		checkWritable();
+		checkIndex(index, rowCount + 1);
+		ensureColumns(row.length);
+		ensureRowCapacity(rowCount + 1);
+		for (int i = 0; i < columns.size(); i++) {
+			String value = i < row.length ? row[i] : null;
+			Column col = columns.get(i);
+			if (!col.accepts(value)) {
+				col = widen(i, value);
+			}
+			col.insert(index, value);
+		}
+		System.arraycopy(rowWidths, index, rowWidths, index + 1, rowCount - index);
+		rowWidths[index] = row.length;
+		rowCount++;
+		modCount++;
+	}
+
+	@Override
+	public String[] remove(int index) {
+		checkWritable();
+		String[] oldRow = get(index);
+		for (Column col : columns) {
+			col.remove(index);
+		}
+		System.arraycopy(rowWidths, index + 1, rowWidths, index, rowCount - index - 1);
+		rowCount--;
+		modCount++;
+		return oldRow;
+	}
+
+	@Override
+	public void clear() {
+		checkWritable();
+		columns.clear();
+		rowWidths = new int[16];
+		rowCount = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns the type that has been inferred for a column.
+	 *
+	 * @param columnIndex Index of the column
+	 * @return the {@link EColumnType} of the column
+	 */
+	EColumnType getColumnType(int columnIndex) {
+		return columns.get(columnIndex).getType();
+	}
+
+	/**
+	 * Returns the number of columns, which is the length of the widest row.
+	 *
+	 * @return number of columns
+	 */
+	int getColumnCount() {
+		return columns.size();
+	}
+
+	/**
+	 * Appends fields with the same value to all rows. The fields will be stored in new columns, that
+	 * are filled in one step, so the existing columns stay untouched. Rows, that are shorter than the
+	 * widest row, get the new fields right after their last field, the same way as rows stored as
+	 * string arrays.
+	 *
+	 * @param count Number of fields per row
+	 * @param value The value of the new fields, which may be null or empty
+	 */
+	void addColumns(int count, String value) {
+		checkWritable();
+		int width = columns.size();
+		for (int i = 0; i < count; i++) {
+			columns.add(createFilledColumn(value));
+		}
+		for (int i = 0; i < rowCount; i++) {
+			for (int j = rowWidths[i]; j < Math.min(rowWidths[i] + count, width); j++) {
+				setField(j, i, value);
+			}
+			rowWidths[i] += count;
+		}
+		modCount++;
+	}
+
+	/**
+	 * Marks the store as read-only, e.g. for the snapshots of {@link ConcurrentDataContainer}. All
+	 * following changes throw an <code>UnsupportedOperationException</code> before any field has been
+	 * touched.
+	 */
+	void setReadOnly() {
+		readOnly = true;
+	}
+
+	/**
+	 * Returns a single field of the store without materializing the row.
+	 *
+	 * @param columnIndex Index of the column
+	 * @param rowIndex    Index of the row
+	 * @return the value of the field as string or null, if the row has no field at the column index
+	 */
+	String getField(int columnIndex, int rowIndex) {
+		checkIndex(rowIndex, rowCount);
+		if (columnIndex >= rowWidths[rowIndex]) {
+			return null;
+		}
+		return columns.get(columnIndex).get(rowIndex);
+	}
+
+	/**
+	 * Checks if a field holds a numeric value, that can be retrieved by
+	 * {@link #getNumber(int, int)}.
+	 *
+	 * @param columnIndex Index of the column
+	 * @param rowIndex    Index of the row
+	 * @return true = field is numeric; false = field is a string, date, null or empty
+	 */
+	boolean isNumber(int columnIndex, int rowIndex) {
+		if (columnIndex >= rowWidths[rowIndex]) {
+			return false;
+		}
+		Column col = columns.get(columnIndex);
+		return (col instanceof NumberColumn) && (col.getType() != EColumnType.DATE) && (!col.isMissing(rowIndex));
+	}
+
+	/**
+	 * Returns a numeric field as primitive double value without parsing a string.
+	 *
+	 * @param columnIndex Index of the column
+	 * @param rowIndex    Index of the row
+	 * @return the numeric value
+	 */
+	double getNumber(int columnIndex, int rowIndex) {
+		return ((NumberColumn) columns.get(columnIndex)).getDouble(rowIndex);
+	}
+
+	/**
+	 * Sets a single field of the store and widens the column type if necessary.
+	 *
+	 * @param columnIndex Index of the column
+	 * @param rowIndex    Index of the row
+	 * @param value       The new value of the field
+	 */
+	private void setField(int columnIndex, int rowIndex, String value) {
+		Column col = columns.get(columnIndex);
+		if (!col.accepts(value)) {
+			col = widen(columnIndex, value);
+		}
+		col.set(rowIndex, value);
+	}
+
+	/**
+	 * Creates a column, where all rows of the store have the same value.
+	 *
+	 * @param value The value of all fields
+	 * @return the new column
+	 */
+	private Column createFilledColumn(String value) {
+		Column col = (value == null) || value.isEmpty() ? new IntColumn() : createColumn(value);
+		col.ensureCapacity(rowCount);
+		col.size = rowCount;
+		if (value == null) {
+			col.nulls.set(0, rowCount);
+		} else if (value.isEmpty()) {
+			col.empties.set(0, rowCount);
+		} else {
+			for (int i = 0; i < rowCount; i++) {
+				col.store(i, value);
+			}
+		}
+		return col;
+	}
+
+	/**
+	 * Adds empty columns to the store, until it has at least the committed number of columns.
+	 *
+	 * @param count Minimum number of columns
+	 */
+	private void ensureColumns(int count) {
+		while (columns.size() < count) {
+			Column col = new IntColumn();
+			for (int i = 0; i < rowCount; i++) {
+				col.insert(i, null);
+			}
+			columns.add(col);
+		}
+	}
+
+	private void ensureRowCapacity(int capacity) {
+		if (capacity > rowWidths.length) {
+			rowWidths = Arrays.copyOf(rowWidths, Math.max(capacity, rowWidths.length * 2));
+		}
+	}
+
+	private void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("The rows of a snapshot can't be changed!");
+		}
+	}
+
+	private static void checkIndex(int index, int bound) {
+		if (index < 0 || index >= bound) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+		}
+	}
+
+	/**
+	 * Replaces the column at the committed index by a column with a type that is able to store all
+	 * existing values and the new value. Integer columns get widened to long or double columns. If no
+	 * numeric or date type matches, the column becomes a dictionary encoded string column.
+	 *
+	 * @param columnIndex Index of the column
+	 * @param value       The value that didn't fit into the current column type
+	 * @return the new column
+	 */
+	private Column widen(int columnIndex, String value) {
+		Column oldCol = columns.get(columnIndex);
+		Column newCol;
+		if (oldCol.nulls.cardinality() + oldCol.empties.cardinality() == oldCol.size) {
+			newCol = createColumn(value);
+		} else if (oldCol.getType() == EColumnType.INTEGER && parseCanonicalLong(value) != null) {
+			newCol = new LongColumn();
+		} else if ((oldCol.getType() == EColumnType.INTEGER || oldCol.getType() == EColumnType.LONG) && isDecimal(value)) {
+			newCol = new DoubleColumn();
+		} else {
+			newCol = new DictionaryColumn();
+		}
+		for (int i = 0; i < oldCol.size; i++) {
+			newCol.insert(i, oldCol.get(i));
+		}
+		columns.set(columnIndex, newCol);
+		return newCol;
+	}
+
+	/**
+	 * Creates the most compact column type for the committed value.
+	 *
+	 * @param value The value to detect the type for
+	 * @return a new, empty column
+	 */
+	private static Column createColumn(String value) {
+		if (parseCanonicalLong(value) != null) {
+			return new LongColumn();
+		}
+		if (isDecimal(value)) {
+			return new DoubleColumn();
+		}
+		EFormat dateFormat = detectDateFormat(value);
+		if (dateFormat != null) {
+			return new DateColumn(dateFormat);
+		}
+		return new DictionaryColumn();
+	}
+
+	/**
+	 * Parses a string to long, if the string is the canonical representation of the number (no leading
+	 * zeros or plus sign).
+	 *
+	 * @param value The string to parse
+	 * @return the number or null, if the string is not a canonical long value
+	 */
+	static Long parseCanonicalLong(String value) {
+		int len = value.length();
+		if (len == 0 || len > 20) {
+			return null;
+		}
+		int start = value.charAt(0) == '-' ? 1 : 0;
+		if (start == len || (value.charAt(start) == '0' && len > start + 1) || (start == 1 && len == 2 && value.charAt(1) == '0')) {
+			return null;
+		}
+		for (int i = start; i < len; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return null;
+			}
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks if a string is a plain decimal number, that can be stored in a double column: an optional
+	 * minus sign, an integer part without leading zeros, an optional fraction and an optional exponent,
+	 * e.g. "12", "1.50" or "2.5E-3", but not "007", "+1" or "1e400".
+	 *
+	 * @param value The string to check
+	 * @return true = the value can be stored in a double column
+	 */
+	static boolean isDecimal(String value) {
+		int len = value.length();
+		if (len == 0 || len > 32) {
+			return false;
+		}
+		int i = value.charAt(0) == '-' ? 1 : 0;
+		int start = i;
+		i = skipDigits(value, i);
+		if (i == start || (value.charAt(start) == '0' && i > start + 1)) {
+			return false;
+		}
+		if (i < len && value.charAt(i) == '.') {
+			int fraction = ++i;
+			i = skipDigits(value, i);
+			if (i == fraction) {
+				return false;
+			}
+		}
+		if (i < len && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+			i++;
+			if (i < len && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+				i++;
+			}
+			int exponent = i;
+			i = skipDigits(value, i);
+			if (i == exponent) {
+				return false;
+			}
+		}
+		return i == len && !Double.isInfinite(Double.parseDouble(value));
+	}
+
+	private static int skipDigits(String value, int index) {
+		while (index < value.length() && value.charAt(index) >= '0' && value.charAt(index) <= '9') {
+			index++;
+		}
+		return index;
+	}
+
+	static boolean isCanonicalDouble(String value) {
+		int len = value.length();
+		if (len == 0 || len > 25 || value.indexOf('.') < 0) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			char c = value.charAt(i);
+			if ((c < '0' || c > '9') && c != '.' && c != '-' && c != 'E') {
+				return false;
+			}
+		}
+		try {
+			return Double.toString(Double.parseDouble(value)).equals(value);
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static EFormat detectDateFormat(String value) {
+		if (value.length() != 10) {
+			return null;
+		}
+		for (EFormat format : DATE_FORMATS) {
+			if (value.matches(format.getFormatPattern()) && DateColumn.toEpochMillis(DateTimeFormatter.ofPattern(format.getDateFormat()), value) != null) {
+				return format;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Base class of all typed columns. Null and empty values are tracked in separate bit sets, so that
+	 * they can be stored in primitive columns as well.
+	 */
+	private abstract static class Column {
+		int size = 0;
+		final BitSet nulls = new BitSet();
+		final BitSet empties = new BitSet();
+
+		abstract EColumnType getType();
+
+		/** @return true, if the value can be stored in the column without loss */
+		abstract boolean acceptsValue(String value);
+
+		/** Stores a non empty value at a position where the capacity is already ensured. */
+		abstract void store(int index, String value);
+
+		/** @return the string representation of the non empty value at the index */
+		abstract String load(int index);
+
+		/** Moves the stored values to close or open a gap. */
+		abstract void move(int from, int to, int length);
+
+		abstract void ensureCapacity(int capacity);
+
+		boolean accepts(String value) {
+			return value == null || value.isEmpty() || acceptsValue(value);
+		}
+
+		boolean isMissing(int index) {
+			return nulls.get(index) || empties.get(index);
+		}
+
+		String get(int index) {
+			if (nulls.get(index)) {
+				return null;
+			} else if (empties.get(index)) {
+				return "";
+			}
+			return load(index);
+		}
+
+		void set(int index, String value) {
+			nulls.set(index, value == null);
+			empties.set(index, value != null && value.isEmpty());
+			if (value != null && !value.isEmpty()) {
+				store(index, value);
+			}
+		}
+
+		void insert(int index, String value) {
+			ensureCapacity(size + 1);
+			if (index < size) {
+				move(index, index + 1, size - index);
+				shiftBits(nulls, index, 1);
+				shiftBits(empties, index, 1);
+			}
+			size++;
+			set(index, value);
+		}
+
+		void remove(int index) {
+			move(index + 1, index, size - index - 1);
+			shiftBits(nulls, index + 1, -1);
+			shiftBits(empties, index + 1, -1);
+			size--;
+			nulls.clear(size);
+			empties.clear(size);
+		}
+
+		private void shiftBits(BitSet bits, int from, int offset) {
+			if (offset > 0) {
+				for (int i = size - 1; i >= from; i--) {
+					bits.set(i + offset, bits.get(i));
+				}
+				bits.clear(from);
+			} else {
+				for (int i = from; i < size; i++) {
+					bits.set(i + offset, bits.get(i));
+				}
+			}
+		}
+
+		static int newCapacity(int current, int capacity) {
+			return Math.max(capacity, Math.max(16, current * 2));
+		}
+	}
+
+	/**
+	 * Base class of columns with numeric storage.
+	 */
+	private abstract static class NumberColumn extends Column {
+		abstract double getDouble(int index);
+	}
+
+	private static class IntColumn extends NumberColumn {
+		private int[] data = new int[0];
+
+		@Override
+		EColumnType getType() {
+			return EColumnType.INTEGER;
+		}
+
+		@Override
+		boolean acceptsValue(String value) {
+			Long l = parseCanonicalLong(value);
+			return l != null && l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE;
+		}
+
+		@Override
+		void store(int index, String value) {
+			data[index] = Integer.parseInt(value);
+		}
+
+		@Override
+		String load(int index) {
+			return Integer.toString(data[index]);
+		}
+
+		@Override
+		double getDouble(int index) {
+			return data[index];
+		}
+
+		@Override
+		void move(int from, int to, int length) {
+			System.arraycopy(data, from, data, to, length);
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > data.length) {
+				data = Arrays.copyOf(data, newCapacity(data.length, capacity));
+			}
+		}
+	}
+
+	private static class LongColumn extends NumberColumn {
+		long[] data = new long[0];
+
+		@Override
+		EColumnType getType() {
+			return EColumnType.LONG;
+		}
+
+		@Override
+		boolean acceptsValue(String value) {
+			return parseCanonicalLong(value) != null;
+		}
+
+		@Override
+		void store(int index, String value) {
+			data[index] = Long.parseLong(value);
+		}
+
+		@Override
+		String load(int index) {
+			return Long.toString(data[index]);
+		}
+
+		@Override
+		double getDouble(int index) {
+			return data[index];
+		}
+
+		@Override
+		void move(int from, int to, int length) {
+			System.arraycopy(data, from, data, to, length);
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > data.length) {
+				data = Arrays.copyOf(data, newCapacity(data.length, capacity));
+			}
+		}
+	}
+
+	/**
+	 * Column for decimal numbers. Values, that are written like integers, are marked in a bit set, and
+	 * all other values, that differ from the canonical representation of the double value (e.g. "1.50"),
+	 * keep their text in a side table, that will only be created by the first of these values.
+	 */
+	private static class DoubleColumn extends NumberColumn {
+		/**
+		 * Largest integer, up to which all integers can be stored in a double without loss.
+		 */
+		private static final double MAX_EXACT = 9007199254740992d;
+
+		private double[] data = new double[0];
+		private final BitSet integers = new BitSet();
+		private String[] texts;
+
+		@Override
+		EColumnType getType() {
+			return EColumnType.DOUBLE;
+		}
+
+		@Override
+		boolean acceptsValue(String value) {
+			return isDecimal(value);
+		}
+
+		@Override
+		void store(int index, String value) {
+			double d = Double.parseDouble(value);
+			data[index] = d;
+			Long l = parseCanonicalLong(value);
+			boolean integer = (l != null) && (Math.abs(d) <= MAX_EXACT) && ((long) d == l);
+			integers.set(index, integer);
+			String text = integer || Double.toString(d).equals(value) ? null : value;
+			if ((text != null) && (texts == null)) {
+				texts = new String[data.length];
+			}
+			if (texts != null) {
+				texts[index] = text;
+			}
+		}
+
+		@Override
+		String load(int index) {
+			if ((texts != null) && (texts[index] != null)) {
+				return texts[index];
+			}
+			if (integers.get(index)) {
+				return Long.toString((long) data[index]);
+			}
+			return Double.toString(data[index]);
+		}
+
+		@Override
+		double getDouble(int index) {
+			return data[index];
+		}
+
+		@Override
+		void move(int from, int to, int length) {
+			System.arraycopy(data, from, data, to, length);
+			if (texts != null) {
+				System.arraycopy(texts, from, texts, to, length);
+				if (to < from) {
+					texts[to + length] = null;
+				}
+			}
+			BitSet moved = integers.get(from, from + length);
+			integers.clear(Math.min(from, to), Math.max(from, to) + length);
+			for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+				integers.set(to + i);
+			}
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > data.length) {
+				data = Arrays.copyOf(data, newCapacity(data.length, capacity));
+				if (texts != null) {
+					texts = Arrays.copyOf(texts, data.length);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Column for dates of one {@link EFormat}, stored as epoch milliseconds (UTC).
+	 */
+	private static class DateColumn extends LongColumn {
+		private final EFormat format;
+		private final DateTimeFormatter formatter;
+
+		DateColumn(EFormat dateFormat) {
+			format = dateFormat;
+			formatter = DateTimeFormatter.ofPattern(dateFormat.getDateFormat());
+		}
+
+		static Long toEpochMillis(DateTimeFormatter fmt, String value) {
+			try {
+				LocalDate date = LocalDate.parse(value, fmt);
+				if (!fmt.format(date).equals(value)) {
+					return null;
+				}
+				return date.toEpochDay() * MILLIS_PER_DAY;
+			} catch (DateTimeParseException e) {
+				return null;
+			}
+		}
+
+		@Override
+		EColumnType getType() {
+			return EColumnType.DATE;
+		}
+
+		@Override
+		boolean acceptsValue(String value) {
+			return value.length() == format.getDateFormat().length() && toEpochMillis(formatter, value) != null;
+		}
+
+		@Override
+		void store(int index, String value) {
+			data[index] = toEpochMillis(formatter, value);
+		}
+
+		@Override
+		String load(int index) {
+			return formatter.format(LocalDate.ofEpochDay(data[index] / MILLIS_PER_DAY));
+		}
+	}
+
+	/**
+	 * Column for strings, where each distinct value is stored only once and the rows reference it by
+	 * an integer code.
+	 */
+	private static class DictionaryColumn extends Column {
+		private int[] codes = new int[0];
+		private final List<String> dictionary = new ArrayList<>();
+		private final HashMap<String, Integer> lookup = new HashMap<>();
+
+		@Override
+		EColumnType getType() {
+			return EColumnType.STRING;
+		}
+
+		@Override
+		boolean acceptsValue(String value) {
+			return true;
+		}
+
+		@Override
+		void store(int index, String value) {
+			Integer code = lookup.get(value);
+			if (code == null) {
+				code = dictionary.size();
+				dictionary.add(value);
+				lookup.put(value, code);
+			}
+			codes[index] = code;
+		}
+
+		@Override
+		String load(int index) {
+			return dictionary.get(codes[index]);
+		}
+
+		@Override
+		void move(int from, int to, int length) {
+			System.arraycopy(codes, from, codes, to, length);
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > codes.length) {
+				codes = Arrays.copyOf(codes, newCapacity(codes.length, capacity));
+			}
+		}
+	}
+}
@@ -0,0 +1,277 @@
+package org.opentdk.api.datastorage;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.opentdk.api.datastorage.BaseContainer.EHeader;
+import org.opentdk.api.filter.Filter;
+
+/**
+ * Wrapper that allows to share a {@link DataContainer} between threads. Changes will be made
+ * exclusively by {@link #update(Consumer)} or the update methods of the wrapper, while the read
+ * methods of the wrapper run without locking against an immutable snapshot of the rows:
+ *
+ * <pre>
+ * ConcurrentDataContainer shared = new ConcurrentDataContainer(new DataContainer("sessions.csv"));
+ *
+ * // request threads
+ * String user = shared.getValue("User", fltr);
+ *
+ * // writer thread
+ * shared.update(dc -&gt; {
+ * 	dc.deleteRows(expired);
+ * 	dc.addRow(newSession);
+ * });
+ * </pre>
+ *
+ * The snapshot is a copy of the rows and secondary indexes of the container, that will be created
+ * by the first read after a change. Readers, that have already fetched a snapshot, keep reading their
+ * consistent state while the next change is made. This fits read mostly workloads, where the costs
+ * of copying the rows are shared by many reads. Workloads with frequent changes may read the
+ * current rows with {@link #read(Function)} instead, which holds a shared lock that only blocks
+ * writers.<br>
+ * <br>
+ * Tree formats like XML don't support snapshots, because they can't be read concurrently. For these
+ * formats all read methods of the wrapper will be executed exclusively, like the updates.<br>
+ * <br>
+ * The lock is not reentrant, so the functions committed to {@link #read(Function)} and
+ * {@link #update(Consumer)} must not call methods of the wrapper.
+ *
+ * @author LK Test Solutions
+ */
+public final class ConcurrentDataContainer {
+
+	/**
+	 * The wrapped container, that will only be accessed while holding the lock.
+	 */
+	private final DataContainer dc;
+
+	private final StampedLock lock = new StampedLock();
+
+	/**
+	 * The immutable copy of the current rows or null, if the container has been changed since the last
+	 * snapshot was created.
+	 */
+	private volatile DataContainer snapshot;
+
+	/**
+	 * true = the container has a tree format and doesn't support snapshots.
+	 */
+	private final boolean tree;
+
+	/**
+	 * Creates the wrapper for a container. After wrapping, the container must only be accessed by the
+	 * methods of the wrapper.
+	 *
+	 * @param dc The container to share between threads
+	 */
+	public ConcurrentDataContainer(DataContainer dc) {
+		this.dc = dc;
+		tree = dc.getContainerFormat().getHeaderType() == EHeader.TREE;
+	}
+
+	/**
+	 * Returns the immutable snapshot of the current rows. The snapshot will be created, if the
+	 * container has been changed since the last call. Methods of the snapshot, that change values,
+	 * throw an <code>UnsupportedOperationException</code> without changing the shared rows, and the
+	 * rows returned by the snapshot are copies.
+	 *
+	 * @return <code>DataContainer</code> with a copy of the rows, that will not be changed anymore
+	 * @throws UnsupportedOperationException if the container has a tree format
+	 */
+	public DataContainer snapshot() {
+		if (tree) {
+			throw new UnsupportedOperationException("Snapshots are not supported for tree formats!");
+		}
+		DataContainer ret = snapshot;
+		if (ret != null) {
+			return ret;
+		}
+		long stamp = lock.readLock();
+		try {
+			// only one reader creates the snapshot, the other readers wait for it
+			synchronized (this) {
+				ret = snapshot;
+				if (ret == null) {
+					ret = dc.createSnapshot();
+					snapshot = ret;
+				}
+			}
+			return ret;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Reads the current rows of the container while holding a shared lock, so that other readers run
+	 * concurrently, but no changes will be made. Containers with tree format will be read exclusively.
+	 *
+	 * @param <T>    The type of the result
+	 * @param reader Function that reads the container and must not change it
+	 * @return the result of the function
+	 */
+	public <T> T read(Function<DataContainer, T> reader) {
+		if (tree) {
+			long stamp = lock.writeLock();
+			try {
+				return reader.apply(dc);
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return reader.apply(dc);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Changes the container exclusively. Readers, that use the snapshot, are not blocked, and get the
+	 * changes with the next snapshot after the update.
+	 *
+	 * @param writer Function that changes the container
+	 */
+	public void update(Consumer<DataContainer> writer) {
+		long stamp = lock.writeLock();
+		try {
+			// the monitor of the container keeps the background write-back away from incomplete changes
+			synchronized (dc) {
+				writer.accept(dc);
+			}
+		} finally {
+			snapshot = null;
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Reads the snapshot or, for tree formats, the container with an exclusive lock.
+	 */
+	private <T> T query(Function<DataContainer, T> reader) {
+		return tree ? read(reader) : reader.apply(snapshot());
+	}
+
+	/**
+	 * See {@link DataContainer#getColumn(String, Filter)}.
+	 *
+	 * @param headerName The name of the column
+	 * @param fltr       Object of type {@link org.opentdk.api.filter.Filter} which defines rules for
+	 *                   matching rows
+	 * @return the values of the matching rows
+	 */
+	public String[] getColumn(String headerName, Filter fltr) {
+		return query(c -> c.getColumn(headerName, fltr));
+	}
+
+	/**
+	 * See {@link DataContainer#getRowCount()}.
+	 *
+	 * @return the number of rows
+	 */
+	public int getRowCount() {
+		return query(DataContainer::getRowCount);
+	}
+
+	/**
+	 * See {@link DataContainer#getRowsList(Filter)}.
+	 *
+	 * @param fltr Object of type {@link org.opentdk.api.filter.Filter} which defines rules for matching
+	 *             rows
+	 * @return the matching rows
+	 */
+	public List<String[]> getRowsList(Filter fltr) {
+		return query(c -> c.getRowsList(fltr));
+	}
+
+	/**
+	 * See {@link DataContainer#getValue(String, int)}.
+	 *
+	 * @param headerName The name of the column
+	 * @param rowIndex   The index of the row
+	 * @return the value of the field
+	 */
+	public String getValue(String headerName, int rowIndex) {
+		return query(c -> c.getValue(headerName, rowIndex));
+	}
+
+	/**
+	 * See {@link DataContainer#getValue(String, Filter)}.
+	 *
+	 * @param headerName The name of the column
+	 * @param fltr       Object of type {@link org.opentdk.api.filter.Filter} which defines rules for
+	 *                   matching rows
+	 * @return the value of the first matching row
+	 */
+	public String getValue(String headerName, Filter fltr) {
+		return query(c -> c.getValue(headerName, fltr));
+	}
+
+	/**
+	 * See {@link DataContainer#getValuesAsList(String, Filter)}.
+	 *
+	 * @param headerName The name of the column
+	 * @param fltr       Object of type {@link org.opentdk.api.filter.Filter} which defines rules for
+	 *                   matching rows
+	 * @return the values of the matching rows
+	 */
+	public List<String> getValuesAsList(String headerName, Filter fltr) {
+		return query(c -> c.getValuesAsList(headerName, fltr));
+	}
+
+	/**
+	 * See {@link DataContainer#addRow(String[])}.
+	 *
+	 * @param row The values of the new row
+	 */
+	public void addRow(String[] row) {
+		update(c -> c.addRow(row));
+	}
+
+	/**
+	 * See {@link DataContainer#deleteRows(Filter)}.
+	 *
+	 * @param fltr Object of type {@link org.opentdk.api.filter.Filter} which defines rules for matching
+	 *             rows
+	 */
+	public void deleteRows(Filter fltr) {
+		update(c -> c.deleteRows(fltr));
+	}
+
+	/**
+	 * See {@link DataContainer#setValue(String, int, String)}.
+	 *
+	 * @param headerName The name of the column
+	 * @param rowIndex   The index of the row
+	 * @param value      The new value
+	 */
+	public void setValue(String headerName, int rowIndex, String value) {
+		update(c -> c.setValue(headerName, rowIndex, value));
+	}
+
+	/**
+	 * See {@link DataContainer#setValue(String, String, Filter)}.
+	 *
+	 * @param headerName The name of the column
+	 * @param value      The new value
+	 * @param fltr       Object of type {@link org.opentdk.api.filter.Filter} which defines rules for
+	 *                   matching rows
+	 */
+	public void setValue(String headerName, String value, Filter fltr) {
+		update(c -> c.setValue(headerName, value, fltr));
+	}
+
+	/**
+	 * See {@link DataContainer#flush()}. Writing the rows blocks updates, but not the readers.
+	 */
+	public void flush() {
+		read(c -> {
+			c.flush();
+			return null;
+		});
+	}
+}
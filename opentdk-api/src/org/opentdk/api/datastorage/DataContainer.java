@@ -9,19 +9,30 @@ import java.io.InputStreamReader;
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
 import org.opentdk.api.filter.Filter;
+import org.opentdk.api.filter.FilterRule;
 import org.opentdk.api.io.XFileWriter;
 import org.opentdk.api.io.XMLEditor;
 import org.opentdk.api.logger.*;
@@ -50,6 +61,21 @@ public class DataContainer extends BaseContainer {
 	 */
 	private Filter filter;
 
+	/**
+	 * The {@link #filter}, that has been compiled for the rows added by
+	 * {@link #addFilteredRow(String[])}, or null. See
+	 * {@link #getCompiledFilter()}.
+	 */
+	private Predicate<String[]> compiledFilter;
+
+	/**
+	 * The filter, the number of its rules and the number of headers, for which
+	 * {@link #compiledFilter} has been compiled.
+	 */
+	private Filter compiledFilterSource;
+	private int compiledFilterRules;
+	private int compiledFilterHeaders;
+
 	/**
 	 * The object that will be adapted to a specific <code>DataContainer</code> like
 	 * {@link XMLDataContainer} or {@link PropertiesDataContainer}. The caller of
@@ -60,6 +86,106 @@ public class DataContainer extends BaseContainer {
 	 */
 	private CustomContainer instance;
 
+	/**
+	 * true = large CSV files will be split into parts, that are parsed in parallel.
+	 * See {@link #setParallelLoad(boolean)}.
+	 */
+	private boolean parallelLoad = false;
+
+	/**
+	 * true = CSV files will be memory mapped instead of loaded into the heap. See
+	 * {@link #setMappedStorage(boolean)}.
+	 */
+	private boolean mappedStorage = false;
+
+	/**
+	 * true = the blocks of binary snapshots will be compressed. See
+	 * {@link #setBinaryCompression(boolean)}.
+	 */
+	private boolean binaryCompression = false;
+
+	/**
+	 * true = the values of XML files will be decoded once and cached. See
+	 * {@link #setXMLValueCache(boolean)}.
+	 */
+	private boolean xmlValueCache = false;
+
+	/**
+	 * true = the elements of XML files will be indexed by their tag names and
+	 * attribute values. See {@link #setXMLElementIndex(boolean)}.
+	 */
+	private boolean xmlElementIndex = false;
+
+	/**
+	 * Name of the elements, that will be read as rows from XML files. See
+	 * {@link #setXMLRowTag(String)}.
+	 */
+	private String xmlRowTag = "";
+
+	/**
+	 * The pool for parallel loading and scanning. See
+	 * {@link #setForkJoinPool(ForkJoinPool)}.
+	 */
+	private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+	/**
+	 * Minimum number of rows for parallel scans, 0 = all scans are sequential. See
+	 * {@link #setParallelThreshold(int)}.
+	 */
+	private int parallelThreshold = 0;
+
+	/**
+	 * Secondary indexes of the container, with the header name of the indexed
+	 * column as key. See {@link #createIndex(String, EIndexType)}.
+	 */
+	private final Map<String, ColumnIndex> indexes = new HashMap<>();
+
+	/**
+	 * Background thread, that writes the changes of all containers with the
+	 * write-back policy {@link EWriteBack#COALESCING}. The thread will be created
+	 * with the first scheduled write.
+	 */
+	private static ScheduledExecutorService writeBackScheduler;
+
+	/**
+	 * Defines when changes get written back to the file. See
+	 * {@link #setWriteBack(EWriteBack)}.
+	 */
+	private EWriteBack writeBack = EWriteBack.IMMEDIATE;
+
+	/**
+	 * Delay in milliseconds for coalesced writes. See
+	 * {@link #setWriteBackDelay(long)}.
+	 */
+	private long writeBackDelay = 1000;
+
+	/**
+	 * Number of changes, that triggers a coalesced write without delay. See
+	 * {@link #setWriteBackLimit(int)}.
+	 */
+	private int writeBackLimit = 1000;
+
+	/**
+	 * Number of changes, that have not been written to the file yet.
+	 */
+	private int pendingChanges = 0;
+
+	/**
+	 * The coalesced write, that is waiting for its delay.
+	 */
+	private ScheduledFuture<?> scheduledWrite;
+
+	/**
+	 * The error of the last coalesced write, that failed in the background, or
+	 * null. See {@link #getWriteBackError()}.
+	 */
+	private Exception writeBackError;
+
+	/**
+	 * Number of open batches. See {@link #beginBatch()}.
+	 */
+	private int openBatches = 0;
+
 	/**
 	 * Default constructor for the specific <code>DataContainer</code>.
 	 */
@@ -317,7 +443,7 @@ public class DataContainer extends BaseContainer {
 	 * @param col Name of the column that will be added to the
 	 *            {@link BaseContainer#headerNames}
 	 */
-	public void addColumn(String col) {
+	public synchronized void addColumn(String col) {
 		addColumn(col, false);
 	}
 	
@@ -333,25 +459,32 @@ public class DataContainer extends BaseContainer {
 	 *                    existing column; false = if column name exists, then add
 	 *                    column name with an index suffix
 	 */
-	public void addColumn(String col, boolean useExisting) {
-		if (!this.headerNames.containsKey(col)) {
-			this.headerNames.put(col, headerNames.size());
-		} else if (!useExisting) {
-			String col_tmp = col;
-			int count = 2;
-			while (this.headerNames.containsKey(col_tmp)) {
-				col_tmp = col + "_" + count;
+	public synchronized void addColumn(String col, boolean useExisting) {
+		if (putColumnName(col, useExisting)) {
+			widenRows(1, "");
+		}
+	}
+
+	/**
+	 * Adds several columns to a tabular <code>DataContainer</code>. Column names
+	 * that already exist get an index suffix, like by {@link #addColumn(String)}.
+	 * Other than calling {@link #addColumn(String)} for each column, every row
+	 * will be widened only once for all new columns. If the values are stored in
+	 * columnar format (see {@link #setColumnarStorage(boolean)}), the existing
+	 * columns stay untouched and the new columns will be appended as empty
+	 * columns.
+	 *
+	 * @param cols Names of the columns that will be added to the
+	 *             {@link BaseContainer#headerNames}
+	 */
+	public synchronized void addColumns(String... cols) {
+		int count = 0;
+		for (String col : cols) {
+			if (putColumnName(col, false)) {
 				count++;
 			}
-			this.headerNames.put(col_tmp, headerNames.size());
-		} else {
-			return;
-		}
-		for (int i = 0; i < values.size(); i++) {
-			String[] newArr = Arrays.copyOf(values.get(i), values.get(i).length + 1);
-			newArr[newArr.length - 1] = "";
-			values.set(i, newArr);
 		}
+		widenRows(count, "");
 	}
 
 
@@ -373,7 +506,7 @@ public class DataContainer extends BaseContainer {
 	 * @param fltr       The filter object to insert the new node at the right
 	 *                   position as demonstrated above.
 	 */
-	public void addField(String headerName, String value, Filter fltr) {
+	public synchronized void addField(String headerName, String value, Filter fltr) {
 		switch (getContainerFormat().getHeaderType()) {
 		case TREE:
 			instance.addField(headerName, value, fltr);
@@ -406,7 +539,7 @@ public class DataContainer extends BaseContainer {
 	 * @param fltr           The filter object to insert the new node at the right
 	 *                       position as demonstrated above.
 	 */
-	public void addField(String headerName, String attributeName, String attributeValue, Filter fltr) {
+	public synchronized void addField(String headerName, String attributeName, String attributeValue, Filter fltr) {
 		switch (getContainerFormat().getHeaderType()) {
 		case TREE:
 			instance.addField(headerName, attributeName, attributeValue, fltr);
@@ -445,7 +578,7 @@ public class DataContainer extends BaseContainer {
 	 * @param fltr           The filter object to insert the new node at the right
 	 *                       position as demonstrated above.
 	 */
-	public void addField(String headerName, String attributeName, String oldAttrValue, String attributeValue, Filter fltr) {
+	public synchronized void addField(String headerName, String attributeName, String oldAttrValue, String attributeValue, Filter fltr) {
 		switch (getContainerFormat().getHeaderType()) {
 		case TREE:
 			instance.addField(headerName, attributeName, oldAttrValue, attributeValue, fltr);
@@ -460,7 +593,7 @@ public class DataContainer extends BaseContainer {
 	 * Adds an empty row to the values ArrayList that is used for tabular data
 	 * formats.
 	 */
-	public void addRow() {
+	public synchronized void addRow() {
 		int rowSize = values.size() - getMetaData().size();
 		addRow(new String[rowSize]);
 	}
@@ -473,8 +606,10 @@ public class DataContainer extends BaseContainer {
 	 * @param rowIndex  index at which the specified row is to be inserted
 	 * @param rowValues String array with all row values to be inserted
 	 */
-	public void addRow(int rowIndex, String[] rowValues) {
-		values.add(rowIndex, addMetaValues(rowValues));
+	public synchronized void addRow(int rowIndex, String[] rowValues) {
+		String[] row = addMetaValues(rowValues);
+		values.add(rowIndex, row);
+		indexInsert(rowIndex, row);
 	}
 
 	/**
@@ -483,18 +618,52 @@ public class DataContainer extends BaseContainer {
 	 *
 	 * @param row String array with the content of the row to be added
 	 */
-	public void addRow(String[] row) {
-		if ((filter != null) && (!filter.getFilterRules().isEmpty())) {
-			try {
-				if (!checkValuesFilter(row, filter)) {
-					return;
-				}
-			} catch (NoSuchHeaderException e) {
-				MLogger.getInstance().log(Level.SEVERE, e);
-				throw new RuntimeException(e);
-			}
+	public synchronized void addRow(String[] row) {
+		try {
+			addFilteredRow(row);
+		} catch (NoSuchHeaderException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Adds a row like {@link #addRow(String[])}, but leaves the handling of a
+	 * filter with unknown headers to the caller, e.g. to a {@link CSVTailer},
+	 * that polls in the background.
+	 *
+	 * @param row String array with the content of the row to be added
+	 * @throws NoSuchHeaderException If the container does not have a header that
+	 *                               is defined in the filter of the container
+	 */
+	void addFilteredRow(String[] row) throws NoSuchHeaderException {
+		if (isFiltered() && !getCompiledFilter().test(row)) {
+			return;
+		}
+		String[] newRow = addMetaValues(row);
+		values.add(newRow);
+		indexInsert(values.size() - 1, newRow);
+	}
+
+	/**
+	 * Returns the compiled {@link #filter} of the container for the rows, that
+	 * are added one by one, e.g. by the loaders of the file formats. The filter
+	 * will only be compiled again, if it has been replaced, if rules or headers
+	 * have been added, e.g. by the header row of a file, or if a new load has
+	 * been started by {@link #readData(String, Filter)}.
+	 *
+	 * @return Predicate for the rows, that will be added
+	 * @throws NoSuchHeaderException If the container does not have a header that
+	 *                               is defined in the filter
+	 */
+	private Predicate<String[]> getCompiledFilter() throws NoSuchHeaderException {
+		if ((compiledFilter == null) || (compiledFilterSource != filter) || (compiledFilterRules != filter.getFilterRules().size()) || (compiledFilterHeaders != headerNames.size())) {
+			compiledFilter = compileFilter(filter);
+			compiledFilterSource = filter;
+			compiledFilterRules = filter.getFilterRules().size();
+			compiledFilterHeaders = headerNames.size();
 		}
-		values.add(addMetaValues(row));
+		return compiledFilter;
 	}
 
 	/**
@@ -503,7 +672,7 @@ public class DataContainer extends BaseContainer {
 	 * 
 	 * @param rows List of string arrays with the content of the rows to be added
 	 */
-	public void addRows(List<String[]> rows) {
+	public synchronized void addRows(List<String[]> rows) {
 		for (String[] row : rows) {
 			addRow(row);
 		}
@@ -517,7 +686,7 @@ public class DataContainer extends BaseContainer {
 	 *                 will be added to the <code>DataContainer</code>
 	 * @throws FileNotFoundException If the committed file does not exist.
 	 */
-	public void appendData(String fileName) throws FileNotFoundException {
+	public synchronized void appendData(String fileName) throws FileNotFoundException {
 		if (getColumnDelimiter() == null) {
 			setColumnDelimiter(";");
 		}
@@ -533,7 +702,7 @@ public class DataContainer extends BaseContainer {
 	 * @param columnDelimiter The column separator to structure the data.
 	 * @throws FileNotFoundException If the committed file does not exist.
 	 */
-	public void appendData(String fileName, String columnDelimiter) throws FileNotFoundException {
+	public synchronized void appendData(String fileName, String columnDelimiter) throws FileNotFoundException {
 		setFileName(fileName);
 		setColumnDelimiter(columnDelimiter);
 
@@ -544,6 +713,7 @@ public class DataContainer extends BaseContainer {
 			adaptContainer();
 		}
 
+		compiledFilter = null;
 		instance.readData(filter);
 	}
 
@@ -552,31 +722,136 @@ public class DataContainer extends BaseContainer {
 	 * match with the headers of the current instance and appends all data of the
 	 * assigned <code>DataContainer</code> to the values List of the DataContaner
 	 * instance which is calling the method, in case the headers of both
-	 * <code>DataContainer</code> are the same.
+	 * <code>DataContainer</code> are the same.<br>
+	 * If the headers are the same but in a different order, the column positions
+	 * will be mapped once and each row will be copied into a new array with the
+	 * order of the current instance. Columns that don't exist in the assigned
+	 * <code>DataContainer</code> will be null. Large containers will be copied in
+	 * parallel, if parallel scans are enabled (see
+	 * {@link #setParallelThreshold(int)}).
 	 *
 	 * @param dc The DataContanier which content will be appended to the current
 	 *           DataContainer instance.
 	 */
-	public void appendDataContainer(DataContainer dc) {
-		if (checkHeader(dc.getHeaders()) == 0) {
-			values.addAll(dc.values);
-		} else if (checkHeader(dc.getHeaders()) == 1) {
-			int i = 0;
-			while (i < dc.getRowCount()) {
-				String[] row = new String[getColumnCount()];
-				for (int j = 0; j < getColumnCount(); j++) {
-					try {
-						row[j] = dc.getValuesAsList(getHeadersIndexed().get(j)).get(i);
-					} catch (RuntimeException e) {
-						row[j] = null;
-					}
-				}
-				i++;
-				values.add(row);
+	public synchronized void appendDataContainer(DataContainer dc) {
+		int rowCount = values.size();
+		switch (checkHeader(dc.getHeaders())) {
+		case 0:
+			// the rows get copied, so that the containers don't share their rows
+			for (int i = 0; i < dc.values.size(); i++) {
+				values.add(dc.values.get(i).clone());
 			}
-		} else {
+			break;
+		case 1:
+			values.addAll(remapRows(dc));
+			break;
+		default:
 			MLogger.getInstance().log(Level.WARNING, "Headers of appending DataContainer don't match to the headers of the current instance. DataContainer will not be appended!", getClass().getSimpleName(), getClass().getName(), "appendDataContainer");
+			break;
+		}
+		for (int i = rowCount; i < values.size(); i++) {
+			indexInsert(i, values.get(i));
+		}
+	}
+
+	/**
+	 * Merges the rows of several <code>DataContainer</code> into a new instance.
+	 * The headers and the column delimiter will be taken from the first container.
+	 * The rows of all containers will be appended in the order of the list by
+	 * {@link #appendDataContainer(DataContainer)}, so containers with mismatching
+	 * headers will be skipped.
+	 *
+	 * <pre>
+	 * DataContainer all = DataContainer.concat(Arrays.asList(january, february, march));
+	 * </pre>
+	 *
+	 * @param containers The containers to merge
+	 * @return new <code>DataContainer</code> with the rows of all containers
+	 */
+	public static DataContainer concat(List<DataContainer> containers) {
+		DataContainer ret = new DataContainer();
+		if (containers.isEmpty()) {
+			return ret;
+		}
+		DataContainer first = containers.get(0);
+		ret.setColumnDelimiter(first.getColumnDelimiter());
+		ret.setHeaders(first.getHeaderNamesIndexed());
+		ret.setForkJoinPool(first.getForkJoinPool());
+		ret.setParallelThreshold(first.getParallelThreshold());
+		int rowCount = 0;
+		for (DataContainer dc : containers) {
+			rowCount += dc.getRowCount();
+		}
+		ret.values = new ArrayList<String[]>(rowCount);
+		for (DataContainer dc : containers) {
+			ret.appendDataContainer(dc);
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates a secondary index for a column of a tabular container. Filter rules
+	 * of the indexed column will be served by the index instead of scanning all
+	 * rows, e.g. by {@link #getRowsIndexes(Filter)},
+	 * {@link #getRowsList(Filter)}, {@link #getColumn(String, Filter)} or
+	 * {@link #getValue(String, Filter)}:
+	 * <ul>
+	 * <li>{@link EIndexType#HASH} and {@link EIndexType#SORTED} serve the
+	 * operator <code>EOperator.EQUALS</code> with one or more values</li>
+	 * <li>{@link EIndexType#SORTED} serves <code>EOperator.GREATER_THAN</code>
+	 * and <code>EOperator.LESS_THAN</code>, as long as all values of the column
+	 * are integers</li>
+	 * </ul>
+	 * The index will be maintained by {@link #addRow(String[])},
+	 * {@link #setRow(int, String[])}, {@link #setValue(String, int, String)},
+	 * {@link #deleteRow(int)} and all other methods that change the rows. Creating
+	 * an index for a column that already has one replaces the existing index.
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer("customers.csv");
+	 * dc.createIndex("CustomerID", EIndexType.HASH);
+	 * Filter fltr = new Filter();
+	 * fltr.addFilterRule("CustomerID", "4711", EOperator.EQUALS);
+	 * String name = dc.getValue("Name", fltr);
+	 * </pre>
+	 *
+	 * @param headerName The name of the column
+	 * @param indexType  The type of the index
+	 */
+	public void createIndex(String headerName, EIndexType indexType) {
+		if (getContainerFormat().getHeaderType() == EHeader.TREE) {
+			MLogger.getInstance().log(Level.WARNING, "Indexes are not supported for tree formats!", getClass().getSimpleName(), getClass().getName(), "createIndex");
+			return;
+		}
+		if (!headerNames.containsKey(headerName)) {
+			NoSuchHeaderException e = new NoSuchHeaderException("Header " + headerName + " doesn't comply to DataContainer!");
+			MLogger.getInstance().log(Level.SEVERE, e, "createIndex");
+			throw new RuntimeException(e);
+		}
+		indexes.put(headerName, new ColumnIndex(indexType, headerNames.get(headerName), values));
+	}
+
+	/**
+	 * Starts a batch of changes, that will be written to the file in one step when
+	 * the batch gets closed, independent of the write-back policy. Batches can be
+	 * nested; the file will be written when the outermost batch gets closed.
+	 *
+	 * <pre>
+	 * try (DataContainer.WriteBatch batch = dc.beginBatch()) {
+	 * 	for (int i = 0; i &lt; 10000; i++) {
+	 * 		dc.setValue("Value", i, "0");
+	 * 	}
+	 * }
+	 * </pre>
+	 *
+	 * @return The batch, that needs to be closed after the changes
+	 * @see #setWriteBack(EWriteBack)
+	 */
+	public WriteBatch beginBatch() {
+		synchronized (this) {
+			openBatches++;
 		}
+		return new WriteBatch();
 	}
 
 	/**
@@ -616,7 +891,7 @@ public class DataContainer extends BaseContainer {
 	 * @param fltr           The filter object to find the field or node at the
 	 *                       right position as demonstrated above.
 	 */
-	public void deleteField(String headerName, String attributeName, String attributeValue, Filter fltr) {
+	public synchronized void deleteField(String headerName, String attributeName, String attributeValue, Filter fltr) {
 		instance.deleteField(headerName, attributeName, attributeValue, fltr);
 	}
 	/**
@@ -624,8 +899,13 @@ public class DataContainer extends BaseContainer {
 	 * 
 	 * @param index integer that has to be in the range of the values size.
 	 */
-	public void deleteRow(int index) {
+	public synchronized void deleteRow(int index) {
 		values.remove(index);
+		for (ColumnIndex columnIndex : indexes.values()) {
+			if (columnIndex.size() == values.size() + 1) {
+				columnIndex.remove(index);
+			}
+		}
 	}
 
 	/**
@@ -636,20 +916,32 @@ public class DataContainer extends BaseContainer {
 	 * @param fltr {@link org.opentdk.api.filter.Filter} object with the set
 	 *             filter rules.
 	 */
-	public void deleteRows(Filter fltr) {
-		int[] indexes = getRowsIndexes(fltr);
-		if (indexes.length == 0) {
+	public synchronized void deleteRows(Filter fltr) {
+		boolean deleted = false;
+		if (!values.isEmpty()) {
+			// the rows are checked by values.get, that decodes the rows of tree formats
+			deleted = removeRows(getRowsSelection(fltr, null, "deleteRows"));
+			if (deleted) {
+				rebuildIndexes();
+			}
+		}
+		if (!deleted) {
 			MLogger.getInstance().log(Level.WARNING, "No row indexes detected for the filter criteria", getClass().getSimpleName(), "deleteRows");
 		} else {
-			for (int index : indexes) {
-				values.remove(index);
-			}
-			if (!fileName.isEmpty()) {
-				writeData(fileName);
-			}
+			requestWriteBack();
 		}
 	}
 
+	/**
+	 * Removes the secondary index of a column, that has been created by
+	 * {@link #createIndex(String, EIndexType)}.
+	 *
+	 * @param headerName The name of the column
+	 */
+	public void dropIndex(String headerName) {
+		indexes.remove(headerName);
+	}
+
 	/**
 	 * This method writes data to a existing or newly created CSV file. Useful if
 	 * the current state of the container should be saved. The semicolon gets used
@@ -666,7 +958,11 @@ public class DataContainer extends BaseContainer {
 	/**
 	 * This method writes data to a existing or newly created CSV file. Useful if
 	 * the current state of the container should be saved. The column separator can
-	 * be set.
+	 * be set. The rows will be streamed from the container into the buffer of the
+	 * {@link XFileWriter}. Fields, that contain the column separator, a double
+	 * quote or a line break, will always be quoted according to RFC 4180. To read
+	 * them back unchanged, quoted values need to be enabled (see
+	 * {@link #setQuotedValues(boolean)}).
 	 *
 	 * @param fileName        The file path of the file to write to or to create.
 	 * @param columnDelimiter The column separator to structure the data.
@@ -675,19 +971,25 @@ public class DataContainer extends BaseContainer {
 	 */
 	public void exportContainer(String fileName, String columnDelimiter) throws IOException {
 		HashMap<Integer, String> hm = getHeadersIndexed();
+		loadMappedValues(fileName);
 		XFileWriter writer = new XFileWriter(new File(fileName));
 		if (writer != null) {
 			switch (getContainerFormat().getHeaderType()) {
 			case COLUMN:
-				writer.writeLine(hm.values().toArray(new String[hm.values().size()]), columnDelimiter);
-				for (String[] row : getRowsList()) {
-					writer.writeLine(row, columnDelimiter);
-				}
+				writer.setColumnDelimiter(columnDelimiter);
+				writer.setQuotedValues(true);
+				writer.writeLines(Collections.singletonList(hm.values().toArray(new String[hm.values().size()])));
+				writer.writeRows(values.stream().filter(row -> row.length > 0).iterator());
 				break;
 			case ROW:
 				List<String[]> colList = getColumnsList();
+				writer.setColumnDelimiter(columnDelimiter);
+				writer.setQuotedValues(true);
 				for (int i = 0; i < colList.size(); i++) {
-					writer.writeLine(hm.get(i) + columnDelimiter + (String.join(columnDelimiter, colList.get(i))));
+					String[] line = new String[colList.get(i).length + 1];
+					line[0] = hm.get(i);
+					System.arraycopy(colList.get(i), 0, line, 1, colList.get(i).length);
+					writer.writeLine(line);
 				}
 				break;
 			default:
@@ -698,6 +1000,75 @@ public class DataContainer extends BaseContainer {
 		}
 	}
 
+	/**
+	 * Loads the values of a memory mapped file into the heap, if the mapped file
+	 * is the file, that will be written. Otherwise the rows would be read from
+	 * the file, while it gets overwritten.
+	 *
+	 * @param fileName The file to write to
+	 * @throws IOException If the path of a file cannot be resolved
+	 */
+	void loadMappedValues(String fileName) throws IOException {
+		if ((values instanceof MappedCSVStore) && new File(fileName).getCanonicalFile().equals(new File(getFileName()).getCanonicalFile())) {
+			values = new ArrayList<String[]>(values);
+		}
+	}
+
+	/**
+	 * Writes all changes, that have not been written back to the file yet,
+	 * because of the write-back policy {@link EWriteBack#BATCHED} or
+	 * {@link EWriteBack#COALESCING}. A coalesced write, that failed in the
+	 * background, will be repeated and its error logged by this method.
+	 *
+	 * @see #setWriteBack(EWriteBack)
+	 */
+	public synchronized void flush() {
+		if (scheduledWrite != null) {
+			scheduledWrite.cancel(false);
+			scheduledWrite = null;
+		}
+		if (writeBackError != null) {
+			MLogger.getInstance().log(Level.WARNING, "Coalesced write of " + fileName + " failed in the background and will be repeated: " + writeBackError, getClass().getSimpleName(), "flush");
+			writeBackError = null;
+		}
+		if ((pendingChanges > 0) && (!fileName.isEmpty())) {
+			writeData(fileName);
+		}
+		pendingChanges = 0;
+	}
+
+	/**
+	 * Creates a {@link CSVTailer}, that adds the rows of a CSV file to the
+	 * container, while the file gets appended by other processes. The first
+	 * {@link CSVTailer#poll()} reads the rows, that exist at that time, and each
+	 * further poll only the rows, that have been appended since the previous poll.
+	 * The rows will be parsed with the column delimiter, header row index and
+	 * quoted values setting of the container.<br>
+	 * The file name of the container will not be changed, so that changes of the
+	 * container will not be written back to the followed file.
+	 *
+	 * @param fileName Full path and name of the CSV file to follow
+	 * @return the tailer, that polls the file
+	 * @throws UnsupportedOperationException if the container doesn't have column
+	 *                                       headers
+	 */
+	public CSVTailer follow(String fileName) {
+		if (getContainerFormat().getHeaderType() != EHeader.COLUMN) {
+			throw new UnsupportedOperationException("Following files is only supported for formats with column headers!");
+		}
+		if (values instanceof MappedCSVStore) {
+			values = new ArrayList<String[]>(values);
+		}
+		CSVDataContainer csv = instance instanceof CSVDataContainer ? (CSVDataContainer) instance : null;
+		if (csv == null) {
+			// the parser of the CSV container is used, without changing the format
+			EContainerFormat format = containerFormat;
+			csv = new CSVDataContainer(this);
+			containerFormat = format;
+		}
+		return new CSVTailer(this, csv, fileName);
+	}
+
 	/**
 	 * A specific method for type {@link XMLDataContainer} to get the attributes of
 	 * a XML tag.
@@ -814,6 +1185,25 @@ public class DataContainer extends BaseContainer {
 		return getHeaders().size();
 	}
 
+	/**
+	 * Returns the data type that has been inferred for a column, if the values are
+	 * stored in columnar format (see {@link #setColumnarStorage(boolean)}).
+	 *
+	 * @param headerName The name of the column
+	 * @return the {@link EColumnType} of the column or null, if the container does
+	 *         not use columnar storage or the column does not exist
+	 */
+	public EColumnType getColumnType(String headerName) {
+		if (!(values instanceof ColumnStore) || !headerNames.containsKey(headerName)) {
+			return null;
+		}
+		int headerIndex = getHeaderIndex(headerName);
+		if (headerIndex >= ((ColumnStore) values).getColumnCount()) {
+			return null;
+		}
+		return ((ColumnStore) values).getColumnType(headerIndex);
+	}
+
 	/**
 	 * Gets a <code>List</code> of string arrays with all column values of the
 	 * <code>DataContainer</code> instance.
@@ -905,6 +1295,16 @@ public class DataContainer extends BaseContainer {
 		return colList;
 	}
 
+	/**
+	 * Returns the pool, that is used for parallel loading and scanning.
+	 *
+	 * @return the pool of the container
+	 * @see #setForkJoinPool(ForkJoinPool)
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool;
+	}
+
 	/**
 	 * Gets the maximum length of the values corresponding to the headerName.
 	 *
@@ -1021,25 +1421,63 @@ public class DataContainer extends BaseContainer {
 	 * @return The numbers of the matching rows as integer array.
 	 */
 	public int[] getRowsIndexes(Filter filter) {
-		StringBuilder indexBuffer = new StringBuilder();
-		for (int i = 0; i < values.size(); i++) {
-			try {
-				if (checkValuesFilter(values.get(i), filter)) {
-					if (indexBuffer.length() > 0) {
-						indexBuffer.append(";");
-					}
-					indexBuffer.append(String.valueOf(i));
-				}
-			} catch (NoSuchHeaderException e) {
-				MLogger.getInstance().log(Level.SEVERE, e, "getRowsIndexes");
-				throw new RuntimeException(e);
-			}
-		}
-		if (indexBuffer.length() > 0) {
-			return Arrays.stream(indexBuffer.toString().split(";")).mapToInt(Integer::parseInt).toArray();
-		} else {
-			return new int[] {};
+		return getRowsSelection(filter, null, "getRowsIndexes").stream().toArray();
+	}
+
+	/**
+	 * Returns a list with all rows of a selection, that has been created by
+	 * {@link #getRowsSelection(Filter)}.
+	 *
+	 * @param selection Selection vector with one bit per row number
+	 * @return A list with the selected rows in ascending order. Each row is stored
+	 *         in one string array.
+	 */
+	public List<String[]> getRowsList(BitSet selection) {
+		List<String[]> outValues = new ArrayList<String[]>(selection.cardinality());
+		for (int i = selection.nextSetBit(0); i >= 0 && i < values.size(); i = selection.nextSetBit(i + 1)) {
+			outValues.add(values.get(i));
 		}
+		return outValues;
+	}
+
+	/**
+	 * Returns a selection vector with the rows, that match to a filter. Bit
+	 * <code>i</code> is set, if row <code>i</code> matches. Selection vectors of
+	 * several filters can be combined without creating any lists of rows, e.g. by
+	 * <code>BitSet.or</code> for rows that match to one of the filters or by
+	 * {@link #getRowsSelection(Filter, BitSet)} for rows that match to all
+	 * filters:
+	 *
+	 * <pre>
+	 * BitSet munich = dc.getRowsSelection(munichFilter);
+	 * BitSet berlin = dc.getRowsSelection(berlinFilter);
+	 * munich.or(berlin);
+	 * BitSet customers = dc.getRowsSelection(customerFilter, munich);
+	 * List{@literal <String[]>} rows = dc.getRowsList(customers);
+	 * </pre>
+	 *
+	 * @param filter Object of type {@link org.opentdk.api.filter.Filter} which
+	 *               defines rules for matching rows.
+	 * @return Selection vector with the matching row numbers
+	 */
+	public BitSet getRowsSelection(Filter filter) {
+		return getRowsSelection(filter, null, "getRowsSelection");
+	}
+
+	/**
+	 * Returns a selection vector with the rows of an existing selection, that
+	 * also match to a filter. Only the rows of the existing selection will be
+	 * checked.
+	 *
+	 * @param filter    Object of type {@link org.opentdk.api.filter.Filter} which
+	 *                  defines rules for matching rows.
+	 * @param selection Selection vector with the rows that should be checked. The
+	 *                  committed object will not be changed.
+	 * @return Selection vector with the matching row numbers
+	 * @see #getRowsSelection(Filter)
+	 */
+	public BitSet getRowsSelection(Filter filter, BitSet selection) {
+		return getRowsSelection(filter, selection, "getRowsSelection");
 	}
 
 	/**
@@ -1078,7 +1516,19 @@ public class DataContainer extends BaseContainer {
 	 */
 	public List<String[]> getRowsList(int[] rowIndexes, String[] columnHeaders, Filter rowFilter) {
 		List<String[]> outValues = new ArrayList<String[]>();
-		if (rowIndexes.length == 0) {
+		Predicate<String[]> compiledFilter = compileRowFilter(rowFilter, "getRowsList");
+		int[] indexedRows = rowIndexes.length == 0 ? getIndexedRows(rowFilter) : null;
+		if (indexedRows != null) {
+			if (indexedRows.length == 0) {
+				return outValues;
+			}
+			rowIndexes = indexedRows;
+		} else if ((rowIndexes.length == 0) && isParallelScan()) {
+			// the filter gets checked in parallel, so only the matching rows need to be collected
+			Predicate<String[]> parallelFilter = compiledFilter;
+			rowIndexes = scanRows(row -> (row.length > 0) && parallelFilter.test(row), null).stream().toArray();
+			compiledFilter = row -> true;
+		} else if (rowIndexes.length == 0) {
 			rowIndexes = new int[values.size()];
 			if (values.size() > 0) {
 				int i = 0;
@@ -1094,26 +1544,21 @@ public class DataContainer extends BaseContainer {
 			}
 			String[] row = values.get(rowIndexes[i]);
 			if (row.length > 0) {
-				try {
-					if (checkValuesFilter(row, rowFilter)) {
-						if (columnHeaders.length == 0) {
-							// if no headerNames are defined, return the complete row
-							outValues.add(row);
-						} else {
-							// else return the values of all defined columns
-							String[] rowArray = new String[columnHeaders.length];
-							for (int j = 0; j < columnHeaders.length; j++) {
-								int headerIndex = getHeaderIndex(columnHeaders[j]);
-								if (headerIndex > -1) {
-									rowArray[j] = row[headerIndex];
-								}
+				if (compiledFilter.test(row)) {
+					if (columnHeaders.length == 0) {
+						// if no headerNames are defined, return the complete row
+						outValues.add(row);
+					} else {
+						// else return the values of all defined columns
+						String[] rowArray = new String[columnHeaders.length];
+						for (int j = 0; j < columnHeaders.length; j++) {
+							int headerIndex = getHeaderIndex(columnHeaders[j]);
+							if (headerIndex > -1) {
+								rowArray[j] = row[headerIndex];
 							}
-							outValues.add(rowArray);
 						}
+						outValues.add(rowArray);
 					}
-				} catch (NoSuchHeaderException e) {
-					MLogger.getInstance().log(Level.SEVERE, e, "getRowsList");
-					throw new RuntimeException(e);
 				}
 			}
 		}
@@ -1255,6 +1700,22 @@ public class DataContainer extends BaseContainer {
 	 */
 	public List<Double> getValuesAsDoubleList(String headerName, Filter rowFilter) {
 		List<Double> doubleList = new ArrayList<Double>();
+		if (isColumnarColumn(headerName)) {
+			// numeric columns will be read without parsing strings
+			ColumnStore store = (ColumnStore) values;
+			int headerIndex = getHeaderIndex(headerName);
+			for (int rowIndex : getRowsIndexes(rowFilter)) {
+				if (store.isNumber(headerIndex, rowIndex)) {
+					doubleList.add(store.getNumber(headerIndex, rowIndex));
+				} else {
+					String val = store.getField(headerIndex, rowIndex);
+					if ((val != null) && (!val.isEmpty())) {
+						doubleList.add(Double.valueOf(val));
+					}
+				}
+			}
+			return doubleList;
+		}
 		List<String> valList = getValuesAsList(headerName, rowFilter);
 		for (String val : valList) {
 			if (!val.isEmpty()) {
@@ -1291,6 +1752,18 @@ public class DataContainer extends BaseContainer {
 	 */
 	public List<Integer> getValuesAsIntList(String headerName, Filter rowFilter) {
 		List<Integer> intList = new ArrayList<Integer>();
+		if (isColumnarColumn(headerName) && getColumnType(headerName) == EColumnType.INTEGER) {
+			ColumnStore store = (ColumnStore) values;
+			int headerIndex = getHeaderIndex(headerName);
+			for (int rowIndex : getRowsIndexes(rowFilter)) {
+				if (store.isNumber(headerIndex, rowIndex)) {
+					intList.add((int) store.getNumber(headerIndex, rowIndex));
+				} else {
+					intList.add(Integer.valueOf(store.getField(headerIndex, rowIndex)));
+				}
+			}
+			return intList;
+		}
 		List<String> valList = getValuesAsList(headerName, rowFilter);
 		for (String val : valList) {
 			intList.add(Integer.valueOf(val));
@@ -1364,60 +1837,241 @@ public class DataContainer extends BaseContainer {
 	}
 
 	/**
-	 * Compares the row at committed index with the committed string array. If one
-	 * of the still existing row values is null or empty, it gets replaced by the
-	 * value from the new array.
-	 * 
-	 * @param rowIndex  row number to identify the row that should be merged
-	 * @param newValues the new data as string array
+	 * Returns the policy, that defines when changes get written back to the file.
+	 *
+	 * @return the write-back policy
+	 * @see #setWriteBack(EWriteBack)
 	 */
-	public void mergeRows(int rowIndex, String[] newValues) {
-		String[] valArr = this.getRow(rowIndex);
-		for (int i = 0; i < newValues.length; i++) {
-			if (newValues[i] != null) {
-				if ((getValue(i, rowIndex) == null) || (getValue(i, rowIndex).isEmpty())) {
-					valArr[i] = newValues[i];
-				}
-			}
-		}
-		values.set(rowIndex, valArr);
+	public EWriteBack getWriteBack() {
+		return writeBack;
 	}
 
 	/**
-	 * If the <code>DataContainer</code> initialization and the data import needs to
-	 * be done separately, this method can be used. This method requires that the
-	 * data source is known by the specific <code>DataContainer</code>, e.g. a valid
-	 * source file is assigned to the {@link BaseContainer#fileName} property.
+	 * Returns the error of the last coalesced write, that failed in the
+	 * background thread of the write-back policy {@link EWriteBack#COALESCING}.
+	 * The error will be reset by the next successful write or by
+	 * {@link #flush()}, that logs it.
+	 *
+	 * @return the error or null, if the last coalesced write has succeeded
+	 * @see #setWriteBack(EWriteBack)
 	 */
-	public void readData() {
-		instance.readData(new Filter());
+	public synchronized Exception getWriteBackError() {
+		return writeBackError;
 	}
 
 	/**
-	 * If the <code>DataContainer</code> initialization and the data import needs to
-	 * be done separately, this method can be used. This method requires that the
-	 * data source is known by the specific <code>DataContainer</code>, e.g. a valid
-	 * source file is assigned to the {@link BaseContainer#fileName} property.
-	 * 
-	 * @param fltr A {@link org.opentdk.api.filter.Filter} object to define
-	 *             which data should be ignored. If it is null no filter gets used.
+	 * Returns the name of the elements, that will be read as rows from XML files.
+	 *
+	 * @return the name of the row elements or an empty string, if XML files will
+	 *         be read into a DOM document
+	 * @see #setXMLRowTag(String)
 	 */
-	public void readData(Filter fltr) {
-		instance.readData(fltr);
+	public String getXMLRowTag() {
+		return xmlRowTag;
 	}
 
 	/**
-	 * If the <code>DataContainer</code> initialization and the data import needs to
-	 * be done separately, this method can be used.
-	 * 
-	 * @param fileName Full path and name of the source file, from which the data
-	 *                 will be loaded into DataContainer
-	 */
-	public void readData(String fileName) {
-		this.setFileName(fileName);
+	 * Groups the rows by the values of one or more columns. The aggregate
+	 * functions for the groups will be calculated by
+	 * {@link GroupBy#agg(Aggregation...)} in a single pass over the rows:
+	 *
+	 * <pre>
+	 * DataContainer stats = dc.groupBy("host", "day").agg(Aggregation.mean("latency"), Aggregation.p99("latency"), Aggregation.count());
+	 * </pre>
+	 *
+	 * Without header names, all rows belong to one group.
+	 *
+	 * @param headerNames The names of the columns, that define the groups
+	 * @return the grouping of the rows
+	 */
+	public GroupBy groupBy(String... headerNames) {
+		return groupBy(new Filter(), headerNames);
+	}
+
+	/**
+	 * Groups the rows, that match to a filter, by the values of one or more
+	 * columns. See {@link #groupBy(String...)}.
+	 *
+	 * @param rowFilter   Object of type {@link org.opentdk.api.filter.Filter}
+	 *                    which defines rules for matching rows
+	 * @param headerNames The names of the columns, that define the groups
+	 * @return the grouping of the rows
+	 */
+	public GroupBy groupBy(Filter rowFilter, String... headerNames) {
+		return new GroupBy(this, rowFilter, headerNames);
+	}
+
+	/**
+	 * Checks if binary snapshots will be compressed.
+	 *
+	 * @return true = the blocks of binary snapshots will be compressed
+	 * @see #setBinaryCompression(boolean)
+	 */
+	public boolean isBinaryCompression() {
+		return binaryCompression;
+	}
+
+	/**
+	 * Checks if the values of the container are stored in columnar format.
+	 *
+	 * @return true = values are stored column by column in typed arrays; false =
+	 *         values are stored row by row as string arrays
+	 * @see #setColumnarStorage(boolean)
+	 */
+	public boolean isColumnarStorage() {
+		return values instanceof ColumnStore;
+	}
+
+	/**
+	 * Checks if rows will be filtered by the filter of the container, when they
+	 * are added.
+	 *
+	 * @return true = the container has a filter with at least one rule
+	 */
+	boolean isFiltered() {
+		return (filter != null) && (!filter.getFilterRules().isEmpty());
+	}
+
+	/**
+	 * Checks if CSV files will be memory mapped.
+	 *
+	 * @return true = memory mapped storage is enabled
+	 * @see #setMappedStorage(boolean)
+	 */
+	public boolean isMappedStorage() {
+		return mappedStorage;
+	}
+
+	/**
+	 * Returns the minimum number of rows for parallel scans.
+	 *
+	 * @return the number of rows or 0, if all scans are sequential
+	 * @see #setParallelThreshold(int)
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Checks if large CSV files will be parsed in parallel.
+	 *
+	 * @return true = parallel loading is enabled
+	 * @see #setParallelLoad(boolean)
+	 */
+	public boolean isParallelLoad() {
+		return parallelLoad;
+	}
+
+	/**
+	 * Checks if the elements of XML files will be indexed.
+	 *
+	 * @return true = the elements of XML files are indexed by their tag names and
+	 *         attribute values
+	 * @see #setXMLElementIndex(boolean)
+	 */
+	public boolean isXMLElementIndex() {
+		return xmlElementIndex;
+	}
+
+	/**
+	 * Checks if the values of XML files will be cached.
+	 *
+	 * @return true = the values of XML elements will be decoded only once
+	 * @see #setXMLValueCache(boolean)
+	 */
+	public boolean isXMLValueCache() {
+		return xmlValueCache;
+	}
+
+	/**
+	 * Joins the rows of this container with the rows of another tabular container,
+	 * whose key column has the same value. The result is a new
+	 * <code>DataContainer</code> with the columns of this container followed by
+	 * the columns of the other container without its key column. Header names that
+	 * exist in both containers get an index suffix, like by
+	 * {@link #addColumn(String)}.<br>
+	 * The rows of the smaller container will be put into a hash table, so the join
+	 * takes linear time. The result has the order of the rows of this container,
+	 * and rows that match to several rows of the other container are repeated for
+	 * each match. Rows without key or with an empty key never match. If parallel
+	 * scans are enabled (see {@link #setParallelThreshold(int)}), the rows of the
+	 * larger container will be looked up in parallel.
+	 *
+	 * <pre>
+	 * DataContainer metrics = new DataContainer("metrics.csv");
+	 * DataContainer inventory = new DataContainer("inventory.csv");
+	 * DataContainer joined = metrics.join(inventory, "HostID", "ID", EJoinType.LEFT);
+	 * </pre>
+	 *
+	 * @param other    The container with the rows to join
+	 * @param leftKey  The name of the key column of this container
+	 * @param rightKey The name of the key column of the other container
+	 * @param joinType {@link EJoinType#INNER} = only rows with a match in both
+	 *                 containers; {@link EJoinType#LEFT} = all rows of this
+	 *                 container, with null values for rows without match
+	 * @return new <code>DataContainer</code> with the joined rows
+	 */
+	public DataContainer join(DataContainer other, String leftKey, String rightKey, EJoinType joinType) {
+		return HashJoin.join(this, other, leftKey, rightKey, joinType);
+	}
+
+	/**
+	 * Compares the row at committed index with the committed string array. If one
+	 * of the still existing row values is null or empty, it gets replaced by the
+	 * value from the new array.
+	 * 
+	 * @param rowIndex  row number to identify the row that should be merged
+	 * @param newValues the new data as string array
+	 */
+	public synchronized void mergeRows(int rowIndex, String[] newValues) {
+		String[] valArr = this.getRow(rowIndex);
+		for (int i = 0; i < newValues.length; i++) {
+			if (newValues[i] != null) {
+				if ((getValue(i, rowIndex) == null) || (getValue(i, rowIndex).isEmpty())) {
+					valArr[i] = newValues[i];
+				}
+			}
+		}
+		values.set(rowIndex, valArr);
+		indexSet(rowIndex, valArr);
+	}
+
+	/**
+	 * If the <code>DataContainer</code> initialization and the data import needs to
+	 * be done separately, this method can be used. This method requires that the
+	 * data source is known by the specific <code>DataContainer</code>, e.g. a valid
+	 * source file is assigned to the {@link BaseContainer#fileName} property.
+	 */
+	public synchronized void readData() {
+		compiledFilter = null;
 		instance.readData(new Filter());
 	}
 
+	/**
+	 * If the <code>DataContainer</code> initialization and the data import needs to
+	 * be done separately, this method can be used. This method requires that the
+	 * data source is known by the specific <code>DataContainer</code>, e.g. a valid
+	 * source file is assigned to the {@link BaseContainer#fileName} property.
+	 * 
+	 * @param fltr A {@link org.opentdk.api.filter.Filter} object to define
+	 *             which data should be ignored. If it is null no filter gets used.
+	 */
+	public synchronized void readData(Filter fltr) {
+		compiledFilter = null;
+		instance.readData(fltr);
+	}
+
+	/**
+	 * If the <code>DataContainer</code> initialization and the data import needs to
+	 * be done separately, this method can be used.
+	 * 
+	 * @param fileName Full path and name of the source file, from which the data
+	 *                 will be loaded into DataContainer
+	 */
+	public synchronized void readData(String fileName) {
+		readData(fileName, new Filter());
+	}
+
 	/**
 	 * If the <code>DataContainer</code> initialization and the data import needs to
 	 * be done separately, this method can be used.
@@ -1429,11 +2083,32 @@ public class DataContainer extends BaseContainer {
 	 *                 which data should be ignored. If it is null no filter gets
 	 *                 used.
 	 */
-	public void readData(String fileName, Filter fltr) {
+	public synchronized void readData(String fileName, Filter fltr) {
 		this.setFileName(fileName);
+		if (fileName.endsWith(BinaryDataContainer.FILE_EXTENSION) && !(instance instanceof BinaryDataContainer)) {
+			instance = new BinaryDataContainer(this);
+		} else if (fileName.endsWith(".xml") && !xmlRowTag.isEmpty() && !(instance instanceof XMLStreamDataContainer)) {
+			instance = new XMLStreamDataContainer(this);
+		}
+		compiledFilter = null;
 		instance.readData(fltr);
 	}
 
+	/**
+	 * Enables the compression of binary snapshots, that will be written by
+	 * {@link #writeData(String)} into files with the extension
+	 * {@value BinaryDataContainer#FILE_EXTENSION}. The blocks of the snapshot will
+	 * be compressed with Deflate, which makes the files smaller, but writing and
+	 * restoring slower. Compressed snapshots will be detected automatically when
+	 * they are read.
+	 *
+	 * @param compressed true = compress the blocks of binary snapshots; false =
+	 *                   write them uncompressed
+	 */
+	public void setBinaryCompression(boolean compressed) {
+		binaryCompression = compressed;
+	}
+
 	/**
 	 * Sets a column in the <code>DataContainer</code> instance with the specified
 	 * new content. If the new column is bigger than the old one, new rows with
@@ -1443,7 +2118,7 @@ public class DataContainer extends BaseContainer {
 	 *                     overwritten and non-existing column will be created.
 	 * @param columnValues The values for the column as List of strings.
 	 */
-	public void setColumn(String headerName, List<String> columnValues) {
+	public synchronized void setColumn(String headerName, List<String> columnValues) {
 		setColumn(headerName, columnValues.toArray(new String[columnValues.size()]));
 	}
 
@@ -1456,7 +2131,7 @@ public class DataContainer extends BaseContainer {
 	 *                     overwritten and non-existing column will be created.
 	 * @param columnValues The values for the column as string array.
 	 */
-	public void setColumn(String headerName, String[] columnValues) {
+	public synchronized void setColumn(String headerName, String[] columnValues) {
 		String[] oldCol = new String[values.size()];
 		int j = 0;
 		int headerIndex = getHeaderIndex(headerName);
@@ -1486,6 +2161,140 @@ public class DataContainer extends BaseContainer {
 		}
 	}
 
+	/**
+	 * Switches the storage of the values between row oriented string arrays and a
+	 * column oriented storage, where every column is kept in a typed array
+	 * (<code>int</code>, <code>long</code>, <code>double</code>, dates as epoch
+	 * milliseconds or dictionary encoded strings). The type of each column gets
+	 * inferred from its values, and can be retrieved by
+	 * {@link #getColumnType(String)}. Columnar storage needs considerably less heap
+	 * for large tables and {@link #getValuesAsDoubleList(String, Filter)} reads
+	 * numeric columns without parsing. All other methods work the same way for both
+	 * storage types.<br>
+	 * Existing values will be converted. To load a file directly into the columnar
+	 * storage, the storage needs to be switched before the data gets read:
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer();
+	 * dc.setColumnDelimiter(";");
+	 * dc.setColumnarStorage(true);
+	 * dc.readData("huge.csv");
+	 * </pre>
+	 *
+	 * Only tabular formats support columnar storage. For tree formats like XML the
+	 * call will be ignored.
+	 *
+	 * @param columnar true = store values column by column; false = store values row
+	 *                 by row
+	 */
+	public void setColumnarStorage(boolean columnar) {
+		if (getContainerFormat().getHeaderType() == EHeader.TREE) {
+			MLogger.getInstance().log(Level.WARNING, "Columnar storage is not supported for tree formats!", getClass().getSimpleName(), getClass().getName(), "setColumnarStorage");
+		} else if (columnar && !(values instanceof ColumnStore)) {
+			values = new ColumnStore(values);
+		} else if (!columnar && (values instanceof ColumnStore)) {
+			values = new ArrayList<String[]>(values);
+		}
+	}
+
+	/**
+	 * Sets the pool, that is used for parallel loading (see
+	 * {@link #setParallelLoad(boolean)}) and parallel scans (see
+	 * {@link #setParallelThreshold(int)}). By default the common
+	 * <code>ForkJoinPool</code> is used.
+	 *
+	 * @param pool The pool for parallel tasks
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		forkJoinPool = pool != null ? pool : ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Enables a read-only mode for CSV files, that maps the file into memory
+	 * instead of loading its values into the heap. While reading the file, only
+	 * the positions of the data rows will be indexed. The values of a row will be
+	 * decoded each time the row gets accessed by methods like
+	 * {@link #getRow(int)} or {@link #getValue(String, int)}. This makes the
+	 * loading of huge files fast and keeps the heap small, if only a few rows
+	 * are used. Methods that change the values throw an
+	 * <code>UnsupportedOperationException</code>. The option needs to be set
+	 * before the data gets read:
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer();
+	 * dc.setColumnDelimiter(";");
+	 * dc.setMappedStorage(true);
+	 * dc.readData("huge.csv");
+	 * </pre>
+	 *
+	 * The file will be loaded into the heap as usual, if the container already has
+	 * values, uses columnar storage or a filter, or if the charset doesn't encode
+	 * the delimiter and line breaks as single ASCII bytes. As long as the file is
+	 * mapped, some operating systems don't allow to write or delete it.<br>
+	 * Disabling the option loads the values of a mapped file into the heap, so
+	 * that they can be changed.
+	 *
+	 * @param mapped true = map CSV files into memory; false = load CSV files into
+	 *               the heap
+	 */
+	public void setMappedStorage(boolean mapped) {
+		mappedStorage = mapped;
+		if (!mapped && (values instanceof MappedCSVStore)) {
+			values = new ArrayList<String[]>(values);
+		}
+	}
+
+	/**
+	 * Enables the parallel loading of CSV files. The file will be split into byte
+	 * ranges of at least 1 MB, that start at the beginning of a row and are parsed
+	 * concurrently on the pool of the container (see
+	 * {@link #setForkJoinPool(ForkJoinPool)}). The rows will be added
+	 * in their original order, so the result is the same as with sequential loading.
+	 * If quoted values are enabled (see {@link #setQuotedValues(boolean)}), line
+	 * breaks within quoted fields will be considered when searching the ranges.<br>
+	 * Small files, files whose charset doesn't encode the delimiter and line breaks
+	 * as single ASCII bytes, and all other formats will be loaded sequentially.
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer();
+	 * dc.setColumnDelimiter(";");
+	 * dc.setParallelLoad(true);
+	 * dc.readData("huge.csv");
+	 * </pre>
+	 *
+	 * @param parallel true = parse large CSV files in parallel; false = parse all
+	 *                 files sequentially
+	 */
+	public void setParallelLoad(boolean parallel) {
+		parallelLoad = parallel;
+	}
+
+	/**
+	 * Enables parallel scans for containers with a large number of rows. Filtering
+	 * with {@link #getRowsIndexes(Filter)}, {@link #getRowsSelection(Filter)},
+	 * {@link #getRowsList(Filter)}, the column getters like
+	 * {@link #getValuesAsDoubleList(String, Filter)} and
+	 * {@link #deleteRows(Filter)} will split the rows into ranges, that are
+	 * checked concurrently on the pool of the container (see
+	 * {@link #setForkJoinPool(ForkJoinPool)}). The results are returned in row
+	 * order, so they are the same as with sequential scans. Filters served by a
+	 * secondary index (see {@link #createIndex(String, EIndexType)}) and
+	 * containers with tree format are always scanned sequentially.<br>
+	 * The rows must not be changed while a scan is running.
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer("huge.csv");
+	 * dc.setParallelThreshold(100000);
+	 * List&lt;String[]&gt; rows = dc.getRowsList(fltr);
+	 * </pre>
+	 *
+	 * @param rowCount Minimum number of rows, at which the scans will run in
+	 *                 parallel; 0 = all scans are sequential
+	 */
+	public void setParallelThreshold(int rowCount) {
+		parallelThreshold = Math.max(rowCount, 0);
+	}
+
 	/**
 	 * Replaces the row at the committed index with the data of the committed string
 	 * array.
@@ -1493,8 +2302,10 @@ public class DataContainer extends BaseContainer {
 	 * @param rowIndex  row number to identify the row that should be replaced
 	 * @param rowValues the new data as string array
 	 */
-	public void setRow(int rowIndex, String[] rowValues) {
-		values.set(rowIndex, addMetaValues(rowValues));
+	public synchronized void setRow(int rowIndex, String[] rowValues) {
+		String[] row = addMetaValues(rowValues);
+		values.set(rowIndex, row);
+		indexSet(rowIndex, row);
 	}
 
 	/**
@@ -1507,7 +2318,7 @@ public class DataContainer extends BaseContainer {
 	 * @param index      Index of the field within the DataSet
 	 * @param value      Value as String that will be set to the field
 	 */
-	public void setValue(String headerName, int index, String value) {
+	public synchronized void setValue(String headerName, int index, String value) {
 		setValue(headerName, index, value, new Filter());
 	}
 
@@ -1524,7 +2335,7 @@ public class DataContainer extends BaseContainer {
 	 * @param value      Value as String that will be set to the field
 	 * @param fltr       Filter for selection of the target dataset (row or column)
 	 */
-	public void setValue(String headerName, int index, String value, Filter fltr) {
+	public synchronized void setValue(String headerName, int index, String value, Filter fltr) {
 		setValues(headerName, new int[] { index }, value, fltr);
 	}
 
@@ -1535,7 +2346,7 @@ public class DataContainer extends BaseContainer {
 	 * @param headerName Name of the sequence header
 	 * @param value      Value as String that will be set to the field
 	 */
-	public void setValue(String headerName, String value) {
+	public synchronized void setValue(String headerName, String value) {
 		setValue(headerName, 0, value, new Filter());
 	}
 
@@ -1550,7 +2361,7 @@ public class DataContainer extends BaseContainer {
 	 * @param value      Value as String that will be set to the field
 	 * @param fltr       Filter for selection of the target dataset (row or column)
 	 */
-	public void setValue(String headerName, String value, Filter fltr) {
+	public synchronized void setValue(String headerName, String value, Filter fltr) {
 		setValue(headerName, 0, value, fltr);
 	}
 
@@ -1567,7 +2378,7 @@ public class DataContainer extends BaseContainer {
 	 * @param value      Value as String that will be set to the field
 	 * @param fltr       Filter for selection of the target dataset (row or column)
 	 */
-	public void setValues(String headerName, int[] indexes, String value, Filter fltr) {
+	public synchronized void setValues(String headerName, int[] indexes, String value, Filter fltr) {
 		switch (getContainerFormat().getHeaderType()) {
 		case TREE:
 			instance.setFieldValues(headerName, indexes, value, fltr);
@@ -1592,9 +2403,7 @@ public class DataContainer extends BaseContainer {
 					}
 				}
 			}
-			if (!fileName.isEmpty()) {
-				writeData(fileName);
-			}
+			requestWriteBack();
 			break;
 		}
 	}
@@ -1610,11 +2419,11 @@ public class DataContainer extends BaseContainer {
 	 * @param value      Value as String that will be set to the field
 	 * @param fltr       Filter for selection of the target dataset (row or column)
 	 */
-	public void setValues(String headerName, String value, Filter fltr) {
+	public synchronized void setValues(String headerName, String value, Filter fltr) {
 		setValues(headerName, new int[0], value, fltr);
 	}
 
-	public void setValues(String headerName, String value, Filter fltr, Boolean allOccurences) {
+	public synchronized void setValues(String headerName, String value, Filter fltr, Boolean allOccurences) {
 		int indexes = 0;
 		if (allOccurences) {
 			indexes = -1;
@@ -1622,16 +2431,256 @@ public class DataContainer extends BaseContainer {
 		setValues(headerName, new int[] { indexes }, value, fltr);
 	}
 
+	/**
+	 * Defines when the changes of methods like {@link #setValue(String, String)},
+	 * {@link #setValues(String, int[], String, Filter)},
+	 * {@link #deleteRows(Filter)} or the changes of an XML document get written
+	 * back to the file of the container:
+	 * <ul>
+	 * <li>{@link EWriteBack#IMMEDIATE}: The complete file will be written after
+	 * each change. This is the default.</li>
+	 * <li>{@link EWriteBack#BATCHED}: The changes will only be written by
+	 * {@link #flush()}.</li>
+	 * <li>{@link EWriteBack#COALESCING}: The changes will be written by a
+	 * background thread, when the delay defined by
+	 * {@link #setWriteBackDelay(long)} has passed after the first change, or by
+	 * the changing thread, when the number of changes reaches the limit defined
+	 * by {@link #setWriteBackLimit(int)}. The background thread doesn't keep the
+	 * application alive, so {@link #flush()} needs to be called before the
+	 * application ends.</li>
+	 * </ul>
+	 * The background thread writes the file while holding the monitor of the
+	 * container. The methods of the container, that change rows, fields or XML
+	 * elements, like {@link #setValue(String, String)}, {@link #addRow(String[])}
+	 * or {@link #deleteRows(Filter)}, synchronize on the container as well, so
+	 * they wait for a running write. Code, that changes the rows or the XML
+	 * document directly, e.g. by the list returned by {@link #getValues()}, needs
+	 * to synchronize on the container, or use
+	 * {@link ConcurrentDataContainer#update(java.util.function.Consumer)}.
+	 * Failed background writes are not logged by the background thread, see
+	 * {@link #getWriteBackError()}.<br>
+	 * Independent of the policy, {@link #beginBatch()} collects the changes until
+	 * the batch gets closed. Switching to {@link EWriteBack#IMMEDIATE} writes the
+	 * collected changes.
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer("settings.properties");
+	 * dc.setWriteBack(EWriteBack.BATCHED);
+	 * for (String[] setting : settings) {
+	 * 	dc.setValue(setting[0], setting[1]);
+	 * }
+	 * dc.flush();
+	 * </pre>
+	 *
+	 * @param policy The write-back policy
+	 */
+	public synchronized void setWriteBack(EWriteBack policy) {
+		writeBack = policy;
+		if (policy == EWriteBack.IMMEDIATE) {
+			flush();
+		}
+	}
+
+	/**
+	 * Sets the delay of the write-back policy {@link EWriteBack#COALESCING}.
+	 *
+	 * @param millis Time in milliseconds between the first change and the write.
+	 *               The default is 1000.
+	 */
+	public synchronized void setWriteBackDelay(long millis) {
+		writeBackDelay = Math.max(millis, 0);
+	}
+
+	/**
+	 * Sets the number of changes, that triggers a write without delay, for the
+	 * write-back policy {@link EWriteBack#COALESCING}.
+	 *
+	 * @param changes Number of changes. The default is 1000.
+	 */
+	public synchronized void setWriteBackLimit(int changes) {
+		writeBackLimit = Math.max(changes, 1);
+	}
+
+	/**
+	 * Defines the name of the elements, that will be read as rows from XML files.
+	 * If the name is defined, XML files will be read in one forward pass by an
+	 * {@link XMLStreamDataContainer} into a tabular container, instead of being
+	 * loaded into a DOM document. The attributes and child elements of the row
+	 * elements become the columns. This allows to read XML files, that are too
+	 * large for a DOM document, and to filter their rows while reading:
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer();
+	 * dc.setXMLRowTag("order");
+	 * Filter fltr = new Filter();
+	 * fltr.addFilterRule("status", "open", EOperator.EQUALS);
+	 * dc.readData("orders.xml", fltr);
+	 * </pre>
+	 *
+	 * If the container already has headers, only these columns will be read. The
+	 * name needs to be defined before the data gets read.
+	 *
+	 * @param rowTag The name of the row elements or an empty string, to load XML
+	 *               files into a DOM document
+	 */
+	public void setXMLRowTag(String rowTag) {
+		xmlRowTag = rowTag == null ? "" : rowTag;
+	}
+
+	/**
+	 * Enables an index of the elements of XML files by their tag names and
+	 * attribute values, that gets built when the file is loaded. Lookups like
+	 * {@link #getAttributes(String, String)} and the XPath expressions of filter
+	 * rules like <code>/Rules/rule[@name='X']</code> get resolved by the index
+	 * instead of searching the document. See
+	 * {@link org.opentdk.api.io.XMLEditor#setElementIndex(boolean)}.
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer("rules.xml");
+	 * dc.setXMLElementIndex(true);
+	 * </pre>
+	 *
+	 * @param indexed true = index the elements of XML files; false = search the
+	 *                document for each lookup
+	 */
+	public void setXMLElementIndex(boolean indexed) {
+		xmlElementIndex = indexed;
+		if (instance instanceof XMLDataContainer) {
+			((XMLDataContainer) instance).setElementIndex(indexed);
+		}
+	}
+
+	/**
+	 * Enables a cache for the values of XML files. The rows of an XML container
+	 * store XPath references, that are translated into the values of the XML
+	 * elements each time a row gets accessed by methods like {@link #getRow(int)}
+	 * or {@link #getRowsList()}. With the cache, each row will be
+	 * translated only once, so reading the rows repeatedly doesn't evaluate the
+	 * XPath references again. The cache gets cleared after each change of the
+	 * document by methods like {@link #setValue(String, String, Filter)},
+	 * {@link #addField(String, String, Filter)} or
+	 * {@link #deleteField(String, String, String, Filter)}. Changes of the DOM
+	 * document, that are not made by the <code>DataContainer</code> or its
+	 * {@link XMLEditor}, are not recognized.
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer("rules.xml");
+	 * dc.setXMLValueCache(true);
+	 * </pre>
+	 *
+	 * @param cached true = decode the values of XML files once and cache them;
+	 *               false = decode them each time they are accessed
+	 */
+	public void setXMLValueCache(boolean cached) {
+		xmlValueCache = cached;
+		if (!cached && (instance instanceof XMLDataContainer)) {
+			((XMLDataContainer) instance).clearDecoded();
+		}
+	}
+
+	/**
+	 * Sorts the rows by the values of one or more columns in ascending order. The
+	 * values of each column will be decoded once into a typed key, depending on
+	 * the values of the column:
+	 * <ul>
+	 * <li>numbers, if all values are numeric</li>
+	 * <li>dates, times or time stamps, if all values have the same
+	 * {@link org.opentdk.api.util.EFormat}</li>
+	 * <li>strings in all other cases</li>
+	 * </ul>
+	 * Empty values are sorted last, and rows with equal values keep their order.
+	 * Large containers will be sorted in parallel, if parallel scans are enabled
+	 * (see {@link #setParallelThreshold(int)}).
+	 *
+	 * <pre>
+	 * DataContainer sorted = dc.sort("Day", "Latency");
+	 * </pre>
+	 *
+	 * @param headerNames The names of the columns in the order of their priority
+	 * @return new <code>DataContainer</code> with the sorted rows
+	 */
+	public DataContainer sort(String... headerNames) {
+		return RowSorter.sort(this, headerNames);
+	}
+
+	/**
+	 * Returns a sequential stream over all rows of the <code>DataContainer</code>.
+	 * See {@link #stream(Filter)}.
+	 *
+	 * @return Stream with all rows as string arrays
+	 */
+	public Stream<String[]> stream() {
+		return stream(new Filter());
+	}
+
+	/**
+	 * Returns a sequential stream over all rows that match to the defined filter.
+	 * If the container holds no rows yet and a CSV source file is assigned, the
+	 * rows will be read lazily from the file without storing them in the
+	 * container. This allows to process files that are larger than the available
+	 * heap row by row. The stream holds the file open and needs to be closed after
+	 * use:
+	 *
+	 * <pre>
+	 * DataContainer dc = new DataContainer();
+	 * dc.setColumnDelimiter(";");
+	 * dc.setFileName("huge_export.csv");
+	 * try (Stream{@literal <String[]>} rows = dc.stream(filter)) {
+	 * 	rows.forEach(row -{@literal >} process(row));
+	 * }
+	 * </pre>
+	 *
+	 * In all other cases the stream runs over the rows that are stored in the
+	 * container.
+	 *
+	 * @param fltr Object of type {@link org.opentdk.api.filter.Filter} which
+	 *             defines rules for matching rows
+	 * @return Stream with the matching rows as string arrays
+	 */
+	public Stream<String[]> stream(Filter fltr) {
+		if (values.isEmpty() && (instance instanceof CSVDataContainer) && (getContainerFormat().getHeaderType() == EHeader.COLUMN) && StringUtils.isNotBlank(fileName)) {
+			return ((CSVDataContainer) instance).stream(fltr);
+		}
+		// the rows are taken by values.get, that decodes the rows of tree formats
+		return IntStream.range(0, values.size()).mapToObj(values::get).filter(compileRowFilter(fltr, "stream"));
+	}
+
+	/**
+	 * Returns the rows with the largest values of a column, in descending order.
+	 * The values will be compared like by {@link #sort(String...)}, but instead of
+	 * sorting all rows, only the best <code>n</code> rows will be kept in a bounded
+	 * heap while the rows are read. Rows with empty values are returned last.
+	 *
+	 * <pre>
+	 * DataContainer slowest = dc.topN("Latency", 10);
+	 * </pre>
+	 *
+	 * @param headerName The name of the column
+	 * @param n          The maximum number of rows
+	 * @return new <code>DataContainer</code> with up to <code>n</code> rows
+	 */
+	public DataContainer topN(String headerName, int n) {
+		return RowSorter.topN(this, headerName, n);
+	}
+
 	/**
 	 * Adapt to the specific data container when the caller of the
 	 * <code>DataContainer</code> wants to save the changes to the configuration
 	 * output file.
 	 *
+	 * Files with the extension {@value BinaryDataContainer#FILE_EXTENSION} will
+	 * be written as binary snapshot by all tabular containers, see
+	 * {@link BinaryDataContainer}.
+	 *
 	 * @param srcFile The path to the source file.
 	 */
 	public void writeData(String srcFile) {
 		try {
-			instance.writeData(srcFile);
+			if (srcFile.endsWith(BinaryDataContainer.FILE_EXTENSION)) {
+				BinaryDataContainer.write(this, srcFile);
+			} else {
+				instance.writeData(srcFile);
+			}
 		} catch (IOException e) {
 			MLogger.getInstance().log(Level.SEVERE, e, "setValues");
 			throw new RuntimeException(e);
@@ -1663,6 +2712,10 @@ public class DataContainer extends BaseContainer {
 			instance = new RSDataContainer(this);
 			break;
 		case XML:
+			if (!xmlRowTag.isEmpty()) {
+				instance = new XMLStreamDataContainer(this);
+				break;
+			}
 			instance = new XMLDataContainer(this);
 			values = new ArrayList<String[]>() {
 				private static final long serialVersionUID = 1L;
@@ -1679,6 +2732,9 @@ public class DataContainer extends BaseContainer {
 		case YAML:
 			instance = new YAMLDataContainer(this);
 			break;
+		case BINARY:
+			instance = new BinaryDataContainer(this);
+			break;
 		default:
 			instance = new CSVDataContainer(this);
 			return;
@@ -1742,6 +2798,8 @@ public class DataContainer extends BaseContainer {
 				return EContainerFormat.JSON;
 			} else if (fileName.endsWith(".yaml")) {
 				return EContainerFormat.YAML;
+			} else if (fileName.endsWith(BinaryDataContainer.FILE_EXTENSION)) {
+				return EContainerFormat.BINARY;
 			} else {
 				return EContainerFormat.CSV;
 			}
@@ -1749,6 +2807,475 @@ public class DataContainer extends BaseContainer {
 		return EContainerFormat.DEFAULT;
 	}
 	
+	/**
+	 * Compiles a filter for a scan over the rows of the container. The filter
+	 * will only be compiled if the container has values, so that a filter with
+	 * unknown headers fails the same way as the row by row check with
+	 * {@link BaseContainer#checkValuesFilter(String[], Filter)}.
+	 *
+	 * @param fltr       The filter to compile
+	 * @param methodName Name of the calling method for the log
+	 * @return Predicate for the rows of the container
+	 */
+	private Predicate<String[]> compileRowFilter(Filter fltr, String methodName) {
+		if (values.isEmpty()) {
+			return row -> true;
+		}
+		try {
+			return compileFilter(fltr);
+		} catch (NoSuchHeaderException e) {
+			MLogger.getInstance().log(Level.SEVERE, e, methodName);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Checks the rows against a filter and sets the bits of the matching rows.
+	 * Rows will be taken from a secondary index, if the filter has a rule for an
+	 * indexed column, and from the committed selection, if defined.
+	 *
+	 * @param filter     The filter for the rows
+	 * @param selection  The rows that should be checked or null for all rows
+	 * @param methodName Name of the calling method for the log
+	 * @return Selection vector with the matching row numbers
+	 */
+	private BitSet getRowsSelection(Filter filter, BitSet selection, String methodName) {
+		Predicate<String[]> rowFilter = compileRowFilter(filter, methodName);
+		int[] indexedRows = getIndexedRows(filter);
+		if (indexedRows == null) {
+			return scanRows(rowFilter, selection);
+		}
+		BitSet ret = new BitSet(values.size());
+		for (int i : indexedRows) {
+			if (((selection == null) || selection.get(i)) && rowFilter.test(values.get(i))) {
+				ret.set(i);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Writes the file of the container after a change or collects the change,
+	 * depending on the write-back policy and open batches. Containers without
+	 * file name will not be written.
+	 *
+	 * @see #setWriteBack(EWriteBack)
+	 */
+	void requestWriteBack() {
+		if (fileName.isEmpty()) {
+			return;
+		}
+		synchronized (this) {
+			if ((openBatches == 0) && (writeBack == EWriteBack.IMMEDIATE)) {
+				writeData(fileName);
+				return;
+			}
+			pendingChanges++;
+			if ((openBatches == 0) && (writeBack == EWriteBack.COALESCING)) {
+				if (pendingChanges >= writeBackLimit) {
+					flush();
+				} else if (scheduledWrite == null) {
+					scheduledWrite = getWriteBackScheduler().schedule(this::writePendingChanges, writeBackDelay, TimeUnit.MILLISECONDS);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the collected changes within the background thread. Errors will not
+	 * be logged here, because the logger must not be used by multiple threads.
+	 * They are kept for {@link #getWriteBackError()} and logged by the next
+	 * {@link #flush()} instead, and the changes stay pending, so that the next
+	 * change or {@link #flush()} repeats the write.
+	 */
+	private synchronized void writePendingChanges() {
+		scheduledWrite = null;
+		if ((pendingChanges == 0) || fileName.isEmpty()) {
+			return;
+		}
+		try {
+			instance.writeData(fileName);
+			pendingChanges = 0;
+			writeBackError = null;
+		} catch (Exception e) {
+			writeBackError = e;
+		}
+	}
+
+	/**
+	 * Closes a batch and writes the changes, if it was the outermost batch.
+	 */
+	private synchronized void endBatch() {
+		openBatches--;
+		if (openBatches == 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * @return the background thread for coalesced writes
+	 */
+	private static synchronized ScheduledExecutorService getWriteBackScheduler() {
+		if (writeBackScheduler == null) {
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+				Thread thread = new Thread(r, "DataContainer write-back");
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.setRemoveOnCancelPolicy(true);
+			writeBackScheduler = executor;
+		}
+		return writeBackScheduler;
+	}
+
+	/**
+	 * Checks if the rows will be scanned in parallel.
+	 *
+	 * @return true = the container has at least as many rows as the parallel
+	 *         threshold and a tabular format
+	 * @see #setParallelThreshold(int)
+	 */
+	private boolean isParallelScan() {
+		return (parallelThreshold > 0) && (values.size() >= parallelThreshold) && (getContainerFormat().getHeaderType() != EHeader.TREE);
+	}
+
+	/**
+	 * Returns the number of rows for each parallel task, so that each thread of
+	 * the pool gets several ranges and threads that finish early can take over
+	 * the remaining ranges.
+	 *
+	 * @param rowCount Number of rows to split
+	 * @return Number of rows per range
+	 */
+	int getRangeSize(int rowCount) {
+		int rangeCount = forkJoinPool.getParallelism() * 4;
+		return Math.max(1, (rowCount + rangeCount - 1) / rangeCount);
+	}
+
+	/**
+	 * Copies the rows of a container with the same headers in a different order
+	 * into arrays with the column order of this container. The rows will be
+	 * copied in parallel, if the container has at least as many rows as the
+	 * parallel threshold.
+	 *
+	 * @param dc The container with the rows to copy
+	 * @return the copied rows in their original order
+	 */
+	private List<String[]> remapRows(DataContainer dc) {
+		HashMap<Integer, String> columnHeaders = getHeadersIndexed();
+		int[] sourceColumns = new int[getColumnCount()];
+		for (int j = 0; j < sourceColumns.length; j++) {
+			Integer sourceColumn = dc.headerNames.get(columnHeaders.get(j));
+			sourceColumns[j] = sourceColumn != null ? sourceColumn : -1;
+		}
+		int rowCount = dc.values.size();
+		if ((parallelThreshold == 0) || (rowCount < parallelThreshold) || (dc.getContainerFormat().getHeaderType() == EHeader.TREE)) {
+			return Arrays.asList(remapRows(dc.values, sourceColumns, 0, rowCount));
+		}
+		int rangeSize = getRangeSize(rowCount);
+		List<ForkJoinTask<String[][]>> tasks = new ArrayList<>();
+		for (int from = 0; from < rowCount; from += rangeSize) {
+			int start = from;
+			int end = Math.min(from + rangeSize, rowCount);
+			tasks.add(forkJoinPool.submit(() -> remapRows(dc.values, sourceColumns, start, end)));
+		}
+		List<String[]> ret = new ArrayList<String[]>(rowCount);
+		for (ForkJoinTask<String[][]> task : tasks) {
+			ret.addAll(Arrays.asList(task.join()));
+		}
+		return ret;
+	}
+
+	/**
+	 * Copies a range of rows into arrays with a different column order.
+	 *
+	 * @param rows          The rows to copy
+	 * @param sourceColumns The position of each target column within the rows,
+	 *                      -1 for columns that don't exist in the rows
+	 * @param from          The first row of the range
+	 * @param to            The row after the last row of the range
+	 * @return the copied rows of the range
+	 */
+	private static String[][] remapRows(List<String[]> rows, int[] sourceColumns, int from, int to) {
+		String[][] ret = new String[to - from][];
+		for (int i = from; i < to; i++) {
+			String[] row = rows.get(i);
+			String[] newRow = new String[sourceColumns.length];
+			for (int j = 0; j < sourceColumns.length; j++) {
+				if ((sourceColumns[j] >= 0) && (sourceColumns[j] < row.length)) {
+					newRow[j] = row[sourceColumns[j]];
+				}
+			}
+			ret[i - from] = newRow;
+		}
+		return ret;
+	}
+
+	/**
+	 * Checks all rows or the rows of a selection against a compiled filter. If
+	 * parallel scans are enabled, the rows will be split into ranges, that are
+	 * checked concurrently on the pool of the container.
+	 *
+	 * @param rowFilter The compiled filter, that must not change any state
+	 * @param selection The rows that should be checked or null for all rows
+	 * @return Selection vector with the matching row numbers
+	 */
+	private BitSet scanRows(Predicate<String[]> rowFilter, BitSet selection) {
+		int rowCount = values.size();
+		if (!isParallelScan()) {
+			return scanRows(rowFilter, selection, 0, rowCount);
+		}
+		int rangeSize = getRangeSize(rowCount);
+		List<ForkJoinTask<BitSet>> tasks = new ArrayList<>();
+		for (int from = 0; from < rowCount; from += rangeSize) {
+			int start = from;
+			int end = Math.min(from + rangeSize, rowCount);
+			tasks.add(forkJoinPool.submit(() -> scanRows(rowFilter, selection, start, end)));
+		}
+		BitSet ret = new BitSet(rowCount);
+		for (ForkJoinTask<BitSet> task : tasks) {
+			ret.or(task.join());
+		}
+		return ret;
+	}
+
+	/**
+	 * Checks a range of rows against a compiled filter.
+	 *
+	 * @param rowFilter The compiled filter
+	 * @param selection The rows that should be checked or null for all rows
+	 * @param from      The first row of the range
+	 * @param to        The row after the last row of the range
+	 * @return Selection vector with the matching row numbers of the range
+	 */
+	private BitSet scanRows(Predicate<String[]> rowFilter, BitSet selection, int from, int to) {
+		BitSet ret = new BitSet(to);
+		if (selection != null) {
+			for (int i = selection.nextSetBit(from); i >= 0 && i < to; i = selection.nextSetBit(i + 1)) {
+				if (rowFilter.test(values.get(i))) {
+					ret.set(i);
+				}
+			}
+		} else {
+			for (int i = from; i < to; i++) {
+				if (rowFilter.test(values.get(i))) {
+					ret.set(i);
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Removes the rows of a selection in one pass, instead of shifting the
+	 * following rows for each removed row.
+	 *
+	 * @param selection The rows to remove
+	 * @return true = at least one row has been removed
+	 */
+	private boolean removeRows(BitSet selection) {
+		if (selection.isEmpty()) {
+			return false;
+		}
+		// only a plain list can be copied by get, lists of tree formats return decoded rows
+		if (values.getClass() == ArrayList.class) {
+			List<String[]> remaining = new ArrayList<String[]>(values.size() - selection.cardinality());
+			for (int i = selection.nextClearBit(0); i < values.size(); i = selection.nextClearBit(i + 1)) {
+				remaining.add(values.get(i));
+			}
+			values = remaining;
+		} else {
+			for (int i = selection.previousSetBit(values.size() - 1); i >= 0; i = selection.previousSetBit(i - 1)) {
+				values.remove(i);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the rows, that may match to a filter, by using the secondary
+	 * indexes. The rules up to the first wild card rule will be checked, and the
+	 * rule with the smallest number of rows is taken. The caller needs to check
+	 * the filter for each returned row.
+	 *
+	 * @param fltr The filter for the rows
+	 * @return the ascending row numbers or null, if none of the rules can be
+	 *         served by an index
+	 */
+	private int[] getIndexedRows(Filter fltr) {
+		if (indexes.isEmpty()) {
+			return null;
+		}
+		int[] ret = null;
+		for (FilterRule fr : fltr.getFilterRules()) {
+			if ((fr.getValue() != null) && ((fr.getValue().equals("*")) || (fr.getValue().equals("%")))) {
+				break;
+			}
+			ColumnIndex columnIndex = getIndex(fr.getHeaderName());
+			if (columnIndex != null) {
+				int[] rows = columnIndex.select(fr);
+				if ((rows != null) && ((ret == null) || (rows.length < ret.length))) {
+					ret = rows;
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the secondary index of a column. The index will be rebuilt, if the
+	 * column has been moved or the rows have been changed without updating the
+	 * index, e.g. by loading a memory mapped file.
+	 *
+	 * @param headerName The name of the column
+	 * @return the index or null, if the column has no index
+	 */
+	private ColumnIndex getIndex(String headerName) {
+		ColumnIndex columnIndex = indexes.get(headerName);
+		if (columnIndex != null) {
+			Integer column = headerNames.get(headerName);
+			if (column == null) {
+				indexes.remove(headerName);
+				return null;
+			}
+			if ((columnIndex.getColumn() != column) || (columnIndex.size() != values.size())) {
+				columnIndex = new ColumnIndex(columnIndex.getType(), column, values);
+				indexes.put(headerName, columnIndex);
+			}
+		}
+		return columnIndex;
+	}
+
+	/**
+	 * Updates the secondary indexes after a row has been inserted.
+	 *
+	 * @param rowIndex Number of the new row
+	 * @param row      The values of the row
+	 */
+	private void indexInsert(int rowIndex, String[] row) {
+		for (ColumnIndex columnIndex : indexes.values()) {
+			if (columnIndex.size() == values.size() - 1) {
+				columnIndex.insert(rowIndex, row);
+			}
+		}
+	}
+
+	/**
+	 * Updates the secondary indexes after a row has been replaced. The method
+	 * also needs to be called, if the values of the row have been changed in
+	 * place.
+	 *
+	 * @param rowIndex Number of the row
+	 * @param row      The new values of the row
+	 */
+	void indexSet(int rowIndex, String[] row) {
+		for (ColumnIndex columnIndex : indexes.values()) {
+			if (columnIndex.size() == values.size()) {
+				columnIndex.set(rowIndex, row);
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds all secondary indexes after the rows have been changed in bulk.
+	 */
+	private void rebuildIndexes() {
+		for (Map.Entry<String, ColumnIndex> entry : indexes.entrySet()) {
+			entry.setValue(new ColumnIndex(entry.getValue().getType(), entry.getValue().getColumn(), values));
+		}
+	}
+
+	/**
+	 * Adds a column name to the {@link BaseContainer#headerNames}.
+	 *
+	 * @param col         Name of the column
+	 * @param useExisting true = keep an existing column with the same name; false =
+	 *                    add the name with an index suffix, if it exists already
+	 * @return true = a new column has been added
+	 */
+	private boolean putColumnName(String col, boolean useExisting) {
+		if (!headerNames.containsKey(col)) {
+			headerNames.put(col, headerNames.size());
+		} else if (!useExisting) {
+			String col_tmp = col;
+			int count = 2;
+			while (headerNames.containsKey(col_tmp)) {
+				col_tmp = col + "_" + count;
+				count++;
+			}
+			headerNames.put(col_tmp, headerNames.size());
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Appends fields to all rows, after new columns have been added to the
+	 * headers. Each row will be copied only once, independent of the number of new
+	 * columns. The columnar storage appends the columns without touching the
+	 * existing columns.
+	 *
+	 * @param count Number of new fields per row
+	 * @param value The value of the new fields
+	 */
+	private void widenRows(int count, String value) {
+		if (count == 0) {
+			return;
+		}
+		if (values instanceof ColumnStore) {
+			((ColumnStore) values).addColumns(count, value);
+			return;
+		}
+		for (int i = 0; i < values.size(); i++) {
+			String[] row = values.get(i);
+			String[] newArr = Arrays.copyOf(row, row.length + count);
+			if (value != null) {
+				Arrays.fill(newArr, row.length, newArr.length, value);
+			}
+			values.set(i, newArr);
+		}
+	}
+
+	/**
+	 * Checks if the values of a column can be read directly from the
+	 * {@link ColumnStore}.
+	 *
+	 * @param headerName Name of the column
+	 * @return true = values are stored in columnar format and the column exists
+	 */
+	private boolean isColumnarColumn(String headerName) {
+		return (values instanceof ColumnStore) && (getContainerFormat().getHeaderType() == EHeader.COLUMN) && headerNames.containsKey(headerName);
+	}
+
+	/**
+	 * Creates a detached copy of the rows and secondary indexes of a tabular
+	 * container, which will be used as immutable snapshot by
+	 * {@link ConcurrentDataContainer}. The rows will be copied into a read-only
+	 * {@link ColumnStore} or into {@link SnapshotRows}, which return copies of
+	 * the shared rows, so changes fail without touching the rows of the snapshot.
+	 *
+	 * @return new <code>DataContainer</code> with the copied rows
+	 */
+	DataContainer createSnapshot() {
+		DataContainer ret = new DataContainer();
+		ret.setColumnDelimiter(columnDelimiter);
+		ret.setHeaders(getHeaderNamesIndexed());
+		ret.forkJoinPool = forkJoinPool;
+		ret.parallelThreshold = parallelThreshold;
+		if (values instanceof ColumnStore) {
+			ColumnStore store = new ColumnStore(values);
+			store.setReadOnly();
+			ret.values = store;
+		} else {
+			ret.values = new SnapshotRows(values);
+		}
+		for (Map.Entry<String, ColumnIndex> entry : indexes.entrySet()) {
+			ret.indexes.put(entry.getKey(), new ColumnIndex(entry.getValue().getType(), entry.getValue().getColumn(), ret.values));
+		}
+		return ret;
+	}
+
 	/**
 	 * Sub method that finally edits the values object e.g. when a setValue call
 	 * occurs.
@@ -1760,9 +3287,7 @@ public class DataContainer extends BaseContainer {
 	private void setFieldValue(String headerName, int index, String val) {
 		if (!getHeaders().containsKey(headerName)) {
 			setHeaders(new String[] { headerName });
-			for (int i = 0; i < values.size(); i++) {
-				values.set(i, Arrays.copyOf(values.get(i), values.get(i).length + 1));
-			}
+			widenRows(1, null);
 		}
 		String[] valArr = null;
 		if (values.size() > 0) {
@@ -1774,8 +3299,34 @@ public class DataContainer extends BaseContainer {
 		valArr[this.getHeaderIndex(headerName)] = val;
 		if (values.size() <= 0) {
 			values.add(index, valArr);
+			indexInsert(index, valArr);
 		} else {
 			values.set(index, valArr);
+			indexSet(index, valArr);
+		}
+	}
+
+	/**
+	 * A batch of changes, that will be written to the file of the container in
+	 * one step when the batch gets closed. See {@link DataContainer#beginBatch()}.
+	 */
+	public final class WriteBatch implements AutoCloseable {
+
+		private boolean closed = false;
+
+		private WriteBatch() {
+		}
+
+		/**
+		 * Closes the batch. The changes will be written, if no other batch of the
+		 * container is open.
+		 */
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				endBatch();
+			}
 		}
 	}
 
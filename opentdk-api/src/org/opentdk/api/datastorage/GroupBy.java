@@ -0,0 +1,361 @@
+package org.opentdk.api.datastorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Level;
+
+import org.apache.commons.math3.stat.StatUtils;
+import org.opentdk.api.datastorage.BaseContainer.EHeader;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.logger.MLogger;
+
+/**
+ * Groups the rows of a tabular {@link DataContainer} by the values of one or more columns and
+ * calculates aggregate functions for each group. The rows will be read in a single pass, that
+ * assigns each row to its group by a hash map and feeds the values into primitive accumulators, so
+ * the values don't need to be extracted into lists first. If parallel scans are enabled for the
+ * container (see {@link DataContainer#setParallelThreshold(int)}), ranges of rows will be aggregated
+ * concurrently and the partial results merged afterwards.
+ *
+ * <pre>
+ * DataContainer stats = dc.groupBy("host", "day").agg(Aggregation.mean("latency"), Aggregation.p99("latency"), Aggregation.count());
+ * </pre>
+ *
+ * @author LK Test Solutions
+ * @see DataContainer#groupBy(String...)
+ * @see Aggregation
+ */
+public final class GroupBy {
+
+	private final DataContainer dc;
+
+	/**
+	 * The rows, that will be aggregated.
+	 */
+	private final Filter filter;
+
+	/**
+	 * The names of the columns, that define the groups.
+	 */
+	private final String[] headerNames;
+
+	GroupBy(DataContainer dc, Filter filter, String[] headerNames) {
+		this.dc = dc;
+		this.filter = filter;
+		this.headerNames = headerNames;
+	}
+
+	/**
+	 * Calculates the aggregate functions for each group. The result has one row per group in the order
+	 * of the first row of each group, with the values of the group columns followed by one column per
+	 * aggregation. Numeric values of the rows will be parsed like
+	 * {@link DataContainer#getValuesAsDoubleList(String, Filter)} does, so a value that is not a number
+	 * will be logged with the name of its column and causes a <code>RuntimeException</code> with a
+	 * <code>NumberFormatException</code> as cause.
+	 *
+	 * @param aggregations The aggregate functions
+	 * @return new <code>DataContainer</code> with the aggregated values
+	 */
+	public DataContainer agg(Aggregation... aggregations) {
+		DataContainer ret = new DataContainer();
+		String[] resultHeaders = Arrays.copyOf(headerNames, headerNames.length + aggregations.length);
+		for (int i = 0; i < aggregations.length; i++) {
+			resultHeaders[headerNames.length + i] = aggregations[i].getName();
+		}
+		ret.setHeaders(resultHeaders);
+		if (dc.getContainerFormat().getHeaderType() == EHeader.TREE) {
+			MLogger.getInstance().log(Level.WARNING, "Aggregations are not supported for tree formats!", getClass().getSimpleName(), getClass().getName(), "agg");
+			return ret;
+		}
+
+		int[] groupColumns = new int[headerNames.length];
+		for (int i = 0; i < headerNames.length; i++) {
+			groupColumns[i] = getColumn(headerNames[i]);
+		}
+		// each aggregated column gets one accumulator per group, even if it is used by several aggregations
+		List<Integer> valueColumns = new ArrayList<>();
+		int[] aggColumns = new int[aggregations.length];
+		for (int i = 0; i < aggregations.length; i++) {
+			if (aggregations[i].getHeaderName() == null) {
+				aggColumns[i] = -1;
+			} else {
+				int column = getColumn(aggregations[i].getHeaderName());
+				if (!valueColumns.contains(column)) {
+					valueColumns.add(column);
+				}
+				aggColumns[i] = valueColumns.indexOf(column);
+			}
+		}
+		Layout layout = new Layout(groupColumns, valueColumns.stream().mapToInt(Integer::intValue).toArray(), new boolean[valueColumns.size()], new boolean[valueColumns.size()]);
+		for (int i = 0; i < aggregations.length; i++) {
+			if (aggColumns[i] >= 0) {
+				if (aggregations[i].getFunction() == Aggregation.EFunction.PERCENTILE) {
+					layout.keepValues[aggColumns[i]] = true;
+				}
+				if (aggregations[i].getFunction() != Aggregation.EFunction.COUNT) {
+					layout.numeric[aggColumns[i]] = true;
+				}
+			}
+		}
+
+		int[] rows = filter.getFilterRules().isEmpty() ? null : dc.getRowsSelection(filter).stream().toArray();
+		int rowCount = rows == null ? dc.values.size() : rows.length;
+		Map<List<String>, Group> groups;
+		try {
+			if ((dc.getParallelThreshold() == 0) || (rowCount < dc.getParallelThreshold())) {
+				groups = aggregate(dc.values, rows, layout, 0, rowCount);
+			} else {
+				ForkJoinPool pool = dc.getForkJoinPool();
+				int rangeSize = dc.getRangeSize(rowCount);
+				List<ForkJoinTask<Map<List<String>, Group>>> tasks = new ArrayList<>();
+				for (int from = 0; from < rowCount; from += rangeSize) {
+					int start = from;
+					int end = Math.min(from + rangeSize, rowCount);
+					tasks.add(pool.submit(() -> aggregate(dc.values, rows, layout, start, end)));
+				}
+				groups = tasks.get(0).join();
+				for (int i = 1; i < tasks.size(); i++) {
+					for (Map.Entry<List<String>, Group> partial : tasks.get(i).join().entrySet()) {
+						Group group = groups.get(partial.getKey());
+						if (group == null) {
+							groups.put(partial.getKey(), partial.getValue());
+						} else {
+							group.merge(partial.getValue());
+						}
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			// ForkJoinTask.join may wrap the exception of the task
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				if (cause instanceof InvalidValueException) {
+					InvalidValueException invalid = (InvalidValueException) cause;
+					NumberFormatException nfe = new NumberFormatException("Value '" + invalid.value + "' of column " + getHeaderName(invalid.column) + " is not a number!");
+					MLogger.getInstance().log(Level.SEVERE, nfe, "agg");
+					throw new RuntimeException(nfe);
+				}
+			}
+			throw e;
+		}
+
+		for (Map.Entry<List<String>, Group> entry : groups.entrySet()) {
+			String[] row = entry.getKey().toArray(new String[resultHeaders.length]);
+			Group group = entry.getValue();
+			for (int i = 0; i < aggregations.length; i++) {
+				row[headerNames.length + i] = aggColumns[i] < 0 ? String.valueOf(group.rows) : group.stats[aggColumns[i]].getResult(aggregations[i]);
+			}
+			ret.addRow(row);
+		}
+		return ret;
+	}
+
+	private int getColumn(String headerName) {
+		Integer column = dc.headerNames.get(headerName);
+		if (column == null) {
+			NoSuchHeaderException e = new NoSuchHeaderException("Header " + headerName + " doesn't comply to DataContainer!");
+			MLogger.getInstance().log(Level.SEVERE, e, "agg");
+			throw new RuntimeException(e);
+		}
+		return column;
+	}
+
+	private String getHeaderName(int column) {
+		for (Map.Entry<String, Integer> header : dc.headerNames.entrySet()) {
+			if (header.getValue() == column) {
+				return header.getKey();
+			}
+		}
+		return String.valueOf(column);
+	}
+
+	/**
+	 * Aggregates a range of rows. This method gets called concurrently and must not log or change
+	 * any shared state, so values, that are not a number, are passed to the caller by an
+	 * {@link InvalidValueException}.
+	 *
+	 * @param values The rows of the container
+	 * @param rows   The numbers of the rows to aggregate or null for all rows
+	 * @param layout The columns to read
+	 * @param from   The first position of the range
+	 * @param to     The position after the last position of the range
+	 * @return the groups of the range in the order of their first row
+	 */
+	private static Map<List<String>, Group> aggregate(List<String[]> values, int[] rows, Layout layout, int from, int to) {
+		Map<List<String>, Group> groups = new LinkedHashMap<>();
+		String[] key = new String[layout.groupColumns.length];
+		for (int i = from; i < to; i++) {
+			String[] row = values.get(rows == null ? i : rows[i]);
+			for (int j = 0; j < key.length; j++) {
+				key[j] = layout.groupColumns[j] < row.length ? row[layout.groupColumns[j]] : null;
+			}
+			Group group = groups.get(Arrays.asList(key));
+			if (group == null) {
+				group = new Group(layout);
+				groups.put(Arrays.asList(key.clone()), group);
+			}
+			group.rows++;
+			for (int j = 0; j < layout.valueColumns.length; j++) {
+				String value = layout.valueColumns[j] < row.length ? row[layout.valueColumns[j]] : null;
+				if ((value != null) && !value.isEmpty()) {
+					if (layout.numeric[j]) {
+						try {
+						group.stats[j].add(Double.parseDouble(value));
+					} catch (NumberFormatException e) {
+						throw new InvalidValueException(layout.valueColumns[j], value);
+					}
+					} else {
+						group.stats[j].count++;
+					}
+				}
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Thrown by {@link GroupBy#aggregate(List, int[], Layout, int, int)} for a value, that is not a
+	 * number, so the caller can log it with the name of its column.
+	 */
+	private static final class InvalidValueException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		private final int column;
+		private final String value;
+
+		private InvalidValueException(int column, String value) {
+			super("Value '" + value + "' of column " + column + " is not a number!");
+			this.column = column;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * The column positions, that are needed for the aggregations.
+	 */
+	private static final class Layout {
+		private final int[] groupColumns;
+		private final int[] valueColumns;
+		/** true = the values of the column need to be parsed */
+		private final boolean[] numeric;
+		/** true = all values of the column need to be kept for percentiles */
+		private final boolean[] keepValues;
+
+		private Layout(int[] groupColumns, int[] valueColumns, boolean[] numeric, boolean[] keepValues) {
+			this.groupColumns = groupColumns;
+			this.valueColumns = valueColumns;
+			this.numeric = numeric;
+			this.keepValues = keepValues;
+		}
+	}
+
+	/**
+	 * The accumulators of one group.
+	 */
+	private static final class Group {
+		private long rows = 0;
+		private final ColumnStats[] stats;
+
+		private Group(Layout layout) {
+			stats = new ColumnStats[layout.valueColumns.length];
+			for (int i = 0; i < stats.length; i++) {
+				stats[i] = new ColumnStats(layout.keepValues[i]);
+			}
+		}
+
+		private void merge(Group other) {
+			rows += other.rows;
+			for (int i = 0; i < stats.length; i++) {
+				stats[i].merge(other.stats[i]);
+			}
+		}
+	}
+
+	/**
+	 * Accumulator for the values of one column within a group. Mean and variance are updated with
+	 * Welford's method, so that partial results can be merged without losing precision.
+	 */
+	private static final class ColumnStats {
+		private long count = 0;
+		private double sum = 0;
+		private double mean = 0;
+		/** Sum of the squared differences from the mean */
+		private double m2 = 0;
+		private double min = Double.POSITIVE_INFINITY;
+		private double max = Double.NEGATIVE_INFINITY;
+		/** All values, if percentiles are needed, otherwise null */
+		private double[] values;
+		private int size = 0;
+
+		private ColumnStats(boolean keepValues) {
+			if (keepValues) {
+				values = new double[8];
+			}
+		}
+
+		private void add(double value) {
+			count++;
+			sum += value;
+			double delta = value - mean;
+			mean += delta / count;
+			m2 += delta * (value - mean);
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+			if (values != null) {
+				if (size == values.length) {
+					values = Arrays.copyOf(values, size * 2);
+				}
+				values[size++] = value;
+			}
+		}
+
+		private void merge(ColumnStats other) {
+			if (other.count == 0) {
+				return;
+			}
+			long total = count + other.count;
+			double delta = other.mean - mean;
+			m2 += other.m2 + delta * delta * count * other.count / total;
+			mean += delta * other.count / total;
+			count = total;
+			sum += other.sum;
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+			if (values != null) {
+				if (size + other.size > values.length) {
+					values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+				}
+				System.arraycopy(other.values, 0, values, size, other.size);
+				size += other.size;
+			}
+		}
+
+		private String getResult(Aggregation aggregation) {
+			if (aggregation.getFunction() == Aggregation.EFunction.COUNT) {
+				return String.valueOf(count);
+			}
+			if (count == 0) {
+				return String.valueOf(Double.NaN);
+			}
+			switch (aggregation.getFunction()) {
+			case SUM:
+				return String.valueOf(sum);
+			case MEAN:
+				return String.valueOf(sum / count);
+			case MIN:
+				return String.valueOf(min);
+			case MAX:
+				return String.valueOf(max);
+			case STANDARD_DEVIATION:
+				return String.valueOf(count == 1 ? 0.0 : Math.sqrt(m2 / (count - 1)));
+			case PERCENTILE:
+				return String.valueOf(StatUtils.percentile(values, 0, size, aggregation.getPercentile()));
+			default:
+				return null;
+			}
+		}
+	}
+}
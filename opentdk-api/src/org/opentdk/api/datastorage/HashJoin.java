@@ -0,0 +1,274 @@
+package org.opentdk.api.datastorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Level;
+
+import org.opentdk.api.datastorage.BaseContainer.EHeader;
+import org.opentdk.api.datastorage.BaseContainer.EJoinType;
+import org.opentdk.api.logger.MLogger;
+
+/**
+ * Hash join of two tabular {@link DataContainer}. The rows of the smaller container will be put into
+ * a hash table by their key, and the rows of the larger container are looked up in this table one
+ * after another, so the join takes linear time instead of comparing all pairs of rows. The probe
+ * phase runs in parallel, if parallel scans are enabled for the left container (see
+ * {@link DataContainer#setParallelThreshold(int)}). Independent of the side of the hash table, the
+ * result has the order of the left rows, and matching right rows in their order.
+ *
+ * @author LK Test Solutions
+ * @see DataContainer#join(DataContainer, String, String, EJoinType)
+ */
+final class HashJoin {
+
+	private final DataContainer left;
+	private final DataContainer right;
+	private final EJoinType joinType;
+
+	/**
+	 * Position of the key within the left and right rows.
+	 */
+	private final int leftKey;
+	private final int rightKey;
+
+	/**
+	 * Number of columns of the left container.
+	 */
+	private final int leftColumnCount;
+
+	/**
+	 * Positions of the right columns, that will be added to the left columns.
+	 */
+	private final int[] rightColumns;
+
+	private HashJoin(DataContainer left, DataContainer right, int leftKey, int rightKey, EJoinType joinType) {
+		this.left = left;
+		this.right = right;
+		this.leftKey = leftKey;
+		this.rightKey = rightKey;
+		this.joinType = joinType;
+		leftColumnCount = left.getHeaderNamesIndexed().length;
+		int rightColumnCount = right.getHeaderNamesIndexed().length;
+		rightColumns = new int[rightColumnCount - 1];
+		for (int i = 0, j = 0; i < rightColumnCount; i++) {
+			if (i != rightKey) {
+				rightColumns[j++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Joins the rows of two containers. See
+	 * {@link DataContainer#join(DataContainer, String, String, EJoinType)}.
+	 */
+	static DataContainer join(DataContainer left, DataContainer right, String leftKey, String rightKey, EJoinType joinType) {
+		int leftColumn = getColumn(left, leftKey);
+		int rightColumn = getColumn(right, rightKey);
+		List<String> headers = new ArrayList<>(Arrays.asList(left.getHeaderNamesIndexed()));
+		String[] rightHeaders = right.getHeaderNamesIndexed();
+		for (int i = 0; i < rightHeaders.length; i++) {
+			if (i != rightColumn) {
+				headers.add(rightHeaders[i]);
+			}
+		}
+		DataContainer ret = new DataContainer();
+		ret.setColumnDelimiter(left.getColumnDelimiter());
+		// duplicate header names get an index suffix, like by addColumn
+		ret.setHeaders(headers);
+		if ((left.getContainerFormat().getHeaderType() == EHeader.TREE) || (right.getContainerFormat().getHeaderType() == EHeader.TREE)) {
+			MLogger.getInstance().log(Level.WARNING, "Joins are not supported for tree formats!", "HashJoin", HashJoin.class.getName(), "join");
+			return ret;
+		}
+		HashJoin hashJoin = new HashJoin(left, right, leftColumn, rightColumn, joinType);
+		ret.values = right.values.size() <= left.values.size() ? hashJoin.probeLeft() : hashJoin.probeRight();
+		return ret;
+	}
+
+	private static int getColumn(DataContainer dc, String headerName) {
+		Integer column = dc.headerNames.get(headerName);
+		if (column == null) {
+			NoSuchHeaderException e = new NoSuchHeaderException("Header " + headerName + " doesn't comply to DataContainer!");
+			MLogger.getInstance().log(Level.SEVERE, e, "join");
+			throw new RuntimeException(e);
+		}
+		return column;
+	}
+
+	/**
+	 * Puts the right rows into the hash table and looks up the left rows.
+	 *
+	 * @return the joined rows
+	 */
+	private List<String[]> probeLeft() {
+		Map<String, RowList> table = buildTable(right.values, rightKey);
+		int rowCount = left.values.size();
+		if (!isParallel(rowCount)) {
+			return probeLeft(table, 0, rowCount);
+		}
+		int rangeSize = left.getRangeSize(rowCount);
+		List<ForkJoinTask<List<String[]>>> tasks = new ArrayList<>();
+		for (int from = 0; from < rowCount; from += rangeSize) {
+			int start = from;
+			int end = Math.min(from + rangeSize, rowCount);
+			tasks.add(left.getForkJoinPool().submit(() -> probeLeft(table, start, end)));
+		}
+		List<String[]> ret = new ArrayList<>();
+		for (ForkJoinTask<List<String[]>> task : tasks) {
+			ret.addAll(task.join());
+		}
+		return ret;
+	}
+
+	private List<String[]> probeLeft(Map<String, RowList> table, int from, int to) {
+		List<String[]> ret = new ArrayList<>(to - from);
+		for (int i = from; i < to; i++) {
+			String[] leftRow = left.values.get(i);
+			String key = valueOf(leftRow, leftKey);
+			RowList matches = key == null ? null : table.get(key);
+			if (matches != null) {
+				for (int j = 0; j < matches.size; j++) {
+					ret.add(combine(leftRow, right.values.get(matches.rows[j])));
+				}
+			} else if (joinType == EJoinType.LEFT) {
+				ret.add(combine(leftRow, null));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Puts the left rows into the hash table and looks up the right rows. The matching right rows
+	 * will be collected for each left row, so that the result has the order of the left rows.
+	 *
+	 * @return the joined rows
+	 */
+	private List<String[]> probeRight() {
+		Map<String, RowList> table = buildTable(left.values, leftKey);
+		int rowCount = right.values.size();
+		List<RowList> pairs = new ArrayList<>();
+		if (!isParallel(rowCount)) {
+			pairs.add(probeRight(table, 0, rowCount));
+		} else {
+			int rangeSize = left.getRangeSize(rowCount);
+			List<ForkJoinTask<RowList>> tasks = new ArrayList<>();
+			for (int from = 0; from < rowCount; from += rangeSize) {
+				int start = from;
+				int end = Math.min(from + rangeSize, rowCount);
+				tasks.add(left.getForkJoinPool().submit(() -> probeRight(table, start, end)));
+			}
+			for (ForkJoinTask<RowList> task : tasks) {
+				pairs.add(task.join());
+			}
+		}
+		// sort the right rows by their left row, keeping their order
+		int leftRowCount = left.values.size();
+		int[] offsets = new int[leftRowCount + 1];
+		for (RowList rangePairs : pairs) {
+			for (int p = 0; p < rangePairs.size; p += 2) {
+				offsets[rangePairs.rows[p] + 1]++;
+			}
+		}
+		for (int i = 0; i < leftRowCount; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] rightRows = new int[offsets[leftRowCount]];
+		int[] positions = Arrays.copyOf(offsets, leftRowCount);
+		for (RowList rangePairs : pairs) {
+			for (int p = 0; p < rangePairs.size; p += 2) {
+				rightRows[positions[rangePairs.rows[p]]++] = rangePairs.rows[p + 1];
+			}
+		}
+		List<String[]> ret = new ArrayList<>(rightRows.length);
+		for (int i = 0; i < leftRowCount; i++) {
+			String[] leftRow = left.values.get(i);
+			if (offsets[i] < offsets[i + 1]) {
+				for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+					ret.add(combine(leftRow, right.values.get(rightRows[j])));
+				}
+			} else if (joinType == EJoinType.LEFT) {
+				ret.add(combine(leftRow, null));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @return pairs of the numbers of the left row and the matching right row
+	 */
+	private RowList probeRight(Map<String, RowList> table, int from, int to) {
+		RowList ret = new RowList();
+		for (int j = from; j < to; j++) {
+			String key = valueOf(right.values.get(j), rightKey);
+			RowList matches = key == null ? null : table.get(key);
+			if (matches != null) {
+				for (int i = 0; i < matches.size; i++) {
+					ret.add(matches.rows[i]);
+					ret.add(j);
+				}
+			}
+		}
+		return ret;
+	}
+
+	private boolean isParallel(int rowCount) {
+		return (left.getParallelThreshold() > 0) && (rowCount >= left.getParallelThreshold());
+	}
+
+	/**
+	 * Creates the hash table with the numbers of the rows for each key. Rows without key will not be
+	 * added, because they don't match to any row.
+	 */
+	private static Map<String, RowList> buildTable(List<String[]> rows, int keyColumn) {
+		Map<String, RowList> table = new HashMap<>();
+		for (int i = 0; i < rows.size(); i++) {
+			String key = valueOf(rows.get(i), keyColumn);
+			if (key != null) {
+				table.computeIfAbsent(key, k -> new RowList()).add(i);
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the key of a row. Empty keys are returned as null, because empty fields represent missing
+	 * values, e.g. in CSV files, and must not match each other.
+	 */
+	private static String valueOf(String[] row, int column) {
+		String ret = column < row.length ? row[column] : null;
+		return (ret == null) || ret.isEmpty() ? null : ret;
+	}
+
+	/**
+	 * Creates a row of the result with the values of the left row followed by the values of the right
+	 * row without its key.
+	 */
+	private String[] combine(String[] leftRow, String[] rightRow) {
+		String[] ret = new String[leftColumnCount + rightColumns.length];
+		System.arraycopy(leftRow, 0, ret, 0, Math.min(leftRow.length, leftColumnCount));
+		if (rightRow != null) {
+			for (int i = 0; i < rightColumns.length; i++) {
+				ret[leftColumnCount + i] = valueOf(rightRow, rightColumns[i]);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Growing list of row numbers.
+	 */
+	private static final class RowList {
+		private int[] rows = new int[2];
+		private int size = 0;
+
+		private void add(int row) {
+			if (size == rows.length) {
+				rows = Arrays.copyOf(rows, size * 2);
+			}
+			rows[size++] = row;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package org.opentdk.api.datastorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Read-only list of rows that is backed by a memory mapped CSV file. When the store gets created,
+ * the file will only be scanned for the starts of its data rows, so the heap holds nothing else than
+ * a compact index with the position and length of each row (12 bytes per row). The fields of a row
+ * will be decoded each time the row gets accessed, so the resident memory depends on the rows that
+ * are actually read and the operating system can drop pages of the file that are no longer used.<br>
+ * <br>
+ * Rows with a number of fields that doesn't match to the headers are excluded from the index, the
+ * same way as they are excluded by the sequential loading of the {@link CSVDataContainer}. All
+ * methods that modify the list throw an {@link UnsupportedOperationException}. See
+ * {@link DataContainer#setMappedStorage(boolean)}.
+ *
+ * @author LK Test Solutions
+ */
+final class MappedCSVStore extends AbstractList<String[]> implements RandomAccess {
+
+	/**
+	 * Maximum size of a single mapped region. Larger files will be mapped in several segments.
+	 */
+	private static final long SEGMENT_SIZE = 1L << 30;
+
+	/**
+	 * The mapped segments of the file. Segment <code>i</code> starts at position
+	 * <code>i * SEGMENT_SIZE</code>.
+	 */
+	private final MappedByteBuffer[] segments;
+
+	/**
+	 * Start position of each row within the file.
+	 */
+	private long[] rowStarts = new long[1024];
+
+	/**
+	 * Length of each row in bytes, including the line break.
+	 */
+	private int[] rowLengths = new int[1024];
+
+	/**
+	 * Number of rows within the index.
+	 */
+	private int rowCount = 0;
+
+	/**
+	 * Charset to decode the bytes of a row.
+	 */
+	private final Charset charset;
+
+	/**
+	 * Converts the characters of a row into the values that will be returned by {@link #get(int)}.
+	 */
+	private final Function<String, String[]> decoder;
+
+	/**
+	 * Maps the file and creates the index of all data rows.
+	 *
+	 * @param channel    The channel of the CSV file. It can be closed after the store has been
+	 *                   created.
+	 * @param chunker    The chunker for the file, that defines the rules to find the rows
+	 * @param dataStart  Position of the first data row
+	 * @param fieldCount Number of fields of a valid data row
+	 * @param charset    Charset of the file
+	 * @param decoder    Converts the characters of a row into its values
+	 * @param rejected   Will be called for each row that gets excluded, because its number of fields
+	 *                   doesn't match
+	 * @throws IOException If the file cannot be read or mapped
+	 */
+	MappedCSVStore(FileChannel channel, CSVChunker chunker, long dataStart, int fieldCount, Charset charset, Function<String, String[]> decoder, Runnable rejected) throws IOException {
+		this.charset = charset;
+		this.decoder = decoder;
+		long size = channel.size();
+		segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+		for (int i = 0; i < segments.length; i++) {
+			long start = i * SEGMENT_SIZE;
+			segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+		}
+
+		CSVChunker.Scanner scanner = chunker.scanner(dataStart);
+		long rowStart = dataStart;
+		long next;
+		while ((next = scanner.nextRowStart()) >= 0) {
+			addRow(rowStart, next, scanner.getFieldCount() == fieldCount, rejected);
+			rowStart = next;
+		}
+		if (scanner.getPosition() > rowStart) {
+			// last row without line break
+			addRow(rowStart, scanner.getPosition(), scanner.getFieldCount() == fieldCount, rejected);
+		}
+		rowStarts = Arrays.copyOf(rowStarts, rowCount);
+		rowLengths = Arrays.copyOf(rowLengths, rowCount);
+	}
+
+	private void addRow(long start, long end, boolean valid, Runnable rejected) {
+		if (!valid) {
+			rejected.run();
+			return;
+		}
+		if (rowCount == rowStarts.length) {
+			rowStarts = Arrays.copyOf(rowStarts, rowCount * 2);
+			rowLengths = Arrays.copyOf(rowLengths, rowCount * 2);
+		}
+		rowStarts[rowCount] = start;
+		rowLengths[rowCount] = (int) (end - start);
+		rowCount++;
+	}
+
+	/**
+	 * Decodes the row at the committed index. The returned array is a new object for each call, so
+	 * changes of its values will not be stored.
+	 */
+	@Override
+	public String[] get(int index) {
+		if (index < 0 || index >= rowCount) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rowCount);
+		}
+		byte[] bytes = new byte[rowLengths[index]];
+		long pos = rowStarts[index];
+		int copied = 0;
+		while (copied < bytes.length) {
+			// duplicates of the buffer keep the reads independent of each other
+			ByteBuffer segment = segments[(int) (pos / SEGMENT_SIZE)].duplicate();
+			segment.position((int) (pos % SEGMENT_SIZE));
+			int len = Math.min(bytes.length - copied, segment.remaining());
+			segment.get(bytes, copied, len);
+			copied += len;
+			pos += len;
+		}
+		return decoder.apply(new String(bytes, charset));
+	}
+
+	@Override
+	public int size() {
+		return rowCount;
+	}
+
+	@Override
+	public String[] set(int index, String[] element) {
+		throw new UnsupportedOperationException("Values of a memory mapped file are read-only!");
+	}
+
+	@Override
+	public void add(int index, String[] element) {
+		throw new UnsupportedOperationException("Values of a memory mapped file are read-only!");
+	}
+
+	@Override
+	public String[] remove(int index) {
+		throw new UnsupportedOperationException("Values of a memory mapped file are read-only!");
+	}
+}
@@ -4,13 +4,11 @@ import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
-import java.util.logging.Level;
 
 import org.apache.commons.lang3.StringUtils;
 import org.opentdk.api.datastorage.BaseContainer.EContainerFormat;
 import org.opentdk.api.filter.Filter;
 import org.opentdk.api.io.FileUtil;
-import org.opentdk.api.logger.MLogger;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -44,15 +42,11 @@ public class PropertiesDataContainer implements CustomContainer {
 	
 	public void deleteField(String headerName, String attributeName, String attributeValue, Filter fltr) {
 		int headerIndex = dc.getHeaderIndex(headerName);
-		dc.values.get(0)[headerIndex] = null;
-		if(!dc.getFileName().isEmpty()) {
-			try {
-				writeData(dc.getFileName());
-			} catch (IOException e) {
-				MLogger.getInstance().log(Level.SEVERE, e, "getRowsIndexes");
-				throw new RuntimeException(e);
-			}
-		}
+		String[] firstRow = dc.values.get(0);
+		firstRow[headerIndex] = null;
+		dc.values.set(0, firstRow);
+		dc.indexSet(0, firstRow);
+		dc.requestWriteBack();
 	}
 
 	/**
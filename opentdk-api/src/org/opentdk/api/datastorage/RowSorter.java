@@ -0,0 +1,310 @@
+package org.opentdk.api.datastorage;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+
+import org.opentdk.api.datastorage.BaseContainer.EHeader;
+import org.opentdk.api.logger.MLogger;
+import org.opentdk.api.util.EFormat;
+
+/**
+ * Sorts the rows of a tabular {@link DataContainer} by one or more columns. The values of each sort
+ * column will be decoded once into a primitive key array, so the comparisons don't need to parse
+ * the strings again. The type of a column gets detected from its values:
+ * <ul>
+ * <li>numeric, if all values are numbers</li>
+ * <li>date, time or time stamp, if all values have the {@link EFormat} of the first value</li>
+ * <li>string in all other cases</li>
+ * </ul>
+ * Empty values are sorted after all other values.
+ *
+ * @author LK Test Solutions
+ * @see DataContainer#sort(String...)
+ * @see DataContainer#topN(String, int)
+ */
+final class RowSorter {
+
+	/**
+	 * The decoded values of the sort columns.
+	 */
+	private final Key[] keys;
+
+	/**
+	 * true = the rows will be sorted from the largest to the smallest value.
+	 */
+	private final boolean descending;
+
+	private RowSorter(DataContainer dc, String[] headerNames, boolean descending, String methodName) {
+		this.descending = descending;
+		int[] columns = new int[headerNames.length];
+		for (int i = 0; i < headerNames.length; i++) {
+			columns[i] = getColumn(dc, headerNames[i], methodName);
+		}
+		String[][] rawValues = new String[headerNames.length][dc.values.size()];
+		for (int i = 0; i < dc.values.size(); i++) {
+			String[] row = dc.values.get(i);
+			for (int j = 0; j < columns.length; j++) {
+				rawValues[j][i] = columns[j] < row.length ? row[columns[j]] : null;
+			}
+		}
+		keys = new Key[headerNames.length];
+		for (int j = 0; j < keys.length; j++) {
+			keys[j] = decode(rawValues[j]);
+		}
+	}
+
+	/**
+	 * Sorts the rows by the values of the columns in ascending order. See
+	 * {@link DataContainer#sort(String...)}.
+	 */
+	static DataContainer sort(DataContainer dc, String[] headerNames) {
+		DataContainer ret = createResult(dc);
+		if (!isSupported(dc, "sort")) {
+			return ret;
+		}
+		RowSorter sorter = new RowSorter(dc, headerNames, false, "sort");
+		Integer[] rows = new Integer[dc.values.size()];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = i;
+		}
+		// both sorts are stable, so rows with equal keys keep their order
+		if ((dc.getParallelThreshold() > 0) && (rows.length >= dc.getParallelThreshold())) {
+			dc.getForkJoinPool().submit(() -> Arrays.parallelSort(rows, sorter::compare)).join();
+		} else {
+			Arrays.sort(rows, sorter::compare);
+		}
+		ret.values = new ArrayList<>(rows.length);
+		// the result gets copies of the rows, so changing it doesn't change the sorted container
+		for (Integer row : rows) {
+			ret.values.add(dc.values.get(row).clone());
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the rows with the largest values of a column in descending order. See
+	 * {@link DataContainer#topN(String, int)}.
+	 */
+	static DataContainer topN(DataContainer dc, String headerName, int n) {
+		DataContainer ret = createResult(dc);
+		if (!isSupported(dc, "topN")) {
+			return ret;
+		}
+		RowSorter sorter = new RowSorter(dc, new String[] { headerName }, true, "topN");
+		// rows with equal keys keep their order, so the row number decides between them
+		Comparator<Integer> order = ((Comparator<Integer>) sorter::compare).thenComparing(Comparator.naturalOrder());
+		// the head of the heap is the last of the kept rows, that gets replaced by a better row
+		PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, Math.min(n, dc.values.size())), order.reversed());
+		for (int i = 0; (n > 0) && (i < dc.values.size()); i++) {
+			if (heap.size() < n) {
+				heap.add(i);
+			} else if (order.compare(i, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(i);
+			}
+		}
+		Integer[] rows = heap.toArray(new Integer[heap.size()]);
+		Arrays.sort(rows, order);
+		ret.values = new ArrayList<>(rows.length);
+		for (Integer row : rows) {
+			ret.values.add(dc.values.get(row).clone());
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates an empty container with the settings of the sorted container. The rows of the result
+	 * will be assigned afterwards.
+	 */
+	private static DataContainer createResult(DataContainer dc) {
+		DataContainer ret = new DataContainer();
+		ret.setColumnDelimiter(dc.getColumnDelimiter());
+		ret.setHeaders(dc.getHeaderNamesIndexed());
+		ret.setForkJoinPool(dc.getForkJoinPool());
+		ret.setParallelThreshold(dc.getParallelThreshold());
+		return ret;
+	}
+
+	private static boolean isSupported(DataContainer dc, String methodName) {
+		if (dc.getContainerFormat().getHeaderType() == EHeader.TREE) {
+			MLogger.getInstance().log(Level.WARNING, "Sorting is not supported for tree formats!", "RowSorter", RowSorter.class.getName(), methodName);
+			return false;
+		}
+		return true;
+	}
+
+	private static int getColumn(DataContainer dc, String headerName, String methodName) {
+		Integer column = dc.headerNames.get(headerName);
+		if (column == null) {
+			NoSuchHeaderException e = new NoSuchHeaderException("Header " + headerName + " doesn't comply to DataContainer!");
+			MLogger.getInstance().log(Level.SEVERE, e, methodName);
+			throw new RuntimeException(e);
+		}
+		return column;
+	}
+
+	/**
+	 * Compares two rows by their keys. Empty values are sorted last, also in descending order.
+	 */
+	private int compare(int row1, int row2) {
+		for (Key key : keys) {
+			boolean missing1 = key.missing[row1];
+			boolean missing2 = key.missing[row2];
+			if (missing1 || missing2) {
+				if (missing1 != missing2) {
+					return missing1 ? 1 : -1;
+				}
+				continue;
+			}
+			int ret = key.compare(row1, row2);
+			if (ret != 0) {
+				return descending ? -ret : ret;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Decodes the values of a column into the key of the first matching type.
+	 */
+	private static Key decode(String[] values) {
+		boolean[] missing = new boolean[values.length];
+		String first = null;
+		for (int i = 0; i < values.length; i++) {
+			missing[i] = (values[i] == null) || values[i].isEmpty();
+			if ((first == null) && !missing[i]) {
+				first = values[i];
+			}
+		}
+		if (first == null) {
+			return new StringKey(missing, values);
+		}
+		Key ret = NumberKey.decode(missing, values);
+		if (ret == null) {
+			ret = DateKey.decode(missing, values, EFormat.getDateEFormat(first));
+		}
+		return ret != null ? ret : new StringKey(missing, values);
+	}
+
+	/**
+	 * The decoded values of one sort column.
+	 */
+	private abstract static class Key {
+		/** true = the row has no value in this column */
+		final boolean[] missing;
+
+		Key(boolean[] missing) {
+			this.missing = missing;
+		}
+
+		/**
+		 * Compares the values of two rows, that both have a value.
+		 */
+		abstract int compare(int row1, int row2);
+	}
+
+	private static final class NumberKey extends Key {
+		private final double[] numbers;
+
+		private NumberKey(boolean[] missing, double[] numbers) {
+			super(missing);
+			this.numbers = numbers;
+		}
+
+		/**
+		 * @return the key or null, if one of the values is not a number
+		 */
+		private static NumberKey decode(boolean[] missing, String[] values) {
+			double[] numbers = new double[values.length];
+			try {
+				for (int i = 0; i < values.length; i++) {
+					if (!missing[i]) {
+						numbers[i] = Double.parseDouble(values[i]);
+					}
+				}
+			} catch (NumberFormatException e) {
+				return null;
+			}
+			return new NumberKey(missing, numbers);
+		}
+
+		@Override
+		int compare(int row1, int row2) {
+			return Double.compare(numbers[row1], numbers[row2]);
+		}
+	}
+
+	/**
+	 * Key for dates, times and time stamps, stored as epoch day and nanosecond of the day.
+	 */
+	private static final class DateKey extends Key {
+		private final long[] days;
+		private final long[] nanos;
+
+		private DateKey(boolean[] missing, long[] days, long[] nanos) {
+			super(missing);
+			this.days = days;
+			this.nanos = nanos;
+		}
+
+		/**
+		 * @return the key or null, if one of the values doesn't have the format
+		 */
+		private static DateKey decode(boolean[] missing, String[] values, EFormat format) {
+			if (format.getDateFormat().isEmpty()) {
+				return null;
+			}
+			DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format.getDateFormat());
+			long[] days = new long[values.length];
+			long[] nanos = new long[values.length];
+			for (int i = 0; i < values.length; i++) {
+				if (missing[i]) {
+					continue;
+				}
+				if (values[i].length() != format.getDateFormat().length()) {
+					return null;
+				}
+				try {
+					TemporalAccessor date = formatter.parse(values[i]);
+					boolean hasDay = date.isSupported(ChronoField.EPOCH_DAY);
+					boolean hasTime = date.isSupported(ChronoField.NANO_OF_DAY);
+					if (!hasDay && !hasTime) {
+						return null;
+					}
+					days[i] = hasDay ? date.getLong(ChronoField.EPOCH_DAY) : 0;
+					nanos[i] = hasTime ? date.getLong(ChronoField.NANO_OF_DAY) : 0;
+				} catch (DateTimeParseException e) {
+					return null;
+				}
+			}
+			return new DateKey(missing, days, nanos);
+		}
+
+		@Override
+		int compare(int row1, int row2) {
+			int ret = Long.compare(days[row1], days[row2]);
+			return ret != 0 ? ret : Long.compare(nanos[row1], nanos[row2]);
+		}
+	}
+
+	private static final class StringKey extends Key {
+		private final String[] strings;
+
+		private StringKey(boolean[] missing, String[] strings) {
+			super(missing);
+			this.strings = strings;
+		}
+
+		@Override
+		int compare(int row1, int row2) {
+			return strings[row1].compareTo(strings[row2]);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package org.opentdk.api.datastorage;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only rows of a snapshot, that is created by {@link DataContainer#createSnapshot()}. The rows
+ * are shared by all readers of the snapshot, so {@link #get(int)} returns a copy of the row, and all
+ * methods that change the list throw an <code>UnsupportedOperationException</code>. Methods of the
+ * {@link DataContainer}, that change a field of a row, therefore only change their own copy before
+ * they fail to write it back.
+ *
+ * @author LK Test Solutions
+ * @see ConcurrentDataContainer#snapshot()
+ */
+final class SnapshotRows extends AbstractList<String[]> implements RandomAccess {
+
+	private final String[][] rows;
+
+	/**
+	 * Creates the snapshot with copies of the committed rows.
+	 *
+	 * @param values The rows of the container
+	 */
+	SnapshotRows(List<String[]> values) {
+		rows = new String[values.size()][];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = values.get(i).clone();
+		}
+	}
+
+	@Override
+	public String[] get(int index) {
+		return rows[index].clone();
+	}
+
+	@Override
+	public int size() {
+		return rows.length;
+	}
+}
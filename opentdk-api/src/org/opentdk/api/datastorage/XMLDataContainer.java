@@ -40,6 +40,18 @@ public class XMLDataContainer implements CustomContainer {
 	 */
 	private final DataContainer dc;
 
+	/**
+	 * The decoded values of the rows, indexed like the rows of the container. Only used if
+	 * {@link DataContainer#isXMLValueCache()} is enabled.
+	 */
+	private final List<String[]> decodedRows = new ArrayList<>();
+
+	/**
+	 * The rows with the XPath references, that the decoded rows have been created from, to recognize
+	 * rows that have been replaced in the container.
+	 */
+	private final List<String[]> decodedXPaths = new ArrayList<>();
+
 	/**
 	 * Construct a new specific <code>DataContainer</code> for XML files.
 	 *
@@ -73,6 +85,13 @@ public class XMLDataContainer implements CustomContainer {
 		} else if(dc.getInputStream() != null) {
 			xEdit = new XMLEditor(dc.getInputStream());
 		}
+		xEdit.setElementIndex(dc.isXMLElementIndex());
+		clearDecoded();
+		// the DataContainer decides when the changes get saved
+		xEdit.setChangeListener(() -> {
+			clearDecoded();
+			dc.requestWriteBack();
+		});
 		dc.setHeaders(xEdit.getXmlTags());
 		for (String header : dc.getHeaders().keySet()) {
 			dc.setColumn(header, xEdit.getXPaths(header));
@@ -88,15 +107,61 @@ public class XMLDataContainer implements CustomContainer {
 	 * This method is used to translate the XPath references to actual values from
 	 * the XML File. Using the specified index, the according row (element
 	 * Occurrence) will be read out and fed to a translator method. The output of
-	 * this method is the return value.
+	 * this method is the return value.<br>
+	 * If {@link DataContainer#isXMLValueCache()} is enabled, each row will be
+	 * translated only once and the following calls return a copy of the cached
+	 * values, until the document gets changed.
 	 *
 	 * @param index The index of the returning row.
 	 * @return an array with all translated references (values) of the row.
 	 */
 	public String[] getDecoded(int index) {
 		String[] xPathArr = dc.values.listIterator(index).next();
+		if (!dc.isXMLValueCache()) {
+			return decode(xPathArr);
+		}
+		while (decodedRows.size() <= index) {
+			decodedRows.add(null);
+			decodedXPaths.add(null);
+		}
+		String[] ret = decodedRows.get(index);
+		if ((ret == null) || (decodedXPaths.get(index) != xPathArr)) {
+			ret = decode(xPathArr);
+			decodedRows.set(index, ret);
+			decodedXPaths.set(index, xPathArr);
+		}
+		return ret.clone();
+	}
+
+	/**
+	 * Removes all cached values of {@link #getDecoded(int)}. Gets called after each change of the
+	 * document, because changes like deleted elements move the values of other XPath references.
+	 */
+	void clearDecoded() {
+		decodedRows.clear();
+		decodedXPaths.clear();
+	}
+
+	/**
+	 * Enables or disables the index of the elements of the loaded document. See
+	 * {@link DataContainer#setXMLElementIndex(boolean)}.
+	 *
+	 * @param indexed true = index the elements by their tag names and attribute values
+	 */
+	void setElementIndex(boolean indexed) {
+		if (xEdit != null) {
+			xEdit.setElementIndex(indexed);
+		}
+	}
+
+	/**
+	 * Translates the XPath references of a row into the values of the XML elements.
+	 *
+	 * @param xPathArr The XPath references of the row
+	 * @return the values of the row
+	 */
+	private String[] decode(String[] xPathArr) {
 		String[] ret = new String[xPathArr.length];
-		index++;
 		for (int i = 0; i < xPathArr.length; i++) {
 			ret[i] = xEdit.readXPath(xPathArr[i]);
 		}
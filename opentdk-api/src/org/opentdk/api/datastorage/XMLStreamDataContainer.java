@@ -0,0 +1,360 @@
+package org.opentdk.api.datastorage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.opentdk.api.datastorage.BaseContainer.EContainerFormat;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.filter.FilterRule;
+import org.opentdk.api.logger.MLogger;
+
+/**
+ * Specific data container, that reads XML files in one forward pass into a tabular
+ * {@link DataContainer}, instead of building a DOM document like the {@link XMLDataContainer}. It
+ * will be used for XML files, if the name of the row elements has been defined by
+ * {@link DataContainer#setXMLRowTag(String)}:
+ *
+ * <pre>
+ * DataContainer dc = new DataContainer();
+ * dc.setXMLRowTag("order");
+ * dc.readData("orders.xml");
+ * </pre>
+ *
+ * Each element with the name of the row tag becomes a row, regardless of its level within the
+ * document. The columns of a row are taken from
+ * <ul>
+ * <li>the attributes of the row element, named like the attribute</li>
+ * <li>the child elements of the row element, named like the element, with the text of the element
+ * and its descendants</li>
+ * <li>the attributes of the child elements, named like <code>element@attribute</code></li>
+ * </ul>
+ * If the container already has headers, only these columns will be extracted. Otherwise the columns
+ * will be added in the order, in which they appear in the document. Fields, that don't exist for a
+ * row, get an empty value, and if a child element occurs several times within a row, the first
+ * occurrence will be taken.<br>
+ * <br>
+ * Only the values of the current row will be kept in memory while the file gets read, so files,
+ * that are too large for a DOM document, can be read as long as the extracted rows fit into the
+ * container. The rows can be filtered while they are read by
+ * {@link DataContainer#readData(String, Filter)}. {@link #writeData(String)} writes the rows back
+ * in the same structure.
+ *
+ * @author LK Test Solutions
+ */
+public class XMLStreamDataContainer implements CustomContainer {
+
+	/**
+	 * Separates the name of a child element from the name of its attribute within a header name.
+	 */
+	private static final char ATTRIBUTE_SEPARATOR = '@';
+
+	/**
+	 * An instance of the DataContainer that should be filled with the data from the connected source
+	 * file. -> Task of the specific data containers.
+	 */
+	private final DataContainer dc;
+
+	/**
+	 * Name of the root element, that will be written by {@link #writeData(String)}. The name of the
+	 * root element of the source file, after it has been read.
+	 */
+	private String rootTag = "rootTag";
+
+	/**
+	 * Header names of the columns, that have been read from attributes of the row elements.
+	 */
+	private final Set<String> attributeHeaders = new HashSet<>();
+
+	/**
+	 * Construct a new specific <code>DataContainer</code> for streamed XML files.
+	 *
+	 * @param dCont the <code>DataContainer</code> instance to use it in the read and write methods of
+	 *              this specific data container
+	 */
+	XMLStreamDataContainer(DataContainer dCont) {
+		dc = dCont;
+		dc.containerFormat = EContainerFormat.XMLSTREAM;
+	}
+
+	/**
+	 * Reads the row elements of the file or input stream, that is assigned to the container, and adds
+	 * them as rows to the container.
+	 *
+	 * @param filter Only the rows, that match to the filter, will be added to the container. Columns
+	 *               of the filter rules, that don't exist yet, will be added to the container.
+	 */
+	@Override
+	public void readData(Filter filter) {
+		String rowTag = dc.getXMLRowTag();
+		if (rowTag.isEmpty()) {
+			MLogger.getInstance().log(Level.WARNING, "The name of the row elements is not defined!", getClass().getSimpleName(), "readData");
+			return;
+		}
+		try (InputStream in = openInput()) {
+			if (in != null) {
+				XMLStreamReader reader = createInputFactory().createXMLStreamReader(in);
+				try {
+					readRows(reader, rowTag, filter == null ? new Filter() : filter);
+				} finally {
+					reader.close();
+				}
+			}
+		} catch (IOException | XMLStreamException e) {
+			MLogger.getInstance().log(Level.SEVERE, e, "readData");
+			throw new RuntimeException(e);
+		} catch (NoSuchHeaderException e) {
+			MLogger.getInstance().log(Level.SEVERE, e);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Writes all rows of the container into an XML file. Each row will be written as element with the
+	 * name of the row tag, and the columns as attributes or child elements, like they have been read.
+	 *
+	 * @param fileName The name of the file to write to
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public void writeData(String fileName) throws IOException {
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Paths.get(fileName)), 1 << 16)) {
+			XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+			writeRows(writer, "UTF-8");
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public String asString() {
+		StringWriter sw = new StringWriter();
+		try {
+			writeRows(XMLOutputFactory.newInstance().createXMLStreamWriter(sw), null);
+		} catch (XMLStreamException e) {
+			MLogger.getInstance().log(Level.SEVERE, e, "asString");
+			return "";
+		}
+		return sw.toString();
+	}
+
+	/**
+	 * @return the stream of the file, the input stream of the container or null, if the container has
+	 *         no source
+	 */
+	private InputStream openInput() throws IOException {
+		if (!dc.getFileName().isEmpty()) {
+			return new BufferedInputStream(Files.newInputStream(Paths.get(dc.getFileName())), 1 << 16);
+		}
+		return dc.getInputStream();
+	}
+
+	/**
+	 * @return a factory, that doesn't resolve DTDs and external entities
+	 */
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		return factory;
+	}
+
+	/**
+	 * Reads the document in one pass and adds the rows, that match to the filter.
+	 */
+	private void readRows(XMLStreamReader reader, String rowTag, Filter filter) throws XMLStreamException, NoSuchHeaderException {
+		Map<String, Integer> headers = dc.getHeaders();
+		boolean fixedHeaders = !headers.isEmpty();
+		for (FilterRule rule : filter.getFilterRules()) {
+			if (!dc.getImplicitHeaders().contains(rule.getHeaderName())) {
+				dc.addColumn(rule.getHeaderName(), true);
+			}
+		}
+		Predicate<String[]> rowFilter = dc.compileFilter(filter);
+
+		String[] row = null;
+		int depth = 0;
+		int rowDepth = -1;
+		// index of the column, that collects the text of the current child element, or -1
+		int textColumn = -1;
+		StringBuilder text = new StringBuilder();
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				String name = reader.getLocalName();
+				if (depth == 1) {
+					rootTag = name;
+				}
+				if (row == null) {
+					if (name.equals(rowTag)) {
+						row = new String[headers.size()];
+						rowDepth = depth;
+						for (int i = 0; i < reader.getAttributeCount(); i++) {
+							String attrName = reader.getAttributeLocalName(i);
+							row = putValue(row, attrName, reader.getAttributeValue(i), fixedHeaders);
+							attributeHeaders.add(attrName);
+						}
+					}
+				} else if (depth == rowDepth + 1) {
+					for (int i = 0; i < reader.getAttributeCount(); i++) {
+						row = putValue(row, name + ATTRIBUTE_SEPARATOR + reader.getAttributeLocalName(i), reader.getAttributeValue(i), fixedHeaders);
+					}
+					Integer index = headers.get(name);
+					if ((index == null) && !fixedHeaders) {
+						row = putValue(row, name, null, false);
+						index = headers.get(name);
+					}
+					textColumn = ((index != null) && (row[index] == null)) ? index : -1;
+					text.setLength(0);
+				}
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (textColumn >= 0) {
+					text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				if (row != null) {
+					if ((depth == rowDepth + 1) && (textColumn >= 0)) {
+						row[textColumn] = text.toString();
+						textColumn = -1;
+					} else if (depth == rowDepth) {
+						row = completeRow(row, headers.size());
+						if (rowFilter.test(row)) {
+							dc.addRow(row);
+						}
+						row = null;
+					}
+				}
+				depth--;
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Puts a value into the field of the current row. A missing column will be added to the
+	 * container, if the headers are not fixed.
+	 *
+	 * @return the row, which will be extended, if a column has been added
+	 */
+	private String[] putValue(String[] row, String headerName, String value, boolean fixedHeaders) {
+		Integer index = dc.getHeaders().get(headerName);
+		if (index == null) {
+			if (fixedHeaders) {
+				return row;
+			}
+			dc.addColumn(headerName, true);
+			index = dc.getHeaders().get(headerName);
+		}
+		if (index >= row.length) {
+			row = Arrays.copyOf(row, dc.getHeaders().size());
+		}
+		if (row[index] == null) {
+			row[index] = value;
+		}
+		return row;
+	}
+
+	/**
+	 * Fills all fields, that don't have a value, with empty strings.
+	 */
+	private static String[] completeRow(String[] row, int size) {
+		String[] ret = row.length < size ? Arrays.copyOf(row, size) : row;
+		for (int i = 0; i < ret.length; i++) {
+			if (ret[i] == null) {
+				ret[i] = "";
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Writes the document with all rows of the container.
+	 *
+	 * @param encoding The encoding for the XML declaration or null, to write the declaration without
+	 *                 encoding
+	 */
+	private void writeRows(XMLStreamWriter writer, String encoding) throws XMLStreamException {
+		String rowTag = dc.getXMLRowTag().isEmpty() ? "row" : dc.getXMLRowTag();
+		String[] headerNames = dc.getHeaderNamesIndexed();
+		// the columns of the row element and the columns of each child element
+		List<Integer> rowAttributes = new ArrayList<>();
+		Map<String, List<Integer>> children = new LinkedHashMap<>();
+		for (int i = 0; i < headerNames.length; i++) {
+			String header = headerNames[i];
+			int sep = header.indexOf(ATTRIBUTE_SEPARATOR);
+			if (attributeHeaders.contains(header)) {
+				rowAttributes.add(i);
+			} else {
+				children.computeIfAbsent(sep > 0 ? header.substring(0, sep) : header, k -> new ArrayList<>()).add(i);
+			}
+		}
+
+		if (encoding == null) {
+			writer.writeStartDocument();
+		} else {
+			writer.writeStartDocument(encoding, "1.0");
+		}
+		writer.writeStartElement(rootTag);
+		for (String[] row : dc.values) {
+			writer.writeStartElement(rowTag);
+			for (int i : rowAttributes) {
+				writer.writeAttribute(headerNames[i], field(row, i));
+			}
+			for (Map.Entry<String, List<Integer>> child : children.entrySet()) {
+				writer.writeStartElement(child.getKey());
+				String value = null;
+				for (int i : child.getValue()) {
+					if (headerNames[i].equals(child.getKey())) {
+						value = field(row, i);
+					} else {
+						writer.writeAttribute(headerNames[i].substring(child.getKey().length() + 1), field(row, i));
+					}
+				}
+				if (value != null) {
+					writer.writeCharacters(value);
+				}
+				writer.writeEndElement();
+			}
+			writer.writeEndElement();
+		}
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+	}
+
+	private static String field(String[] row, int index) {
+		if ((index >= row.length) || (row[index] == null)) {
+			return "";
+		}
+		return row[index];
+	}
+}
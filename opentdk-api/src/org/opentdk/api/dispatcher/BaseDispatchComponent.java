@@ -5,8 +5,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.apache.commons.lang3.StringUtils;
@@ -63,10 +64,11 @@ import org.opentdk.api.util.ListUtil;
 public class BaseDispatchComponent {
 
 	/**
-	 * This HashMap stores the DataContainers of all settings used within an application. Once the setDataContainer method of a settings class
-	 * is called, the DataContainer will be stored in the HashMap with the simple name of the settings class as key.
+	 * This map stores the DataContainers of all settings used within an application. Once the setDataContainer method of a settings class
+	 * is called, the DataContainer will be stored in the map with the simple name of the settings class as key. The map can be accessed by
+	 * several threads, but the DataContainers themselves are not thread-safe (see {@link org.opentdk.api.datastorage.ConcurrentDataContainer}).
 	 */
-	private static Map<String, DataContainer> dcMap = new HashMap<String, DataContainer>();
+	private static Map<String, DataContainer> dcMap = new ConcurrentHashMap<String, DataContainer>();
 
 	/**
 	 * This property assigns the key name of the related DataContainer to each BaseDispatchComponent variable.
@@ -647,10 +649,8 @@ public class BaseDispatchComponent {
 			String pxp = resolveXPath(params);
 			fltr.addFilterRule("XPath", pxp, EOperator.EQUALS);
 		}
-		if(dcMap.get(settingsKey).getValuesAsList(parameterName, fltr).size() > 0) {
-			return dcMap.get(settingsKey).getValuesAsList(parameterName, fltr).toArray(new String[dcMap.get(settingsKey).getValuesAsList(parameterName, fltr).size()]);
-		}
-		return new String[0];
+		List<String> values = dcMap.get(settingsKey).getValuesAsList(parameterName, fltr);
+		return values.toArray(new String[values.size()]);
 	}
 	
 	/**
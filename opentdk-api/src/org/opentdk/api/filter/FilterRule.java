@@ -2,8 +2,12 @@ package org.opentdk.api.filter;
 
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.logging.Level;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.opentdk.api.dispatcher.BaseDispatchComponent;
@@ -83,6 +87,12 @@ public class FilterRule {
 	private ERuleFormat ruleFormat = ERuleFormat.STRING;
 	private Boolean quoteRule = false;
 
+	/**
+	 * Compiled regular expressions of the rule for the formats REGEX and QUOTED_REGEX. The key is the
+	 * filter value, the matching mode and case sensitivity are defined by the operator of the rule.
+	 */
+	private final Map<String, Predicate<String>> expressions = new ConcurrentHashMap<>();
+
 	/**
 	 * Constructor that is called when creating an instance of FilterRule with the
 	 * full rule definition as String. This string will be parsed into the single
@@ -346,6 +356,96 @@ public class FilterRule {
 		return returnCode;
 	}
 	
+	/**
+	 * Compiles the rule into a predicate, that returns the same result as {@link #checkValue(String)}.
+	 * The operator, the rule format and the filter values are evaluated once, so the predicate can be
+	 * used to check a large number of values without the dispatching of {@link #isValidValue(String, String)}
+	 * for each value.
+	 * 
+	 * @return Predicate that matches to all values, where the rule applies to
+	 */
+	public Predicate<String> toPredicate() {
+		Predicate<String> pred = null;
+		boolean regex = (ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX));
+		if (!regex && filterOperator.equals(EOperator.EQUALS) && values.length > 1) {
+			Set<String> valueSet = new HashSet<>();
+			for (Object filterValue : values) {
+				valueSet.add(String.valueOf(filterValue));
+			}
+			pred = val -> valueSet.contains(val.trim());
+		} else {
+			for (Object filterValue : values) {
+				Predicate<String> valuePred = toPredicate(String.valueOf(filterValue), regex);
+				pred = pred == null ? valuePred : pred.or(valuePred);
+			}
+		}
+		if (pred == null) {
+			return val -> false;
+		}
+		Predicate<String> anyValue = pred;
+		return val -> val != null && anyValue.test(val);
+	}
+
+	/**
+	 * Creates the predicate for a single filter value. Operators that cannot be specialized will be
+	 * delegated to {@link #isValidValue(String, String)}.
+	 * 
+	 * @param filterValue Value to compare with
+	 * @param regex       true = the rule format is REGEX or QUOTED_REGEX
+	 * @return Predicate for a value that is not null
+	 */
+	private Predicate<String> toPredicate(String filterValue, boolean regex) {
+		if (!regex) {
+			if (filterOperator.equals(EOperator.EQUALS)) {
+				return val -> val.trim().equals(filterValue);
+			} else if (filterOperator.equals(EOperator.EQUALS_IGNORE_CASE)) {
+				return val -> val.trim().equalsIgnoreCase(filterValue);
+			} else if (filterOperator.equals(EOperator.NOT_EQUALS)) {
+				return val -> !val.trim().equals(filterValue);
+			} else if (filterOperator.equals(EOperator.NOT_EQUALS_IGNORE_CASE)) {
+				return val -> !val.trim().equalsIgnoreCase(filterValue);
+			} else if (filterOperator.equals(EOperator.CONTAINS)) {
+				return val -> val.trim().contains(filterValue);
+			} else if (filterOperator.equals(EOperator.CONTAINS_IGNORE_CASE)) {
+				String upperValue = filterValue.toUpperCase();
+				return val -> val.trim().toUpperCase().contains(upperValue);
+			} else if (filterOperator.equals(EOperator.STARTS_WITH)) {
+				return val -> val.trim().startsWith(filterValue);
+			} else if (filterOperator.equals(EOperator.STARTS_WITH_IGNORE_CASE)) {
+				String upperValue = filterValue.toUpperCase();
+				return val -> val.trim().toUpperCase().startsWith(upperValue);
+			} else if (filterOperator.equals(EOperator.ENDS_WITH)) {
+				return val -> val.trim().endsWith(filterValue);
+			} else if (filterOperator.equals(EOperator.ENDS_WITH_IGNORE_CASE)) {
+				String upperValue = filterValue.toUpperCase();
+				return val -> val.trim().toUpperCase().endsWith(upperValue);
+			}
+		}
+		if (regex) {
+			if (filterOperator.equals(EOperator.NOT_EQUALS) || filterOperator.equals(EOperator.NOT_EQUALS_IGNORE_CASE)) {
+				return getExpression(filterValue).negate();
+			} else if (filterOperator.equals(EOperator.CONTAINS) || filterOperator.equals(EOperator.CONTAINS_IGNORE_CASE) || filterOperator.equals(EOperator.STARTS_WITH)
+					|| filterOperator.equals(EOperator.STARTS_WITH_IGNORE_CASE) || filterOperator.equals(EOperator.ENDS_WITH) || filterOperator.equals(EOperator.ENDS_WITH_IGNORE_CASE)
+					|| filterOperator.equals(EOperator.EQUALS) || filterOperator.equals(EOperator.EQUALS_IGNORE_CASE)) {
+				return getExpression(filterValue);
+			}
+		}
+		if (filterOperator.equals(EOperator.GREATER_THAN) || filterOperator.equals(EOperator.LESS_THAN)) {
+			int limit;
+			try {
+				limit = Integer.parseInt(filterValue);
+			} catch (NumberFormatException e) {
+				// keep the behavior of isValidValue, which fails for each checked value
+				return val -> isValidValue(val, filterValue);
+			}
+			if (filterOperator.equals(EOperator.GREATER_THAN)) {
+				return val -> Integer.parseInt(val) > limit;
+			}
+			return val -> Integer.parseInt(val) < limit;
+		}
+		return val -> isValidValue(val, filterValue);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		boolean ret = false;
@@ -479,7 +579,7 @@ public class FilterRule {
 		if(filterOperator.equals(EOperator.CONTAINS)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(".*" + filterValue + ".*", val, false);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().contains(filterValue);
@@ -499,7 +599,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.CONTAINS_IGNORE_CASE)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(".*" + filterValue + ".*", val, true);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().toUpperCase().contains(filterValue.toUpperCase());
@@ -519,7 +619,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.ENDS_WITH)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(".*" + filterValue, val, false);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().endsWith(filterValue);
@@ -527,7 +627,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.ENDS_WITH_IGNORE_CASE)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(".*" + filterValue, val, true);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().toUpperCase().endsWith(filterValue.toUpperCase());
@@ -535,7 +635,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.EQUALS)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(filterValue, val, false);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().equals(filterValue);
@@ -543,7 +643,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.EQUALS_IGNORE_CASE)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(filterValue, val, true);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().equalsIgnoreCase(filterValue);
@@ -559,7 +659,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.NOT_EQUALS)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				if(!isValidExpression(filterValue, val, false)) {
+				if(!isValidExpression(filterValue, val)) {
 					return true;
 				}
 			}else {
@@ -570,7 +670,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.NOT_EQUALS_IGNORE_CASE)) {
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
 				
-				if(!isValidExpression(filterValue, val, true)) {
+				if(!isValidExpression(filterValue, val)) {
 					return true;
 				}
 				
@@ -582,7 +682,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.STARTS_WITH)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(filterValue + ".*", val, false);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().startsWith(filterValue);
@@ -590,7 +690,7 @@ public class FilterRule {
 		} else if(filterOperator.equals(EOperator.STARTS_WITH_IGNORE_CASE)) {
 			
 			if((ruleFormat.equals(ERuleFormat.QUOTED_REGEX)) || (ruleFormat.equals(ERuleFormat.REGEX))) {
-				return isValidExpression(filterValue + ".*", val, true);
+				return isValidExpression(filterValue, val);
 				
 			}else {
 				return val.trim().toUpperCase().startsWith(filterValue.toUpperCase());
@@ -599,18 +699,47 @@ public class FilterRule {
 		return false;
 	}
 	
-	private boolean isValidExpression(String filterValue, String val, boolean ignoreCase) {
-		Pattern pat = null;
-		if(ignoreCase) {
-			pat = Pattern.compile(filterValue, Pattern.CASE_INSENSITIVE);
-		}else {
-			pat = Pattern.compile(filterValue);
-		}
-		Matcher match = pat.matcher(val);
-		if(match.matches()) {
-			return true;
-		}
-		return false;
+	/**
+	 * Checks a value against the regular expression of a filter value. The expression gets compiled
+	 * once per filter value and will be reused by all following checks.
+	 * 
+	 * @param filterValue Regular expression defined in the filter rule
+	 * @param val         Value to check
+	 * @return true = the value matches to the expression, as defined by the operator of the rule
+	 */
+	private boolean isValidExpression(String filterValue, String val) {
+		return getExpression(filterValue).test(val);
+	}
+
+	/**
+	 * Returns the compiled regular expression of a filter value from the {@link #expressions} cache.
+	 * The operators CONTAINS, STARTS_WITH and ENDS_WITH search the expression within the value, so that
+	 * the expression doesn't need to be enclosed in <code>.*</code>. All other operators match the
+	 * complete value. The operators ending with IGNORE_CASE compile the expression case insensitive.
+	 * 
+	 * @param filterValue Regular expression defined in the filter rule
+	 * @return Predicate that returns true for values matching to the expression
+	 */
+	private Predicate<String> getExpression(String filterValue) {
+		return expressions.computeIfAbsent(filterValue, regex -> {
+			int flags = 0;
+			if (filterOperator.equals(EOperator.CONTAINS_IGNORE_CASE) || filterOperator.equals(EOperator.ENDS_WITH_IGNORE_CASE) || filterOperator.equals(EOperator.EQUALS_IGNORE_CASE)
+					|| filterOperator.equals(EOperator.NOT_EQUALS_IGNORE_CASE) || filterOperator.equals(EOperator.STARTS_WITH_IGNORE_CASE)) {
+				flags = Pattern.CASE_INSENSITIVE;
+			}
+			if (filterOperator.equals(EOperator.CONTAINS) || filterOperator.equals(EOperator.CONTAINS_IGNORE_CASE)) {
+				Pattern pat = Pattern.compile(regex, flags);
+				return val -> pat.matcher(val).find();
+			} else if (filterOperator.equals(EOperator.STARTS_WITH) || filterOperator.equals(EOperator.STARTS_WITH_IGNORE_CASE)) {
+				Pattern pat = Pattern.compile(regex, flags);
+				return val -> pat.matcher(val).lookingAt();
+			} else if (filterOperator.equals(EOperator.ENDS_WITH) || filterOperator.equals(EOperator.ENDS_WITH_IGNORE_CASE)) {
+				Pattern pat = Pattern.compile("(?:" + regex + ")\\z", flags);
+				return val -> pat.matcher(val).find();
+			}
+			Pattern pat = Pattern.compile(regex, flags);
+			return val -> pat.matcher(val).matches();
+		});
 	}
 
 	public void setRuleFormat(ERuleFormat format) {
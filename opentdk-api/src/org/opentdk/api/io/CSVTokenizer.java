@@ -0,0 +1,307 @@
+package org.opentdk.api.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single pass tokenizer for column separated ASCII files, that reads the rows directly from a
+ * {@link java.io.Reader} and splits them into fields without using regular expressions. The
+ * delimiter is taken literally and may consist of multiple characters. Rows end at <code>\n</code>,
+ * <code>\r</code> or <code>\r\n</code>, the same way as {@link java.io.BufferedReader#readLine()}
+ * separates lines.<br>
+ * <br>
+ * If quoted values are enabled, the fields are parsed according to RFC 4180: A field that starts
+ * with a double quote may contain delimiters, line breaks and escaped quotes (<code>""</code>). The
+ * enclosing quotes will be removed. Otherwise all characters are kept unchanged, which is the same
+ * result as <code>row.split(delimiter, -1)</code> with a literal delimiter.<br>
+ * <br>
+ * The characters of the current field are collected in a buffer that is reused for all fields, so
+ * that the only objects created per row are the field strings and the returned array.
+ *
+ * <pre>
+ * try (CSVTokenizer tokenizer = new CSVTokenizer(new FileReader("contacts.csv"), ";", true)) {
+ * 	String[] fields;
+ * 	while ((fields = tokenizer.nextRow()) != null) {
+ * 		...
+ * 	}
+ * }
+ * </pre>
+ *
+ * @author LK Test Solutions
+ */
+public class CSVTokenizer implements Closeable {
+
+	/**
+	 * The quote character defined by RFC 4180.
+	 */
+	private static final char QUOTE = '"';
+
+	/**
+	 * The source of the rows.
+	 */
+	private final Reader reader;
+
+	/**
+	 * The characters that separate the fields of a row.
+	 */
+	private final char[] delimiter;
+
+	/**
+	 * true = fields enclosed in double quotes will be parsed according to RFC 4180; false = quotes are
+	 * handled like any other character.
+	 */
+	private final boolean quotedValues;
+
+	/**
+	 * Buffer for the characters read from {@link #reader}.
+	 */
+	private final char[] buffer;
+
+	/**
+	 * Position of the next character to be read within {@link #buffer}.
+	 */
+	private int pos = 0;
+
+	/**
+	 * Number of valid characters within {@link #buffer}.
+	 */
+	private int limit = 0;
+
+	/**
+	 * Reusable buffer for the characters of the current field.
+	 */
+	private char[] field = new char[256];
+
+	/**
+	 * Number of characters within {@link #field}.
+	 */
+	private int fieldLength = 0;
+
+	/**
+	 * Reusable list for the fields of the current row.
+	 */
+	private final List<String> fields = new ArrayList<>();
+
+	/**
+	 * Creates a tokenizer for a reader. The reader will be buffered by the tokenizer, so there is no
+	 * need to wrap it into a {@link java.io.BufferedReader}.
+	 *
+	 * @param in           The source of the rows
+	 * @param delimiter    The characters that separate the fields of a row
+	 * @param quotedValues true = parse fields enclosed in double quotes according to RFC 4180; false =
+	 *                     keep all characters unchanged
+	 */
+	public CSVTokenizer(Reader in, String delimiter, boolean quotedValues) {
+		this(in, delimiter, quotedValues, 65536);
+	}
+
+	private CSVTokenizer(Reader in, String delimiter, boolean quotedValues, int bufferSize) {
+		reader = in;
+		this.delimiter = delimiter == null ? new char[0] : delimiter.toCharArray();
+		this.quotedValues = quotedValues;
+		buffer = new char[bufferSize];
+	}
+
+	/**
+	 * Splits a single row into its fields with the same rules as {@link #nextRow()}. Line breaks at the
+	 * end of the row will be removed.
+	 *
+	 * @param row          The characters of the row
+	 * @param delimiter    The characters that separate the fields of the row
+	 * @param quotedValues true = parse fields enclosed in double quotes according to RFC 4180; false =
+	 *                     keep all characters unchanged
+	 * @return Array with the fields of the row
+	 */
+	public static String[] splitRow(String row, String delimiter, boolean quotedValues) {
+		int bufferSize = Math.max(row.length(), delimiter == null ? 0 : delimiter.length()) + 1;
+		try (CSVTokenizer tokenizer = new CSVTokenizer(new StringReader(row), delimiter, quotedValues, bufferSize)) {
+			String[] fields = tokenizer.nextRow();
+			return fields == null ? new String[] { "" } : fields;
+		} catch (IOException e) {
+			// a StringReader doesn't throw any IOException
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads the next row and returns its fields.
+	 *
+	 * @return Array with the fields of the row or null, if the end of the source has been reached
+	 * @throws IOException If the source cannot be read
+	 */
+	public String[] nextRow() throws IOException {
+		if (!readRow(true)) {
+			return null;
+		}
+		return fields.toArray(new String[fields.size()]);
+	}
+
+	/**
+	 * Reads the next row without creating any strings for its fields.
+	 *
+	 * @return true = a row has been skipped; false = the end of the source has been reached
+	 * @throws IOException If the source cannot be read
+	 */
+	public boolean skipRow() throws IOException {
+		return readRow(false);
+	}
+
+	/**
+	 * Closes the underlying reader.
+	 */
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * Reads the characters of one row and splits them into fields.
+	 *
+	 * @param keep true = add the fields to the {@link #fields} list; false = drop the fields
+	 * @return false, if the end of the source has been reached before the row started
+	 * @throws IOException If the source cannot be read
+	 */
+	private boolean readRow(boolean keep) throws IOException {
+		fields.clear();
+		fieldLength = 0;
+		if (!ensure(1)) {
+			return false;
+		}
+		boolean inQuotes = false;
+		boolean fieldStart = true;
+		char delimiterStart = delimiter.length > 0 ? delimiter[0] : '\n';
+		while (true) {
+			if (pos >= limit && !ensure(1)) {
+				endField(keep);
+				return true;
+			}
+			if (!inQuotes) {
+				// copy all characters up to the next special character at once
+				int start = pos;
+				while (pos < limit) {
+					char c = buffer[pos];
+					if (c == delimiterStart || c == '\n' || c == '\r' || (c == QUOTE && quotedValues && fieldStart && pos == start)) {
+						break;
+					}
+					pos++;
+				}
+				if (pos > start) {
+					append(start, pos - start, keep);
+					fieldStart = false;
+				}
+				if (pos >= limit) {
+					continue;
+				}
+			}
+			char c = buffer[pos++];
+			if (inQuotes) {
+				if (c == QUOTE) {
+					if (ensure(1) && buffer[pos] == QUOTE) {
+						pos++;
+						append(c, keep);
+					} else {
+						inQuotes = false;
+					}
+				} else {
+					append(c, keep);
+				}
+			} else if (c == '\n') {
+				endField(keep);
+				return true;
+			} else if (c == '\r') {
+				endField(keep);
+				if (ensure(1) && buffer[pos] == '\n') {
+					pos++;
+				}
+				return true;
+			} else if (c == QUOTE) {
+				inQuotes = true;
+				fieldStart = false;
+			} else if (delimiter.length > 0 && matchesDelimiter()) {
+				pos += delimiter.length - 1;
+				endField(keep);
+				fieldStart = true;
+			} else {
+				append(c, keep);
+				fieldStart = false;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the remaining characters of the delimiter follow the current position. The first
+	 * character has already been consumed.
+	 */
+	private boolean matchesDelimiter() throws IOException {
+		if (delimiter.length == 1) {
+			return true;
+		}
+		if (!ensure(delimiter.length - 1)) {
+			return false;
+		}
+		for (int i = 1; i < delimiter.length; i++) {
+			if (buffer[pos + i - 1] != delimiter[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Makes sure that at least <code>count</code> characters are available in the buffer, starting at
+	 * the current position.
+	 *
+	 * @param count Number of needed characters
+	 * @return false, if the end of the source has been reached before
+	 */
+	private boolean ensure(int count) throws IOException {
+		if (limit - pos >= count) {
+			return true;
+		}
+		if (pos > 0) {
+			System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+		while (limit < count) {
+			int read = reader.read(buffer, limit, buffer.length - limit);
+			if (read < 0) {
+				return false;
+			}
+			limit += read;
+		}
+		return true;
+	}
+
+	private void append(int start, int length, boolean keep) {
+		if (keep) {
+			if (fieldLength + length > field.length) {
+				field = Arrays.copyOf(field, Math.max(field.length * 2, fieldLength + length));
+			}
+			System.arraycopy(buffer, start, field, fieldLength, length);
+			fieldLength += length;
+		}
+	}
+
+	private void append(char c, boolean keep) {
+		if (keep) {
+			if (fieldLength == field.length) {
+				field = Arrays.copyOf(field, field.length * 2);
+			}
+			field[fieldLength++] = c;
+		}
+	}
+
+	private void endField(boolean keep) {
+		if (keep) {
+			fields.add(new String(field, 0, fieldLength));
+		}
+		fieldLength = 0;
+	}
+}
@@ -25,6 +25,7 @@
 package org.opentdk.api.io;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
@@ -50,6 +51,11 @@ import java.util.List;
  *
  */
 public class XFileWriter {
+	/**
+	 * Size of the buffer, that collects the characters before they will be
+	 * written to the file.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
 	/**
 	 * File object that the {@link #XFileWriter(File)} uses as target for the write
 	 * operations.
@@ -79,6 +85,12 @@ public class XFileWriter {
 	 * The character(s) used as delimiter for writing column separated lines.
 	 */
 	private String columnDelimiter = ";";
+	/**
+	 * <code>true</code> fields that contain the column delimiter, a double quote
+	 * or a line break will be enclosed in double quotes according to RFC 4180;
+	 * <code>false</code> all fields will be written unchanged.
+	 */
+	private boolean quotedValues = false;
 
 	/**
 	 * Constructor to create a new instance with a given filename string. The
@@ -132,7 +144,7 @@ public class XFileWriter {
 		 * FileWriter constructor contains security checks and invalidation so no more
 		 * necessary at this point
 		 */
-		fw = new FileWriter(file, append); // F
+		fw = new BufferedWriter(new FileWriter(file, append), BUFFER_SIZE);
 		fileName = file.getName();
 		tmpFileName = file.getParent() + "\\~" + fileName.substring(0, fileName.lastIndexOf(".")) + ".tmp";
 	}
@@ -168,6 +180,29 @@ public class XFileWriter {
 		columnDelimiter = cDelim;
 	}
 
+	/**
+	 * Checks if fields will be quoted according to RFC 4180.
+	 * 
+	 * @return {@link #quotedValues}
+	 */
+	public final boolean isQuotedValues() {
+		return quotedValues;
+	}
+
+	/**
+	 * Sets the quotedValues property, that defines if fields of column separated
+	 * lines will be quoted according to RFC 4180. If enabled, fields that contain
+	 * the column delimiter, a double quote or a line break will be enclosed in
+	 * double quotes and the quotes within the field will be doubled. The
+	 * {@link CSVTokenizer} restores the original values, if quoted values are
+	 * enabled for reading, too. Default is <code>false</code>.
+	 * 
+	 * @param quoted {@link #quotedValues}
+	 */
+	public final void setQuotedValues(boolean quoted) {
+		quotedValues = quoted;
+	}
+
 	/**
 	 * Retrieves the file property as object of type {@link java.io.File}. The file
 	 * property will be used as the target for write operations.
@@ -197,7 +232,9 @@ public class XFileWriter {
 	 *                     the file.
 	 */
 	public void writeLine(String line) throws IOException {
-		writeLine(new String[] { line }, "");
+		fw.write(String.valueOf(line));
+		fw.write(System.lineSeparator());
+		fw.flush();
 	}
 
 	/**
@@ -229,14 +266,17 @@ public class XFileWriter {
 	 *                     the file.
 	 */
 	public void writeLine(String[] line, String colDelimiter) throws IOException {
-		String output = String.format("%s", String.join(colDelimiter, line) + System.lineSeparator());
-		fw.write(output);
+		writeFields(line, colDelimiter);
+		fw.write(System.lineSeparator());
 		fw.flush();
 	}
 
 	/**
 	 * Writes lines of any object type into a file. If the object cannot be
-	 * represented as string the {@link #toString()} method gets used.
+	 * represented as string the {@link #toString()} method gets used. Arrays of
+	 * strings will be written as column separated lines. The lines will be
+	 * collected in a buffer and flushed once at the end, so this method should be
+	 * preferred over {@link #writeLine(String[])} for a large number of lines.
 	 * 
 	 * @param <I>   Custom type (placeholder).
 	 * @param lines List of objects with the data to write into a file as lines.
@@ -244,22 +284,79 @@ public class XFileWriter {
 	 *                     the file.
 	 */
 	public <I> void writeLines(List<I> lines) throws IOException {
-		String output;
+		String lineSeparator = System.lineSeparator();
 		Iterator<I> rowIt = lines.iterator();
 		I next = null;
 		while (rowIt.hasNext()) {
 			next = rowIt.next();
-			if (next.getClass().isArray()) {
-				output = String.format("%s", String.join(columnDelimiter, (String[]) next));
+			if (next instanceof String[]) {
+				writeFields((String[]) next, columnDelimiter);
 			} else {
-				output = next.toString();
+				fw.write(String.valueOf(next));
 			}
-			output = output + System.lineSeparator();
-			fw.write(output);
+			fw.write(lineSeparator);
 		}
 		fw.flush();
 	}
 
+	/**
+	 * Writes all rows of an iterator as column separated lines into a file. The
+	 * rows will be written while they are iterated, so they don't need to be
+	 * collected in a list before. The lines will be collected in a buffer and
+	 * flushed once at the end.
+	 * 
+	 * @param rows Iterator over the rows to write
+	 * @throws IOException If any IO error occurs when the lines get written to the
+	 *                     file.
+	 */
+	public void writeRows(Iterator<String[]> rows) throws IOException {
+		String lineSeparator = System.lineSeparator();
+		while (rows.hasNext()) {
+			writeFields(rows.next(), columnDelimiter);
+			fw.write(lineSeparator);
+		}
+		fw.flush();
+	}
+
+	/**
+	 * Writes the fields of a line separated by the delimiter, without the line
+	 * separator. Null fields will be written as <code>null</code>, the same way as
+	 * <code>String.join</code> does.
+	 * 
+	 * @param fields       The fields of the line
+	 * @param colDelimiter The character(s) between the fields
+	 * @throws IOException If any IO error occurs when writing to the file.
+	 */
+	private void writeFields(String[] fields, String colDelimiter) throws IOException {
+		for (int i = 0; i < fields.length; i++) {
+			if (i > 0) {
+				fw.write(colDelimiter);
+			}
+			String field = String.valueOf(fields[i]);
+			if (quotedValues && needsQuotes(field, colDelimiter)) {
+				fw.write('"');
+				fw.write(field.replace("\"", "\"\""));
+				fw.write('"');
+			} else {
+				fw.write(field);
+			}
+		}
+	}
+
+	/**
+	 * Checks if a field needs to be enclosed in double quotes, because it contains
+	 * the delimiter, a double quote or a line break.
+	 */
+	private static boolean needsQuotes(String field, String colDelimiter) {
+		for (int i = 0; i < field.length(); i++) {
+			char c = field.charAt(i);
+			if ((c == '"') || (c == '\n') || (c == '\r')) {
+				return true;
+			}
+		}
+		return !colDelimiter.isEmpty() && field.contains(colDelimiter);
+	}
+
 	/**
 	 * Inserts a line into a file at the position, defined by the line index. While
 	 * the standard methods only append lines to the end of a file, this method
@@ -287,7 +384,7 @@ public class XFileWriter {
 			BufferedReader fRead = new BufferedReader(new FileReader(tmpFile));
 			// Reopen/Recreate an empty FileWriter object for the source file
 			fw.close();
-			fw = new FileWriter(file);
+			fw = new BufferedWriter(new FileWriter(file), BUFFER_SIZE);
 			int i = 0;
 			String s;
 			// read all lines from temporary file
@@ -309,7 +406,7 @@ public class XFileWriter {
 			// Recreate FileWriter instance in append mode for further actions
 			if (append) {
 				fw.close();
-				fw = new FileWriter(file, append);
+				fw = new BufferedWriter(new FileWriter(file, append), BUFFER_SIZE);
 			}
 		}
 	}
@@ -4,9 +4,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 
 import javax.xml.XMLConstants;
@@ -21,10 +25,8 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.apache.commons.lang3.StringUtils;
 import org.opentdk.api.logger.MLogger;
@@ -49,6 +51,33 @@ public class XMLEditor {
 	private String rootNodeName = "rootTag";
 	private Element rootElement;
 
+	/**
+	 * Gets called after each change of the document instead of saving it. See
+	 * {@link #setChangeListener(Runnable)}.
+	 */
+	private Runnable changeListener;
+
+	/**
+	 * XPaths of the elements within the document, like they are returned by
+	 * {@link #findXPath(Element)}. The index will be built in one pass by the first call of
+	 * {@link #findXPath(Element)}, {@link #getIndex(Element)} or {@link #getXPaths(String)}, and it
+	 * will be updated by the methods of the editor, that add or delete elements. Null, if the index
+	 * has to be built.
+	 */
+	private Map<Element, String> xPathIndex;
+
+	/**
+	 * Positions of the indexed elements among their siblings with the same name, like they are
+	 * returned by {@link #getIndex(Element)}.
+	 */
+	private Map<Element, Integer> siblingIndex;
+
+	/**
+	 * Index of the elements by their tag names and attribute values. Null, if the index is disabled. See
+	 * {@link #setElementIndex(boolean)}.
+	 */
+	private XMLElementIndex elementIndex;
+
 	/**
 	 * Constructor that is used to create a new instance of this object with a given file-object,
 	 * defined by the argument <code>xml_src</code>. After creating an instance with this constructor,
@@ -104,8 +133,10 @@ public class XMLEditor {
 	}
 
 	public Element addChildElement(Element parent, Element child) {
+		boolean moved = child.getParentNode() != null;
 		Element newE = (Element) parent.appendChild(child);
-		save();
+		updateXPathIndex(parent, moved);
+		saveChanges();
 		return newE;
 	}
 
@@ -129,14 +160,15 @@ public class XMLEditor {
 		}
 		newChild.setTextContent(elementValue);
 		pathE.appendChild(newChild);
-		save();
+		updateXPathIndex(pathE, false);
+		saveChanges();
 		return newChild;
 	}
 
 	public Element addRootElement(Element rootE) {
 		rootNodeName = rootE.getNodeName();
 		Element outRoot = doc.createElement(rootNodeName);
-		save();
+		saveChanges();
 		return outRoot;
 	}
 
@@ -154,8 +186,10 @@ public class XMLEditor {
 			// get the root node of the XML document
 			parent = doc.getDocumentElement();
 		}
+		boolean moved = entry.getParentNode() != null;
 		parent.appendChild(entry);
-		save();
+		updateXPathIndex(parent, moved);
+		saveChanges();
 	}
 
 	/**
@@ -442,8 +476,16 @@ public class XMLEditor {
 	 * @param target the {@link org.w3c.dom.Element} that should be removed. Retrieve via getElement().
 	 */
 	public void delElement(Element target) {
-		getElement(target).getParentNode().removeChild(getElement(target));
-		save();
+		Element el = getElement(target);
+		Node parent = el.getParentNode();
+		parent.removeChild(el);
+		removeFromXPathIndex(el);
+		if (parent.getNodeType() == Node.ELEMENT_NODE) {
+			updateXPathIndex((Element) parent, false);
+		} else {
+			xPathIndex = null;
+		}
+		saveChanges();
 	}
 
 	/**
@@ -483,7 +525,9 @@ public class XMLEditor {
 				oldChild = getElement(elementName, attributeName, attributeValue);
 			}
 			pathE.removeChild(oldChild);
-			save();
+			removeFromXPathIndex(oldChild);
+			updateXPathIndex(pathE, false);
+			saveChanges();
 		}
 	}
 
@@ -494,6 +538,10 @@ public class XMLEditor {
 	 * @return XPath of the element
 	 */
 	public String findXPath(Element target) {
+		String xPath = getXPathIndex().get(target);
+		if (xPath != null) {
+			return xPath;
+		}
 		StringBuilder sb = new StringBuilder();
 		while (target.getParentNode().getParentNode() != null) {
 			String xPart = target.getNodeName();
@@ -575,11 +623,14 @@ public class XMLEditor {
 	public Element getElement(String exp) {
 		Element ret = null;
 		if (isXPath(exp)) {
-			XPath xPath = XPathFactory.newInstance().newXPath();
+			List<Element> indexed = elementIndex != null ? elementIndex.evaluate(exp, true) : null;
+			if (indexed != null) {
+				return indexed.isEmpty() ? null : indexed.get(0);
+			}
 			try {
 				// Security: This evaluation is fine because the document object is already checked when the XML is
 				// read.
-				ret = (Element) xPath.compile(exp).evaluate(doc, XPathConstants.NODE);
+				ret = (Element) XPathCache.compile(exp).evaluate(doc, XPathConstants.NODE);
 			} catch (XPathExpressionException e) {
 				MLogger.getInstance().log(Level.SEVERE, e);
 			}
@@ -651,6 +702,32 @@ public class XMLEditor {
 		Element ret = null;
 		int i = 0;
 
+		if (elementIndex != null) {
+			List<Element> candidates;
+			if (attributes.isEmpty()) {
+				candidates = elementIndex.getElements(tagName);
+			} else {
+				// only the elements with the value of one attribute need to be compared
+				String attr = attributes.keySet().iterator().next();
+				candidates = elementIndex.getElements(tagName, attr, attributes.get(attr));
+			}
+			if (candidates != null) {
+				for (Element candidate : candidates) {
+					if (candidate.getAttributes().getLength() == attributes.size()) {
+						int matches = 0;
+						for (String attr : attributes.keySet()) {
+							Node attrNode = candidate.getAttributes().getNamedItem(attr);
+							if (attrNode != null && attrNode.getNodeValue().equals(attributes.get(attr)))
+								matches++;
+						}
+						if (matches == attributes.size())
+							return candidate;
+					}
+				}
+				return null;
+			}
+		}
+
 		NodeList matchElements = rootElement.getElementsByTagName(tagName);
 
 		while (ret == null && i < matchElements.getLength()) {
@@ -690,6 +767,15 @@ public class XMLEditor {
 	 */
 	public ArrayList<Element> getElementsList(String tagName, boolean ignoreChildless) {
 		ArrayList<Element> ret = new ArrayList<Element>();
+		List<Element> indexed = elementIndex != null ? elementIndex.getElements(tagName) : null;
+		if (indexed != null) {
+			for (Element e : indexed) {
+				if (!ignoreChildless || e.hasChildNodes()) {
+					ret.add(e);
+				}
+			}
+			return ret;
+		}
 		NodeList matchElements = rootElement.getElementsByTagName(tagName);
 		for (int i = 0; i < matchElements.getLength(); i++) {
 			Node toAdd = matchElements.item(i);
@@ -708,11 +794,15 @@ public class XMLEditor {
 		NodeList nl = null;
 		ArrayList<Element> ret = new ArrayList<Element>();
 		if (isXPath(exp)) {
-			XPath xPath = XPathFactory.newInstance().newXPath();
+			List<Element> indexed = elementIndex != null ? elementIndex.evaluate(exp, false) : null;
+			if (indexed != null) {
+				ret.addAll(indexed);
+				return ret;
+			}
 			try {
 				// Security: This evaluation is fine because the document object is already checked when the XML is
 				// read.
-				nl = (NodeList) xPath.compile(exp).evaluate(doc, XPathConstants.NODESET);
+				nl = (NodeList) XPathCache.compile(exp).evaluate(doc, XPathConstants.NODESET);
 				for (int i = 0; i < nl.getLength(); i++) {
 					ret.add((Element) nl.item(i));
 				}
@@ -751,6 +841,11 @@ public class XMLEditor {
 	 * @return index of the element
 	 */
 	public int getIndex(Element e) {
+		getXPathIndex();
+		Integer indexed = siblingIndex.get(e);
+		if (indexed != null) {
+			return indexed;
+		}
 		int index = 0;
 		ArrayList<Element> siblings = this.getChildren(this.getParent(e));
 		ArrayList<Element> twins = new ArrayList<Element>();
@@ -835,11 +930,10 @@ public class XMLEditor {
 	public String getText(String exp) {
 		String ret = null;
 		if (isXPath(exp)) {
-			XPath xPath = XPathFactory.newInstance().newXPath();
 			try {
 				// Security: This evaluation is fine because the document object is already checked when the XML is
 				// read.
-				ret = (String) xPath.compile(exp).evaluate(doc, XPathConstants.STRING);
+				ret = (String) XPathCache.compile(exp).evaluate(doc, XPathConstants.STRING);
 			} catch (XPathExpressionException e) {
 				MLogger.getInstance().log(Level.SEVERE, e);
 			}
@@ -913,6 +1007,57 @@ public class XMLEditor {
 		return xPaths;
 	}
 
+	/**
+	 * Returns the index of the XPaths of all elements within the document and builds it in one pass,
+	 * if it doesn't exist.
+	 * 
+	 * @return Map with the elements and their XPaths
+	 */
+	private Map<Element, String> getXPathIndex() {
+		if (xPathIndex == null) {
+			xPathIndex = new IdentityHashMap<>();
+			siblingIndex = new IdentityHashMap<>();
+			Element root = doc.getDocumentElement();
+			if (root != null) {
+				xPathIndex.put(root, "/" + root.getNodeName());
+				indexChildren(root);
+			}
+		}
+		return xPathIndex;
+	}
+
+	/**
+	 * Adds the XPaths and sibling indexes of all descendants of an indexed element to the index.
+	 * 
+	 * @param parent The element, which XPath is already indexed
+	 */
+	private void indexChildren(Element parent) {
+		Deque<Element> parents = new ArrayDeque<>();
+		parents.push(parent);
+		while (!parents.isEmpty()) {
+			Element p = parents.pop();
+			String parentXPath = xPathIndex.get(p);
+			List<Element> children = getChildren(p);
+			Map<String, Integer> twins = new HashMap<>();
+			for (Element child : children) {
+				int index = children.size() > 1 ? twins.merge(child.getNodeName(), 1, Integer::sum) : 0;
+				siblingIndex.put(child, index);
+				xPathIndex.put(child, childXPath(parentXPath, child, index));
+				parents.push(child);
+			}
+		}
+	}
+
+	/**
+	 * Checks if the elements of the document are indexed by their tag names and attribute values.
+	 * 
+	 * @return true = the index is enabled
+	 * @see #setElementIndex(boolean)
+	 */
+	public boolean isElementIndex() {
+		return elementIndex != null;
+	}
+
 	/**
 	 * Check if the String expression is a XPath (currently only checks for a slash character at the
 	 * beginning)
@@ -957,6 +1102,23 @@ public class XMLEditor {
 		return sb.toString();
 	}
 
+	/**
+	 * Removes an element, that has been deleted from the document, and its descendants from the index.
+	 * 
+	 * @param target The deleted element
+	 */
+	private void removeFromXPathIndex(Element target) {
+		if (xPathIndex != null) {
+			xPathIndex.remove(target);
+			siblingIndex.remove(target);
+			NodeList descendants = target.getElementsByTagName("*");
+			for (int i = 0; i < descendants.getLength(); i++) {
+				xPathIndex.remove(descendants.item(i));
+				siblingIndex.remove(descendants.item(i));
+			}
+		}
+	}
+
 	private void removeEmptySpace(Node parent) {
 		int i = 0;
 		while (i != parent.getChildNodes().getLength()) {
@@ -998,6 +1160,17 @@ public class XMLEditor {
 		save(new File(fileName));
 	}
 
+	/**
+	 * Saves the document after a change, or notifies the change listener, if defined.
+	 */
+	private void saveChanges() {
+		if (changeListener != null) {
+			changeListener.run();
+		} else {
+			save();
+		}
+	}
+
 	public void save(File xmlOut) {
 		try {
 			StreamResult result = new StreamResult(xmlOut);
@@ -1044,6 +1217,38 @@ public class XMLEditor {
 		return ret;
 	}
 
+	/**
+	 * Defines a listener, that gets called after each change of the document, instead of saving the
+	 * document to its file. This allows the owner of the editor to decide when the changes get written,
+	 * e.g. the {@link org.opentdk.api.datastorage.DataContainer} with its write-back policy.
+	 * 
+	 * @param listener The listener or null to save the document after each change
+	 */
+	public void setChangeListener(Runnable listener) {
+		changeListener = listener;
+	}
+
+	/**
+	 * Enables an in-memory index of the elements by their tag names and attribute values, that gets
+	 * built immediately in one pass through the document. With the index, {@link #getElementsList(String)}
+	 * and {@link #getElement(String, HashMap)} don't search the document, and XPath expressions like
+	 * <code>/Rules/rule[@name='X']</code>, whose location steps only consist of tag names and attribute
+	 * predicates, get resolved by {@link #getElement(String)} and {@link #getElementsListByXPath(String)}
+	 * without evaluating the XPath. Other expressions, e.g. with positions or functions, are still
+	 * evaluated. The index gets maintained by the DOM mutation events of the document, so it also follows
+	 * changes that are not made by the editor, e.g. by {@link Element#setAttribute(String, String)}.
+	 * 
+	 * @param indexed true = build and maintain the index; false = drop the index and search the document
+	 */
+	public void setElementIndex(boolean indexed) {
+		if (indexed && (elementIndex == null) && (rootElement != null)) {
+			elementIndex = new XMLElementIndex(rootElement);
+		} else if (!indexed && (elementIndex != null)) {
+			elementIndex.close();
+			elementIndex = null;
+		}
+	}
+
 	/**
 	 * Set the TextValue of the element. Use only for elements without children, if it has any they will
 	 * be deleted.
@@ -1054,13 +1259,55 @@ public class XMLEditor {
 	 */
 	public Element setElementValue(Element el, String val) {
 		while (el.hasChildNodes()) {
-			el.removeChild(el.getFirstChild());
+			Node child = el.removeChild(el.getFirstChild());
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				removeFromXPathIndex((Element) child);
+			}
 		}
 		el.appendChild(doc.createTextNode(val));
-		save();
+		saveChanges();
 		return el;
 	}
 
+	/**
+	 * Updates the index after children have been added to or deleted from an element. Adding or
+	 * deleting a child may change the sibling indexes of the other children, so the subtrees of all
+	 * children, which XPath has changed, will be indexed again.
+	 * 
+	 * @param parent The element, which children have been changed
+	 * @param moved  true = an element has been moved from another position of the document, so the
+	 *               index needs to be rebuilt
+	 */
+	private void updateXPathIndex(Element parent, boolean moved) {
+		if (xPathIndex == null) {
+			return;
+		}
+		String parentXPath = xPathIndex.get(parent);
+		if (moved || (parentXPath == null)) {
+			xPathIndex = null;
+			siblingIndex = null;
+			return;
+		}
+		List<Element> children = getChildren(parent);
+		Map<String, Integer> twins = new HashMap<>();
+		for (Element child : children) {
+			int index = children.size() > 1 ? twins.merge(child.getNodeName(), 1, Integer::sum) : 0;
+			String xPath = childXPath(parentXPath, child, index);
+			if (!xPath.equals(xPathIndex.get(child))) {
+				siblingIndex.put(child, index);
+				xPathIndex.put(child, xPath);
+				indexChildren(child);
+			}
+		}
+	}
+
+	private static String childXPath(String parentXPath, Element child, int index) {
+		if (index > 0) {
+			return parentXPath + "/" + child.getNodeName() + "[" + index + "]";
+		}
+		return parentXPath + "/" + child.getNodeName();
+	}
+
 	public static Boolean validateXMLFile(File inFile) {
 		try {
 			SAXParserFactory.newInstance().newSAXParser().parse(inFile, new DefaultHandler());
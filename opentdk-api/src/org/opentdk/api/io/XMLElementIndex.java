@@ -0,0 +1,348 @@
+package org.opentdk.api.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.events.Event;
+import org.w3c.dom.events.EventListener;
+import org.w3c.dom.events.EventTarget;
+import org.w3c.dom.events.MutationEvent;
+
+/**
+ * Index of the elements of a DOM document by their tag names and by the values of their attributes,
+ * that is used by {@link XMLEditor#setElementIndex(boolean)}. The elements get indexed by their tag
+ * names when the index is created, the values of an attribute get indexed by the first lookup of the
+ * attribute. The index listens to the mutation events of the document, so it follows all changes of
+ * the document, including the changes that are made directly at the DOM nodes like
+ * {@link Element#setAttribute(String, String)}.
+ */
+final class XMLElementIndex implements EventListener {
+
+	private static final String NODE_INSERTED = "DOMNodeInserted";
+
+	private static final String NODE_REMOVED = "DOMNodeRemoved";
+
+	private static final String ATTR_MODIFIED = "DOMAttrModified";
+
+	/**
+	 * Location step of a simple absolute XPath, that consists of a tag name and optionally one
+	 * attribute predicate like <code>/rule[@name='X']</code>.
+	 */
+	private static final Pattern STEP = Pattern.compile("/([A-Za-z_][\\w.\\-]*)(?:\\[@([A-Za-z_][\\w.\\-]*)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")\\])?");
+
+	/**
+	 * The indexed elements of a tag name or an attribute value in document order.
+	 */
+	private static final class Entries {
+		private final Set<Element> elements = new LinkedHashSet<>();
+		private boolean ordered = true;
+	}
+
+	/**
+	 * The root element of the document. The root element itself is not indexed, like it is not returned
+	 * by {@link Element#getElementsByTagName(String)}.
+	 */
+	private final Element root;
+
+	/**
+	 * The elements by their tag names.
+	 */
+	private final Map<String, Entries> tags = new HashMap<>();
+
+	/**
+	 * The elements by their tag names, attribute names and attribute values. The values of an attribute
+	 * get indexed by the first lookup of the tag name and attribute name.
+	 */
+	private final Map<String, Map<String, Map<String, Entries>>> attributes = new HashMap<>();
+
+	/**
+	 * Indexes the descendants of the root element and registers the index as listener for the mutation
+	 * events of the document.
+	 *
+	 * @param rootElement The root element of the document
+	 */
+	XMLElementIndex(Element rootElement) {
+		root = rootElement;
+		NodeList all = root.getElementsByTagName("*");
+		for (int i = 0; i < all.getLength(); i++) {
+			Element e = (Element) all.item(i);
+			tags.computeIfAbsent(e.getTagName(), k -> new Entries()).elements.add(e);
+		}
+		EventTarget target = (EventTarget) root.getOwnerDocument();
+		target.addEventListener(NODE_INSERTED, this, false);
+		target.addEventListener(NODE_REMOVED, this, false);
+		target.addEventListener(ATTR_MODIFIED, this, false);
+	}
+
+	/**
+	 * Removes the index from the listeners of the document.
+	 */
+	void close() {
+		EventTarget target = (EventTarget) root.getOwnerDocument();
+		target.removeEventListener(NODE_INSERTED, this, false);
+		target.removeEventListener(NODE_REMOVED, this, false);
+		target.removeEventListener(ATTR_MODIFIED, this, false);
+	}
+
+	/**
+	 * Retrieves the descendants of the root element with the given tag name.
+	 *
+	 * @param tagName The tag name of the elements
+	 * @return the elements in document order or null, if the tag name is the wildcard <code>*</code>
+	 */
+	List<Element> getElements(String tagName) {
+		if ("*".equals(tagName)) {
+			return null;
+		}
+		Entries entries = tags.get(tagName);
+		if (entries == null) {
+			return new ArrayList<>();
+		}
+		if (!entries.ordered) {
+			// the elements of a tag name are ordered again in one pass through the document
+			entries.elements.clear();
+			NodeList all = root.getElementsByTagName(tagName);
+			for (int i = 0; i < all.getLength(); i++) {
+				entries.elements.add((Element) all.item(i));
+			}
+			entries.ordered = true;
+		}
+		return new ArrayList<>(entries.elements);
+	}
+
+	/**
+	 * Retrieves the descendants of the root element with the given tag name, that have an attribute
+	 * with the given value.
+	 *
+	 * @param tagName   The tag name of the elements
+	 * @param attrName  The name of the attribute
+	 * @param attrValue The value of the attribute
+	 * @return the elements in document order
+	 */
+	List<Element> getElements(String tagName, String attrName, String attrValue) {
+		Entries entries = getValues(tagName, attrName).get(attrValue);
+		if (entries == null) {
+			return new ArrayList<>();
+		}
+		List<Element> ret = new ArrayList<>(entries.elements);
+		if (!entries.ordered) {
+			ret.sort((a, b) -> (a.compareDocumentPosition(b) & Node.DOCUMENT_POSITION_FOLLOWING) != 0 ? -1 : 1);
+			entries.elements.clear();
+			entries.elements.addAll(ret);
+			entries.ordered = true;
+		}
+		return ret;
+	}
+
+	/**
+	 * Resolves a simple absolute XPath, whose location steps only consist of tag names, optionally with
+	 * one attribute predicate, like <code>/Rules/rule[@name='X']/regExpr</code>. The elements of the last
+	 * step with an attribute predicate, or of the last step, are taken from the index and only their
+	 * ancestors and the following steps will be checked.
+	 *
+	 * @param exp   The XPath expression
+	 * @param first true = only the first element in document order will be returned
+	 * @return the elements in document order or null, if the expression is not supported by the index
+	 */
+	List<Element> evaluate(String exp, boolean first) {
+		List<String[]> steps = new ArrayList<>();
+		Matcher m = STEP.matcher(exp);
+		int pos = 0;
+		while (pos < exp.length()) {
+			m.region(pos, exp.length());
+			if (!m.lookingAt()) {
+				return null;
+			}
+			steps.add(new String[] { m.group(1), m.group(2), m.group(3) != null ? m.group(3) : m.group(4) });
+			pos = m.end();
+		}
+		if (steps.isEmpty()) {
+			return null;
+		}
+
+		int anchor = steps.size() - 1;
+		for (int i = anchor; i > 0; i--) {
+			if (steps.get(i)[1] != null) {
+				anchor = i;
+				break;
+			}
+		}
+		String[] anchorStep = steps.get(anchor);
+		List<Element> candidates;
+		if (anchor == 0) {
+			candidates = Collections.singletonList(root);
+		} else if (anchorStep[1] == null) {
+			candidates = getElements(anchorStep[0]);
+		} else {
+			candidates = getElements(anchorStep[0], anchorStep[1], anchorStep[2]);
+		}
+
+		List<Element> ret = new ArrayList<>();
+		for (Element candidate : candidates) {
+			if (!matches(candidate, anchorStep)) {
+				continue;
+			}
+			Node ancestor = candidate;
+			boolean match = true;
+			for (int i = anchor - 1; match && (i >= 0); i--) {
+				ancestor = ancestor.getParentNode();
+				match = (ancestor instanceof Element) && matches((Element) ancestor, steps.get(i));
+			}
+			if (!match || (ancestor.getParentNode() == null) || (ancestor.getParentNode().getNodeType() != Node.DOCUMENT_NODE)) {
+				continue;
+			}
+			// candidates of the same step don't contain each other, so the result stays in document order
+			List<Element> level = Collections.singletonList(candidate);
+			for (int i = anchor + 1; i < steps.size(); i++) {
+				List<Element> next = new ArrayList<>();
+				for (Element e : level) {
+					for (Node child = e.getFirstChild(); child != null; child = child.getNextSibling()) {
+						if ((child.getNodeType() == Node.ELEMENT_NODE) && matches((Element) child, steps.get(i))) {
+							next.add((Element) child);
+						}
+					}
+				}
+				level = next;
+			}
+			ret.addAll(level);
+			if (first && !ret.isEmpty()) {
+				return ret.subList(0, 1);
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public void handleEvent(Event evt) {
+		if (!(evt.getTarget() instanceof Element) || (evt.getTarget() == root)) {
+			return;
+		}
+		Element target = (Element) evt.getTarget();
+		switch (evt.getType()) {
+		case NODE_INSERTED:
+			add(target);
+			NodeList inserted = target.getElementsByTagName("*");
+			for (int i = 0; i < inserted.getLength(); i++) {
+				add((Element) inserted.item(i));
+			}
+			break;
+		case NODE_REMOVED:
+			// the event is dispatched before the element gets removed, so the attributes are still indexed
+			remove(target);
+			NodeList removed = target.getElementsByTagName("*");
+			for (int i = 0; i < removed.getLength(); i++) {
+				remove((Element) removed.item(i));
+			}
+			break;
+		case ATTR_MODIFIED:
+			MutationEvent mEvt = (MutationEvent) evt;
+			Entries entries = tags.get(target.getTagName());
+			Map<String, Map<String, Entries>> byAttr = attributes.get(target.getTagName());
+			if ((entries == null) || !entries.elements.contains(target) || (byAttr == null) || !byAttr.containsKey(mEvt.getAttrName())) {
+				return;
+			}
+			Map<String, Entries> values = byAttr.get(mEvt.getAttrName());
+			if (mEvt.getAttrChange() != MutationEvent.ADDITION) {
+				removeValue(values, mEvt.getPrevValue(), target);
+			}
+			if (mEvt.getAttrChange() != MutationEvent.REMOVAL) {
+				addValue(values, mEvt.getNewValue(), target);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void add(Element e) {
+		Entries entries = tags.computeIfAbsent(e.getTagName(), k -> new Entries());
+		if (entries.elements.add(e) && (entries.elements.size() > 1)) {
+			entries.ordered = false;
+		}
+		Map<String, Map<String, Entries>> byAttr = attributes.get(e.getTagName());
+		if (byAttr != null) {
+			for (Map.Entry<String, Map<String, Entries>> attr : byAttr.entrySet()) {
+				Attr node = e.getAttributeNode(attr.getKey());
+				if (node != null) {
+					addValue(attr.getValue(), node.getValue(), e);
+				}
+			}
+		}
+	}
+
+	private void remove(Element e) {
+		Entries entries = tags.get(e.getTagName());
+		if ((entries == null) || !entries.elements.remove(e)) {
+			return;
+		}
+		if (entries.elements.isEmpty()) {
+			tags.remove(e.getTagName());
+		}
+		Map<String, Map<String, Entries>> byAttr = attributes.get(e.getTagName());
+		if (byAttr != null) {
+			for (Map.Entry<String, Map<String, Entries>> attr : byAttr.entrySet()) {
+				Attr node = e.getAttributeNode(attr.getKey());
+				if (node != null) {
+					removeValue(attr.getValue(), node.getValue(), e);
+				}
+			}
+		}
+	}
+
+	private static void addValue(Map<String, Entries> values, String value, Element e) {
+		Entries entries = values.computeIfAbsent(value, k -> new Entries());
+		if (entries.elements.add(e) && (entries.elements.size() > 1)) {
+			entries.ordered = false;
+		}
+	}
+
+	private static void removeValue(Map<String, Entries> values, String value, Element e) {
+		Entries entries = values.get(value);
+		if ((entries != null) && entries.elements.remove(e) && entries.elements.isEmpty()) {
+			values.remove(value);
+		}
+	}
+
+	/**
+	 * Retrieves the indexed values of an attribute and indexes them by the first call.
+	 */
+	private Map<String, Entries> getValues(String tagName, String attrName) {
+		Map<String, Map<String, Entries>> byAttr = attributes.computeIfAbsent(tagName, k -> new HashMap<>());
+		Map<String, Entries> values = byAttr.get(attrName);
+		if (values == null) {
+			values = new HashMap<>();
+			if (tags.containsKey(tagName)) {
+				for (Element e : getElements(tagName)) {
+					Attr node = e.getAttributeNode(attrName);
+					if (node != null) {
+						values.computeIfAbsent(node.getValue(), k -> new Entries()).elements.add(e);
+					}
+				}
+			}
+			byAttr.put(attrName, values);
+		}
+		return values;
+	}
+
+	private static boolean matches(Element e, String[] step) {
+		if (!e.getTagName().equals(step[0])) {
+			return false;
+		}
+		if (step[1] == null) {
+			return true;
+		}
+		Attr node = e.getAttributeNode(step[1]);
+		return (node != null) && node.getValue().equals(step[2]);
+	}
+}
@@ -0,0 +1,155 @@
+package org.opentdk.api.io;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * Cache for compiled XPath expressions, that are used by the {@link XMLEditor}. Creating an
+ * {@link XPath} instance looks up the {@link XPathFactory} implementation, and compiling an
+ * expression parses it again, so evaluating the same expressions repeatedly, e.g. by the
+ * {@link org.opentdk.api.dispatcher.BaseDispatchComponent} variables of a settings file, repeats
+ * work, that doesn't depend on the document.<br>
+ * <br>
+ * Compiled expressions are neither thread safe nor reentrant. Therefore each thread has its own
+ * {@link XPath} instance and its own cache, that keeps the most recently used expressions up to
+ * the size defined by {@link #setMaxSize(int)}. The number of hits and misses of all threads can be
+ * retrieved by {@link #getHits()} and {@link #getMisses()}:
+ *
+ * <pre>
+ * XPathExpression expr = XPathCache.compile("/settings/entry[@name='timeout']");
+ * ...
+ * System.out.println(XPathCache.getHits() + " hits, " + XPathCache.getMisses() + " misses");
+ * </pre>
+ *
+ * @author LK Test Solutions
+ */
+public final class XPathCache {
+
+	/**
+	 * The default number of expressions, that will be cached per thread.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	private static final AtomicLong hits = new AtomicLong();
+
+	private static final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The XPath instance and the compiled expressions of each thread.
+	 */
+	private static final ThreadLocal<ExpressionCache> cache = ThreadLocal.withInitial(ExpressionCache::new);
+
+	private XPathCache() {
+		super();
+	}
+
+	/**
+	 * Returns the compiled expression of the current thread for the given XPath. The expression will be
+	 * compiled, if it has not been used by the thread before, or if it has been removed from the cache
+	 * of the thread. The returned expression must not be passed to other threads.
+	 *
+	 * @param exp The XPath expression
+	 * @return the compiled expression
+	 * @throws XPathExpressionException if the expression can't be compiled
+	 */
+	public static XPathExpression compile(String exp) throws XPathExpressionException {
+		ExpressionCache expressions = cache.get();
+		expressions.trim();
+		XPathExpression ret = expressions.get(exp);
+		if (ret != null) {
+			hits.incrementAndGet();
+			return ret;
+		}
+		misses.incrementAndGet();
+		ret = expressions.xPath.compile(exp);
+		expressions.put(exp, ret);
+		return ret;
+	}
+
+	/**
+	 * Removes all compiled expressions of the current thread.
+	 */
+	public static void clear() {
+		cache.get().clear();
+	}
+
+	/**
+	 * @return the number of expressions, that have been taken from the caches of all threads
+	 */
+	public static long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of expressions, that had to be compiled
+	 */
+	public static long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the maximum number of expressions, that will be cached per thread
+	 */
+	public static int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets the number of hits and misses to 0.
+	 */
+	public static void resetStatistics() {
+		hits.set(0);
+		misses.set(0);
+	}
+
+	/**
+	 * Sets the maximum number of expressions, that will be cached per thread. If a thread uses more
+	 * expressions, the least recently used expression will be removed. 0 disables the cache, so each
+	 * expression will be compiled again.
+	 *
+	 * @param size The maximum number of expressions per thread. The default is
+	 *             {@value #DEFAULT_MAX_SIZE}.
+	 */
+	public static void setMaxSize(int size) {
+		maxSize = Math.max(size, 0);
+	}
+
+	/**
+	 * The compiled expressions of a thread in the order of their last use.
+	 */
+	private static final class ExpressionCache extends LinkedHashMap<String, XPathExpression> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient XPath xPath = XPathFactory.newInstance().newXPath();
+
+		ExpressionCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+			return size() > maxSize;
+		}
+
+		/**
+		 * Removes the least recently used expressions, if the maximum size has been reduced.
+		 */
+		void trim() {
+			Iterator<XPathExpression> it = values().iterator();
+			for (int i = size(); (i > maxSize) && it.hasNext(); i--) {
+				it.next();
+				it.remove();
+			}
+		}
+	}
+}
@@ -28,5 +28,24 @@ public class RT_CSVContainer_addColumn extends BaseRegression {
 		
 		dc.setColumn("header3_3", ListUtil.asList(new String[] { "", "t", "" }));
 		BaseRegression.testResult(String.join("", dc.getRow(1)), "Second row joined", "greet");
+
+		dc.addColumns("header4", "header1", "header5");
+		BaseRegression.testResult(String.join(";", dc.getHeaderNamesIndexed()), "addColumns headers", "header1;header2;header3;header3_2;header3_3;header4;header1_2;header5");
+		BaseRegression.testResult(String.join(";", dc.getRow(1)), "addColumns row", "g;r;e;e;t;;;");
+		dc.setValue("header1_2", 1, "x");
+		BaseRegression.testResult(dc.getValue("header1_2", 1), "addColumns setValue", "x");
+
+		DataContainer colDc = new DataContainer(new String[] { "ID", "Name" });
+		colDc.setColumnarStorage(true);
+		colDc.addRow(new String[] { "1", "red" });
+		colDc.addRow(new String[] { "2" });
+		colDc.addColumns("Price", "Code");
+		BaseRegression.testResult(String.join(";", colDc.getRow(0)), "columnar addColumns - full row", "1;red;;");
+		BaseRegression.testResult(String.join(";", colDc.getRow(1)), "columnar addColumns - short row", "2;;");
+		colDc.setValue("Price", 0, "2.5");
+		colDc.setValue("Code", 0, "007");
+		BaseRegression.testResult(colDc.getColumnType("Price").toString(), "columnar addColumns - type", "DOUBLE");
+		BaseRegression.testResult(colDc.getValue("Code", 0), "columnar addColumns - getValue", "007");
+		BaseRegression.testResult(String.join(";", colDc.getRow(0)), "columnar addColumns - setValue", "1;red;2.5;007");
 	}
 }
@@ -0,0 +1,84 @@
+package RegressionTest.CSVContainer;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVContainer_columnarStorage extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVContainer_columnarStorage();
+	}
+
+	@Override
+	public void runTest() {
+		DataContainer rowDc = new DataContainer("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+		DataContainer colDc = new DataContainer();
+		colDc.setColumnDelimiter(";");
+		colDc.setColumnarStorage(true);
+		colDc.readData("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+
+		testResult(String.valueOf(colDc.isColumnarStorage()), "isColumnarStorage", "true");
+		testResult(colDc.getRowCount(), "getRowCount", rowDc.getRowCount());
+		for (int i = 0; i < rowDc.getRowCount(); i++) {
+			testResult(String.join(";", colDc.getRow(i)), "getRow(" + i + ")", String.join(";", rowDc.getRow(i)));
+		}
+		testResult(String.join(";", colDc.getColumn("Nachname")), "getColumn(Nachname)", "Walter;Mustermann;Meisinger;Winkler");
+		testResult(colDc.getColumnType("PLZ").toString(), "getColumnType(PLZ)", "INTEGER");
+		testResult(colDc.getColumnType("Telefon").toString(), "getColumnType(Telefon)", "STRING");
+
+		Filter fltr = new Filter();
+		fltr.addFilterRule("Ort", "Muenchen", EOperator.EQUALS);
+		testResult(colDc.getValuesAsIntList("PLZ", fltr).toString(), "getValuesAsIntList(PLZ, filter)", "[81675, 86450, 81675]");
+		testResult(colDc.getValue("Nachname", fltr), "getValue(Nachname, filter)", "Walter");
+
+		DataContainer dc = new DataContainer(new String[] { "ID", "Price", "Date", "Code" });
+		dc.setColumnarStorage(true);
+		dc.addRow(new String[] { "1", "2.5", "2022-01-31", "007" });
+		dc.addRow(new String[] { "2", "", "2022-02-28", "008" });
+		dc.addRow(new String[] { "3", "10.25", null, "009" });
+		testResult(dc.getColumnType("ID").toString(), "getColumnType(ID)", "INTEGER");
+		testResult(dc.getColumnType("Price").toString(), "getColumnType(Price)", "DOUBLE");
+		testResult(dc.getColumnType("Date").toString(), "getColumnType(Date)", "DATE");
+		testResult(dc.getColumnType("Code").toString(), "getColumnType(Code)", "STRING");
+		testResult(dc.getValuesAsDoubleList("Price").toString(), "getValuesAsDoubleList(Price)", "[2.5, 10.25]");
+		testResult(String.join(";", dc.getColumn("Code")), "getColumn(Code)", "007;008;009");
+		testResult(String.valueOf(dc.getValue("Date", 2)), "getValue(Date, 2)", "null");
+
+		dc.addRow(new String[] { "5000000000", "n/a", "31.12.2022", "010" });
+		testResult(dc.getColumnType("ID").toString(), "widened ID", "LONG");
+		testResult(dc.getColumnType("Price").toString(), "widened Price", "STRING");
+		testResult(dc.getColumnType("Date").toString(), "widened Date", "STRING");
+		testResult(String.join(";", dc.getRow(0)), "getRow(0) after widening", "1;2.5;2022-01-31;007");
+		testResult(String.join(";", dc.getRow(3)), "getRow(3) after widening", "5000000000;n/a;31.12.2022;010");
+
+		dc.setValue("Price", 1, "7.75");
+		testResult(dc.getValue("Price", 1), "setValue", "7.75");
+		dc.deleteRow(0);
+		testResult(dc.getRowCount(), "deleteRow - getRowCount", 3);
+		testResult(dc.getValue("ID", 0), "deleteRow - getValue", "2");
+		dc.addColumn("Comment");
+		testResult(dc.getRow(0).length, "addColumn - row length", 5);
+
+		DataContainer numbers = new DataContainer(new String[] { "Mixed", "Fraction", "Padded", "Large", "Long", "Code" });
+		numbers.setColumnarStorage(true);
+		numbers.addRow(new String[] { "12", "1.5", "1.50", "12345678.5", "5000000000", "7" });
+		numbers.addRow(new String[] { "13.5", "2", "2.0", "-0.25", "2.5E-3", "007" });
+		for (String header : new String[] { "Mixed", "Fraction", "Padded", "Large", "Long" }) {
+			testResult(numbers.getColumnType(header).toString(), "getColumnType(" + header + ")", "DOUBLE");
+		}
+		testResult(numbers.getColumnType("Code").toString(), "getColumnType(Code) with leading zero", "STRING");
+		testResult(String.join(";", numbers.getRow(0)), "decimals - getRow(0)", "12;1.5;1.50;12345678.5;5000000000;7");
+		testResult(String.join(";", numbers.getRow(1)), "decimals - getRow(1)", "13.5;2;2.0;-0.25;2.5E-3;007");
+		testResult(numbers.getValuesAsDoubleList("Mixed").toString(), "decimals - getValuesAsDoubleList(Mixed)", "[12.0, 13.5]");
+		testResult(numbers.getValuesAsDoubleList("Long").toString(), "decimals - getValuesAsDoubleList(Long)", "[5.0E9, 0.0025]");
+		numbers.deleteRow(0);
+		testResult(String.join(";", numbers.getRow(0)), "decimals - getRow(0) after deleteRow", "13.5;2;2.0;-0.25;2.5E-3;007");
+
+		dc.setColumnarStorage(false);
+		testResult(String.valueOf(dc.isColumnarStorage()), "setColumnarStorage(false)", "false");
+		testResult(String.join(";", dc.getRow(2)), "getRow(2) after conversion", "5000000000;n/a;31.12.2022;010;");
+	}
+}
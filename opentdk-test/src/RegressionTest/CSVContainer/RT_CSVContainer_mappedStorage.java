@@ -0,0 +1,69 @@
+package RegressionTest.CSVContainer;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVContainer_mappedStorage extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVContainer_mappedStorage();
+	}
+
+	@Override
+	public void runTest() {
+		DataContainer heapDc = new DataContainer("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+		DataContainer mappedDc = new DataContainer();
+		mappedDc.setColumnDelimiter(";");
+		mappedDc.setMappedStorage(true);
+		mappedDc.readData("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+
+		testResult(String.valueOf(mappedDc.isMappedStorage()), "isMappedStorage", "true");
+		testResult(mappedDc.getRowCount(), "getRowCount", heapDc.getRowCount());
+		for (int i = 0; i < heapDc.getRowCount(); i++) {
+			testResult(String.join(";", mappedDc.getRow(i)), "getRow(" + i + ")", String.join(";", heapDc.getRow(i)));
+		}
+		testResult(mappedDc.getValue("Telefon", 0), "getValue(Telefon, 0)", "089/45709053");
+		testResult(String.join(";", mappedDc.getColumn("Nachname")), "getColumn(Nachname)", "Walter;Mustermann;Meisinger;Winkler");
+		Filter fltr = new Filter();
+		fltr.addFilterRule("Ort", "Muenchen", EOperator.EQUALS);
+		testResult(mappedDc.getValuesAsIntList("PLZ", fltr).toString(), "getValuesAsIntList(PLZ, filter)", "[81675, 86450, 81675]");
+
+		String error = "";
+		try {
+			mappedDc.setValue("Ort", 0, "Berlin");
+		} catch (UnsupportedOperationException e) {
+			error = e.getMessage();
+		}
+		testResult(error, "setValue on mapped storage", "Values of a memory mapped file are read-only!");
+		testResult(mappedDc.getValue("Ort", 0), "getValue after setValue", "Muenchen");
+
+		mappedDc.setMappedStorage(false);
+		// don't write the change back to the test data
+		mappedDc.setFileName("");
+		mappedDc.setValue("Ort", 0, "Berlin");
+		testResult(mappedDc.getValue("Ort", 0), "setValue after setMappedStorage(false)", "Berlin");
+		testResult(mappedDc.getRowCount(), "getRowCount after setMappedStorage(false)", heapDc.getRowCount());
+
+		DataContainer quotedDc = new DataContainer();
+		quotedDc.setColumnDelimiter(";");
+		quotedDc.setQuotedValues(true);
+		quotedDc.setMappedStorage(true);
+		quotedDc.readData("./testdata/RegressionTestData/CSVContainer_Quoted.csv");
+		testResult(quotedDc.getRowCount(), "quoted getRowCount", 3);
+		testResult(quotedDc.getValue("Comment", 0), "quoted delimiter within quotes", "Hello; World");
+		testResult(quotedDc.getValue("Comment", 1), "quoted line break within quotes", "multi\r\nline");
+		testResult(quotedDc.getValue("Comment", 2), "quoted escaped quotes", "say \"hi\"");
+
+		DataContainer appendDc = new DataContainer();
+		appendDc.setColumnDelimiter(";");
+		appendDc.setMappedStorage(true);
+		appendDc.readData("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+		appendDc.readData("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+		testResult(appendDc.getRowCount(), "append to mapped storage - getRowCount", heapDc.getRowCount() * 2);
+		appendDc.deleteRow(0);
+		testResult(appendDc.getRowCount(), "append to mapped storage - deleteRow", heapDc.getRowCount() * 2 - 1);
+	}
+}
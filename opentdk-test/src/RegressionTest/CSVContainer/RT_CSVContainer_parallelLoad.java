@@ -0,0 +1,98 @@
+package RegressionTest.CSVContainer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.opentdk.api.datastorage.DataContainer;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVContainer_parallelLoad extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVContainer_parallelLoad();
+	}
+
+	@Override
+	public void runTest() {
+		File plain = null;
+		File quoted = null;
+		try {
+			plain = createFile(false);
+			quoted = createFile(true);
+
+			DataContainer seqDc = load(plain, false, false);
+			DataContainer parDc = load(plain, false, true);
+			testResult(parDc.getRowCount(), "getRowCount", 60000);
+			testResult(parDc.getRowCount(), "getRowCount parallel vs. sequential", seqDc.getRowCount());
+			testResult(String.join(";", parDc.getHeaders().keySet()), "getHeaders", String.join(";", seqDc.getHeaders().keySet()));
+			testResult(String.valueOf(equalRows(seqDc, parDc)), "rows parallel vs. sequential", "true");
+			testResult(String.join(";", parDc.getRow(59999)), "getRow(59999)", "59999;Name 59999;City 59999;Comment without quotes 59999");
+
+			DataContainer seqQuoted = load(quoted, true, false);
+			DataContainer parQuoted = load(quoted, true, true);
+			testResult(parQuoted.getRowCount(), "quoted getRowCount", 60000);
+			testResult(parQuoted.getRowCount(), "quoted getRowCount parallel vs. sequential", seqQuoted.getRowCount());
+			testResult(String.valueOf(equalRows(seqQuoted, parQuoted)), "quoted rows parallel vs. sequential", "true");
+			testResult(parQuoted.getValue("Comment", 3), "quoted getValue(Comment, 3)", "multi\nline; 3");
+		} catch (IOException e) {
+			testResult(e.getMessage(), "create test files", "");
+		} finally {
+			if (plain != null) {
+				plain.delete();
+			}
+			if (quoted != null) {
+				quoted.delete();
+			}
+		}
+	}
+
+	private static DataContainer load(File file, boolean quotedValues, boolean parallel) {
+		DataContainer dc = new DataContainer();
+		dc.setColumnDelimiter(";");
+		dc.setHeaderRowIndex(1);
+		dc.setQuotedValues(quotedValues);
+		dc.setParallelLoad(parallel);
+		dc.readData(file.getPath());
+		return dc;
+	}
+
+	private static boolean equalRows(DataContainer expected, DataContainer actual) {
+		if (expected.getRowCount() != actual.getRowCount()) {
+			return false;
+		}
+		for (int i = 0; i < expected.getRowCount(); i++) {
+			if (!String.join(";", expected.getRow(i)).equals(String.join(";", actual.getRow(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a file of about 3 MB with a comment row in front of the headers, the columns in a
+	 * different order than the headers of the container and some invalid rows.
+	 */
+	private static File createFile(boolean quotedValues) throws IOException {
+		File file = File.createTempFile("RT_CSVContainer_parallelLoad", ".csv");
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+			writer.write("Generated test data\n");
+			writer.write("ID;Name;City;Comment\n");
+			for (int i = 0; i < 60000; i++) {
+				String comment;
+				if (quotedValues && i % 3 == 0) {
+					comment = "\"multi\nline; " + i + "\"";
+				} else {
+					comment = "Comment without quotes " + i;
+				}
+				writer.write(i + ";Name " + i + ";City " + i + ";" + comment + "\r\n");
+				if (i % 10000 == 5000) {
+					writer.write("invalid;row\n");
+				}
+			}
+		}
+		return file;
+	}
+}
@@ -0,0 +1,29 @@
+package RegressionTest.CSVContainer;
+
+import org.opentdk.api.datastorage.DataContainer;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVContainer_quotedValues extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVContainer_quotedValues();
+	}
+
+	@Override
+	public void runTest() {
+		DataContainer dc = new DataContainer();
+		dc.setColumnDelimiter(";");
+		dc.setQuotedValues(true);
+		dc.readData("./testdata/RegressionTestData/CSVContainer_Quoted.csv");
+		testResult(dc.getRowCount(), "getRowCount", 3);
+		testResult(dc.getValue("Comment", 0), "delimiter within quotes", "Hello; World");
+		testResult(dc.getValue("Comment", 1), "line break within quotes", "multi\r\nline");
+		testResult(dc.getValue("Comment", 2), "escaped quotes", "say \"hi\"");
+		testResult(String.join(";", dc.getColumn("Name")), "getColumn(Name)", "Walter;Meisinger;Winkler");
+
+		DataContainer plain = new DataContainer("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+		testResult(plain.getRowCount(), "unquoted getRowCount", 4);
+		testResult(plain.getValue("Telefon", 0), "unquoted getValue", "089/45709053");
+	}
+}
@@ -0,0 +1,42 @@
+package RegressionTest.CSVContainer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVContainer_stream extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVContainer_stream();
+	}
+
+	@Override
+	public void runTest() {
+		Filter fltr = new Filter();
+		fltr.addFilterRule("PLZ", "81675", EOperator.EQUALS);
+
+		DataContainer dc = new DataContainer();
+		dc.setColumnDelimiter(";");
+		dc.setFileName("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+		try (Stream<String[]> rows = dc.stream(fltr)) {
+			List<String> names = rows.map(row -> row[1]).collect(Collectors.toList());
+			testResult(names.toString(), "stream(filter) from file", "[Walter, Winkler]");
+		}
+		testResult(dc.getRowCount(), "getRowCount after streaming", 0);
+		testResult(dc.getHeaderIndex("Email"), "getHeaderIndex after streaming", 7);
+		try (Stream<String[]> rows = dc.stream()) {
+			testResult((int) rows.count(), "stream() from file", 4);
+		}
+
+		DataContainer loaded = new DataContainer("./testdata/RegressionTestData/CSVContainer_Contacts.csv");
+		List<String> cities = loaded.stream(fltr).map(row -> row[3]).collect(Collectors.toList());
+		testResult(cities.toString(), "stream(filter) from container", "[Muenchen, Muenchen]");
+		testResult(loaded.getRowCount(), "getRowCount of loaded container", 4);
+	}
+}
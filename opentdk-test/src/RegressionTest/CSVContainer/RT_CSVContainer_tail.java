@@ -0,0 +1,146 @@
+package RegressionTest.CSVContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.opentdk.api.datastorage.CSVTailer;
+import org.opentdk.api.datastorage.DataContainer;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVContainer_tail extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVContainer_tail();
+	}
+
+	@Override
+	public void runTest() {
+		File logFile = null;
+		File quotedFile = null;
+		try {
+			logFile = File.createTempFile("RT_CSVContainer_tail", ".csv");
+			quotedFile = File.createTempFile("RT_CSVContainer_tail", ".csv");
+			write(logFile, "Time;Level;Message\n10:00;INFO;start\n10:01;WARN;slow\n", false);
+
+			DataContainer dc = new DataContainer();
+			dc.setColumnDelimiter(";");
+			List<String> notifications = Collections.synchronizedList(new ArrayList<>());
+			CSVTailer tail = dc.follow(logFile.getPath());
+			tail.setChangeListener((c, firstRow, rowCount) -> notifications.add(firstRow + "+" + rowCount));
+			testResult(tail.poll(), "first poll", 2);
+			testResult(dc.getHeaderIndex("Message"), "headers of first poll", 2);
+			testResult(tail.poll(), "poll without new rows", 0);
+			testResult(String.valueOf(tail.getPosition()), "position at end of file", String.valueOf(logFile.length()));
+
+			write(logFile, "10:02;ERROR;dis", true);
+			testResult(tail.poll(), "incomplete row", 0);
+			write(logFile, "k full\n10:03;INFO;ok\r", true);
+			testResult(tail.poll(), "completed row", 1);
+			testResult(dc.getValue("Message", 2), "value of completed row", "disk full");
+			write(logFile, "\n10:04;INFO;done\r\n", true);
+			testResult(tail.poll(), "row with carriage return and line feed", 2);
+			testResult(String.join(",", dc.getColumn("Time")), "rows after polls", "10:00,10:01,10:02,10:03,10:04");
+			testResult(String.join(",", notifications), "notifications", "0+2,2+1,3+2");
+
+			// log rotation
+			write(logFile, "Time;Level;Message\n11:00;INFO;rotated\n", false);
+			testResult(tail.poll(), "poll after truncation", 1);
+			testResult(dc.getValue("Message", 5), "row after truncation", "rotated");
+
+			// background polling
+			tail.start(10);
+			write(logFile, "11:01;INFO;background\n", true);
+			boolean added = false;
+			for (int i = 0; (i < 200) && !added; i++) {
+				Thread.sleep(10);
+				synchronized (dc) {
+					added = dc.getRowCount() == 7;
+				}
+			}
+			tail.close();
+			testResult(String.valueOf(added), "background poll", "true");
+			testResult(String.valueOf(tail.isRunning()), "stopped by close", "false");
+			// close waits for the poll in flight, so all notifications have been received
+			testResult(String.join(",", notifications), "notifications of background poll", "0+2,2+1,3+2,5+1,6+1");
+
+			// messages and failures of background polls are passed to the listener
+			List<String> reports = Collections.synchronizedList(new ArrayList<>());
+			CountDownLatch reported = new CountDownLatch(2);
+			tail.setChangeListener(new CSVTailer.ChangeListener() {
+				@Override
+				public void rowsAdded(DataContainer c, int firstRow, int rowCount) {
+					throw new IllegalStateException("listener failed");
+				}
+
+				@Override
+				public void messageReported(DataContainer c, Level level, String message) {
+					reports.add(level.getName());
+					reported.countDown();
+				}
+
+				@Override
+				public void pollFailed(DataContainer c, Exception error) {
+					reports.add(error.getMessage());
+					reported.countDown();
+				}
+			});
+			write(logFile, "11:02;INFO\n11:03;INFO;listener\n", true);
+			// the first poll starts immediately, the next one after the interval
+			tail.start(60000);
+			testResult(String.valueOf(reported.await(10, TimeUnit.SECONDS)), "background poll reported", "true");
+			tail.close();
+			testResult(String.join(",", reports), "reports of background poll", "WARNING,listener failed");
+			testResult(tail.getLastError().getMessage(), "last error", "listener failed");
+			testResult(dc.getRowCount(), "rows of background poll with rejected row", 8);
+			tail.setChangeListener(null);
+			testResult(tail.poll(), "poll after failed poll", 0);
+			testResult(String.valueOf(tail.getLastError()), "last error after successful poll", "null");
+
+			// reordered headers and quoted line breaks
+			DataContainer quoted = new DataContainer();
+			quoted.setColumnDelimiter(";");
+			quoted.setQuotedValues(true);
+			quoted.setHeaders(new String[] { "Message", "Time" });
+			CSVTailer quotedTail = quoted.follow(quotedFile.getPath());
+			write(quotedFile, "Time;Message\n12:00;\"first\n", false);
+			testResult(quotedTail.poll(), "open quoted field", 0);
+			write(quotedFile, "line\"\n", true);
+			testResult(quotedTail.poll(), "closed quoted field", 1);
+			testResult(quoted.getValue("Message", 0), "quoted line break", "first\nline");
+			testResult(quoted.getValue("Time", 0), "reordered header", "12:00");
+
+			DataContainer missing = new DataContainer();
+			missing.setColumnDelimiter(";");
+			testResult(missing.follow(logFile.getPath() + ".missing").poll(), "missing file", 0);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			if (logFile != null) {
+				logFile.delete();
+			}
+			if (quotedFile != null) {
+				quotedFile.delete();
+			}
+		}
+	}
+
+	private static void write(File file, String content, boolean append) throws IOException {
+		if (append) {
+			Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		} else {
+			Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package RegressionTest.CSVContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.opentdk.api.datastorage.DataContainer;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVContainer_writeData extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVContainer_writeData();
+	}
+
+	@Override
+	public void runTest() {
+		String nl = System.lineSeparator();
+		File csvFile = null;
+		try {
+			csvFile = File.createTempFile("RT_CSVContainer_writeData", ".csv");
+
+			DataContainer dc = new DataContainer();
+			dc.setColumnDelimiter(";");
+			dc.setQuotedValues(true);
+			dc.setHeaders(new String[] { "Name", "Comment" });
+			dc.addRow(new String[] { "Walter", "plain" });
+			dc.addRow(new String[] { "Winkler", "a;b" });
+			dc.addRow(new String[] { "Maier", "say \"hi\"" });
+			dc.addRow(new String[] { "Huber", "first" + nl + "second" });
+			dc.writeData(csvFile.getPath());
+			String expected = "Name;Comment" + nl + "Walter;plain" + nl + "Winkler;\"a;b\"" + nl + "Maier;\"say \"\"hi\"\"\"" + nl + "Huber;\"first" + nl + "second\"" + nl;
+			testResult(readFile(csvFile), "quoted fields", expected);
+
+			DataContainer reread = new DataContainer();
+			reread.setColumnDelimiter(";");
+			reread.setQuotedValues(true);
+			reread.readData(csvFile.getPath());
+			testResult(reread.getRowCount(), "rows after reading quoted fields", 4);
+			testResult(reread.getValue("Comment", 1), "field with delimiter", "a;b");
+			testResult(reread.getValue("Comment", 2), "field with quotes", "say \"hi\"");
+			testResult(reread.getValue("Comment", 3), "field with line break", "first" + nl + "second");
+
+			dc.setQuotedValues(false);
+			dc.deleteRow(3);
+			dc.writeData(csvFile.getPath());
+			testResult(readFile(csvFile), "fields quoted without quoted values", "Name;Comment" + nl + "Walter;plain" + nl + "Winkler;\"a;b\"" + nl + "Maier;\"say \"\"hi\"\"\"" + nl);
+
+			DataContainer pipes = new DataContainer();
+			pipes.setColumnDelimiter("|");
+			pipes.setHeaders(new String[] { "ID", "Value" });
+			pipes.addRow(new String[] { "1", null });
+			pipes.writeData(csvFile.getPath());
+			testResult(readFile(csvFile), "delimiter of the container", "ID|Value" + nl + "1|null" + nl);
+
+			dc.exportContainer(csvFile.getPath(), ",");
+			testResult(readFile(csvFile), "exportContainer", "Name,Comment" + nl + "Walter,plain" + nl + "Winkler,a;b" + nl + "Maier,\"say \"\"hi\"\"\"" + nl);
+			dc.exportContainer(csvFile.getPath());
+			DataContainer exported = new DataContainer();
+			exported.setColumnDelimiter(";");
+			exported.setQuotedValues(true);
+			exported.readData(csvFile.getPath());
+			testResult(exported.getValue("Comment", 1), "exportContainer field with delimiter", "a;b");
+
+			// the rows of a memory mapped file need to be loaded before the file gets overwritten
+			Files.write(csvFile.toPath(), ("ID;Value\n1;one\n2;two\n").getBytes(StandardCharsets.UTF_8));
+			DataContainer mapped = new DataContainer();
+			mapped.setColumnDelimiter(";");
+			mapped.setMappedStorage(true);
+			mapped.readData(csvFile.getPath());
+			mapped.writeData(csvFile.getPath());
+			testResult(readFile(csvFile), "overwrite mapped file", "ID;Value" + nl + "1;one" + nl + "2;two" + nl);
+			mapped.setValue("Value", 1, "zwei");
+			testResult(mapped.getValue("Value", 1), "changed after loading mapped rows", "zwei");
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (csvFile != null) {
+				csvFile.delete();
+			}
+		}
+	}
+
+	private static String readFile(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,81 @@
+package RegressionTest.Container;
+
+import java.util.Arrays;
+
+import org.opentdk.api.datastorage.BaseContainer.EIndexType;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_append extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_append();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer target = createContainer(new String[] { "Name", "City", "Count" }, 2);
+		target.createIndex("City", EIndexType.HASH);
+
+		target.appendDataContainer(createContainer(new String[] { "Name", "City", "Count" }, 2));
+		testResult(target.getRowCount(), "same order - getRowCount", 4);
+		testResult(String.join(";", target.getRow(3)), "same order - getRow(3)", "Name_1;City_1;1");
+
+		target.appendDataContainer(createContainer(new String[] { "Count", "Name", "City" }, 2));
+		testResult(target.getRowCount(), "different order - getRowCount", 6);
+		testResult(String.join(";", target.getRow(5)), "different order - getRow(5)", "Name_1;City_1;1");
+
+		target.appendDataContainer(createContainer(new String[] { "City", "Name" }, 1));
+		testResult(target.getRowCount(), "missing column - getRowCount", 7);
+		testResult(Arrays.toString(target.getRow(6)), "missing column - getRow(6)", "[Name_0, City_0, null]");
+
+		target.appendDataContainer(createContainer(new String[] { "Name", "Street" }, 1));
+		testResult(target.getRowCount(), "mismatching headers - getRowCount", 7);
+
+		Filter fltr = new Filter();
+		fltr.addFilterRule("City", "City_1", EOperator.EQUALS);
+		testResult(Arrays.toString(target.getRowsIndexes(fltr)), "index after append", "[1, 3, 5]");
+
+		DataContainer sequential = createContainer(new String[] { "Name", "City", "Count" }, 0);
+		DataContainer parallel = createContainer(new String[] { "Name", "City", "Count" }, 0);
+		parallel.setParallelThreshold(100);
+		DataContainer source = createContainer(new String[] { "City", "Count", "Name" }, 5000);
+		sequential.appendDataContainer(source);
+		parallel.appendDataContainer(source);
+		testResult(parallel.getRowCount(), "parallel - getRowCount", sequential.getRowCount());
+		testResult(String.join(";", parallel.getColumn("Name")), "parallel - getColumn(Name)", String.join(";", sequential.getColumn("Name")));
+		testResult(String.join(";", parallel.getColumn("Count")), "parallel - getColumn(Count)", String.join(";", sequential.getColumn("Count")));
+
+		DataContainer all = DataContainer.concat(Arrays.asList(createContainer(new String[] { "Name", "City", "Count" }, 2), createContainer(new String[] { "City", "Count", "Name" }, 3),
+				createContainer(new String[] { "Name", "Street" }, 4), createContainer(new String[] { "Name", "City", "Count" }, 1)));
+		testResult(String.join(";", all.getHeaderNamesIndexed()), "concat - headers", "Name;City;Count");
+		testResult(all.getRowCount(), "concat - getRowCount", 6);
+		testResult(String.join(";", all.getColumn("Name")), "concat - getColumn(Name)", "Name_0;Name_1;Name_0;Name_1;Name_2;Name_0");
+		testResult(DataContainer.concat(Arrays.asList()).getRowCount(), "concat - empty list", 0);
+
+		DataContainer input = createContainer(new String[] { "Name", "City", "Count" }, 2);
+		input.createIndex("City", EIndexType.HASH);
+		DataContainer merged = DataContainer.concat(Arrays.asList(input));
+		merged.setValue("City", 0, "changed");
+		testResult(String.join(";", input.getColumn("City")), "concat - input unchanged", "City_0;City_1");
+		Filter cityFilter = new Filter();
+		cityFilter.addFilterRule("City", "City_0", EOperator.EQUALS);
+		testResult(Arrays.toString(input.getRowsIndexes(cityFilter)), "concat - index of input", "[0]");
+	}
+
+	private static DataContainer createContainer(String[] headers, int rowCount) {
+		DataContainer dc = new DataContainer();
+		dc.setHeaders(headers);
+		for (int i = 0; i < rowCount; i++) {
+			String[] row = new String[headers.length];
+			for (int j = 0; j < headers.length; j++) {
+				row[j] = headers[j].equals("Count") ? String.valueOf(i) : headers[j] + "_" + i;
+			}
+			dc.addRow(row);
+		}
+		return dc;
+	}
+}
@@ -0,0 +1,94 @@
+package RegressionTest.Container;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.opentdk.api.datastorage.BaseContainer.EContainerFormat;
+import org.opentdk.api.datastorage.BinaryDataContainer;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_binarySnapshot extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_binarySnapshot();
+	}
+
+	@Override
+	protected void runTest() {
+		File binFile = null;
+		File zipFile = null;
+		try {
+			binFile = File.createTempFile("RT_Container_binarySnapshot", ".tdkbin");
+			zipFile = File.createTempFile("RT_Container_binarySnapshot", ".tdkbin");
+
+			DataContainer dc = new DataContainer();
+			dc.setColumnDelimiter("|");
+			dc.putMetaData("Source", "import");
+			dc.setHeaders(new String[] { "ID", "Price", "City", "Comment" });
+			for (int i = 0; i < 70000; i++) {
+				dc.addRow(new String[] { String.valueOf(i - 5), String.valueOf(i * 0.25 + 0.5), "City" + (i % 7), "Comment " + i });
+			}
+			dc.setValue("Comment", 1, null);
+			dc.setValue("Comment", 2, "");
+			dc.setValue("Price", 3, "n/a");
+			dc.addRow(new String[] { "äöü €", "-0.0" });
+			dc.writeData(binFile.getPath());
+			dc.setBinaryCompression(true);
+			dc.writeData(zipFile.getPath());
+			testResult(dc.getContainerFormat().toString(), "writing keeps format", EContainerFormat.CSV.toString());
+			testResult(String.valueOf(zipFile.length() < binFile.length()), "compressed snapshot is smaller", "true");
+
+			DataContainer restored = new DataContainer(binFile.getPath());
+			testResult(restored.getContainerFormat().toString(), "format of restored container", EContainerFormat.BINARY.toString());
+			testResult(String.join(",", restored.getHeaderNamesIndexed()), "headers", String.join(",", dc.getHeaderNamesIndexed()));
+			testResult(restored.getColumnDelimiter(), "column delimiter", "|");
+			testResult(restored.getMetaData().get("Source"), "meta data", "import");
+			testResult(String.valueOf(rowsAsString(restored.getRowsList()).equals(rowsAsString(dc.getRowsList()))), "rows", "true");
+			testResult(String.valueOf(restored.getValue("Comment", 1)), "null value", "null");
+			testResult(restored.getValue("Comment", 2), "empty value", "");
+			testResult(restored.getRow(70000).length, "short row", 3);
+
+			DataContainer decompressed = new DataContainer(zipFile.getPath());
+			testResult(String.valueOf(rowsAsString(decompressed.getRowsList()).equals(rowsAsString(dc.getRowsList()))), "compressed rows", "true");
+
+			Filter fltr = new Filter();
+			fltr.addFilterRule("City", "City3", EOperator.EQUALS);
+			DataContainer filtered = new DataContainer();
+			filtered.readData(binFile.getPath(), fltr);
+			testResult(filtered.getRowCount(), "filtered rows", 10000);
+			testResult(filtered.getValue("ID", 0), "first filtered row", "-2");
+
+			filtered.writeData(binFile.getPath());
+			testResult(new DataContainer(binFile.getPath()).getRowCount(), "overwrite snapshot", 10000);
+
+			String error = "";
+			try {
+				new DataContainer().readData(binFile.getPath() + ".missing" + BinaryDataContainer.FILE_EXTENSION);
+			} catch (RuntimeException e) {
+				error = e.getCause().getClass().getSimpleName();
+			}
+			testResult(error, "missing snapshot", "NoSuchFileException");
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			for (File f : new File[] { binFile, zipFile }) {
+				if (f != null) {
+					f.delete();
+				}
+			}
+		}
+	}
+
+	private static String rowsAsString(List<String[]> rows) {
+		StringBuilder sb = new StringBuilder();
+		for (String[] row : rows) {
+			sb.append(String.join(";", row)).append('|');
+		}
+		return sb.toString();
+	}
+}
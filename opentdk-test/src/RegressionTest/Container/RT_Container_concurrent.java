@@ -0,0 +1,149 @@
+package RegressionTest.Container;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opentdk.api.datastorage.BaseContainer.EIndexType;
+import org.opentdk.api.datastorage.ConcurrentDataContainer;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_concurrent extends BaseRegression {
+
+	private static final int WRITERS = 2;
+	private static final int READERS = 6;
+	private static final int ROWS_PER_WRITER = 500;
+
+	public static void main(String[] args) {
+		new RT_Container_concurrent();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer dc = new DataContainer(new String[] { "ID", "Writer", "Value" });
+		dc.createIndex("ID", EIndexType.HASH);
+		ConcurrentDataContainer shared = new ConcurrentDataContainer(dc);
+
+		shared.addRow(new String[] { "0", "main", "a" });
+		DataContainer snapshot = shared.snapshot();
+		testResult(String.valueOf(shared.snapshot() == snapshot), "snapshot reused without changes", "true");
+		shared.setValue("Value", 0, "b");
+		testResult(snapshot.getValue("Value", 0), "old snapshot unchanged", "a");
+		testResult(shared.getValue("Value", 0), "new snapshot after change", "b");
+		String error = "";
+		try {
+			shared.snapshot().addRow(new String[] { "1", "main", "c" });
+		} catch (UnsupportedOperationException e) {
+			error = e.getClass().getSimpleName();
+		}
+		testResult(error, "snapshot is read-only", "UnsupportedOperationException");
+		checkSnapshotRows(false);
+		checkSnapshotRows(true);
+		testResult(shared.read(DataContainer::getRowCount), "read current rows", 1);
+
+		// writers add rows and update them, while readers check that each snapshot is consistent
+		AtomicInteger inconsistent = new AtomicInteger();
+		AtomicInteger reads = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+		List<Future<?>> writers = new ArrayList<>();
+		for (int w = 0; w < WRITERS; w++) {
+			String writer = "w" + w;
+			writers.add(executor.submit(() -> {
+				for (int i = 0; i < ROWS_PER_WRITER; i++) {
+					String id = writer + "-" + i;
+					shared.update(c -> {
+						c.addRow(new String[] { id, writer, "new" });
+						c.setValue("Value", c.getRowCount() - 1, "done");
+					});
+				}
+			}));
+		}
+		List<Future<?>> readers = new ArrayList<>();
+		for (int r = 0; r < READERS; r++) {
+			readers.add(executor.submit(() -> {
+				do {
+					DataContainer current = shared.snapshot();
+					Filter fltr = new Filter();
+					fltr.addFilterRule("Value", "new", EOperator.EQUALS);
+					if (!current.getRowsList(fltr).isEmpty()) {
+						inconsistent.incrementAndGet();
+					}
+					Filter idFilter = new Filter();
+					idFilter.addFilterRule("ID", current.getValue("ID", current.getRowCount() - 1), EOperator.EQUALS);
+					if (current.getRowsList(idFilter).size() != 1) {
+						inconsistent.incrementAndGet();
+					}
+					reads.incrementAndGet();
+				} while (!writers.stream().allMatch(Future::isDone));
+			}));
+		}
+		try {
+			for (Future<?> future : writers) {
+				future.get();
+			}
+			for (Future<?> future : readers) {
+				future.get();
+			}
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		} finally {
+			executor.shutdown();
+		}
+		try {
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		testResult(shared.getRowCount(), "rows after concurrent updates", 1 + WRITERS * ROWS_PER_WRITER);
+		testResult(inconsistent.get(), "inconsistent snapshots", 0);
+		testResult(String.valueOf(reads.get() > 0), "readers did read", "true");
+		Filter fltr = new Filter();
+		fltr.addFilterRule("Writer", "w1", EOperator.EQUALS);
+		testResult(shared.getValuesAsList("ID", fltr).size(), "rows of one writer", ROWS_PER_WRITER);
+		Filter idFilter = new Filter();
+		idFilter.addFilterRule("ID", "w0-42", EOperator.EQUALS);
+		testResult(shared.getValue("Value", idFilter), "index of the snapshot", "done");
+	}
+
+	/**
+	 * Checks that changes of a snapshot fail without changing the rows, that are shared by all readers
+	 * of the snapshot.
+	 */
+	private void checkSnapshotRows(boolean columnar) {
+		String mode = columnar ? ", columnar storage" : ", row storage";
+		DataContainer dc = new DataContainer(new String[] { "A", "B" });
+		dc.setColumnarStorage(columnar);
+		dc.addRow(new String[] { "1", "x" });
+		ConcurrentDataContainer shared = new ConcurrentDataContainer(dc);
+
+		String error = "";
+		try {
+			shared.snapshot().setValue("B", 0, "MUT");
+		} catch (UnsupportedOperationException e) {
+			error = e.getClass().getSimpleName();
+		}
+		testResult(error, "setValue of snapshot fails" + mode, "UnsupportedOperationException");
+		testResult(shared.snapshot().getValue("B", 0), "snapshot unchanged after setValue" + mode, "x");
+
+		error = "";
+		try {
+			shared.snapshot().deleteRow(0);
+		} catch (UnsupportedOperationException e) {
+			error = e.getClass().getSimpleName();
+		}
+		testResult(error, "deleteRow of snapshot fails" + mode, "UnsupportedOperationException");
+		testResult(shared.snapshot().getRowCount(), "rows of snapshot after deleteRow" + mode, 1);
+
+		shared.snapshot().getRow(0)[1] = "MUT";
+		testResult(shared.snapshot().getValue("B", 0), "rows of snapshot are copies" + mode, "x");
+	}
+}
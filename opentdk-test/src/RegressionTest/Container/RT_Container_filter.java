@@ -0,0 +1,123 @@
+package RegressionTest.Container;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.dispatcher.BaseDispatchComponent;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.filter.FilterRule;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_filter extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_filter();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer dc = new DataContainer();
+		dc.setHeaders(new String[] { "Name", "City", "Count" });
+		dc.addRow(new String[] { "Walter", "Muenchen", "5" });
+		dc.addRow(new String[] { "mustermann", "Berlin", "12" });
+		dc.addRow(new String[] { " Meisinger ", "Muenchen", "7" });
+		dc.addRow(new String[] { "Winkler", null, "20" });
+
+		BaseDispatchComponent[] operators = { EOperator.EQUALS, EOperator.EQUALS_IGNORE_CASE, EOperator.NOT_EQUALS, EOperator.NOT_EQUALS_IGNORE_CASE, EOperator.CONTAINS, EOperator.CONTAINS_IGNORE_CASE,
+				EOperator.STARTS_WITH, EOperator.STARTS_WITH_IGNORE_CASE, EOperator.ENDS_WITH, EOperator.ENDS_WITH_IGNORE_CASE };
+		String[][] filterValues = { { "Muenchen" }, { "muenchen" }, { "Berlin", "Muenchen" }, { "ue" }, { "BER" }, { "n" } };
+		for (BaseDispatchComponent operator : operators) {
+			for (String[] vals : filterValues) {
+				Filter fltr = new Filter();
+				fltr.addFilterRule("City", vals, operator);
+				String expected = "";
+				for (int i = 0; i < dc.getRowCount(); i++) {
+					if (new FilterRule("City", vals, operator).checkValue(dc.getRow(i)[1])) {
+						expected += (expected.isEmpty() ? "" : ",") + i;
+					}
+				}
+				String actual = Arrays.toString(dc.getRowsIndexes(fltr)).replaceAll("[\\[\\] ]", "");
+				testResult(actual, "getRowsIndexes " + operator.getValue() + " " + String.join(",", vals), expected);
+			}
+		}
+
+		Filter fltr = new Filter();
+		fltr.addFilterRule("Count", "6", EOperator.GREATER_THAN);
+		fltr.addFilterRule("City", "Muenchen", EOperator.EQUALS);
+		testResult(Arrays.toString(dc.getRowsIndexes(fltr)), "getRowsIndexes with two rules", "[2]");
+		testResult(String.join(";", dc.getColumn("Name", fltr)), "getColumn with two rules", " Meisinger ");
+
+		fltr = new Filter();
+		fltr.addFilterRule("Count", "10", EOperator.LESS_THAN);
+		fltr.addFilterRule("Name", "*", EOperator.EQUALS);
+		fltr.addFilterRule("City", "Berlin", EOperator.EQUALS);
+		testResult(Arrays.toString(dc.getRowsIndexes(fltr)), "getRowsIndexes with wildcard", "[0, 2]");
+		testResult(dc.getRowsList(fltr).size(), "getRowsList with wildcard", 2);
+
+		fltr = new Filter();
+		fltr.addFilterRule("Street", "Main", EOperator.EQUALS);
+		String error = "";
+		try {
+			dc.getRowsIndexes(fltr);
+		} catch (RuntimeException e) {
+			error = e.getCause().getClass().getSimpleName();
+		}
+		testResult(error, "getRowsIndexes with unknown header", "NoSuchHeaderException");
+
+		testResult(regexIndexes(dc, "ue.c", EOperator.CONTAINS), "regex CONTAINS", "[0, 2]");
+		testResult(regexIndexes(dc, "UE.C", EOperator.CONTAINS_IGNORE_CASE), "regex CONTAINS_IGNORE_CASE", "[0, 2]");
+		testResult(regexIndexes(dc, "M|B", EOperator.STARTS_WITH), "regex STARTS_WITH with alternation", "[0, 1, 2]");
+		testResult(regexIndexes(dc, "b[a-z]+", EOperator.STARTS_WITH_IGNORE_CASE), "regex STARTS_WITH_IGNORE_CASE", "[1]");
+		testResult(regexIndexes(dc, "l?in", EOperator.ENDS_WITH), "regex ENDS_WITH", "[1]");
+		testResult(regexIndexes(dc, "CHEN", EOperator.ENDS_WITH_IGNORE_CASE), "regex ENDS_WITH_IGNORE_CASE", "[0, 2]");
+		testResult(regexIndexes(dc, "M.*n", EOperator.EQUALS), "regex EQUALS", "[0, 2]");
+		testResult(regexIndexes(dc, "ue", EOperator.EQUALS), "regex EQUALS matches complete value", "[]");
+		testResult(regexIndexes(dc, "m.*N", EOperator.EQUALS_IGNORE_CASE), "regex EQUALS_IGNORE_CASE", "[0, 2]");
+		testResult(regexIndexes(dc, "M.*", EOperator.NOT_EQUALS), "regex NOT_EQUALS", "[1]");
+		FilterRule regexRule = new FilterRule("City", new String[] { "^B", "chen$" }, EOperator.CONTAINS, FilterRule.ERuleFormat.REGEX);
+		testResult(String.valueOf(regexRule.checkValue("Berlin")), "regex checkValue first value", "true");
+		testResult(String.valueOf(regexRule.checkValue("Muenchen")), "regex checkValue second value", "true");
+		testResult(String.valueOf(regexRule.checkValue("Hamburg")), "regex checkValue no value", "false");
+
+		fltr = new Filter();
+		fltr.addFilterRule("City", "Muenchen", EOperator.EQUALS);
+		dc.deleteRows(fltr);
+		testResult(dc.getRowCount(), "deleteRows - getRowCount", 2);
+		testResult(String.join(";", dc.getColumn("Name")), "deleteRows - remaining rows", "mustermann;Winkler");
+
+		File csvFile = null;
+		try {
+			csvFile = File.createTempFile("RT_Container_filter", ".csv");
+			Files.write(csvFile.toPath(), "Name;City;Count\nWalter;Muenchen;5\nmustermann;Berlin;12\nMeisinger;Muenchen;7\n".getBytes(StandardCharsets.UTF_8));
+			Filter loadFilter = new Filter();
+			loadFilter.addFilterRule("City", "Muenchen", EOperator.EQUALS);
+			DataContainer filtered = new DataContainer(csvFile.getPath(), ";", loadFilter);
+			testResult(String.join(";", filtered.getColumn("Name")), "filtered load", "Walter;Meisinger");
+			filtered.addRow(new String[] { "Kunz", "Berlin", "3" });
+			filtered.addRow(new String[] { "Lang", "Muenchen", "3" });
+			testResult(String.join(";", filtered.getColumn("Name")), "addRow with filter of the load", "Walter;Meisinger;Lang");
+			loadFilter.addFilterRule("Count", "6", EOperator.GREATER_THAN);
+			filtered.addRow(new String[] { "Roth", "Muenchen", "3" });
+			filtered.addRow(new String[] { "Vogt", "Muenchen", "9" });
+			testResult(String.join(";", filtered.getColumn("Name")), "addRow after adding a rule", "Walter;Meisinger;Lang;Vogt");
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (csvFile != null) {
+				csvFile.delete();
+			}
+		}
+	}
+
+	private static String regexIndexes(DataContainer dc, String regex, BaseDispatchComponent operator) {
+		Filter fltr = new Filter();
+		fltr.addFilterRule("City", regex, operator, FilterRule.ERuleFormat.REGEX);
+		return Arrays.toString(dc.getRowsIndexes(fltr));
+	}
+}
@@ -0,0 +1,97 @@
+package RegressionTest.Container;
+
+import static org.opentdk.api.datastorage.Aggregation.count;
+import static org.opentdk.api.datastorage.Aggregation.max;
+import static org.opentdk.api.datastorage.Aggregation.mean;
+import static org.opentdk.api.datastorage.Aggregation.min;
+import static org.opentdk.api.datastorage.Aggregation.p50;
+import static org.opentdk.api.datastorage.Aggregation.p99;
+import static org.opentdk.api.datastorage.Aggregation.stdDev;
+import static org.opentdk.api.datastorage.Aggregation.sum;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+import org.opentdk.api.util.MathUtil;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_groupBy extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_groupBy();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer dc = new DataContainer();
+		dc.setHeaders(new String[] { "Host", "Day", "Latency" });
+		dc.addRow(new String[] { "web1", "Mon", "10" });
+		dc.addRow(new String[] { "web2", "Mon", "20" });
+		dc.addRow(new String[] { "web1", "Mon", "30" });
+		dc.addRow(new String[] { "web1", "Tue", "5" });
+		dc.addRow(new String[] { "web2", "Mon", "" });
+		dc.addRow(new String[] { "web1", "Mon", "50" });
+
+		DataContainer stats = dc.groupBy("Host", "Day").agg(count(), count("Latency"), sum("Latency"), mean("Latency"), min("Latency"), max("Latency"), p50("Latency"), stdDev("Latency").as("Deviation"));
+		testResult(String.join(";", stats.getHeaderNamesIndexed()), "headers", "Host;Day;count;count(Latency);sum(Latency);mean(Latency);min(Latency);max(Latency);p50(Latency);Deviation");
+		testResult(stats.getRowCount(), "number of groups", 3);
+		testResult(String.join(";", stats.getRow(0)), "group web1 Mon", "web1;Mon;3;3;90.0;30.0;10.0;50.0;30.0;20.0");
+		testResult(String.join(";", stats.getRow(1)), "group web2 Mon", "web2;Mon;2;1;20.0;20.0;20.0;20.0;20.0;0.0");
+		testResult(String.join(";", stats.getRow(2)), "group web1 Tue", "web1;Tue;1;1;5.0;5.0;5.0;5.0;5.0;0.0");
+
+		testResult(String.join(";", dc.groupBy().agg(count(), max("Latency")).getRow(0)), "without group columns", "6;50.0");
+		Filter fltr = new Filter();
+		fltr.addFilterRule("Day", "Mon", EOperator.EQUALS);
+		testResult(String.join(";", dc.groupBy(fltr, "Day").agg(count()).getRow(0)), "with filter", "Mon;5");
+
+		DataContainer empty = new DataContainer();
+		empty.setHeaders(new String[] { "Host", "Latency" });
+		empty.addRow(new String[] { "web1", "" });
+		testResult(String.join(";", empty.groupBy("Host").agg(mean("Latency"), p99("Latency"), stdDev("Latency")).getRow(0)), "group without values", "web1;NaN;NaN;NaN");
+
+		String error = "";
+		try {
+			dc.groupBy("Street").agg(count());
+		} catch (RuntimeException e) {
+			error = e.getCause().getClass().getSimpleName();
+		}
+		testResult(error, "unknown header", "NoSuchHeaderException");
+
+		DataContainer large = new DataContainer();
+		large.setHeaders(new String[] { "Host", "Latency" });
+		for (int i = 0; i < 5000; i++) {
+			large.addRow(new String[] { "web" + (i % 7), String.valueOf((i * 37) % 1000) });
+		}
+		DataContainer sequential = large.groupBy("Host").agg(count(), sum("Latency"), min("Latency"), max("Latency"), p99("Latency"));
+		large.setParallelThreshold(100);
+		DataContainer parallel = large.groupBy("Host").agg(count(), sum("Latency"), min("Latency"), max("Latency"), p99("Latency"));
+		testResult(parallel.getRowCount(), "parallel - number of groups", sequential.getRowCount());
+		for (int i = 0; i < sequential.getRowCount(); i++) {
+			testResult(String.join(";", parallel.getRow(i)), "parallel - group " + i, String.join(";", sequential.getRow(i)));
+		}
+
+		Filter web3 = new Filter();
+		web3.addFilterRule("Host", "web3", EOperator.EQUALS);
+		DataContainer web3Stats = large.groupBy(web3, "Host").agg(mean("Latency"), p99("Latency"), stdDev("Latency"));
+		testResult(round(web3Stats.getValue("mean(Latency)", 0)), "mean like MathUtil", round(String.valueOf(MathUtil.getArithmeticMean(large.getValuesAsDoubleList("Latency", web3)))));
+		testResult(web3Stats.getValue("p99(Latency)", 0), "p99 like MathUtil", String.valueOf(MathUtil.getPercentile(large.getValuesAsDoubleList("Latency", web3), 99)));
+		testResult(round(web3Stats.getValue("stdDev(Latency)", 0)), "stdDev like MathUtil", round(String.valueOf(MathUtil.getStandardDeviation(large.getValuesAsDoubleList("Latency", web3)))));
+
+		large.addRow(new String[] { "web1", "n/a" });
+		for (int threshold : new int[] { 0, 100 }) {
+			large.setParallelThreshold(threshold);
+			error = "";
+			try {
+				large.groupBy("Host").agg(sum("Latency"));
+			} catch (RuntimeException e) {
+				error = e.getCause().getMessage();
+			}
+			testResult(error, "value, that is not a number - parallel threshold " + threshold, "Value 'n/a' of column Latency is not a number!");
+		}
+	}
+
+	private static String round(String value) {
+		return String.format("%.6f", Double.parseDouble(value));
+	}
+}
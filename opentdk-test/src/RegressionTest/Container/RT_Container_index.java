@@ -0,0 +1,115 @@
+package RegressionTest.Container;
+
+import java.util.Arrays;
+
+import org.opentdk.api.datastorage.BaseContainer.EIndexType;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.dispatcher.BaseDispatchComponent;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_index extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_index();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer indexed = createContainer();
+		DataContainer plain = createContainer();
+		indexed.createIndex("ID", EIndexType.HASH);
+		indexed.createIndex("City", EIndexType.SORTED);
+		indexed.createIndex("Count", EIndexType.SORTED);
+
+		compare(indexed, plain, "created");
+		testResult(Arrays.toString(indexed.getRowsIndexes(filter("ID", "3", EOperator.EQUALS))), "getRowsIndexes ID = 3", "[2]");
+		testResult(Arrays.toString(indexed.getRowsIndexes(filter("Count", "10", EOperator.GREATER_THAN))), "getRowsIndexes Count > 10", "[1, 3, 4]");
+		testResult(indexed.getValue("City", filter("ID", "4", EOperator.EQUALS)), "getValue with index", "Hamburg");
+		testResult(String.join(";", indexed.getColumn("ID", filter("City", "Muenchen", EOperator.EQUALS))), "getColumn with index", "1;3");
+
+		for (DataContainer dc : new DataContainer[] { indexed, plain }) {
+			dc.addRow(new String[] { "6", "Berlin", "3" });
+			dc.addRow(1, new String[] { "7", "Muenchen", "40" });
+		}
+		compare(indexed, plain, "addRow");
+
+		for (DataContainer dc : new DataContainer[] { indexed, plain }) {
+			dc.setRow(0, new String[] { "8", " Berlin ", "12" });
+			dc.setValue("City", 3, "Hamburg");
+			dc.setValue("Count", 2, "11");
+			dc.mergeRows(4, new String[] { null, "Koeln", null });
+		}
+		compare(indexed, plain, "setRow, setValue, mergeRows");
+
+		for (DataContainer dc : new DataContainer[] { indexed, plain }) {
+			dc.deleteRow(2);
+			dc.deleteRow(dc.getRowCount() - 1);
+		}
+		compare(indexed, plain, "deleteRow");
+
+		for (DataContainer dc : new DataContainer[] { indexed, plain }) {
+			dc.deleteRows(filter("City", "Hamburg", EOperator.EQUALS));
+		}
+		compare(indexed, plain, "deleteRows");
+
+		for (DataContainer dc : new DataContainer[] { indexed, plain }) {
+			dc.setValue("Count", 0, "n/a");
+		}
+		compare(indexed, plain, "not numeric");
+
+		indexed.dropIndex("ID");
+		compare(indexed, plain, "dropIndex");
+	}
+
+	private static DataContainer createContainer() {
+		DataContainer dc = new DataContainer();
+		dc.setHeaders(new String[] { "ID", "City", "Count" });
+		dc.addRow(new String[] { "1", "Muenchen", "5" });
+		dc.addRow(new String[] { "2", "Berlin", "12" });
+		dc.addRow(new String[] { "3", "Muenchen", "7" });
+		dc.addRow(new String[] { "4", "Hamburg", "20" });
+		dc.addRow(new String[] { "5", null, "012" });
+		return dc;
+	}
+
+	private static Filter filter(String headerName, String value, BaseDispatchComponent operator) {
+		Filter fltr = new Filter();
+		fltr.addFilterRule(headerName, value, operator);
+		return fltr;
+	}
+
+	private static void compare(DataContainer indexed, DataContainer plain, String step) {
+		String[][] rules = { { "ID", "1" }, { "ID", "3" }, { "ID", "8" }, { "City", "Berlin" }, { "City", "Muenchen" }, { "City", "Hamburg" }, { "City", "Koeln" } };
+		for (String[] rule : rules) {
+			Filter fltr = filter(rule[0], rule[1], EOperator.EQUALS);
+			testResult(Arrays.toString(indexed.getRowsIndexes(fltr)), step + " - " + rule[0] + " = " + rule[1], Arrays.toString(plain.getRowsIndexes(fltr)));
+		}
+		Filter multi = new Filter();
+		multi.addFilterRule("ID", new String[] { "2", "5", "7" }, EOperator.EQUALS);
+		testResult(indexed.getRowsList(multi).size(), step + " - ID in (2, 5, 7)", plain.getRowsList(multi).size());
+		Filter twoRules = filter("City", "Muenchen", EOperator.EQUALS);
+		twoRules.addFilterRule("ID", "3", EOperator.EQUALS);
+		testResult(Arrays.toString(indexed.getRowsIndexes(twoRules)), step + " - two rules", Arrays.toString(plain.getRowsIndexes(twoRules)));
+		for (String limit : new String[] { "7", "12" }) {
+			for (BaseDispatchComponent operator : new BaseDispatchComponent[] { EOperator.GREATER_THAN, EOperator.LESS_THAN }) {
+				Filter range = filter("Count", limit, operator);
+				String expected;
+				try {
+					expected = Arrays.toString(plain.getRowsIndexes(range));
+				} catch (NumberFormatException e) {
+					expected = "NumberFormatException";
+				}
+				String actual;
+				try {
+					actual = Arrays.toString(indexed.getRowsIndexes(range));
+				} catch (NumberFormatException e) {
+					actual = "NumberFormatException";
+				}
+				testResult(actual, step + " - Count " + operator.getValue() + " " + limit, expected);
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package RegressionTest.Container;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.opentdk.api.datastorage.BaseContainer.EJoinType;
+import org.opentdk.api.datastorage.DataContainer;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_join extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_join();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer metrics = new DataContainer();
+		metrics.setHeaders(new String[] { "HostID", "Latency", "Name" });
+		metrics.addRow(new String[] { "1", "10", "a" });
+		metrics.addRow(new String[] { "2", "20", "b" });
+		metrics.addRow(new String[] { "3", "30", "c" });
+		metrics.addRow(new String[] { "1", "40", "d" });
+		metrics.addRow(new String[] { null, "50", "e" });
+
+		DataContainer hosts = new DataContainer();
+		hosts.setHeaders(new String[] { "Name", "ID" });
+		hosts.addRow(new String[] { "web1", "1" });
+		hosts.addRow(new String[] { "web2", "2" });
+		hosts.addRow(new String[] { "web2b", "2" });
+
+		DataContainer inner = metrics.join(hosts, "HostID", "ID", EJoinType.INNER);
+		testResult(String.join(";", inner.getHeaderNamesIndexed()), "headers", "HostID;Latency;Name;Name_2");
+		testResult(rowsAsString(inner.getRowsList()), "INNER - build on smaller right side", "1;10;a;web1|2;20;b;web2|2;20;b;web2b|1;40;d;web1|");
+		DataContainer leftJoin = metrics.join(hosts, "HostID", "ID", EJoinType.LEFT);
+		testResult(rowsAsString(leftJoin.getRowsList()), "LEFT - build on smaller right side", "1;10;a;web1|2;20;b;web2|2;20;b;web2b|3;30;c;null|1;40;d;web1|null;50;e;null|");
+
+		DataContainer reversed = hosts.join(metrics, "ID", "HostID", EJoinType.LEFT);
+		testResult(String.join(";", reversed.getHeaderNamesIndexed()), "headers - build on smaller left side", "Name;ID;Latency;Name_2");
+		testResult(rowsAsString(reversed.getRowsList()), "LEFT - build on smaller left side", "web1;1;10;a|web1;1;40;d|web2;2;20;b|web2b;2;20;b|");
+		hosts.addRow(new String[] { "web9", "9" });
+		testResult(rowsAsString(hosts.join(metrics, "ID", "HostID", EJoinType.LEFT).getRowsList()), "LEFT - left row without match", "web1;1;10;a|web1;1;40;d|web2;2;20;b|web2b;2;20;b|web9;9;null;null|");
+		testResult(hosts.join(metrics, "ID", "HostID", EJoinType.INNER).getRowCount(), "INNER - left row without match", 4);
+
+		DataContainer emptyLeft = new DataContainer();
+		emptyLeft.setHeaders(new String[] { "Key", "Value" });
+		emptyLeft.addRow(new String[] { "", "x" });
+		emptyLeft.addRow(new String[] { "1", "y" });
+		DataContainer emptyRight = new DataContainer();
+		emptyRight.setHeaders(new String[] { "Key", "Info" });
+		emptyRight.addRow(new String[] { "", "i" });
+		emptyRight.addRow(new String[] { "1", "j" });
+		emptyRight.addRow(new String[] { "2", "k" });
+		testResult(rowsAsString(emptyLeft.join(emptyRight, "Key", "Key", EJoinType.INNER).getRowsList()), "INNER - empty keys never match", "1;y;j|");
+		testResult(rowsAsString(emptyLeft.join(emptyRight, "Key", "Key", EJoinType.LEFT).getRowsList()), "LEFT - empty keys never match", ";x;null|1;y;j|");
+		testResult(rowsAsString(emptyRight.join(emptyLeft, "Key", "Key", EJoinType.INNER).getRowsList()), "INNER - empty keys of the build side", "1;j;y|");
+
+		String error = "";
+		try {
+			metrics.join(hosts, "Host", "ID", EJoinType.INNER);
+		} catch (RuntimeException e) {
+			error = e.getCause().getClass().getSimpleName();
+		}
+		testResult(error, "unknown header", "NoSuchHeaderException");
+
+		DataContainer large = new DataContainer();
+		large.setHeaders(new String[] { "Key", "Value" });
+		for (int i = 0; i < 3000; i++) {
+			large.addRow(new String[] { String.valueOf((i * 13) % 700), "v" + i });
+		}
+		DataContainer small = new DataContainer();
+		small.setHeaders(new String[] { "Key", "Info" });
+		for (int i = 0; i < 500; i++) {
+			small.addRow(new String[] { String.valueOf(i), "i" + i });
+		}
+		String expected = rowsAsString(nestedLoopJoin(large, small));
+		testResult(rowsAsString(large.join(small, "Key", "Key", EJoinType.INNER).getRowsList()), "large INNER like nested loops", expected);
+		String expectedReversed = rowsAsString(nestedLoopJoin(small, large));
+		testResult(rowsAsString(small.join(large, "Key", "Key", EJoinType.INNER).getRowsList()), "large reversed INNER like nested loops", expectedReversed);
+		large.setParallelThreshold(100);
+		small.setParallelThreshold(100);
+		testResult(rowsAsString(large.join(small, "Key", "Key", EJoinType.INNER).getRowsList()), "parallel probe of left rows", expected);
+		testResult(rowsAsString(small.join(large, "Key", "Key", EJoinType.INNER).getRowsList()), "parallel probe of right rows", expectedReversed);
+	}
+
+	private static List<String[]> nestedLoopJoin(DataContainer left, DataContainer right) {
+		List<String[]> ret = new ArrayList<>();
+		for (String[] leftRow : left.getRowsList()) {
+			for (String[] rightRow : right.getRowsList()) {
+				if (leftRow[0].equals(rightRow[0])) {
+					String[] row = Arrays.copyOf(leftRow, 3);
+					row[2] = rightRow[1];
+					ret.add(row);
+				}
+			}
+		}
+		return ret;
+	}
+
+	private static String rowsAsString(List<String[]> rows) {
+		StringBuilder sb = new StringBuilder();
+		for (String[] row : rows) {
+			sb.append(String.join(";", row)).append('|');
+		}
+		return sb.toString();
+	}
+}
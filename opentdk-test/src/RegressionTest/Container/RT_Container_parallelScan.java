@@ -0,0 +1,96 @@
+package RegressionTest.Container;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.dispatcher.BaseDispatchComponent;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.filter.FilterRule;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_parallelScan extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_parallelScan();
+	}
+
+	@Override
+	protected void runTest() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		DataContainer parallel = createContainer();
+		DataContainer sequential = createContainer();
+		parallel.setForkJoinPool(pool);
+		parallel.setParallelThreshold(100);
+		testResult(String.valueOf(parallel.getForkJoinPool() == pool), "getForkJoinPool", "true");
+		testResult(parallel.getParallelThreshold(), "getParallelThreshold", 100);
+		testResult(sequential.getParallelThreshold(), "getParallelThreshold default", 0);
+
+		Filter[] filters = { filter("City", "Berlin", EOperator.EQUALS), filter("Count", "500", EOperator.GREATER_THAN), filter("Name", "Name_1.*7", EOperator.EQUALS, FilterRule.ERuleFormat.REGEX),
+				filter("City", "Wien", EOperator.EQUALS), new Filter() };
+		for (int i = 0; i < filters.length; i++) {
+			Filter fltr = filters[i];
+			testResult(Arrays.toString(parallel.getRowsIndexes(fltr)), "getRowsIndexes filter " + i, Arrays.toString(sequential.getRowsIndexes(fltr)));
+			testResult(rowsAsString(parallel.getRowsList(fltr)), "getRowsList filter " + i, rowsAsString(sequential.getRowsList(fltr)));
+			testResult(parallel.getValuesAsDoubleList("Count", fltr).toString(), "getValuesAsDoubleList filter " + i, sequential.getValuesAsDoubleList("Count", fltr).toString());
+			testResult(String.join(";", parallel.getColumn("Name", fltr)), "getColumn filter " + i, String.join(";", sequential.getColumn("Name", fltr)));
+		}
+
+		BitSet berlin = parallel.getRowsSelection(filters[0]);
+		testResult(parallel.getRowsSelection(filters[1], berlin).toString(), "getRowsSelection with selection", sequential.getRowsSelection(filters[1], sequential.getRowsSelection(filters[0])).toString());
+
+		Filter unknown = filter("Street", "Main", EOperator.EQUALS);
+		String error = "";
+		try {
+			parallel.getRowsIndexes(unknown);
+		} catch (RuntimeException e) {
+			error = e.getCause().getClass().getSimpleName();
+		}
+		testResult(error, "getRowsIndexes with unknown header", "NoSuchHeaderException");
+
+		for (DataContainer dc : new DataContainer[] { parallel, sequential }) {
+			dc.deleteRows(filters[0]);
+		}
+		testResult(parallel.getRowCount(), "deleteRows - getRowCount", sequential.getRowCount());
+		testResult(rowsAsString(parallel.getRowsList()), "deleteRows - remaining rows", rowsAsString(sequential.getRowsList()));
+
+		DataContainer small = createContainer();
+		small.setParallelThreshold(100000);
+		testResult(Arrays.toString(small.getRowsIndexes(filters[0])), "below threshold", Arrays.toString(createContainer().getRowsIndexes(filters[0])));
+		pool.shutdown();
+	}
+
+	private static DataContainer createContainer() {
+		String[] cities = { "Muenchen", "Berlin", "Hamburg", "Koeln", "Berlin" };
+		DataContainer dc = new DataContainer();
+		dc.setHeaders(new String[] { "Name", "City", "Count" });
+		for (int i = 0; i < 5000; i++) {
+			dc.addRow(new String[] { "Name_" + i, cities[i % cities.length], String.valueOf((i * 7) % 1000) });
+		}
+		return dc;
+	}
+
+	private static Filter filter(String headerName, String value, BaseDispatchComponent operator) {
+		Filter fltr = new Filter();
+		fltr.addFilterRule(headerName, value, operator);
+		return fltr;
+	}
+
+	private static Filter filter(String headerName, String value, BaseDispatchComponent operator, FilterRule.ERuleFormat format) {
+		Filter fltr = new Filter();
+		fltr.addFilterRule(headerName, value, operator, format);
+		return fltr;
+	}
+
+	private static String rowsAsString(List<String[]> rows) {
+		StringBuilder sb = new StringBuilder();
+		for (String[] row : rows) {
+			sb.append(String.join(";", row)).append('\n');
+		}
+		return sb.toString();
+	}
+}
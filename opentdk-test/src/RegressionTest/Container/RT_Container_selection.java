@@ -0,0 +1,66 @@
+package RegressionTest.Container;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.opentdk.api.datastorage.BaseContainer.EIndexType;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_selection extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_selection();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer dc = new DataContainer();
+		dc.setHeaders(new String[] { "Name", "City", "Type" });
+		dc.addRow(new String[] { "Walter", "Muenchen", "Customer" });
+		dc.addRow(new String[] { "Mustermann", "Berlin", "Supplier" });
+		dc.addRow(new String[] { "Meisinger", "Muenchen", "Supplier" });
+		dc.addRow(new String[] { "Winkler", "Berlin", "Customer" });
+		dc.addRow(new String[] { "Huber", "Hamburg", "Customer" });
+
+		Filter munichFilter = new Filter();
+		munichFilter.addFilterRule("City", "Muenchen", EOperator.EQUALS);
+		Filter berlinFilter = new Filter();
+		berlinFilter.addFilterRule("City", "Berlin", EOperator.EQUALS);
+		Filter customerFilter = new Filter();
+		customerFilter.addFilterRule("Type", "Customer", EOperator.EQUALS);
+
+		BitSet munich = dc.getRowsSelection(munichFilter);
+		testResult(munich.toString(), "getRowsSelection", "{0, 2}");
+		testResult(Arrays.toString(dc.getRowsIndexes(munichFilter)), "getRowsIndexes", "[0, 2]");
+		testResult(Arrays.toString(dc.getRowsIndexes(new Filter())), "getRowsIndexes without rules", "[0, 1, 2, 3, 4]");
+		Filter noMatch = new Filter();
+		noMatch.addFilterRule("City", "Wien", EOperator.EQUALS);
+		testResult(Arrays.toString(dc.getRowsIndexes(noMatch)), "getRowsIndexes without match", "[]");
+
+		BitSet cities = dc.getRowsSelection(munichFilter);
+		cities.or(dc.getRowsSelection(berlinFilter));
+		testResult(cities.toString(), "OR of two selections", "{0, 1, 2, 3}");
+
+		BitSet customers = dc.getRowsSelection(customerFilter, cities);
+		testResult(customers.toString(), "AND with existing selection", "{0, 3}");
+		testResult(cities.toString(), "existing selection unchanged", "{0, 1, 2, 3}");
+
+		List<String[]> rows = dc.getRowsList(customers);
+		testResult(rows.size(), "getRowsList(selection) - size", 2);
+		testResult(rows.get(1)[0], "getRowsList(selection) - name", "Winkler");
+
+		dc.createIndex("City", EIndexType.HASH);
+		testResult(dc.getRowsSelection(customerFilter, dc.getRowsSelection(berlinFilter)).toString(), "AND with index", "{3}");
+		Filter indexed = new Filter();
+		indexed.addFilterRule("City", "Berlin", EOperator.EQUALS);
+		BitSet suppliers = new BitSet();
+		suppliers.set(1);
+		suppliers.set(2);
+		testResult(dc.getRowsSelection(indexed, suppliers).toString(), "index with existing selection", "{1}");
+	}
+}
@@ -0,0 +1,88 @@
+package RegressionTest.Container;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opentdk.api.datastorage.DataContainer;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_sort extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_sort();
+	}
+
+	@Override
+	protected void runTest() {
+		DataContainer dc = new DataContainer();
+		dc.setHeaders(new String[] { "Host", "Day", "Latency" });
+		dc.addRow(new String[] { "web2", "02.01.2023", "100" });
+		dc.addRow(new String[] { "web10", "31.12.2022", "9" });
+		dc.addRow(new String[] { "web1", "15.03.2022", "" });
+		dc.addRow(new String[] { "web3", "02.01.2023", "20.5" });
+		dc.addRow(new String[] { "web4", "", "9" });
+
+		testResult(getColumn(dc.sort("Latency"), "Host"), "numeric", "web10;web4;web3;web2;web1");
+		testResult(getColumn(dc.sort("Day"), "Host"), "date", "web1;web10;web2;web3;web4");
+		testResult(getColumn(dc.sort("Host"), "Host"), "string", "web1;web10;web2;web3;web4");
+		testResult(getColumn(dc.sort("Day", "Latency"), "Host"), "two columns", "web1;web10;web3;web2;web4");
+		testResult(getColumn(dc, "Host"), "container unchanged", "web2;web10;web1;web3;web4");
+
+		DataContainer times = new DataContainer();
+		times.setHeaders(new String[] { "Time" });
+		times.addRow(new String[] { "2023-01-02 10:00:00.500" });
+		times.addRow(new String[] { "2022-12-31 23:59:59.999" });
+		times.addRow(new String[] { "2023-01-02 10:00:00.050" });
+		testResult(getColumn(times.sort("Time"), "Time"), "time stamps", "2022-12-31 23:59:59.999;2023-01-02 10:00:00.050;2023-01-02 10:00:00.500");
+
+		testResult(getColumn(dc.topN("Latency", 3), "Host"), "topN", "web2;web3;web10");
+		testResult(getColumn(dc.topN("Latency", 10), "Host"), "topN - more than all rows", "web2;web3;web10;web4;web1");
+		testResult(dc.topN("Latency", 0).getRowCount(), "topN - no rows", 0);
+
+		DataContainer sorted = dc.sort("Host");
+		sorted.setValue("Latency", 0, "1");
+		DataContainer top = dc.topN("Latency", 1);
+		top.setValue("Latency", 0, "2");
+		testResult(getColumn(dc, "Latency"), "container unchanged by changing the results", "100;9;;20.5;9");
+
+		String error = "";
+		try {
+			dc.sort("Street");
+		} catch (RuntimeException e) {
+			error = e.getCause().getClass().getSimpleName();
+		}
+		testResult(error, "unknown header", "NoSuchHeaderException");
+
+		DataContainer large = new DataContainer();
+		large.setHeaders(new String[] { "Group", "Value" });
+		for (int i = 0; i < 5000; i++) {
+			large.addRow(new String[] { "g" + (i % 13), String.valueOf((i * 7919) % 1000) });
+		}
+		List<String[]> expected = new ArrayList<>(large.getRowsList());
+		expected.sort((row1, row2) -> {
+			int ret = row1[0].compareTo(row2[0]);
+			return ret != 0 ? ret : Integer.compare(Integer.parseInt(row1[1]), Integer.parseInt(row2[1]));
+		});
+		String sequential = rowsAsString(large.sort("Group", "Value").getRowsList());
+		testResult(sequential, "large - like list sort", rowsAsString(expected));
+		large.setParallelThreshold(100);
+		testResult(rowsAsString(large.sort("Group", "Value").getRowsList()), "large - parallel sort", sequential);
+
+		List<String[]> byValue = new ArrayList<>(large.getRowsList());
+		byValue.sort((row1, row2) -> Integer.compare(Integer.parseInt(row2[1]), Integer.parseInt(row1[1])));
+		testResult(rowsAsString(large.topN("Value", 25).getRowsList()), "large - topN like sorted list", rowsAsString(byValue.subList(0, 25)));
+	}
+
+	private static String getColumn(DataContainer dc, String headerName) {
+		return String.join(";", dc.getColumn(headerName));
+	}
+
+	private static String rowsAsString(List<String[]> rows) {
+		StringBuilder sb = new StringBuilder();
+		for (String[] row : rows) {
+			sb.append(String.join(";", row)).append('|');
+		}
+		return sb.toString();
+	}
+}
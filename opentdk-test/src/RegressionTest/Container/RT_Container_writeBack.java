@@ -0,0 +1,138 @@
+package RegressionTest.Container;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.opentdk.api.datastorage.BaseContainer.EWriteBack;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_Container_writeBack extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_Container_writeBack();
+	}
+
+	// the batches are only opened and closed by the try-with-resources statements
+	@SuppressWarnings("try")
+	@Override
+	protected void runTest() {
+		File csvFile = null;
+		File xmlFile = null;
+		try {
+			csvFile = File.createTempFile("RT_Container_writeBack", ".csv");
+			xmlFile = File.createTempFile("RT_Container_writeBack", ".xml");
+			writeFile(csvFile, "Name;City\nWalter;Muenchen\nWinkler;Berlin\n");
+			DataContainer dc = new DataContainer();
+			dc.setColumnDelimiter(";");
+			dc.readData(csvFile.getPath());
+			testResult(dc.getWriteBack().toString(), "getWriteBack default", "IMMEDIATE");
+
+			dc.setValue("City", 0, "Hamburg");
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Hamburg")), "IMMEDIATE - written", "true");
+
+			dc.setWriteBack(EWriteBack.BATCHED);
+			dc.setValue("City", 0, "Koeln");
+			dc.setValue("City", 1, "Bonn");
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Hamburg")), "BATCHED - not written before flush", "true");
+			dc.flush();
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Koeln") && readFile(csvFile).contains("Winkler;Bonn")), "BATCHED - written by flush", "true");
+
+			dc.setValue("City", 0, "Essen");
+			dc.setWriteBack(EWriteBack.IMMEDIATE);
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Essen")), "switch to IMMEDIATE writes pending changes", "true");
+
+			try (DataContainer.WriteBatch batch = dc.beginBatch()) {
+				dc.setValue("City", 0, "Dresden");
+				try (DataContainer.WriteBatch inner = dc.beginBatch()) {
+					dc.setValue("City", 1, "Leipzig");
+				}
+				testResult(String.valueOf(readFile(csvFile).contains("Walter;Essen")), "batch - not written before outermost close", "true");
+			}
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Dresden") && readFile(csvFile).contains("Winkler;Leipzig")), "batch - written by close", "true");
+
+			Filter fltr = new Filter();
+			fltr.addFilterRule("City", "Leipzig", EOperator.EQUALS);
+			dc.setWriteBack(EWriteBack.BATCHED);
+			dc.deleteRows(fltr);
+			testResult(String.valueOf(readFile(csvFile).contains("Winkler")), "deleteRows - not written before flush", "true");
+			dc.flush();
+			testResult(String.valueOf(readFile(csvFile).contains("Winkler")), "deleteRows - written by flush", "false");
+
+			dc.setWriteBack(EWriteBack.COALESCING);
+			dc.setWriteBackLimit(2);
+			dc.setWriteBackDelay(60000);
+			dc.setValue("City", 0, "Kiel");
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Dresden")), "COALESCING - not written below limit", "true");
+			dc.setValue("City", 0, "Mainz");
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Mainz")), "COALESCING - written at limit", "true");
+
+			dc.setWriteBackLimit(1000);
+			dc.setWriteBackDelay(50);
+			dc.setValue("City", 0, "Trier");
+			boolean written = false;
+			for (int i = 0; (i < 100) && !written; i++) {
+				Thread.sleep(50);
+				written = readFile(csvFile).contains("Walter;Trier");
+			}
+			testResult(String.valueOf(written), "COALESCING - written after delay", "true");
+			dc.flush();
+
+			// the changes wait for the background write instead of changing the rows while they are written
+			dc.setWriteBackDelay(0);
+			for (int i = 0; i < 2000; i++) {
+				dc.addRow(new String[] { "Row" + i, "City" + i });
+				dc.setValue("City", 0, "City" + i);
+			}
+			testResult(String.valueOf(dc.getWriteBackError()), "COALESCING - concurrent changes", "null");
+			dc.flush();
+			testResult((int) readFile(csvFile).lines().count(), "COALESCING - rows written after concurrent changes", 2002);
+
+			// a failed background write is kept and repeated by flush
+			csvFile.delete();
+			csvFile.mkdir();
+			dc.setValue("City", 0, "Ulm");
+			for (int i = 0; (i < 100) && (dc.getWriteBackError() == null); i++) {
+				Thread.sleep(50);
+			}
+			testResult(String.valueOf(dc.getWriteBackError() != null), "COALESCING - error of background write", "true");
+			csvFile.delete();
+			dc.flush();
+			testResult(String.valueOf(dc.getWriteBackError()), "COALESCING - error reset by flush", "null");
+			testResult(String.valueOf(readFile(csvFile).contains("Walter;Ulm")), "COALESCING - failed write repeated by flush", "true");
+
+			writeFile(xmlFile, "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><AppSettings><Value>1</Value></AppSettings>");
+			DataContainer xml = new DataContainer(xmlFile.getPath());
+			xml.setWriteBack(EWriteBack.BATCHED);
+			Filter xPath = new Filter();
+			xPath.addFilterRule("XPath", "/AppSettings", EOperator.EQUALS);
+			xml.setValue("Value", "2", xPath);
+			testResult(xml.getValue("Value", xPath), "XML BATCHED - changed value", "2");
+			testResult(String.valueOf(readFile(xmlFile).contains("<Value>1</Value>")), "XML BATCHED - not written before flush", "true");
+			xml.flush();
+			testResult(String.valueOf(readFile(xmlFile).contains("<Value>2</Value>")), "XML BATCHED - written by flush", "true");
+		} catch (IOException | InterruptedException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (csvFile != null) {
+				csvFile.delete();
+			}
+			if (xmlFile != null) {
+				xmlFile.delete();
+			}
+		}
+	}
+
+	private static void writeFile(File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String readFile(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+}
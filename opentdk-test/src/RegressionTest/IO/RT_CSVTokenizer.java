@@ -0,0 +1,42 @@
+package RegressionTest.IO;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.opentdk.api.io.CSVTokenizer;
+
+import RegressionTest.BaseRegression;
+
+public class RT_CSVTokenizer extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_CSVTokenizer();
+	}
+
+	@Override
+	public void runTest() {
+		try {
+			CSVTokenizer plain = new CSVTokenizer(new StringReader("a;b;;d\r\n\"x;y\";z;\n\nlast"), ";", false);
+			testResult(String.join("|", plain.nextRow()), "plain row 1", "a|b||d");
+			testResult(String.join("|", plain.nextRow()), "plain row 2", "\"x|y\"|z|");
+			testResult(plain.nextRow().length, "plain empty row", 1);
+			testResult(String.join("|", plain.nextRow()), "plain last row", "last");
+			testResult(String.valueOf(plain.nextRow()), "plain end of data", "null");
+			plain.close();
+
+			CSVTokenizer quoted = new CSVTokenizer(new StringReader("\"x;y\";\"say \"\"hi\"\"\";\"line1\nline2\"\n1;\"\";3\n"), ";", true);
+			testResult(String.join("|", quoted.nextRow()), "quoted row 1", "x;y|say \"hi\"|line1\nline2");
+			testResult(String.join("|", quoted.nextRow()), "quoted row 2", "1||3");
+			testResult(String.valueOf(quoted.nextRow()), "quoted end of data", "null");
+			quoted.close();
+
+			CSVTokenizer multi = new CSVTokenizer(new StringReader("skip::me\na::b:c::\n"), "::", false);
+			testResult(String.valueOf(multi.skipRow()), "skipRow", "true");
+			testResult(String.join("|", multi.nextRow()), "multi character delimiter", "a|b:c|");
+			testResult(String.valueOf(multi.skipRow()), "skipRow at end of data", "false");
+			multi.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package RegressionTest.IO;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opentdk.api.io.XMLEditor;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import RegressionTest.BaseRegression;
+
+public class RT_XMLEditor extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_XMLEditor();
+	}
+
+	@Override
+	public void runTest() {
+		String xml = "<rules><rule name=\"a\"><pattern>x</pattern></rule><rule name=\"b\"><pattern>y</pattern><pattern>z</pattern></rule><single><child>1</child></single><other/></rules>";
+		XMLEditor xEdit = new XMLEditor(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+		testResult(String.join(",", xEdit.getXPaths("pattern")), "getXPaths", "/rules/rule[1]/pattern,/rules/rule[2]/pattern[1],/rules/rule[2]/pattern[2]");
+		testResult(xEdit.findXPath(xEdit.getRoot()), "findXPath of root", "/rules");
+		testResult(xEdit.getIndex(xEdit.getElementsList("other").get(0)), "getIndex", 1);
+		checkIndex(xEdit, "after loading");
+
+		// the only child gets a positional predicate, when a sibling is added
+		xEdit.addElement("/rules/single", "child", "2");
+		testResult(String.join(",", xEdit.getXPaths("child")), "getXPaths after addElement", "/rules/single[1]/child[1],/rules/single[1]/child[2]");
+		checkIndex(xEdit, "after addElement");
+
+		xEdit.addElement("/rules/rule[@name='a']", "pattern", "w");
+		checkIndex(xEdit, "after addElement with attribute path");
+
+		xEdit.delElement("/rules/single", "child");
+		testResult(String.join(",", xEdit.getXPaths("child")), "getXPaths after delElement", "/rules/single[1]/child");
+		checkIndex(xEdit, "after delElement");
+
+		xEdit.delElement("rule", "name", "a");
+		testResult(String.join(",", xEdit.getXPaths("pattern")), "getXPaths after deleting a subtree", "/rules/rule[1]/pattern[1],/rules/rule[1]/pattern[2]");
+		checkIndex(xEdit, "after deleting a subtree");
+
+		xEdit.setElementValue(xEdit.getElementsList("rule").get(0), "replaced");
+		testResult(xEdit.getXPaths("pattern").size(), "getXPaths after setElementValue", 0);
+		checkIndex(xEdit, "after setElementValue");
+
+		Element moved = xEdit.getElementsList("other").get(0);
+		xEdit.addChildElement(xEdit.getElementsList("single").get(0), moved);
+		testResult(xEdit.findXPath(moved), "findXPath of moved element", "/rules/single[1]/other[1]");
+		checkIndex(xEdit, "after moving an element");
+
+		xEdit.addTag("rule", "name", "c");
+		checkIndex(xEdit, "after addTag");
+	}
+
+	/**
+	 * Compares the XPaths and indexes of all elements with the results of walking up the tree.
+	 */
+	private void checkIndex(XMLEditor xEdit, String step) {
+		List<String> mismatches = new ArrayList<>();
+		NodeList elements = xEdit.getRoot().getElementsByTagName("*");
+		for (int i = 0; i < elements.getLength(); i++) {
+			Element e = (Element) elements.item(i);
+			String expected = walkXPath(e);
+			if (!expected.equals(xEdit.findXPath(e))) {
+				mismatches.add(expected + " != " + xEdit.findXPath(e));
+			}
+			if (walkIndex(e) != xEdit.getIndex(e)) {
+				mismatches.add(expected + " index " + xEdit.getIndex(e));
+			}
+		}
+		testResult(String.join("; ", mismatches), "index " + step, "");
+	}
+
+	private static String walkXPath(Element target) {
+		StringBuilder sb = new StringBuilder();
+		while (target.getParentNode().getParentNode() != null) {
+			String xPart = target.getNodeName();
+			if (walkIndex(target) > 0) {
+				xPart = xPart + "[" + walkIndex(target) + "]";
+			}
+			sb.insert(0, "/" + xPart);
+			target = (Element) target.getParentNode();
+		}
+		sb.insert(0, "/" + target.getNodeName());
+		return sb.toString();
+	}
+
+	private static int walkIndex(Element e) {
+		List<Element> siblings = new ArrayList<>();
+		for (Node n = e.getParentNode().getFirstChild(); n != null; n = n.getNextSibling()) {
+			if (n.getNodeType() == Node.ELEMENT_NODE) {
+				siblings.add((Element) n);
+			}
+		}
+		if (siblings.size() <= 1) {
+			return 0;
+		}
+		int index = 0;
+		for (Element sibling : siblings) {
+			if (sibling.getNodeName().equals(e.getNodeName())) {
+				index++;
+				if (sibling == e) {
+					return index;
+				}
+			}
+		}
+		return 0;
+	}
+}
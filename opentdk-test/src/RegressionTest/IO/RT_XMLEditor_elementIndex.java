@@ -0,0 +1,151 @@
+package RegressionTest.IO;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.io.XMLEditor;
+import org.opentdk.api.mapping.EOperator;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import RegressionTest.BaseRegression;
+
+public class RT_XMLEditor_elementIndex extends BaseRegression {
+
+	private static final String XML = "<Rules><rule name=\"a\"><regExpr>x</regExpr></rule><rule name=\"b\" type=\"t\"><regExpr>y</regExpr><regExpr>z</regExpr></rule>"
+			+ "<group><rule name=\"a\"><regExpr>nested</regExpr></rule></group><rule/></Rules>";
+
+	private static final String[] EXPRESSIONS = { "/Rules/rule[@name='a']", "/Rules/rule[@name=\"b\"]/regExpr", "/Rules/rule/regExpr", "/Rules/group/rule[@name='a']/regExpr",
+			"/Rules[@id='1']/rule", "/Rules", "/Rules/rule[@name='c']", "/Rules/rule[2]", "/Rules/rule[last()]", "/Other/rule" };
+
+	public static void main(String[] args) {
+		new RT_XMLEditor_elementIndex();
+	}
+
+	@Override
+	public void runTest() {
+		XMLEditor plain = new XMLEditor(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+		XMLEditor indexed = new XMLEditor(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+		plain.setChangeListener(() -> {
+		});
+		indexed.setChangeListener(() -> {
+		});
+		testResult(String.valueOf(indexed.isElementIndex()), "disabled by default", "false");
+		indexed.setElementIndex(true);
+		testResult(String.valueOf(indexed.isElementIndex()), "enabled", "true");
+
+		compare(plain, indexed, "after loading");
+		testResult(indexed.getElement("/Rules/rule[@name='b']").getAttribute("type"), "getElement by attribute predicate", "t");
+		testResult(indexed.getElementsListByXPath("/Rules/rule/regExpr").size(), "getElementsListByXPath", 3);
+
+		for (XMLEditor xEdit : new XMLEditor[] { plain, indexed }) {
+			xEdit.getElement("/Rules/rule[@name='a']").setAttribute("name", "c");
+			xEdit.getElementsList("rule").get(3).setAttribute("name", "d");
+			xEdit.getElement("/Rules/rule[@name='b']").removeAttribute("type");
+		}
+		compare(plain, indexed, "after changing attributes");
+
+		for (XMLEditor xEdit : new XMLEditor[] { plain, indexed }) {
+			xEdit.addTag("rule", "name", "a");
+			xEdit.addElement("/Rules/rule[@name='a']", "regExpr", "added");
+			xEdit.addChildElement(xEdit.getElementsList("group").get(0), xEdit.getElement("/Rules/rule[@name='b']"));
+			xEdit.delElement("rule", "name", "c");
+			xEdit.setElementValue(xEdit.getElementsList("group").get(0), "replaced");
+		}
+		compare(plain, indexed, "after adding, moving and deleting elements");
+
+		indexed.setElementIndex(false);
+		indexed.addTag("rule", "name", "e");
+		indexed.setElementIndex(true);
+		testResult(indexed.getElementsList("rule").size(), "rebuilt after enabling again", 3);
+
+		File xmlFile = null;
+		try {
+			xmlFile = File.createTempFile("RT_XMLEditor_elementIndex", ".xml");
+			Files.write(xmlFile.toPath(), XML.getBytes(StandardCharsets.UTF_8));
+			DataContainer dc = new DataContainer(xmlFile.getPath());
+			dc.setXMLElementIndex(true);
+			testResult(String.valueOf(dc.isXMLElementIndex()), "container option", "true");
+			testResult(String.join(",", dc.getAttributes("rule", "name")), "getAttributes by tag", "a,b,a,");
+			testResult(String.join(",", dc.getAttributes("/Rules/rule", "name")), "getAttributes by XPath", "a,b,");
+
+			Filter fltr = new Filter();
+			fltr.addFilterRule("XPath", "/Rules", EOperator.EQUALS);
+			dc.addField("rule", "name", "a", "f", fltr);
+			testResult(String.join(",", dc.getAttributes("rule", "name")), "getAttributes after replacing an element", "b,a,,f");
+			dc.addField("rule", "name", "g", fltr);
+			testResult(String.join(",", dc.getAttributes("rule", "name")), "getAttributes after adding an element", "b,a,,f,g");
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (xmlFile != null) {
+				xmlFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * Compares the results of the lookups with and without the index.
+	 */
+	private void compare(XMLEditor plain, XMLEditor indexed, String step) {
+		List<String> mismatches = new ArrayList<>();
+		for (String tag : new String[] { "rule", "regExpr", "group", "Rules", "*", "missing" }) {
+			check(mismatches, "getElementsList(" + tag + ")", plain.getElementsList(tag), indexed.getElementsList(tag));
+			check(mismatches, "getElementsList(" + tag + ", true)", plain.getElementsList(tag, true), indexed.getElementsList(tag, true));
+		}
+		for (String exp : EXPRESSIONS) {
+			check(mismatches, "getElementsListByXPath(" + exp + ")", plain.getElementsListByXPath(exp), indexed.getElementsListByXPath(exp));
+			check(mismatches, "getElement(" + exp + ")", plain.getElement(exp), indexed.getElement(exp));
+		}
+		for (String name : new String[] { "a", "b", "c", "d", "missing" }) {
+			HashMap<String, String> attributes = new HashMap<>();
+			attributes.put("name", name);
+			check(mismatches, "getElement(rule, " + name + ")", plain.getElement("rule", attributes), indexed.getElement("rule", attributes));
+		}
+		check(mismatches, "getElement(rule)", plain.getElement("rule", new HashMap<>()), indexed.getElement("rule", new HashMap<>()));
+		testResult(String.join("; ", mismatches), "index " + step, "");
+	}
+
+	private static void check(List<String> mismatches, String lookup, Object expected, Object actual) {
+		String expectedText = describe(expected);
+		String actualText = describe(actual);
+		if (!expectedText.equals(actualText)) {
+			mismatches.add(lookup + ": " + expectedText + " != " + actualText);
+		}
+	}
+
+	/**
+	 * Describes the found elements by their XPaths, because the compared editors have different
+	 * documents.
+	 */
+	private static String describe(Object found) {
+		if (found == null) {
+			return "null";
+		}
+		if (found instanceof Element) {
+			Element e = (Element) found;
+			StringBuilder sb = new StringBuilder(e.getTagName()).append(e.getAttribute("name")).append(e.getTextContent());
+			for (Element parent = e; parent.getParentNode() instanceof Element; parent = (Element) parent.getParentNode()) {
+				int index = 0;
+				for (Node n = parent; n != null; n = n.getPreviousSibling()) {
+					index++;
+				}
+				sb.insert(0, "/" + index);
+			}
+			return sb.toString();
+		}
+		List<String> ret = new ArrayList<>();
+		for (Object e : (List<?>) found) {
+			ret.add(describe(e));
+		}
+		return ret.toString();
+	}
+}
@@ -0,0 +1,83 @@
+package RegressionTest.IO;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.opentdk.api.io.XMLEditor;
+import org.opentdk.api.io.XPathCache;
+
+import RegressionTest.BaseRegression;
+
+public class RT_XPathCache extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_XPathCache();
+	}
+
+	@Override
+	public void runTest() {
+		XPathCache.clear();
+		XPathCache.resetStatistics();
+		try {
+			XPathExpression first = XPathCache.compile("/settings/entry");
+			XPathExpression second = XPathCache.compile("/settings/entry");
+			testResult(String.valueOf(first == second), "cached expression", "true");
+			testResult(String.valueOf(XPathCache.getHits()), "hits", "1");
+			testResult(String.valueOf(XPathCache.getMisses()), "misses", "1");
+
+			AtomicReference<XPathExpression> other = new AtomicReference<>();
+			Thread thread = new Thread(() -> {
+				try {
+					other.set(XPathCache.compile("/settings/entry"));
+				} catch (XPathExpressionException e) {
+					throw new RuntimeException(e);
+				}
+			});
+			thread.start();
+			thread.join();
+			testResult(String.valueOf(other.get() != null && other.get() != first), "expression of other thread", "true");
+
+			String xml = "<settings><entry name=\"a\">A</entry><entry name=\"b\">B</entry></settings>";
+			XMLEditor xEdit = new XMLEditor(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+			XPathCache.resetStatistics();
+			for (int i = 0; i < 3; i++) {
+				testResult(xEdit.getElement("/settings/entry[2]").getTextContent(), "getElement " + i, "B");
+				testResult(xEdit.getText("/settings/entry[@name='a']"), "getText " + i, "A");
+				testResult(xEdit.getElementsListByXPath("/settings/entry").size(), "getElementsListByXPath " + i, 2);
+			}
+			testResult(String.valueOf(XPathCache.getMisses()), "misses of XMLEditor", "2");
+			testResult(String.valueOf(XPathCache.getHits()), "hits of XMLEditor", "7");
+
+			String error = "";
+			try {
+				XPathCache.compile("/settings/entry[");
+			} catch (XPathExpressionException e) {
+				error = e.getClass().getSimpleName();
+			}
+			testResult(error, "invalid expression", "XPathExpressionException");
+
+			XPathCache.setMaxSize(1);
+			XPathCache.clear();
+			XPathCache.resetStatistics();
+			XPathCache.compile("/a");
+			XPathCache.compile("/b");
+			XPathCache.compile("/a");
+			testResult(String.valueOf(XPathCache.getMisses()), "misses of bounded cache", "3");
+
+			XPathCache.setMaxSize(0);
+			XPathCache.compile("/a");
+			testResult(String.valueOf(XPathCache.getMisses()), "misses of disabled cache", "4");
+		} catch (XPathExpressionException e) {
+			throw new RuntimeException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			XPathCache.setMaxSize(XPathCache.DEFAULT_MAX_SIZE);
+			XPathCache.clear();
+		}
+	}
+}
@@ -3,20 +3,38 @@ package RegressionTest;
 import RegressionTest.ArchiveUtility.RT_ArchiveUtil_runProcess;
 import RegressionTest.CSVContainer.RT_CSVContainer_addColumn;
 import RegressionTest.CSVContainer.RT_CSVContainer_addRow;
+import RegressionTest.CSVContainer.RT_CSVContainer_columnarStorage;
 import RegressionTest.CSVContainer.RT_CSVContainer_getColumns;
 import RegressionTest.CSVContainer.RT_CSVContainer_getRows;
 import RegressionTest.CSVContainer.RT_CSVContainer_getValues;
+import RegressionTest.CSVContainer.RT_CSVContainer_mappedStorage;
 import RegressionTest.CSVContainer.RT_CSVContainer_mergeRows;
+import RegressionTest.CSVContainer.RT_CSVContainer_parallelLoad;
 import RegressionTest.CSVContainer.RT_CSVContainer_putMetaData;
+import RegressionTest.CSVContainer.RT_CSVContainer_quotedValues;
 import RegressionTest.CSVContainer.RT_CSVContainer_setRow;
 import RegressionTest.CSVContainer.RT_CSVContainer_setValues;
+import RegressionTest.CSVContainer.RT_CSVContainer_stream;
+import RegressionTest.CSVContainer.RT_CSVContainer_tail;
+import RegressionTest.CSVContainer.RT_CSVContainer_writeData;
 import RegressionTest.CommonUtility.RT_CommonUtil_get;
+import RegressionTest.Container.RT_Container_append;
+import RegressionTest.Container.RT_Container_binarySnapshot;
 import RegressionTest.Container.RT_Container_checkHeader;
+import RegressionTest.Container.RT_Container_concurrent;
 import RegressionTest.Container.RT_Container_construct;
 import RegressionTest.Container.RT_Container_delete;
 import RegressionTest.Container.RT_Container_exportContainer;
+import RegressionTest.Container.RT_Container_filter;
 import RegressionTest.Container.RT_Container_getHeader;
+import RegressionTest.Container.RT_Container_groupBy;
+import RegressionTest.Container.RT_Container_index;
+import RegressionTest.Container.RT_Container_join;
+import RegressionTest.Container.RT_Container_parallelScan;
+import RegressionTest.Container.RT_Container_selection;
+import RegressionTest.Container.RT_Container_sort;
 import RegressionTest.Container.RT_Container_unsupportedMethods;
+import RegressionTest.Container.RT_Container_writeBack;
 import RegressionTest.CryptoUtility.RT_CryptoUtil_encrypt;
 import RegressionTest.DateUtility.RT_DateUtil_compare;
 import RegressionTest.DateUtility.RT_DateUtil_diff;
@@ -30,8 +48,12 @@ import RegressionTest.Dispatcher.RT_File_XML_values;
 import RegressionTest.Dispatcher.RT_Settings_attributes;
 import RegressionTest.Dispatcher.RT_noFile_Default_values;
 import RegressionTest.Dispatcher.RT_noFile_XML_values;
+import RegressionTest.IO.RT_CSVTokenizer;
 import RegressionTest.IO.RT_FileUtil;
 import RegressionTest.IO.RT_XFileWiter;
+import RegressionTest.IO.RT_XMLEditor;
+import RegressionTest.IO.RT_XMLEditor_elementIndex;
+import RegressionTest.IO.RT_XPathCache;
 import RegressionTest.JSONContainer.RT_JSONContainer_buildJson;
 import RegressionTest.JSONContainer.RT_JSONContainer_dispatchJson;
 import RegressionTest.JSONContainer.RT_JSONContainer_inputStream;
@@ -40,7 +62,11 @@ import RegressionTest.ListUtility.RT_ListUtility_asString;
 import RegressionTest.Logging.RT_Logging_log;
 import RegressionTest.Meter.RT_Counter;
 import RegressionTest.Meter.RT_Transaction;
+import RegressionTest.XMLContainer.RT_XMLContainer_deleteRows;
 import RegressionTest.XMLContainer.RT_XMLContainer_getValues;
+import RegressionTest.XMLContainer.RT_XMLContainer_stream;
+import RegressionTest.XMLContainer.RT_XMLContainer_streamRows;
+import RegressionTest.XMLContainer.RT_XMLContainer_valueCache;
 import RegressionTest.YAMLContainer.RT_YAMLContainer_dispatchYAML;
 
 /**
@@ -63,12 +89,23 @@ public class RegressionTestRunner {
 			RT_CommonUtil_get.main(args);
 
 			// RegressionTest.Container
+			RT_Container_append.main(args);
+			RT_Container_binarySnapshot.main(args);
 			RT_Container_checkHeader.main(args);
+			RT_Container_concurrent.main(args);
 			RT_Container_construct.main(args);
 			RT_Container_delete.main(args);
 			RT_Container_exportContainer.main(args);
+			RT_Container_filter.main(args);
 			RT_Container_getHeader.main(args);
+			RT_Container_groupBy.main(args);
+			RT_Container_index.main(args);
+			RT_Container_join.main(args);
+			RT_Container_parallelScan.main(args);
+			RT_Container_selection.main(args);
+			RT_Container_sort.main(args);
 			RT_Container_unsupportedMethods.main(args);
+			RT_Container_writeBack.main(args);
 
 			// RegressionTest.CryptoUtility
 			RT_CryptoUtil_encrypt.main(args);
@@ -76,13 +113,20 @@ public class RegressionTestRunner {
 			// RegressionTest.CSVContainer
 			RT_CSVContainer_addColumn.main(args);
 			RT_CSVContainer_addRow.main(args);
+			RT_CSVContainer_columnarStorage.main(args);
 			RT_CSVContainer_getColumns.main(args);
 			RT_CSVContainer_getRows.main(args);
 			RT_CSVContainer_getValues.main(args);
+			RT_CSVContainer_mappedStorage.main(args);
 			RT_CSVContainer_mergeRows.main(args);
+			RT_CSVContainer_parallelLoad.main(args);
 			RT_CSVContainer_putMetaData.main(args);
+			RT_CSVContainer_quotedValues.main(args);
 			RT_CSVContainer_setRow.main(args);
 			RT_CSVContainer_setValues.main(args);
+			RT_CSVContainer_stream.main(args);
+			RT_CSVContainer_tail.main(args);
+			RT_CSVContainer_writeData.main(args);
 
 			// RegressionTest.DateUtility
 			RT_DateUtil_compare.main(args);
@@ -101,8 +145,12 @@ public class RegressionTestRunner {
 			RT_Settings_attributes.main(args);
 
 			// RegressionTest.IO
+			RT_CSVTokenizer.main(args);
 			RT_FileUtil.main(args);
 			RT_XFileWiter.main(args);
+			RT_XMLEditor.main(args);
+			RT_XMLEditor_elementIndex.main(args);
+			RT_XPathCache.main(args);
 
 			// RegressionTest.JSONContainer
 			RT_JSONContainer_buildJson.main(args);
@@ -121,7 +169,11 @@ public class RegressionTestRunner {
 			RT_Transaction.main(args);
 
 			// RegressionTest.XMLContainer
+			RT_XMLContainer_deleteRows.main(args);
 			RT_XMLContainer_getValues.main(args);
+			RT_XMLContainer_stream.main(args);
+			RT_XMLContainer_streamRows.main(args);
+			RT_XMLContainer_valueCache.main(args);
 			
 			// RegressionTest.YAMLContainer
 			RT_YAMLContainer_dispatchYAML.main(args);
@@ -0,0 +1,47 @@
+package RegressionTest.XMLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_XMLContainer_deleteRows extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_XMLContainer_deleteRows();
+	}
+
+	@Override
+	public void runTest() {
+		File xmlFile = null;
+		try {
+			xmlFile = File.createTempFile("RT_XMLContainer_deleteRows", ".xml");
+			Files.copy(new File("./testdata/RegressionTestData/TST_XMLContainer_Data.xml").toPath(), xmlFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			DataContainer dc = new DataContainer(xmlFile.getPath());
+			int rows = dc.getRowCount();
+
+			Filter fltr = new Filter();
+			fltr.addFilterRule("type", "attribute", EOperator.EQUALS);
+			int matches = dc.getRowsIndexes(fltr).length;
+			testResult(String.valueOf(matches > 0), "rows matching to the decoded values", "true");
+
+			String[] kept = dc.getRow(rows - 1);
+			dc.deleteRows(fltr);
+			testResult(dc.getRowCount(), "rows after deleteRows", rows - matches);
+			testResult(dc.getRowsIndexes(fltr).length, "matching rows after deleteRows", 0);
+			testResult(String.join("|", dc.getRow(dc.getRowCount() - 1)), "decoded values of the remaining rows", String.join("|", kept));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (xmlFile != null) {
+				xmlFile.delete();
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package RegressionTest.XMLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.opentdk.api.datastorage.BaseContainer.EContainerFormat;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_XMLContainer_stream extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_XMLContainer_stream();
+	}
+
+	@Override
+	public void runTest() {
+		File xmlFile = null;
+		File outFile = null;
+		try {
+			xmlFile = File.createTempFile("RT_XMLContainer_stream", ".xml");
+			outFile = File.createTempFile("RT_XMLContainer_stream", ".xml");
+			String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><export><meta><count>3</count></meta><orders>"
+					+ "<order id=\"1\" status=\"open\"><customer>Ann</customer><amount currency=\"EUR\">10.5</amount><note><b>fast</b> delivery</note></order>"
+					+ "<order id=\"2\" status=\"closed\"><customer>Bob</customer><amount currency=\"USD\">7</amount></order>"
+					+ "<order id=\"3\" status=\"open\"><customer>Cid &amp; Co</customer><amount>3</amount><customer>ignored</customer><extra><![CDATA[<x>]]></extra></order>"
+					+ "</orders></export>";
+			Files.write(xmlFile.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+
+			DataContainer dc = new DataContainer();
+			dc.setXMLRowTag("order");
+			dc.readData(xmlFile.getPath());
+			testResult(dc.getContainerFormat().toString(), "format", EContainerFormat.XMLSTREAM.toString());
+			testResult(String.join(",", dc.getHeaderNamesIndexed()), "headers", "id,status,customer,amount@currency,amount,note,extra");
+			testResult(dc.getRowCount(), "rows", 3);
+			testResult(String.join("|", dc.getRow(0)), "first row", "1|open|Ann|EUR|10.5|fast delivery|");
+			testResult(String.join("|", dc.getRow(1)), "missing fields", "2|closed|Bob|USD|7||");
+			testResult(dc.getValue("customer", 2), "first occurrence and entity", "Cid & Co");
+			testResult(dc.getValue("extra", 2), "CDATA", "<x>");
+
+			Filter fltr = new Filter();
+			fltr.addFilterRule("status", "open", EOperator.EQUALS);
+			DataContainer filtered = new DataContainer();
+			filtered.setXMLRowTag("order");
+			filtered.readData(xmlFile.getPath(), fltr);
+			testResult(String.join(",", filtered.getColumn("id")), "filtered rows", "1,3");
+
+			Filter missing = new Filter();
+			missing.addFilterRule("priority", "high", EOperator.EQUALS);
+			DataContainer none = new DataContainer();
+			none.setXMLRowTag("order");
+			none.readData(xmlFile.getPath(), missing);
+			testResult(none.getRowCount(), "filter on missing column", 0);
+			testResult(String.valueOf(none.getHeaders().containsKey("priority")), "column of filter rule", "true");
+
+			DataContainer columns = new DataContainer(new String[] { "amount", "id" });
+			columns.setXMLRowTag("order");
+			columns.readData(xmlFile.getPath());
+			testResult(String.join(",", columns.getHeaderNamesIndexed()), "defined headers", "amount,id");
+			testResult(String.join("|", columns.getRow(0)), "defined columns", "10.5|1");
+
+			dc.writeData(outFile.getPath());
+			String written = new String(Files.readAllBytes(outFile.toPath()), StandardCharsets.UTF_8);
+			testResult(String.valueOf(written.contains("<export><order id=\"1\" status=\"open\"><customer>Ann</customer><amount currency=\"EUR\">10.5</amount>")), "written structure", "true");
+			DataContainer reread = new DataContainer();
+			reread.setXMLRowTag("order");
+			reread.readData(outFile.getPath());
+			testResult(String.join(",", reread.getHeaderNamesIndexed()), "headers after writing", String.join(",", dc.getHeaderNamesIndexed()));
+			for (int i = 0; i < dc.getRowCount(); i++) {
+				testResult(String.join("|", reread.getRow(i)), "row " + i + " after writing", String.join("|", dc.getRow(i)));
+			}
+
+			DataContainer dom = new DataContainer(xmlFile.getPath());
+			testResult(dom.getContainerFormat().toString(), "format without row tag", EContainerFormat.XML.toString());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			for (File f : new File[] { xmlFile, outFile }) {
+				if (f != null) {
+					f.delete();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package RegressionTest.XMLContainer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_XMLContainer_streamRows extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_XMLContainer_streamRows();
+	}
+
+	@Override
+	public void runTest() {
+		DataContainer dc = new DataContainer("./testdata/RegressionTestData/TST_XMLContainer_Data.xml");
+
+		List<String[]> rows = dc.stream().collect(Collectors.toList());
+		testResult(rows.size(), "rows of stream", dc.getRowCount());
+		testResult(String.join("|", rows.get(0)), "decoded first row", String.join("|", dc.getRow(0)));
+
+		Filter fltr = new Filter();
+		fltr.addFilterRule("type", "attribute", EOperator.EQUALS);
+		testResult((int) dc.stream(fltr).count(), "filter on the decoded values", dc.getRowsIndexes(fltr).length);
+		testResult(String.valueOf(dc.getRowsIndexes(fltr).length > 0), "rows matching to the filter", "true");
+	}
+}
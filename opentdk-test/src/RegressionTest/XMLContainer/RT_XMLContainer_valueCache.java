@@ -0,0 +1,68 @@
+package RegressionTest.XMLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+
+import RegressionTest.BaseRegression;
+
+public class RT_XMLContainer_valueCache extends BaseRegression {
+
+	public static void main(String[] args) {
+		new RT_XMLContainer_valueCache();
+	}
+
+	@Override
+	public void runTest() {
+		File xmlFile = null;
+		try {
+			xmlFile = File.createTempFile("RT_XMLContainer_valueCache", ".xml");
+			String xml = "<settings><entry name=\"a\">A</entry><entry name=\"b\">B</entry><entry name=\"c\">C</entry><option key=\"1\"/></settings>";
+			Files.write(xmlFile.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+
+			DataContainer plain = new DataContainer(xmlFile.getPath());
+			DataContainer cached = new DataContainer(xmlFile.getPath());
+			cached.setXMLValueCache(true);
+			testResult(String.valueOf(cached.isXMLValueCache()), "cache enabled", "true");
+			testResult(cached.getRowCount(), "rows", plain.getRowCount());
+			for (int i = 0; i < plain.getRowCount(); i++) {
+				testResult(String.join("|", cached.getRow(i)), "row " + i, String.join("|", plain.getRow(i)));
+			}
+			testResult(value(cached, "entry", 1), "cached value", "B");
+			testResult(value(cached, "option", 0), "cached attributes", "key=1");
+			testResult(String.valueOf(cached.getRowsList().get(2)[0]), "cached rows list", "C");
+			cached.getRow(1)[0] = "changed";
+			testResult(value(cached, "entry", 1), "row is a copy of the cache", "B");
+
+			Filter fltr = new Filter();
+			fltr.addFilterRule("XPath", "/settings", EOperator.EQUALS);
+			cached.setValue("entry", "X", fltr);
+			testResult(value(cached, "entry", 0), "value after setValue", "X");
+
+			cached.deleteField("entry", "name", "a", fltr);
+			testResult(value(cached, "entry", 0), "value after deleteField", "B");
+			testResult(value(cached, "entry", 2), "moved value after deleteField", "");
+
+			cached.addField("entry", "D", fltr);
+			testResult(value(cached, "entry", 2), "value after addField", "D");
+
+			cached.setXMLValueCache(false);
+			testResult(value(cached, "entry", 1), "value without cache", "C");
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (xmlFile != null) {
+				xmlFile.delete();
+			}
+		}
+	}
+
+	private static String value(DataContainer dc, String headerName, int rowIndex) {
+		return dc.getRow(rowIndex)[dc.getHeaderIndex(headerName)];
+	}
+}
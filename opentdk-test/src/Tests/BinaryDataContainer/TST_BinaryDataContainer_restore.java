@@ -0,0 +1,50 @@
+package Tests.BinaryDataContainer;
+
+import java.io.File;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.meter.EMeter;
+
+/**
+ * Compares the time to restore a {@link DataContainer} from a CSV file with the time to restore it
+ * from an uncompressed and a compressed binary snapshot.
+ */
+public class TST_BinaryDataContainer_restore {
+
+	private static final int ROWS = 500000;
+
+	public static void main(String[] args) throws Exception {
+		File csvFile = File.createTempFile("TST_BinaryDataContainer_restore", ".csv");
+		File binFile = File.createTempFile("TST_BinaryDataContainer_restore", ".tdkbin");
+		File zipFile = File.createTempFile("TST_BinaryDataContainer_restore", ".tdkbin");
+		try {
+			DataContainer dc = new DataContainer(new String[] { "ID", "Host", "Latency", "Status" });
+			for (int i = 0; i < ROWS; i++) {
+				dc.addRow(new String[] { String.valueOf(i), "web" + (i % 50), String.valueOf(i % 1000 * 0.25), i % 10 == 0 ? "ERROR" : "OK" });
+			}
+			dc.writeData(csvFile.getPath());
+			dc.writeData(binFile.getPath());
+			dc.setBinaryCompression(true);
+			dc.writeData(zipFile.getPath());
+			System.out.println("File sizes: CSV " + csvFile.length() + " bytes, binary " + binFile.length() + " bytes, compressed " + zipFile.length() + " bytes");
+
+			for (int run = 1; run <= 3; run++) {
+				measure("Run " + run + " - CSV", csvFile);
+				measure("Run " + run + " - binary", binFile);
+				measure("Run " + run + " - compressed binary", zipFile);
+			}
+		} finally {
+			csvFile.delete();
+			binFile.delete();
+			zipFile.delete();
+		}
+	}
+
+	private static void measure(String name, File file) {
+		EMeter.TRANSACTION.start(name);
+		DataContainer dc = new DataContainer();
+		dc.setColumnDelimiter(";");
+		dc.readData(file.getPath());
+		System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + dc.getRowCount() + " rows)");
+	}
+}
@@ -0,0 +1,67 @@
+package Tests.CSVTokenizer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opentdk.api.io.CSVTokenizer;
+import org.opentdk.api.io.XFileWriter;
+import org.opentdk.api.meter.EMeter;
+
+/**
+ * Compares the duration of splitting the rows of a large CSV file with <code>String.split</code>
+ * and with the {@link CSVTokenizer}.
+ */
+public class TST_CSVTokenizer_split {
+
+	private static final int ROWS = 1000000;
+
+	public static void main(String[] args) throws IOException {
+		File testdataFile = File.createTempFile("TST_CSVTokenizer", ".csv");
+		testdataFile.deleteOnExit();
+		List<String[]> rows = new ArrayList<>();
+		rows.add(new String[] { "ID;Name;City;Amount;Date" });
+		for (int i = 0; i < ROWS; i++) {
+			rows.add(new String[] { i + ";Name" + (i % 1000) + ";City" + (i % 50) + ";" + (i * 0.25) + ";2022-01-" + (10 + i % 20) });
+		}
+		XFileWriter writer = new XFileWriter(testdataFile);
+		writer.writeLines(rows);
+		writer.close();
+		rows = null;
+
+		for (int run = 1; run <= 3; run++) {
+			long fields = 0;
+			EMeter.TRANSACTION.start("split");
+			try (BufferedReader br = new BufferedReader(new FileReader(testdataFile))) {
+				String row;
+				while ((row = br.readLine()) != null) {
+					fields += row.split(";", -1).length;
+				}
+			}
+			System.out.println("Run " + run + " - BufferedReader + String.split: " + EMeter.TRANSACTION.end("split") + " s (" + fields + " fields)");
+
+			fields = 0;
+			EMeter.TRANSACTION.start("tokenizer");
+			try (CSVTokenizer tokenizer = new CSVTokenizer(new FileReader(testdataFile), ";", false)) {
+				String[] row;
+				while ((row = tokenizer.nextRow()) != null) {
+					fields += row.length;
+				}
+			}
+			System.out.println("Run " + run + " - CSVTokenizer: " + EMeter.TRANSACTION.end("tokenizer") + " s (" + fields + " fields)");
+
+			fields = 0;
+			EMeter.TRANSACTION.start("quoted");
+			try (CSVTokenizer tokenizer = new CSVTokenizer(new FileReader(testdataFile), ";", true)) {
+				String[] row;
+				while ((row = tokenizer.nextRow()) != null) {
+					fields += row.length;
+				}
+			}
+			System.out.println("Run " + run + " - CSVTokenizer (RFC 4180): " + EMeter.TRANSACTION.end("quoted") + " s (" + fields + " fields)");
+		}
+	}
+}
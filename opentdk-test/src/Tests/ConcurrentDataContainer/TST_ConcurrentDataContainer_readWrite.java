@@ -0,0 +1,107 @@
+package Tests.ConcurrentDataContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.opentdk.api.datastorage.BaseContainer.EIndexType;
+import org.opentdk.api.datastorage.ConcurrentDataContainer;
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+import org.opentdk.api.meter.EMeter;
+
+/**
+ * Compares the throughput of a read mostly workload on a shared {@link DataContainer}, that is
+ * serialized by one global lock, with the shared lock and the snapshots of the
+ * {@link ConcurrentDataContainer}.
+ */
+public class TST_ConcurrentDataContainer_readWrite {
+
+	private static final int ROWS = 100000;
+	private static final int THREADS = 8;
+	private static final int OPERATIONS_PER_THREAD = 20000;
+
+	/**
+	 * Every n-th operation is a write, so 1000 means 0.1 percent writes.
+	 */
+	private static final int WRITE_RATIO = 1000;
+
+	private interface Operation {
+		void run(int i);
+	}
+
+	public static void main(String[] args) throws Exception {
+		for (int run = 1; run <= 3; run++) {
+			DataContainer globalDc = createContainer();
+			Object globalLock = new Object();
+			measure("Run " + run + " - global lock", i -> {
+				synchronized (globalLock) {
+					if (i % WRITE_RATIO == 0) {
+						write(globalDc);
+					} else {
+						read(globalDc);
+					}
+				}
+			});
+
+			ConcurrentDataContainer lockedDc = new ConcurrentDataContainer(createContainer());
+			measure("Run " + run + " - ConcurrentDataContainer.read", i -> {
+				if (i % WRITE_RATIO == 0) {
+					lockedDc.update(TST_ConcurrentDataContainer_readWrite::write);
+				} else {
+					lockedDc.read(TST_ConcurrentDataContainer_readWrite::read);
+				}
+			});
+
+			ConcurrentDataContainer snapshotDc = new ConcurrentDataContainer(createContainer());
+			measure("Run " + run + " - ConcurrentDataContainer.snapshot", i -> {
+				if (i % WRITE_RATIO == 0) {
+					snapshotDc.update(TST_ConcurrentDataContainer_readWrite::write);
+				} else {
+					read(snapshotDc.snapshot());
+				}
+			});
+		}
+	}
+
+	private static DataContainer createContainer() {
+		DataContainer dc = new DataContainer(new String[] { "ID", "Name", "Value" });
+		for (int i = 0; i < ROWS; i++) {
+			dc.addRow(new String[] { String.valueOf(i), "Name" + (i % 1000), String.valueOf(i * 0.5) });
+		}
+		dc.createIndex("ID", EIndexType.HASH);
+		return dc;
+	}
+
+	private static String read(DataContainer dc) {
+		Filter fltr = new Filter();
+		fltr.addFilterRule("ID", String.valueOf(ThreadLocalRandom.current().nextInt(ROWS)), EOperator.EQUALS);
+		return dc.getValue("Value", fltr);
+	}
+
+	private static void write(DataContainer dc) {
+		dc.setValue("Value", ThreadLocalRandom.current().nextInt(ROWS), "0");
+	}
+
+	private static void measure(String name, Operation operation) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		EMeter.TRANSACTION.start(name);
+		for (int t = 0; t < THREADS; t++) {
+			futures.add(executor.submit(() -> {
+				for (int i = 1; i <= OPERATIONS_PER_THREAD; i++) {
+					operation.run(i);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + THREADS * OPERATIONS_PER_THREAD + " operations)");
+		executor.shutdown();
+	}
+}
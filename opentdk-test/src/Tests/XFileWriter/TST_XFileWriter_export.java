@@ -0,0 +1,65 @@
+package Tests.XFileWriter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.meter.EMeter;
+
+/**
+ * Compares the time to export a {@link DataContainer} with one million rows by
+ * {@link DataContainer#writeData(String)} and {@link DataContainer#exportContainer(String, String)}
+ * with the time of a writer, that formats and flushes each line separately.
+ */
+public class TST_XFileWriter_export {
+
+	private static final int ROWS = 1000000;
+
+	public static void main(String[] args) throws Exception {
+		File csvFile = File.createTempFile("TST_XFileWriter_export", ".csv");
+		try {
+			DataContainer dc = new DataContainer(new String[] { "ID", "Host", "Latency", "Status" });
+			dc.setColumnDelimiter(";");
+			for (int i = 0; i < ROWS; i++) {
+				dc.addRow(new String[] { String.valueOf(i), "web" + (i % 50), String.valueOf(i % 1000 * 0.25), i % 10 == 0 ? "ERROR" : "OK" });
+			}
+
+			for (int run = 1; run <= 3; run++) {
+				String name = "Run " + run + " - format and flush per line";
+				EMeter.TRANSACTION.start(name);
+				writeLineByLine(dc, csvFile);
+				System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + csvFile.length() + " bytes)");
+
+				name = "Run " + run + " - writeData";
+				EMeter.TRANSACTION.start(name);
+				dc.writeData(csvFile.getPath());
+				System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + csvFile.length() + " bytes)");
+
+				name = "Run " + run + " - quoted writeData";
+				dc.setQuotedValues(true);
+				EMeter.TRANSACTION.start(name);
+				dc.writeData(csvFile.getPath());
+				System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + csvFile.length() + " bytes)");
+				dc.setQuotedValues(false);
+
+				name = "Run " + run + " - exportContainer";
+				EMeter.TRANSACTION.start(name);
+				dc.exportContainer(csvFile.getPath(), ";");
+				System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + csvFile.length() + " bytes)");
+			}
+		} finally {
+			csvFile.delete();
+		}
+	}
+
+	private static void writeLineByLine(DataContainer dc, File file) throws IOException {
+		try (FileWriter fw = new FileWriter(file)) {
+			fw.write(String.format("%s%s", String.join(";", dc.getHeaderNamesIndexed()), System.lineSeparator()));
+			for (String[] row : dc.getRowsList()) {
+				fw.write(String.format("%s%s", String.join(";", row), System.lineSeparator()));
+				fw.flush();
+			}
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package Tests.XMLDataContainer;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.meter.EMeter;
+
+/**
+ * Compares the time to read all rows of an XML container repeatedly with and without the cache of
+ * {@link DataContainer#setXMLValueCache(boolean)}.
+ */
+public class TST_XMLDataContainer_valueCache {
+
+	private static final int ELEMENTS = 2000;
+
+	private static final int READS = 5;
+
+	public static void main(String[] args) throws Exception {
+		File xmlFile = File.createTempFile("TST_XMLDataContainer_valueCache", ".xml");
+		try {
+			StringBuilder sb = new StringBuilder("<rules>");
+			for (int i = 0; i < ELEMENTS; i++) {
+				sb.append("<rule name=\"r").append(i).append("\">pattern ").append(i).append("</rule>");
+			}
+			sb.append("</rules>");
+			Files.write(xmlFile.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+			for (int run = 1; run <= 3; run++) {
+				measure("Run " + run + " - without cache", xmlFile, false);
+				measure("Run " + run + " - with cache", xmlFile, true);
+			}
+		} finally {
+			xmlFile.delete();
+		}
+	}
+
+	private static void measure(String name, File file, boolean cached) {
+		DataContainer dc = new DataContainer(file.getPath());
+		dc.setXMLValueCache(cached);
+		EMeter.TRANSACTION.start(name);
+		long length = 0;
+		for (int i = 0; i < READS; i++) {
+			for (String[] row : dc.getRowsList()) {
+				length += row[0].length();
+			}
+		}
+		System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + length + " characters)");
+	}
+}
@@ -0,0 +1,65 @@
+package Tests.XMLEditor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import org.opentdk.api.io.XMLEditor;
+import org.opentdk.api.meter.EMeter;
+import org.w3c.dom.Element;
+
+/**
+ * Compares the time of attribute qualified lookups like <code>/Rules/rule[@name='X']</code> and
+ * {@link XMLEditor#getElement(String, HashMap)} with and without {@link XMLEditor#setElementIndex(boolean)}.
+ */
+public class TST_XMLEditor_elementIndex {
+
+	private static final int ELEMENTS = 20000;
+
+	private static final int LOOKUPS = 500;
+
+	public static void main(String[] args) {
+		StringBuilder sb = new StringBuilder("<Rules>");
+		for (int i = 0; i < ELEMENTS; i++) {
+			sb.append("<rule name=\"r").append(i).append("\"><regExpr>p").append(i).append("</regExpr></rule>");
+		}
+		sb.append("</Rules>");
+		byte[] xml = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+		for (int run = 1; run <= 3; run++) {
+			measure("Run " + run + " - without index", new XMLEditor(new ByteArrayInputStream(xml)));
+
+			String name = "Run " + run + " - build index";
+			EMeter.TRANSACTION.start(name);
+			XMLEditor indexed = new XMLEditor(new ByteArrayInputStream(xml));
+			indexed.setElementIndex(true);
+			System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s");
+			measure("Run " + run + " - with index", indexed);
+		}
+	}
+
+	private static void measure(String name, XMLEditor xEdit) {
+		int found = 0;
+		String xPathName = name + ", XPath";
+		EMeter.TRANSACTION.start(xPathName);
+		for (int i = 0; i < LOOKUPS; i++) {
+			Element e = xEdit.getElement("/Rules/rule[@name='r" + (i * (ELEMENTS / LOOKUPS)) + "']/regExpr");
+			if (e != null) {
+				found++;
+			}
+		}
+		System.out.println(xPathName + ": " + EMeter.TRANSACTION.end(xPathName) + " s (" + found + " elements)");
+
+		found = 0;
+		String attrName = name + ", tag and attribute";
+		EMeter.TRANSACTION.start(attrName);
+		for (int i = 0; i < LOOKUPS; i++) {
+			HashMap<String, String> attributes = new HashMap<>();
+			attributes.put("name", "r" + (i * (ELEMENTS / LOOKUPS)));
+			if (xEdit.getElement("rule", attributes) != null) {
+				found++;
+			}
+		}
+		System.out.println(attrName + ": " + EMeter.TRANSACTION.end(attrName) + " s (" + found + " elements)");
+	}
+}
@@ -0,0 +1,77 @@
+package Tests.XMLEditor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opentdk.api.io.XMLEditor;
+import org.opentdk.api.meter.EMeter;
+import org.w3c.dom.Element;
+
+/**
+ * Compares the time to retrieve the XPaths of all elements of a wide document by
+ * {@link XMLEditor#getXPaths(String)} with walking up the tree and scanning the siblings of each
+ * element.
+ */
+public class TST_XMLEditor_getXPaths {
+
+	private static final int ELEMENTS = 20000;
+
+	public static void main(String[] args) {
+		StringBuilder sb = new StringBuilder("<rules>");
+		for (int i = 0; i < ELEMENTS; i++) {
+			sb.append("<rule name=\"r").append(i).append("\"><pattern>p").append(i).append("</pattern></rule>");
+		}
+		sb.append("</rules>");
+		byte[] xml = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+		for (int run = 1; run <= 3; run++) {
+			XMLEditor xEdit = new XMLEditor(new ByteArrayInputStream(xml));
+			String name = "Run " + run + " - walk up the tree";
+			EMeter.TRANSACTION.start(name);
+			List<String> walked = new ArrayList<>();
+			for (Element e : xEdit.getElementsList("pattern")) {
+				walked.add(walkXPath(xEdit, e));
+			}
+			System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + walked.size() + " XPaths)");
+
+			name = "Run " + run + " - getXPaths";
+			EMeter.TRANSACTION.start(name);
+			List<String> indexed = xEdit.getXPaths("pattern");
+			System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + indexed.size() + " XPaths, equal = " + indexed.equals(walked) + ")");
+		}
+	}
+
+	private static String walkXPath(XMLEditor xEdit, Element target) {
+		StringBuilder sb = new StringBuilder();
+		while (target.getParentNode().getParentNode() != null) {
+			String xPart = target.getNodeName();
+			int index = walkIndex(xEdit, target);
+			if (index > 0) {
+				xPart = xPart + "[" + index + "]";
+			}
+			sb.insert(0, "/" + xPart);
+			target = xEdit.getParent(target);
+		}
+		sb.insert(0, "/" + target.getNodeName());
+		return sb.toString();
+	}
+
+	private static int walkIndex(XMLEditor xEdit, Element e) {
+		List<Element> siblings = xEdit.getChildren(xEdit.getParent(e));
+		if (siblings.size() <= 1) {
+			return 0;
+		}
+		int index = 0;
+		for (Element sibling : siblings) {
+			if (sibling.getNodeName().equals(e.getNodeName())) {
+				index++;
+				if (sibling.isSameNode(e)) {
+					return index;
+				}
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,67 @@
+package Tests.XMLStreamDataContainer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.opentdk.api.datastorage.DataContainer;
+import org.opentdk.api.filter.Filter;
+import org.opentdk.api.mapping.EOperator;
+import org.opentdk.api.meter.EMeter;
+
+/**
+ * Compares the time to read an XML file into a DOM document with the time to stream it into a
+ * tabular container by {@link DataContainer#setXMLRowTag(String)}, and measures the streaming of a
+ * large file with and without a filter.
+ */
+public class TST_XMLStreamDataContainer_read {
+
+	private static final int DOM_ROWS = 5000;
+
+	private static final int STREAM_ROWS = 1000000;
+
+	public static void main(String[] args) throws Exception {
+		File smallFile = File.createTempFile("TST_XMLStreamDataContainer_read", ".xml");
+		File largeFile = File.createTempFile("TST_XMLStreamDataContainer_read", ".xml");
+		try {
+			createFile(smallFile, DOM_ROWS);
+			createFile(largeFile, STREAM_ROWS);
+			System.out.println("File sizes: " + smallFile.length() + " bytes, " + largeFile.length() + " bytes");
+
+			Filter fltr = new Filter();
+			fltr.addFilterRule("status", "ERROR", EOperator.EQUALS);
+			for (int run = 1; run <= 3; run++) {
+				String name = "Run " + run + " - DOM, " + DOM_ROWS + " rows";
+				EMeter.TRANSACTION.start(name);
+				DataContainer dom = new DataContainer(smallFile.getPath());
+				System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + dom.getRowCount() + " rows)");
+
+				measure("Run " + run + " - stream, " + DOM_ROWS + " rows", smallFile, new Filter());
+				measure("Run " + run + " - stream, " + STREAM_ROWS + " rows", largeFile, new Filter());
+				measure("Run " + run + " - stream with filter, " + STREAM_ROWS + " rows", largeFile, fltr);
+			}
+		} finally {
+			smallFile.delete();
+			largeFile.delete();
+		}
+	}
+
+	private static void createFile(File file, int rows) throws Exception {
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<events>\n");
+			for (int i = 0; i < rows; i++) {
+				writer.write("<event id=\"" + i + "\"><host>web" + (i % 50) + "</host><latency unit=\"ms\">" + (i % 1000 * 0.25) + "</latency><status>" + (i % 10 == 0 ? "ERROR" : "OK") + "</status></event>\n");
+			}
+			writer.write("</events>\n");
+		}
+	}
+
+	private static void measure(String name, File file, Filter fltr) {
+		EMeter.TRANSACTION.start(name);
+		DataContainer dc = new DataContainer();
+		dc.setXMLRowTag("event");
+		dc.readData(file.getPath(), fltr);
+		System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + dc.getRowCount() + " rows)");
+	}
+}
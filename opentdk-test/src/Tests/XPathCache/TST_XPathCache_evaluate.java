@@ -0,0 +1,40 @@
+package Tests.XPathCache;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.opentdk.api.io.XMLEditor;
+import org.opentdk.api.io.XPathCache;
+import org.opentdk.api.meter.EMeter;
+
+/**
+ * Compares the time to evaluate a few XPath expressions repeatedly, like the variables of a settings
+ * file, with and without the {@link XPathCache}.
+ */
+public class TST_XPathCache_evaluate {
+
+	private static final int EVALUATIONS = 200000;
+
+	private static final String[] EXPRESSIONS = { "/settings/app/language", "/settings/app/timeout", "/settings/db/host", "/settings/db/port" };
+
+	public static void main(String[] args) {
+		String xml = "<settings><app><language>en</language><timeout>30</timeout></app><db><host>localhost</host><port>5432</port></db></settings>";
+		XMLEditor xEdit = new XMLEditor(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+		for (int run = 1; run <= 3; run++) {
+			XPathCache.setMaxSize(0);
+			measure("Run " + run + " - without cache", xEdit);
+			XPathCache.setMaxSize(XPathCache.DEFAULT_MAX_SIZE);
+			measure("Run " + run + " - with cache", xEdit);
+		}
+	}
+
+	private static void measure(String name, XMLEditor xEdit) {
+		XPathCache.resetStatistics();
+		EMeter.TRANSACTION.start(name);
+		long length = 0;
+		for (int i = 0; i < EVALUATIONS; i++) {
+			length += xEdit.getText(EXPRESSIONS[i % EXPRESSIONS.length]).length();
+		}
+		System.out.println(name + ": " + EMeter.TRANSACTION.end(name) + " s (" + length + " characters, " + XPathCache.getHits() + " hits, " + XPathCache.getMisses() + " misses)");
+	}
+}